@@ -1,7 +1,8 @@
 package org.opentrafficsim.animation.egtf;
 
-import java.util.Locale;
-import java.util.stream.IntStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Utility class for convolution using fast fourier transformation. This utility is specifically tailored to EGTF and not for
@@ -17,6 +18,12 @@ import java.util.stream.IntStream;
 public final class Convolution
 {
 
+    /** Cost of a transform per element and per level, relative to the cost of a complex product, as measured. */
+    private static final double TRANSFORM_COST = 4.0;
+
+    /** Twiddle factors (cosine and sine arrays) per transform size, shared by all plans. */
+    private static final Map<Integer, double[][]> TWIDDLES = new ConcurrentHashMap<>();
+
     /**
      * Private constructor.
      */
@@ -33,260 +40,448 @@ public final class Convolution
      */
     public static double[][] convolution(final double[][] a, final double[][] b)
     {
-        // create zero-padded matrices with dimensions as a power of 2
-        int i = a.length + b.length - 1;
-        int j = a[0].length + b[0].length - 1;
-        int i2 = (int) Math.pow(2, 32 - Integer.numberOfLeadingZeros(i));
-        int j2 = (int) Math.pow(2, 32 - Integer.numberOfLeadingZeros(j));
-        double[][] a2 = zeroPadding(a, i2, j2); // copying matrix is also safe, so this effort is worthwhile
-        double[][] b2 = zeroPadding(b, i2, j2);
-        // fft
-        Complex[] a3 = fft2(a2);
-        Complex[] b3 = fft2(b2);
-        // element-wise product (store in a3)
-        for (int k = 0; k < i2; k++)
-        {
-            for (int m = 0; m < j2; m++)
-            {
-                double re = a3[k].re[m] * b3[k].re[m] - a3[k].im[m] * b3[k].im[m]; // im depends on re, so need tmp variable
-                a3[k].im[m] = a3[k].re[m] * b3[k].im[m] + a3[k].im[m] * b3[k].re[m];
-                a3[k].re[m] = re;
-            }
-        }
-        // inverse fft
-        ifft2(a3);
-        // crop padded zeros (note that the convolution is centered in the resulting matrix, we start at half the size of 'a')
-        double[][] out = new double[b.length][b[0].length];
-        int fromRow = a.length / 2;
-        int fromCol = a[0].length / 2;
-        for (int k = 0; k < b.length; k++)
-        {
-            System.arraycopy(a3[fromRow + k].re, fromCol, out[k], 0, out[k].length);
-        }
-        return out;
+        return new Plan(b.length, b[0].length, a).apply(b)[0];
     }
 
     /**
-     * Adds zeros to a matrix to obtain size {@code i x j}.
-     * @param x original matrix
-     * @param i number of desired rows
-     * @param j number of desired columns
-     * @return {@code x} padded with zeros
+     * Returns the smallest power of 2 that is equal to or larger than the value.
+     * @param n value
+     * @return smallest power of 2 that is equal to or larger than the value
      */
-    private static double[][] zeroPadding(final double[][] x, final int i, final int j)
+    private static int powerOfTwo(final int n)
     {
-        double[][] x2 = new double[i][j];
-        for (int k = 0; k < i; k++)
-        {
-            if (k < x.length)
-            {
-                System.arraycopy(x[k], 0, x2[k], 0, x[k].length);
-            }
-        }
-        return x2;
+        return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
     }
 
     /**
-     * Two-dimensional fast fourier transform.
-     * @param x matrix, this data is affected by the method
-     * @return array of complex objects, each representing a row of complex values
+     * Returns the twiddle factors for a transform of given size.
+     * @param n size of the transform, a power of 2
+     * @return cosine and sine of {@code -2 * pi * k / n} for {@code k < n / 2}
      */
-    private static Complex[] fft2(final double[][] x)
+    private static double[][] twiddles(final int n)
     {
-        Complex[] xComp = new Complex[x.length];
-        // create complex objects and perform the row-fft
-        for (int i = 0; i < x.length; i++)
+        return TWIDDLES.computeIfAbsent(n, (size) ->
         {
-            xComp[i] = fft(new Complex(x[i]));
-        }
-        // perform the column fft
-        for (int i = 0; i < x[0].length; i++)
-        {
-            double[] re = new double[x.length];
-            double[] im = new double[x.length];
-            for (int j = 0; j < x.length; j++)
-            {
-                re[j] = xComp[j].re[i];
-                im[j] = xComp[j].im[i];
-            }
-            fft(new Complex(re, im));
-            for (int j = 0; j < x.length; j++)
+            double[] cos = new double[Math.max(1, size / 2)];
+            double[] sin = new double[cos.length];
+            for (int k = 0; k < size / 2; k++)
             {
-                xComp[j].re[i] = re[j];
-                xComp[j].im[i] = im[j];
+                double kth = -2.0 * Math.PI * k / size;
+                cos[k] = Math.cos(kth);
+                sin[k] = Math.sin(kth);
             }
-        }
-        return xComp;
+            return new double[][] {cos, sin};
+        });
     }
 
     /**
      * Fast fourier transform using Cooley–Tukey algorithm. This method is based on
-     * https://introcs.cs.princeton.edu/java/97data/FFT.java.html.
-     * @param x vector of complex objects
-     * @return vector after fourier transform
+     * https://introcs.cs.princeton.edu/java/97data/FFT.java.html. The result is stored in the input arrays.
+     * @param re real part, length is a power of 2
+     * @param im imaginary part, same length as the real part
+     * @param twiddles twiddle factors for the length of the arrays
      */
-    private static Complex fft(final Complex x)
+    private static void fft(final double[] re, final double[] im, final double[][] twiddles)
     {
         // bit reversal permutation (this simply rearranges the order in a way that happens to work for the butterfly updates)
-        int n = x.re.length;
+        int n = re.length;
         int shift = 1 + Integer.numberOfLeadingZeros(n);
         for (int k = 0; k < n; k++)
         {
             int j = Integer.reverse(k) >>> shift;
             if (j > k)
             {
-                double temp = x.re[j];
-                x.re[j] = x.re[k];
-                x.re[k] = temp;
-                temp = x.im[j];
-                x.im[j] = x.im[k];
-                x.im[k] = temp;
+                double temp = re[j];
+                re[j] = re[k];
+                re[k] = temp;
+                temp = im[j];
+                im[j] = im[k];
+                im[k] = temp;
             }
         }
         // butterfly updates
+        double[] cos = twiddles[0];
+        double[] sin = twiddles[1];
         for (int l = 2; l <= n; l = l + l)
         {
-            double pil = -2.0 * Math.PI / l;
-            for (int k = 0; k < l / 2; k++)
+            int half = l / 2;
+            int stride = n / l;
+            for (int k = 0; k < half; k++)
             {
-                double kth = k * pil;
-                double wReal = Math.cos(kth);
-                double wImag = Math.sin(kth);
-                for (int j = 0; j < n / l; j++)
+                double wReal = cos[k * stride];
+                double wImag = sin[k * stride];
+                for (int jlk = k; jlk < n; jlk += l)
                 {
-                    int jlk = j * l + k;
-                    int jlkl2 = jlk + l / 2;
-                    double xReal = x.re[jlkl2];
-                    double xImag = x.im[jlkl2];
+                    int jlkl2 = jlk + half;
+                    double xReal = re[jlkl2];
+                    double xImag = im[jlkl2];
                     double taoReal = wReal * xReal - wImag * xImag;
                     double taoImag = wReal * xImag + wImag * xReal;
-                    x.re[jlkl2] = x.re[jlk] - taoReal;
-                    x.im[jlkl2] = x.im[jlk] - taoImag;
-                    x.re[jlk] = x.re[jlk] + taoReal;
-                    x.im[jlk] = x.im[jlk] + taoImag;
+                    re[jlkl2] = re[jlk] - taoReal;
+                    im[jlkl2] = im[jlk] - taoImag;
+                    re[jlk] = re[jlk] + taoReal;
+                    im[jlk] = im[jlk] + taoImag;
                 }
             }
         }
-        return x;
     }
 
     /**
-     * Two-dimensional inverse fourier transform. Result is stored in the input objects.
-     * @param x array of complex objects, each representing a row of complex values
+     * Fast fourier transform of all columns of a matrix. The result is stored in the input matrices.
+     * @param re real part
+     * @param im imaginary part
+     * @param twiddles twiddle factors for the number of rows
      */
-    private static void ifft2(final Complex[] x)
+    private static void fftColumns(final double[][] re, final double[][] im, final double[][] twiddles)
     {
-        // perform the row ifft
-        for (int i = 0; i < x.length; i++)
+        double[] columnRe = new double[re.length];
+        double[] columnIm = new double[re.length];
+        for (int j = 0; j < re[0].length; j++)
         {
-            ifft(x[i]);
-        }
-        // perform the column ifft
-        for (int i = 0; i < x[0].re.length; i++)
-        {
-            double[] re = new double[x.length];
-            double[] im = new double[x.length];
-            int col = i; // effective final
-            IntStream.range(0, x.length).forEach(j ->
+            for (int i = 0; i < re.length; i++)
             {
-                re[j] = x[j].re[col];
-                im[j] = x[j].im[col];
-            });
-            ifft(new Complex(re, im));
-            IntStream.range(0, x.length).forEach(j ->
+                columnRe[i] = re[i][j];
+                columnIm[i] = im[i][j];
+            }
+            fft(columnRe, columnIm, twiddles);
+            for (int i = 0; i < re.length; i++)
             {
-                x[j].re[col] = re[j];
-                x[j].im[col] = im[j];
-            });
+                re[i][j] = columnRe[i];
+                im[i][j] = columnIm[i];
+            }
         }
     }
 
     /**
-     * Inverse fourier transform. Result is stored in the input object.
-     * @param x vector of complex values
+     * Returns the transpose of a matrix.
+     * @param x matrix
+     * @return transpose of the matrix
      */
-    private static void ifft(final Complex x)
+    private static double[][] transpose(final double[][] x)
     {
-        // conjugate
-        int n = x.im.length;
-        for (int i = 0; i < n; i++)
-        {
-            x.im[i] = -x.im[i];
-        }
-        // forward fft
-        fft(x);
-        // conjugate and scaling
-        for (int i = 0; i < n; i++)
+        double[][] out = new double[x[0].length][x.length];
+        for (int i = 0; i < x.length; i++)
         {
-            x.im[i] = -x.im[i] / n;
-            x.re[i] = x.re[i] / n;
+            for (int j = 0; j < x[0].length; j++)
+            {
+                out[j][i] = x[i][j];
+            }
         }
+        return out;
     }
 
     /**
-     * Class that contains a vector of complex values.
+     * Convolution plan of one or more equally sized kernels over data matrices up to a certain size. The plan stores the
+     * transformed kernels, such that these are calculated only once for all data matrices and for all kernels together the
+     * data matrix is transformed only once. A plan is immutable and can be applied concurrently.
+     * <p>
+     * A plan selects the cheapest of two methods. Either the convolution is performed using two-dimensional fast fourier
+     * transformation, or a kernel that is narrow in one dimension is split in separate 1D kernels along the other dimension,
+     * one for each element in the narrow dimension. In the latter case, only 1D transformations along the wide dimension are
+     * performed, and the 1D results are summed with shifts along the narrow dimension.
      * <p>
-     * Copyright (c) 2013-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved.
+     * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved.
      * <br>
      * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
      * </p>
-     * @author Alexander Verbraeck
-     * @author Peter Knoppers
      * @author Wouter Schakel
      */
-    private static class Complex
+    public static final class Plan
     {
 
-        /** Real part. */
-        @SuppressWarnings("visibilitymodifier")
-        public final double[] re;
+        /** Kernels as given. */
+        private final double[][][] kernels;
+
+        /** Whether kernels and data are transposed, such that the narrow dimension of the kernels is the second dimension. */
+        private final boolean transposed;
+
+        /** Whether a two-dimensional transformation is used, rather than 1D transformations along the first dimension. */
+        private final boolean twoDimensional;
+
+        /** Number of rows of the (transposed) kernels. */
+        private final int kernelRows;
+
+        /** Number of columns of the (transposed) kernels. */
+        private final int kernelColumns;
+
+        /** Transform size along the first dimension. */
+        private final int n1;
+
+        /** Transform size along the second dimension, 1 if 1D transformations are used. */
+        private final int n2;
+
+        /** Real part of transformed kernels, per kernel, per row (2D) or per kernel column (1D). */
+        private final double[][][] kernelRe;
+
+        /** Imaginary part of transformed kernels, per kernel, per row (2D) or per kernel column (1D). */
+        private final double[][][] kernelIm;
+
+        /**
+         * Constructor.
+         * @param rows number of rows of the data matrices
+         * @param columns number of columns of the data matrices
+         * @param kernels kernel matrices, all of the same size
+         * @throws IllegalArgumentException when there are no kernels, a size is not positive, or kernels are unequally sized
+         */
+        public Plan(final int rows, final int columns, final double[][]... kernels)
+        {
+            if (rows <= 0 || columns <= 0 || kernels.length == 0 || kernels[0].length == 0 || kernels[0][0].length == 0)
+            {
+                throw new IllegalArgumentException("Convolution plan requires positive data size and at least one kernel.");
+            }
+            this.kernels = new double[kernels.length][][];
+            for (int p = 0; p < kernels.length; p++)
+            {
+                if (kernels[p].length != kernels[0].length || kernels[p][0].length != kernels[0][0].length)
+                {
+                    throw new IllegalArgumentException("All kernels of a convolution plan should be of the same size.");
+                }
+                this.kernels[p] = new double[kernels[p].length][];
+                for (int i = 0; i < kernels[p].length; i++)
+                {
+                    this.kernels[p][i] = kernels[p][i].clone();
+                }
+            }
+
+            // estimate costs of the 2D method, and of 1D transforms along either dimension
+            int rowsA = kernels[0].length;
+            int columnsA = kernels[0][0].length;
+            int n = kernels.length;
+            int rows2 = powerOfTwo(rows + rowsA - 1);
+            int columns2 = powerOfTwo(columns + columnsA - 1);
+            double cost2d = (double) rows2 * columns2 * ((Integer.numberOfTrailingZeros(rows2)
+                    + Integer.numberOfTrailingZeros(columns2)) * TRANSFORM_COST * (1.0 + n) + n);
+            double costAlongRows = (double) columns * rows2
+                    * (Integer.numberOfTrailingZeros(rows2) * TRANSFORM_COST * (1.0 + n) + columnsA * n);
+            double costAlongColumns = (double) rows * columns2
+                    * (Integer.numberOfTrailingZeros(columns2) * TRANSFORM_COST * (1.0 + n) + rowsA * n);
 
-        /** Imaginary part. */
-        @SuppressWarnings("visibilitymodifier")
-        public final double[] im;
+            this.twoDimensional = cost2d <= costAlongRows && cost2d <= costAlongColumns;
+            this.transposed = !this.twoDimensional && costAlongColumns < costAlongRows;
+            double[][][] a = this.kernels;
+            if (this.transposed)
+            {
+                a = new double[n][][];
+                for (int p = 0; p < n; p++)
+                {
+                    a[p] = transpose(this.kernels[p]);
+                }
+            }
+            this.kernelRows = a[0].length;
+            this.kernelColumns = a[0][0].length;
+            this.n1 = this.transposed ? columns2 : rows2;
+            this.n2 = this.twoDimensional ? columns2 : 1;
+
+            // transform kernels
+            this.kernelRe = new double[n][][];
+            this.kernelIm = new double[n][][];
+            double[][] twiddles1 = twiddles(this.n1);
+            for (int p = 0; p < n; p++)
+            {
+                if (this.twoDimensional)
+                {
+                    this.kernelRe[p] = new double[this.n1][this.n2];
+                    this.kernelIm[p] = new double[this.n1][this.n2];
+                    double[][] twiddles2 = twiddles(this.n2);
+                    for (int i = 0; i < this.kernelRows; i++)
+                    {
+                        System.arraycopy(a[p][i], 0, this.kernelRe[p][i], 0, this.kernelColumns);
+                        fft(this.kernelRe[p][i], this.kernelIm[p][i], twiddles2);
+                    }
+                    fftColumns(this.kernelRe[p], this.kernelIm[p], twiddles1);
+                }
+                else
+                {
+                    this.kernelRe[p] = new double[this.kernelColumns][this.n1];
+                    this.kernelIm[p] = new double[this.kernelColumns][this.n1];
+                    for (int j = 0; j < this.kernelColumns; j++)
+                    {
+                        for (int i = 0; i < this.kernelRows; i++)
+                        {
+                            this.kernelRe[p][j][i] = a[p][i][j];
+                        }
+                        fft(this.kernelRe[p][j], this.kernelIm[p][j], twiddles1);
+                    }
+                }
+            }
+        }
 
         /**
-         * Constructor for zero imaginary part.
-         * @param x real part
+         * Returns whether the plan can be applied to data of given size.
+         * @param rows number of rows of the data matrix
+         * @param columns number of columns of the data matrix
+         * @return whether the plan can be applied to data of given size
          */
-        Complex(final double[] x)
+        public boolean fits(final int rows, final int columns)
         {
-            this.re = x;
-            this.im = new double[x.length];
+            int rowsT = this.transposed ? columns : rows;
+            int columnsT = this.transposed ? rows : columns;
+            return rowsT + this.kernelRows - 1 <= this.n1
+                    && (!this.twoDimensional || columnsT + this.kernelColumns - 1 <= this.n2);
         }
 
         /**
-         * Constructor.
-         * @param re real part
-         * @param im imaginary part;
+         * Returns whether the plan was created for the given kernels.
+         * @param otherKernels kernels
+         * @return whether the plan was created for the given kernels
          */
-        Complex(final double[] re, final double[] im)
+        public boolean hasKernels(final double[][]... otherKernels)
         {
-            this.re = re;
-            this.im = im;
+            return Arrays.deepEquals(this.kernels, otherKernels);
         }
 
-        @Override
-        public String toString()
+        /**
+         * Convolution of all kernels over the data matrix.
+         * @param data data matrix
+         * @return convolution of each kernel over the data, same size as the data
+         * @throws IllegalArgumentException when the data does not fit the plan
+         */
+        public double[][][] apply(final double[][] data)
         {
-            StringBuilder str = new StringBuilder("[");
-            String sep = "";
-            for (int i = 0; i < this.re.length; i++)
+            if (!fits(data.length, data[0].length))
             {
-                str.append(sep);
-                sep = ", ";
-                if (this.im[i] >= 0)
+                throw new IllegalArgumentException("Data matrix does not fit the convolution plan.");
+            }
+            double[][] b = this.transposed ? transpose(data) : data;
+            double[][][] out = this.twoDimensional ? apply2d(b) : applyAlongRows(b);
+            if (this.transposed)
+            {
+                for (int p = 0; p < out.length; p++)
                 {
-                    str.append(String.format(Locale.US, "%.2f+%.2fi", this.re[i], this.im[i]));
+                    out[p] = transpose(out[p]);
                 }
-                else
+            }
+            return out;
+        }
+
+        /**
+         * Convolution using two-dimensional transformation.
+         * @param b data matrix
+         * @return convolution of each kernel over the data
+         */
+        private double[][][] apply2d(final double[][] b)
+        {
+            double[][] twiddles1 = twiddles(this.n1);
+            double[][] twiddles2 = twiddles(this.n2);
+            // fft of data, rows beyond the data are zero and remain zero in the row-fft
+            double[][] re = new double[this.n1][this.n2];
+            double[][] im = new double[this.n1][this.n2];
+            for (int i = 0; i < b.length; i++)
+            {
+                System.arraycopy(b[i], 0, re[i], 0, b[i].length);
+                fft(re[i], im[i], twiddles2);
+            }
+            fftColumns(re, im, twiddles1);
+
+            // per kernel: element-wise product and inverse fft, reusing buffers
+            double[][][] out = new double[this.kernelRe.length][b.length][b[0].length];
+            double[][] productRe = new double[this.n1][this.n2];
+            double[][] productIm = new double[this.n1][this.n2];
+            int fromRow = this.kernelRows / 2;
+            int fromCol = this.kernelColumns / 2;
+            double scale = 1.0 / ((double) this.n1 * this.n2);
+            for (int p = 0; p < this.kernelRe.length; p++)
+            {
+                double[][] aRe = this.kernelRe[p];
+                double[][] aIm = this.kernelIm[p];
+                for (int i = 0; i < this.n1; i++)
+                {
+                    for (int j = 0; j < this.n2; j++)
+                    {
+                        // conjugate product, as the inverse fft is the conjugate of the fft of the conjugate
+                        productRe[i][j] = aRe[i][j] * re[i][j] - aIm[i][j] * im[i][j];
+                        productIm[i][j] = -(aRe[i][j] * im[i][j] + aIm[i][j] * re[i][j]);
+                    }
+                }
+                fftColumns(productRe, productIm, twiddles1);
+                // only the rows within the data are needed (the convolution is centered, we start at half the kernel size)
+                for (int i = 0; i < b.length; i++)
+                {
+                    double[] rowRe = productRe[fromRow + i];
+                    fft(rowRe, productIm[fromRow + i], twiddles2);
+                    for (int j = 0; j < b[0].length; j++)
+                    {
+                        out[p][i][j] = rowRe[fromCol + j] * scale;
+                    }
+                }
+            }
+            return out;
+        }
+
+        /**
+         * Convolution using 1D transformations along the first dimension, and a direct sum along the second dimension.
+         * @param b data matrix
+         * @return convolution of each kernel over the data
+         */
+        private double[][][] applyAlongRows(final double[][] b)
+        {
+            double[][] twiddles1 = twiddles(this.n1);
+            int rows = b.length;
+            int columns = b[0].length;
+            // fft of each data column
+            double[][] re = new double[columns][this.n1];
+            double[][] im = new double[columns][this.n1];
+            for (int j = 0; j < columns; j++)
+            {
+                for (int i = 0; i < rows; i++)
+                {
+                    re[j][i] = b[i][j];
+                }
+                fft(re[j], im[j], twiddles1);
+            }
+
+            // per kernel and output column: sum of products with shifted data columns and inverse fft, reusing buffers
+            double[][][] out = new double[this.kernelRe.length][rows][columns];
+            double[] sumRe = new double[this.n1];
+            double[] sumIm = new double[this.n1];
+            int fromRow = this.kernelRows / 2;
+            int fromCol = this.kernelColumns / 2;
+            double scale = 1.0 / this.n1;
+            for (int p = 0; p < this.kernelRe.length; p++)
+            {
+                for (int j = 0; j < columns; j++)
                 {
-                    str.append(String.format(Locale.US, "%.2f-%.2fi", this.re[i], -this.im[i]));
+                    Arrays.fill(sumRe, 0.0);
+                    Arrays.fill(sumIm, 0.0);
+                    for (int l = 0; l < this.kernelColumns; l++)
+                    {
+                        int m = j + fromCol - l;
+                        if (m < 0 || m >= columns)
+                        {
+                            continue;
+                        }
+                        double[] aRe = this.kernelRe[p][l];
+                        double[] aIm = this.kernelIm[p][l];
+                        double[] bRe = re[m];
+                        double[] bIm = im[m];
+                        for (int k = 0; k < this.n1; k++)
+                        {
+                            sumRe[k] += aRe[k] * bRe[k] - aIm[k] * bIm[k];
+                            sumIm[k] += aRe[k] * bIm[k] + aIm[k] * bRe[k];
+                        }
+                    }
+                    // inverse fft as the conjugate of the fft of the conjugate, of which only the real part is needed
+                    for (int k = 0; k < this.n1; k++)
+                    {
+                        sumIm[k] = -sumIm[k];
+                    }
+                    fft(sumRe, sumIm, twiddles1);
+                    for (int i = 0; i < rows; i++)
+                    {
+                        out[p][i][j] = sumRe[fromRow + i] * scale;
+                    }
                 }
             }
-            str.append("]");
-            return str.toString();
+            return out;
+        }
+
+        @Override
+        public String toString()
+        {
+            return "Plan [kernels=" + this.kernels.length + ", transposed=" + this.transposed + ", twoDimensional="
+                    + this.twoDimensional + ", n1=" + this.n1 + ", n2=" + this.n2 + "]";
         }
 
     }
+
 }
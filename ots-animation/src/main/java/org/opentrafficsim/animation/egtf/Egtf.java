@@ -1,7 +1,9 @@
 package org.opentrafficsim.animation.egtf;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Objects;
@@ -9,6 +11,10 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.IntStream;
 
 /**
@@ -77,6 +83,9 @@ public class Egtf
     /** Default tau value. */
     private static final double DEFAULT_TAU = 30.0;
 
+    /** Maximum number of output grid points in a block that is filtered as a single task on the pool. */
+    private static final int BLOCK_SIZE = 256;
+
     /** Filter kernel. */
     private Kernel kernel;
 
@@ -108,11 +117,17 @@ public class Egtf
     private NavigableMap<Double, NavigableMap<Double, Map<DataStream<?>, Double>>> data = new TreeMap<>();
 
     /** Whether the calculation was interrupted. */
-    private boolean interrupted = false;
+    private volatile boolean interrupted = false;
 
     /** Listeners. */
     private Set<EgtfListener> listeners = new LinkedHashSet<>();
 
+    /** Pool on which filtering is performed, {@code null} to filter on the calling thread. */
+    private ForkJoinPool pool = null;
+
+    /** Convolution plan of the last fast filtering, reused when the kernel and grid allow. */
+    private volatile Convolution.Plan plan = null;
+
     /**
      * Constructor using cCong = -18km/h, cFree = 80km/h, deltaV = 10km/h and vc = 80km/h. A default kernel is set.
      */
@@ -473,6 +488,26 @@ public class Egtf
     // *** FILTER METHODS ***
     // **********************
 
+    /**
+     * Sets the pool on which filtering is performed. The standard filter evaluates blocks of the output grid as separate tasks
+     * on the pool, while the fast filter performs the convolutions of different data streams as separate tasks. By default,
+     * and when set to {@code null}, filtering is performed on the calling thread.
+     * @param pool pool on which filtering is performed, may be {@code null}
+     */
+    public void setPool(final ForkJoinPool pool)
+    {
+        this.pool = pool;
+    }
+
+    /**
+     * Returns the pool on which filtering is performed.
+     * @return pool on which filtering is performed, {@code null} if filtering is performed on the calling thread
+     */
+    public Optional<ForkJoinPool> getPool()
+    {
+        return Optional.ofNullable(this.pool);
+    }
+
     /**
      * Executes filtering in parallel. The returned listener can be used to report progress and wait until the filtering is
      * done. Finally, the filtering results can then be obtained from the listener.
@@ -543,8 +578,8 @@ public class Egtf
      * @param time time of output grid in [s]
      * @param quantities quantities to calculate filtered data of
      * @return filtered data, empty when interrupted
+     * @see #setPool(ForkJoinPool)
      */
-    @SuppressWarnings("methodlength")
     public Optional<Filter> filterSI(final double[] location, final double[] time, final Quantity<?, ?>... quantities)
     {
         Objects.requireNonNull(location, "Location may not be null.");
@@ -557,148 +592,186 @@ public class Egtf
             map.put(quantity, new double[location.length][time.length]);
         }
 
-        // loop grid locations
-        for (int i = 0; i < location.length; i++)
+        ForkJoinPool forkJoinPool = this.pool;
+        if (forkJoinPool == null)
         {
-            double xGrid = location[i];
-
-            // filter applicable data for location
-            Map<Double, NavigableMap<Double, Map<DataStream<?>, Double>>> spatialData =
-                    this.data.subMap(this.kernel.fromLocation(xGrid), true, this.kernel.toLocation(xGrid), true);
-
-            // loop grid times
-            for (int j = 0; j < time.length; j++)
+            // loop grid locations
+            for (int i = 0; i < location.length; i++)
             {
-                double tGrid = time[j];
+                // filter applicable data for location
+                Map<Double, NavigableMap<Double, Map<DataStream<?>, Double>>> spatialData = getKernelSpatialData(location[i]);
 
-                // notify
-                if (notifyListeners((i + (double) j / time.length) / location.length))
+                // loop grid times
+                for (int j = 0; j < time.length; j++)
                 {
-                    return Optional.empty();
+                    // notify
+                    if (notifyListeners((i + (double) j / time.length) / location.length))
+                    {
+                        return Optional.empty();
+                    }
+                    filterPoint(spatialData, location, time, i, j, map, quantities);
                 }
+            }
+        }
+        else
+        {
+            forkJoinPool.invoke(new FilterBlock(location, time, 0, location.length, 0, time.length, map, quantities,
+                    new AtomicInteger()));
+            if (this.interrupted)
+            {
+                return Optional.empty();
+            }
+        }
+        notifyListeners(1.0);
 
-                // initialize data per stream
-                // quantity z assuming congestion and free flow
-                Map<DataStream<?>, DualWeightedMean> zCongFree = new LinkedHashMap<>();
+        return Optional.of(new FilterDouble(location, time, map));
+    }
 
-                // filter and loop applicable data for time
-                for (Map.Entry<Double, NavigableMap<Double, Map<DataStream<?>, Double>>> xEntry : spatialData.entrySet())
-                {
-                    double dx = xEntry.getKey() - xGrid;
-                    Map<Double, Map<DataStream<?>, Double>> temporalData =
-                            xEntry.getValue().subMap(this.kernel.fromTime(tGrid), true, this.kernel.toTime(tGrid), true);
+    /**
+     * Returns the data within range of the kernel from the given location.
+     * @param xGrid location of output grid point [m]
+     * @return data within range of the kernel from the given location
+     */
+    private Map<Double, NavigableMap<Double, Map<DataStream<?>, Double>>> getKernelSpatialData(final double xGrid)
+    {
+        return this.data.subMap(this.kernel.fromLocation(xGrid), true, this.kernel.toLocation(xGrid), true);
+    }
 
-                    for (Map.Entry<Double, Map<DataStream<?>, Double>> tEntry : temporalData.entrySet())
-                    {
-                        double dt = tEntry.getKey() - tGrid;
-                        Map<DataStream<?>, Double> pData = tEntry.getValue();
+    /**
+     * Calculates the filtered value of all quantities in a single output grid point.
+     * @param spatialData data within range of the kernel from the location of the grid point
+     * @param location location of output grid in [m]
+     * @param time time of output grid in [s]
+     * @param i location index of the grid point
+     * @param j time index of the grid point
+     * @param map output data per quantity
+     * @param quantities quantities to calculate filtered data of
+     */
+    @SuppressWarnings("methodlength")
+    private void filterPoint(final Map<Double, NavigableMap<Double, Map<DataStream<?>, Double>>> spatialData,
+            final double[] location, final double[] time, final int i, final int j, final Map<Quantity<?, ?>, double[][]> map,
+            final Quantity<?, ?>... quantities)
+    {
+        double xGrid = location[i];
+        double tGrid = time[j];
 
-                        double phiCong = this.kernel.weight(this.cCong, dx, dt);
-                        double phiFree = this.kernel.weight(this.cFree, dx, dt);
+        // initialize data per stream
+        // quantity z assuming congestion and free flow
+        Map<DataStream<?>, DualWeightedMean> zCongFree = new LinkedHashMap<>();
 
-                        // loop streams data at point
-                        for (Map.Entry<DataStream<?>, Double> vEntry : pData.entrySet())
-                        {
-                            DataStream<?> stream = vEntry.getKey();
-                            if (map.containsKey(stream.getQuantity()) || stream.getQuantity().isSpeed())
-                            {
-                                double v = vEntry.getValue();
-                                DualWeightedMean zCongFreeOfStream =
-                                        zCongFree.computeIfAbsent(stream, (key) -> new DualWeightedMean());
-                                zCongFreeOfStream.addCong(v, phiCong);
-                                zCongFreeOfStream.addFree(v, phiFree);
-                            }
-                        }
-                    }
-                }
+        // filter and loop applicable data for time
+        for (Map.Entry<Double, NavigableMap<Double, Map<DataStream<?>, Double>>> xEntry : spatialData.entrySet())
+        {
+            double dx = xEntry.getKey() - xGrid;
+            Map<Double, Map<DataStream<?>, Double>> temporalData =
+                    xEntry.getValue().subMap(this.kernel.fromTime(tGrid), true, this.kernel.toTime(tGrid), true);
+
+            for (Map.Entry<Double, Map<DataStream<?>, Double>> tEntry : temporalData.entrySet())
+            {
+                double dt = tEntry.getKey() - tGrid;
+                Map<DataStream<?>, Double> pData = tEntry.getValue();
+
+                double phiCong = this.kernel.weight(this.cCong, dx, dt);
+                double phiFree = this.kernel.weight(this.cFree, dx, dt);
 
-                // figure out the congestion level estimated for each data source
-                Map<DataSource, Double> w = new LinkedHashMap<>();
-                for (Map.Entry<DataStream<?>, DualWeightedMean> streamEntry : zCongFree.entrySet())
+                // loop streams data at point
+                for (Map.Entry<DataStream<?>, Double> vEntry : pData.entrySet())
                 {
-                    DataStream<?> dataStream = streamEntry.getKey();
-                    if (dataStream.getQuantity().isSpeed()) // only one speed quantity allowed per data source
+                    DataStream<?> stream = vEntry.getKey();
+                    if (map.containsKey(stream.getQuantity()) || stream.getQuantity().isSpeed())
                     {
-                        DualWeightedMean zCongFreeOfStream = streamEntry.getValue();
-                        double u = Math.min(zCongFreeOfStream.getCong(), zCongFreeOfStream.getFree());
-                        w.put(dataStream.getDataSource(), // 1 speed quantity per source allowed
-                                .5 * (1.0 + Math.tanh((Egtf.this.vc - u) / Egtf.this.deltaV)));
-                        continue;
+                        double v = vEntry.getValue();
+                        DualWeightedMean zCongFreeOfStream =
+                                zCongFree.computeIfAbsent(stream, (key) -> new DualWeightedMean());
+                        zCongFreeOfStream.addCong(v, phiCong);
+                        zCongFreeOfStream.addFree(v, phiFree);
                     }
                 }
+            }
+        }
+
+        // figure out the congestion level estimated for each data source
+        Map<DataSource, Double> w = new LinkedHashMap<>();
+        for (Map.Entry<DataStream<?>, DualWeightedMean> streamEntry : zCongFree.entrySet())
+        {
+            DataStream<?> dataStream = streamEntry.getKey();
+            if (dataStream.getQuantity().isSpeed()) // only one speed quantity allowed per data source
+            {
+                DualWeightedMean zCongFreeOfStream = streamEntry.getValue();
+                double u = Math.min(zCongFreeOfStream.getCong(), zCongFreeOfStream.getFree());
+                w.put(dataStream.getDataSource(), // 1 speed quantity per source allowed
+                        .5 * (1.0 + Math.tanh((Egtf.this.vc - u) / Egtf.this.deltaV)));
+                continue;
+            }
+        }
 
-                // sum available data sources per quantity
-                Double wMean = null;
-                for (Map.Entry<Quantity<?, ?>, double[][]> qEntry : map.entrySet())
+        // sum available data sources per quantity
+        Double wMean = null;
+        for (Map.Entry<Quantity<?, ?>, double[][]> qEntry : map.entrySet())
+        {
+            Quantity<?, ?> quantity = qEntry.getKey();
+            WeightedMean z = new WeightedMean();
+            for (Map.Entry<DataStream<?>, DualWeightedMean> zEntry : zCongFree.entrySet())
+            {
+                DataStream<?> dataStream = zEntry.getKey();
+                if (dataStream.getQuantity().equals(quantity))
                 {
-                    Quantity<?, ?> quantity = qEntry.getKey();
-                    WeightedMean z = new WeightedMean();
-                    for (Map.Entry<DataStream<?>, DualWeightedMean> zEntry : zCongFree.entrySet())
+                    // obtain congestion level
+                    double wCong;
+                    if (!w.containsKey(dataStream.getDataSource()))
                     {
-                        DataStream<?> dataStream = zEntry.getKey();
-                        if (dataStream.getQuantity().equals(quantity))
+                        // this data source has no speed data, but congestion level can be estimated from other sources
+                        if (wMean == null)
                         {
-                            // obtain congestion level
-                            double wCong;
-                            if (!w.containsKey(dataStream.getDataSource()))
+                            // let's see if speed was estimated already
+                            for (Quantity<?, ?> prevQuant : quantities)
                             {
-                                // this data source has no speed data, but congestion level can be estimated from other sources
-                                if (wMean == null)
+                                if (prevQuant.equals(quantity))
                                 {
-                                    // let's see if speed was estimated already
-                                    for (Quantity<?, ?> prevQuant : quantities)
+                                    // it was not, get mean of other data source
+                                    wMean = 0.0;
+                                    for (double ww : w.values())
                                     {
-                                        if (prevQuant.equals(quantity))
-                                        {
-                                            // it was not, get mean of other data source
-                                            wMean = 0.0;
-                                            for (double ww : w.values())
-                                            {
-                                                wMean += ww / w.size();
-                                            }
-                                            break;
-                                        }
-                                        else if (prevQuant.isSpeed())
-                                        {
-                                            wMean = .5 * (1.0
-                                                    + Math.tanh((Egtf.this.vc - map.get(prevQuant)[i][j]) / Egtf.this.deltaV));
-                                            break;
-                                        }
+                                        wMean += ww / w.size();
                                     }
+                                    break;
+                                }
+                                else if (prevQuant.isSpeed())
+                                {
+                                    wMean = .5 * (1.0
+                                            + Math.tanh((Egtf.this.vc - map.get(prevQuant)[i][j]) / Egtf.this.deltaV));
+                                    break;
                                 }
-                                wCong = wMean;
-                            }
-                            else
-                            {
-                                wCong = w.get(dataStream.getDataSource());
-                            }
-                            // calculate estimated value z of this data source (no duplicate quantities per source allowed)
-                            double wfree = 1.0 - wCong;
-                            DualWeightedMean zCongFreej = zEntry.getValue();
-                            double zStream = wCong * zCongFreej.getCong() + wfree * zCongFreej.getFree();
-                            double weight;
-                            if (w.size() > 1)
-                            {
-                                // data source more important if more and nearer measurements
-                                double beta = wCong * zCongFreej.getDenominatorCong() + wfree * zCongFreej.getDenominatorFree();
-                                // more important if more reliable (smaller standard deviation) at congestion level
-                                double alpha = wCong / dataStream.getThetaCong() + wfree / dataStream.getThetaFree();
-                                weight = alpha * beta;
-                            }
-                            else
-                            {
-                                weight = 1.0;
                             }
-                            z.add(zStream, weight);
                         }
+                        wCong = wMean;
                     }
-                    qEntry.getValue()[i][j] = z.get();
+                    else
+                    {
+                        wCong = w.get(dataStream.getDataSource());
+                    }
+                    // calculate estimated value z of this data source (no duplicate quantities per source allowed)
+                    double wfree = 1.0 - wCong;
+                    DualWeightedMean zCongFreej = zEntry.getValue();
+                    double zStream = wCong * zCongFreej.getCong() + wfree * zCongFreej.getFree();
+                    double weight;
+                    if (w.size() > 1)
+                    {
+                        // data source more important if more and nearer measurements
+                        double beta = wCong * zCongFreej.getDenominatorCong() + wfree * zCongFreej.getDenominatorFree();
+                        // more important if more reliable (smaller standard deviation) at congestion level
+                        double alpha = wCong / dataStream.getThetaCong() + wfree / dataStream.getThetaFree();
+                        weight = alpha * beta;
+                    }
+                    else
+                    {
+                        weight = 1.0;
+                    }
+                    z.add(zStream, weight);
                 }
             }
+            qEntry.getValue()[i][j] = z.get();
         }
-        notifyListeners(1.0);
-
-        return Optional.of(new FilterDouble(location, time, map));
     }
 
     /**
@@ -709,6 +782,9 @@ public class Egtf
      * <p>
      * More than being a fast implementation of the Adaptive Smoothing Method, this implementation includes all data source like
      * the Extended Generalized Treiber-Helbing Filter.
+     * <p>
+     * The convolution plan, containing the transformed kernel, is reused between calls with the same kernel and grid steps,
+     * as long as the grid fits the plan.
      * @param xMin minimum location value of output grid [m]
      * @param xStep location step of output grid [m]
      * @param xMax maximum location value of output grid [m]
@@ -769,33 +845,36 @@ public class Egtf
             }
         }
 
-        // discretize data
+        // discretize data, adding each data point to all grid cells within which bounds (including edges) it is
         Map<DataStream<?>, double[][]> dataSum = new LinkedHashMap<>();
         Map<DataStream<?>, double[][]> dataCount = new LinkedHashMap<>(); // integer counts, must be double[][] for convolution
-        // loop grid locations
-        for (int i = 0; i < location.length; i++)
+        if (location.length > 0 && time.length > 0)
         {
-            // filter applicable data for location
-            Map<Double, NavigableMap<Double, Map<DataStream<?>, Double>>> spatialData =
-                    this.data.subMap(location[i] - 0.5 * xStep, true, location[i] + 0.5 * xStep, true);
-            // loop grid times
-            for (int j = 0; j < time.length; j++)
+            // loop applicable data locations
+            for (Map.Entry<Double, NavigableMap<Double, Map<DataStream<?>, Double>>> xEntry : this.data
+                    .subMap(location[0] - 0.5 * xStep, true, location[location.length - 1] + 0.5 * xStep, true).entrySet())
             {
-                // filter and loop applicable data for time
-                for (NavigableMap<Double, Map<DataStream<?>, Double>> locationData : spatialData.values())
+                int[] iCells = cells(location, xStep, xEntry.getKey());
+                // loop applicable data times
+                for (Map.Entry<Double, Map<DataStream<?>, Double>> tEntry : xEntry.getValue()
+                        .subMap(time[0] - 0.5 * tStep, true, time[time.length - 1] + 0.5 * tStep, true).entrySet())
                 {
-                    NavigableMap<Double, Map<DataStream<?>, Double>> temporalData =
-                            locationData.subMap(time[j] - 0.5 * tStep, true, time[j] + 0.5 * tStep, true);
-                    for (Map<DataStream<?>, Double> timeData : temporalData.values())
+                    int[] jCells = cells(time, tStep, tEntry.getKey());
+                    for (Map.Entry<DataStream<?>, Double> timeEntry : tEntry.getValue().entrySet())
                     {
-                        for (Map.Entry<DataStream<?>, Double> timeEntry : timeData.entrySet())
+                        if (map.containsKey(timeEntry.getKey().getQuantity()) || timeEntry.getKey().getQuantity().isSpeed())
                         {
-                            if (map.containsKey(timeEntry.getKey().getQuantity()) || timeEntry.getKey().getQuantity().isSpeed())
+                            double[][] sum = dataSum.computeIfAbsent(timeEntry.getKey(),
+                                    (key) -> new double[location.length][time.length]);
+                            double[][] count = dataCount.computeIfAbsent(timeEntry.getKey(),
+                                    (key) -> new double[location.length][time.length]);
+                            for (int i = iCells[0]; i <= iCells[1]; i++)
                             {
-                                dataSum.computeIfAbsent(timeEntry.getKey(),
-                                        (key) -> new double[location.length][time.length])[i][j] += timeEntry.getValue();
-                                dataCount.computeIfAbsent(timeEntry.getKey(),
-                                        (key) -> new double[location.length][time.length])[i][j]++;
+                                for (int j = jCells[0]; j <= jCells[1]; j++)
+                                {
+                                    sum[i][j] += timeEntry.getValue();
+                                    count[i][j]++;
+                                }
                             }
                         }
                     }
@@ -803,38 +882,39 @@ public class Egtf
             }
         }
 
+        // convolutions of filters with discretized data and data counts, reusing the plan of the previous call if possible
+        List<double[][]> matrices = new ArrayList<>();
+        for (Map.Entry<DataStream<?>, double[][]> zEntry : dataSum.entrySet())
+        {
+            matrices.add(zEntry.getValue());
+            matrices.add(dataCount.get(zEntry.getKey()));
+        }
+        Optional<double[][][][]> convolutions = convolutions(matrices, phiCong, phiFree);
+        if (convolutions.isEmpty())
+        {
+            return Optional.empty();
+        }
+        // per data stream: convoluted data (z) and convoluted data counts (n), each with congestion and free flow kernel
+        Map<DataStream<?>, double[][][]> zConv = new LinkedHashMap<>();
+        Map<DataStream<?>, double[][][]> nConv = new LinkedHashMap<>();
+        int index = 0;
+        for (DataStream<?> dataStream : dataSum.keySet())
+        {
+            zConv.put(dataStream, convolutions.get()[index++]);
+            nConv.put(dataStream, convolutions.get()[index++]);
+        }
+
         // figure out the congestion level estimated for each data source
-        double steps = quantities.length + 1; // speed (for congestion level) and then all in quantities
-        double step = 0;
-        // store maps to prevent us from calculating the convolution for speed again later
         Map<DataSource, double[][]> w = new LinkedHashMap<>();
-        Map<DataSource, double[][]> zCongSpeed = new LinkedHashMap<>();
-        Map<DataSource, double[][]> zFreeSpeed = new LinkedHashMap<>();
-        Map<DataSource, double[][]> nCongSpeed = new LinkedHashMap<>();
-        Map<DataSource, double[][]> nFreeSpeed = new LinkedHashMap<>();
-        for (Map.Entry<DataStream<?>, double[][]> zEntry : dataSum.entrySet())
+        for (Map.Entry<DataStream<?>, double[][][]> zEntry : zConv.entrySet())
         {
             DataStream<?> dataStream = zEntry.getKey();
             if (dataStream.getQuantity().isSpeed()) // only one speed quantity allowed per data source
             {
-                // notify
-                double[][] vCong = Convolution.convolution(phiCong, zEntry.getValue());
-                if (notifyListeners((step + 0.25) / steps))
-                {
-                    return Optional.empty();
-                }
-                double[][] vFree = Convolution.convolution(phiFree, zEntry.getValue());
-                if (notifyListeners((step + 0.5) / steps))
-                {
-                    return Optional.empty();
-                }
-                double[][] count = dataCount.get(dataStream);
-                double[][] nCong = Convolution.convolution(phiCong, count);
-                if (notifyListeners((step + 0.75) / steps))
-                {
-                    return Optional.empty();
-                }
-                double[][] nFree = Convolution.convolution(phiFree, count);
+                double[][] vCong = zEntry.getValue()[0];
+                double[][] vFree = zEntry.getValue()[1];
+                double[][] nCong = nConv.get(dataStream)[0];
+                double[][] nFree = nConv.get(dataStream)[1];
                 double[][] wSource = new double[vCong.length][vCong[0].length];
                 for (int i = 0; i < vCong.length; i++)
                 {
@@ -845,17 +925,8 @@ public class Egtf
                     }
                 }
                 w.put(dataStream.getDataSource(), wSource);
-                zCongSpeed.put(dataStream.getDataSource(), vCong);
-                zFreeSpeed.put(dataStream.getDataSource(), vFree);
-                nCongSpeed.put(dataStream.getDataSource(), nCong);
-                nFreeSpeed.put(dataStream.getDataSource(), nFree);
             }
         }
-        step++;
-        if (notifyListeners(step / steps))
-        {
-            return Optional.empty();
-        }
 
         // sum available data sources per quantity
         double[][] wMean = null;
@@ -865,19 +936,12 @@ public class Egtf
             double[][] qData = map.get(quantity);
             double[][] qWeights = weights.get(quantity);
             // loop streams that provide this quantity
-            Set<Map.Entry<DataStream<?>, double[][]>> zEntries = new LinkedHashSet<>();
-            for (Map.Entry<DataStream<?>, double[][]> zEntry : dataSum.entrySet())
+            for (DataStream<?> dataStream : zConv.keySet())
             {
-                if (zEntry.getKey().getQuantity().equals(quantity))
+                if (!dataStream.getQuantity().equals(quantity))
                 {
-                    zEntries.add(zEntry);
+                    continue;
                 }
-            }
-            double streamCounter = 0;
-            for (Map.Entry<DataStream<?>, double[][]> zEntry : zEntries)
-            {
-                DataStream<?> dataStream = zEntry.getKey();
-
                 // obtain congestion level
                 double[][] wj;
                 if (!w.containsKey(dataStream.getDataSource()))
@@ -926,38 +990,10 @@ public class Egtf
                     wj = w.get(dataStream.getDataSource());
                 }
 
-                // convolutions of filters with discretized data and data counts
-                double[][] zCong;
-                double[][] zFree;
-                double[][] nCong;
-                double[][] nFree;
-                if (dataStream.getQuantity().isSpeed())
-                {
-                    zCong = zCongSpeed.get(dataStream.getDataSource());
-                    zFree = zFreeSpeed.get(dataStream.getDataSource());
-                    nCong = nCongSpeed.get(dataStream.getDataSource());
-                    nFree = nFreeSpeed.get(dataStream.getDataSource());
-                }
-                else
-                {
-                    zCong = Convolution.convolution(phiCong, zEntry.getValue());
-                    if (notifyListeners((step + (streamCounter + 0.25) / zEntries.size()) / steps))
-                    {
-                        return Optional.empty();
-                    }
-                    zFree = Convolution.convolution(phiFree, zEntry.getValue());
-                    if (notifyListeners((step + (streamCounter + 0.5) / zEntries.size()) / steps))
-                    {
-                        return Optional.empty();
-                    }
-                    double[][] count = dataCount.get(dataStream);
-                    nCong = Convolution.convolution(phiCong, count);
-                    if (notifyListeners((step + (streamCounter + 0.75) / zEntries.size()) / steps))
-                    {
-                        return Optional.empty();
-                    }
-                    nFree = Convolution.convolution(phiFree, count);
-                }
+                double[][] zCong = zConv.get(dataStream)[0];
+                double[][] zFree = zConv.get(dataStream)[1];
+                double[][] nCong = nConv.get(dataStream)[0];
+                double[][] nFree = nConv.get(dataStream)[1];
 
                 // loop grid to add to each weighted sum (weighted per data source)
                 for (int i = 0; i < location.length; i++)
@@ -976,11 +1012,6 @@ public class Egtf
                         qWeights[i][j] += weight;
                     }
                 }
-                streamCounter++;
-                if (notifyListeners((step + streamCounter / zEntries.size()) / steps))
-                {
-                    return Optional.empty();
-                }
             }
             for (int i = 0; i < location.length; i++)
             {
@@ -989,7 +1020,6 @@ public class Egtf
                     qData[i][j] /= qWeights[i][j];
                 }
             }
-            step++;
         }
 
         return Optional.of(new FilterDouble(location, time, map));
@@ -1015,6 +1045,86 @@ public class Egtf
         return array;
     }
 
+    /**
+     * Returns the range of grid cells within which bounds (including edges) the value is.
+     * @param grid equidistant grid values
+     * @param step grid step
+     * @param value value
+     * @return first and last index of grid cells within which bounds the value is, first above last if there are none
+     */
+    private static int[] cells(final double[] grid, final double step, final double value)
+    {
+        int k = (int) Math.round((value - grid[0]) / step);
+        int from = Math.max(0, k - 1);
+        int to = Math.min(grid.length - 1, k + 1);
+        while (from <= to && (value < grid[from] - 0.5 * step || value > grid[from] + 0.5 * step))
+        {
+            from++;
+        }
+        while (to >= from && (value < grid[to] - 0.5 * step || value > grid[to] + 0.5 * step))
+        {
+            to--;
+        }
+        return new int[] {from, to};
+    }
+
+    /**
+     * Returns the convolutions of the congestion and free flow kernels over all matrices. Different matrices are convoluted
+     * as separate tasks if a pool is set.
+     * @param matrices data matrices, all of the size of the output grid
+     * @param phiCong discretized congestion kernel
+     * @param phiFree discretized free flow kernel
+     * @return per matrix the convolution with the congestion and free flow kernel, empty when interrupted
+     */
+    private Optional<double[][][][]> convolutions(final List<double[][]> matrices, final double[][] phiCong,
+            final double[][] phiFree)
+    {
+        double[][][][] out = new double[matrices.size()][][][];
+        if (matrices.isEmpty())
+        {
+            return Optional.of(out);
+        }
+        int rows = matrices.get(0).length;
+        int columns = matrices.get(0)[0].length;
+        Convolution.Plan convolutionPlan = this.plan;
+        if (convolutionPlan == null || !convolutionPlan.fits(rows, columns) || !convolutionPlan.hasKernels(phiCong, phiFree))
+        {
+            convolutionPlan = new Convolution.Plan(rows, columns, phiCong, phiFree);
+            this.plan = convolutionPlan;
+        }
+
+        ForkJoinPool forkJoinPool = this.pool;
+        if (forkJoinPool == null)
+        {
+            for (int k = 0; k < out.length; k++)
+            {
+                out[k] = convolutionPlan.apply(matrices.get(k));
+                if (notifyListeners((k + 1.0) / out.length))
+                {
+                    return Optional.empty();
+                }
+            }
+            return Optional.of(out);
+        }
+        Convolution.Plan taskPlan = convolutionPlan; // effectively final
+        AtomicInteger done = new AtomicInteger();
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (int k = 0; k < out.length; k++)
+        {
+            int matrix = k; // effectively final
+            tasks.add(forkJoinPool.submit(() ->
+            {
+                if (!this.interrupted)
+                {
+                    out[matrix] = taskPlan.apply(matrices.get(matrix));
+                    notifyProgress(done, 1, out.length);
+                }
+            }));
+        }
+        tasks.forEach(ForkJoinTask::join);
+        return this.interrupted ? Optional.empty() : Optional.of(out);
+    }
+
     // *********************
     // *** EVENT METHODS ***
     // *********************
@@ -1063,10 +1173,138 @@ public class Egtf
         return this.interrupted;
     }
 
+    /**
+     * Notify all listeners of progress made by a task on the pool. Listeners are notified by one task at a time.
+     * @param done counter of work done by all tasks
+     * @param increment work done by the task
+     * @param total total work
+     * @return whether the filter is interrupted
+     */
+    private boolean notifyProgress(final AtomicInteger done, final int increment, final int total)
+    {
+        synchronized (this.listeners)
+        {
+            return notifyListeners((double) done.addAndGet(increment) / total);
+        }
+    }
+
     // **********************
     // *** HELPER CLASSES ***
     // **********************
 
+    /**
+     * Task that filters a block of the output grid. Blocks that are too large are split in two blocks along the largest
+     * dimension, which are filtered as separate tasks.
+     */
+    private final class FilterBlock extends RecursiveAction
+    {
+        /** */
+        private static final long serialVersionUID = 20261019L;
+
+        /** Location of output grid in [m]. */
+        private final double[] location;
+
+        /** Time of output grid in [s]. */
+        private final double[] time;
+
+        /** First location index of the block. */
+        private final int iFrom;
+
+        /** Last location index of the block (exclusive). */
+        private final int iTo;
+
+        /** First time index of the block. */
+        private final int jFrom;
+
+        /** Last time index of the block (exclusive). */
+        private final int jTo;
+
+        /** Output data per quantity. */
+        private final Map<Quantity<?, ?>, double[][]> map;
+
+        /** Quantities to calculate filtered data of. */
+        private final Quantity<?, ?>[] quantities;
+
+        /** Counter of filtered grid points. */
+        private final AtomicInteger done;
+
+        /**
+         * Constructor.
+         * @param location location of output grid in [m]
+         * @param time time of output grid in [s]
+         * @param iFrom first location index of the block
+         * @param iTo last location index of the block (exclusive)
+         * @param jFrom first time index of the block
+         * @param jTo last time index of the block (exclusive)
+         * @param map output data per quantity
+         * @param quantities quantities to calculate filtered data of
+         * @param done counter of filtered grid points
+         */
+        @SuppressWarnings("parameternumber")
+        FilterBlock(final double[] location, final double[] time, final int iFrom, final int iTo, final int jFrom,
+                final int jTo, final Map<Quantity<?, ?>, double[][]> map, final Quantity<?, ?>[] quantities,
+                final AtomicInteger done)
+        {
+            this.location = location;
+            this.time = time;
+            this.iFrom = iFrom;
+            this.iTo = iTo;
+            this.jFrom = jFrom;
+            this.jTo = jTo;
+            this.map = map;
+            this.quantities = quantities;
+            this.done = done;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (Egtf.this.interrupted)
+            {
+                return;
+            }
+            int ni = this.iTo - this.iFrom;
+            int nj = this.jTo - this.jFrom;
+            if (ni * nj > BLOCK_SIZE)
+            {
+                if (ni >= nj)
+                {
+                    int iMid = this.iFrom + ni / 2;
+                    invokeAll(block(this.iFrom, iMid, this.jFrom, this.jTo), block(iMid, this.iTo, this.jFrom, this.jTo));
+                }
+                else
+                {
+                    int jMid = this.jFrom + nj / 2;
+                    invokeAll(block(this.iFrom, this.iTo, this.jFrom, jMid), block(this.iFrom, this.iTo, jMid, this.jTo));
+                }
+                return;
+            }
+            for (int i = this.iFrom; i < this.iTo; i++)
+            {
+                Map<Double, NavigableMap<Double, Map<DataStream<?>, Double>>> spatialData =
+                        getKernelSpatialData(this.location[i]);
+                for (int j = this.jFrom; j < this.jTo; j++)
+                {
+                    filterPoint(spatialData, this.location, this.time, i, j, this.map, this.quantities);
+                }
+            }
+            notifyProgress(this.done, ni * nj, this.location.length * this.time.length);
+        }
+
+        /**
+         * Returns a sub-block.
+         * @param i1 first location index of the block
+         * @param i2 last location index of the block (exclusive)
+         * @param j1 first time index of the block
+         * @param j2 last time index of the block (exclusive)
+         * @return sub-block
+         */
+        private FilterBlock block(final int i1, final int i2, final int j1, final int j2)
+        {
+            return new FilterBlock(this.location, this.time, i1, i2, j1, j2, this.map, this.quantities, this.done);
+        }
+    }
+
     /**
      * Small class to build up a weighted mean under the congestion and free flow assumption.
      */
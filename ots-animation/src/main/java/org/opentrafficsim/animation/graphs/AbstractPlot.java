@@ -7,7 +7,9 @@ import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
@@ -71,6 +73,9 @@ public abstract class AbstractPlot<S extends PaintState> implements Identifiable
     /** Scheduler. */
     private final PlotScheduler scheduler;
 
+    /** Whether the plot is used without GUI, i.e. without worker thread and Swing EDT. */
+    private final boolean headless;
+
     /** Unique ID of the chart. */
     private final String id = UUID.randomUUID().toString();
 
@@ -115,11 +120,16 @@ public abstract class AbstractPlot<S extends PaintState> implements Identifiable
             final Duration delay)
     {
         this.scheduler = scheduler;
+        this.headless = scheduler.isHeadless();
         this.caption = caption;
         this.updateInterval = updateInterval;
         this.delay = delay;
         this.paintState = emptyPaintState();
         scheduleUpdateEvent(); // start redraw chain
+        if (this.headless)
+        {
+            return; // paint states are calculated on request by a PlotRenderer
+        }
 
         // worker thread
         Thread invokingThread = Thread.currentThread();
@@ -186,6 +196,48 @@ public abstract class AbstractPlot<S extends PaintState> implements Identifiable
      * @throws IOException on IO exception
      */
     public byte[] encodeAsPng(final int width, final int height, final double fontSize) throws IOException
+    {
+        return ChartUtils.encodeAsPNG(drawImage(width, height, fontSize));
+    }
+
+    /**
+     * Returns the chart as a byte array representing an SVG document. As no vector graphics back-end is available for
+     * JFreeChart, the document contains the chart as an embedded PNG image, such that it can be used in SVG-based reports.
+     * @param width width
+     * @param height height
+     * @param fontSize font size (16 is the original on screen size)
+     * @return the chart as a byte array representing an SVG document
+     * @throws IOException on IO exception
+     */
+    public byte[] encodeAsSvg(final int width, final int height, final double fontSize) throws IOException
+    {
+        String png = Base64.getEncoder().encodeToString(encodeAsPng(width, height, fontSize));
+        String svg = String.format(
+                "<?xml version=\"1.0\" encoding=\"UTF-8\"?>%n<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"%d\" "
+                        + "height=\"%d\" viewBox=\"0 0 %d %d\">%n<title>%s</title>%n<image width=\"%d\" height=\"%d\" "
+                        + "href=\"data:image/png;base64,%s\"/>%n</svg>%n",
+                width, height, width, height, escapeXml(this.caption), width, height, png);
+        return svg.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Escapes text for use in XML.
+     * @param text text
+     * @return escaped text
+     */
+    private static String escapeXml(final String text)
+    {
+        return text == null ? "" : text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    /**
+     * Draws the chart on an off-screen image.
+     * @param width width
+     * @param height height
+     * @param fontSize font size (16 is the original on screen size)
+     * @return image of the chart
+     */
+    private BufferedImage drawImage(final int width, final int height, final double fontSize)
     {
         // to double the font size, we halve the base dimensions
         // JFreeChart will the assign more area (relatively) to the fixed actual font size
@@ -200,7 +252,7 @@ public abstract class AbstractPlot<S extends PaintState> implements Identifiable
         getChart().draw(g2, new Rectangle2D.Double(0, 0, baseWidth, baseHeight), null, null);
         g2.setTransform(saved);
         g2.dispose();
-        return ChartUtils.encodeAsPNG(image);
+        return image;
     }
 
     @Override
@@ -277,6 +329,16 @@ public abstract class AbstractPlot<S extends PaintState> implements Identifiable
         return this.caption;
     }
 
+    /**
+     * Returns whether the plot is used without GUI. Such plots have no worker thread, and paint states are calculated and
+     * adopted on the thread that requests it, e.g. by a {@link PlotRenderer}.
+     * @return whether the plot is used without GUI
+     */
+    public boolean isHeadless()
+    {
+        return this.headless;
+    }
+
     // ===== Listeners =====
 
     @Override
@@ -313,7 +375,7 @@ public abstract class AbstractPlot<S extends PaintState> implements Identifiable
         };
 
         // invoke only on Swing EDT
-        if (SwingUtilities.isEventDispatchThread())
+        if (this.headless || SwingUtilities.isEventDispatchThread())
         {
             r.run();
         }
@@ -331,6 +393,10 @@ public abstract class AbstractPlot<S extends PaintState> implements Identifiable
      */
     protected void invalidate()
     {
+        if (this.headless)
+        {
+            return; // there is no worker thread, paint states are calculated on request
+        }
         this.workerQueue.offer(this.scheduler.getTime());
     }
 
@@ -347,7 +413,8 @@ public abstract class AbstractPlot<S extends PaintState> implements Identifiable
     /**
      * Offer new paint state. This method can be invoked by any thread, and will make sure the actual setting of the paint state
      * will occur on the Swing EDT. This assures that no paint state is changed as Swing is painting (i.e. as the plot is asked
-     * for data to paint). Listeners are notified on the Swing EDT as soon as the paint state has been set.
+     * for data to paint). Listeners are notified on the Swing EDT as soon as the paint state has been set. Headless plots adopt
+     * the paint state immediately on the calling thread.
      * @param paintState paint state
      */
     @SuppressWarnings("hiddenfield")
@@ -357,7 +424,7 @@ public abstract class AbstractPlot<S extends PaintState> implements Identifiable
         this.pendingPaintState.set(paintState);
         if (this.adoptionPosted.compareAndSet(false, true))
         {
-            if (SwingUtilities.isEventDispatchThread())
+            if (this.headless || SwingUtilities.isEventDispatchThread())
             {
                 setPaintState();
             }
@@ -369,10 +436,10 @@ public abstract class AbstractPlot<S extends PaintState> implements Identifiable
     }
 
     /**
-     * Sets the paint state in a thread safe manner and notifies the listeners. This method is always invoked on the Swing EDT.
+     * Sets the paint state in a thread safe manner and notifies the listeners. This method is invoked on the Swing EDT.
      * This method may be overridden to use a newly set paint state (after calling {@code super.setPaintState()}) to set
      * internal properties. For example, setting the block size of an internal block renderer based on the granularity of the
-     * data.
+     * data. For headless plots this method is invoked on the thread that offers the paint state.
      */
     protected void setPaintState()
     {
@@ -8,6 +8,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
 import org.djunits.unit.SpeedUnit;
 import org.djunits.value.vdouble.scalar.Duration;
@@ -179,6 +183,9 @@ public class ContourDataSource extends PlotDelegate<ContourPaintState, AbstractC
     /** Whether to smooth data. */
     private boolean smooth = false;
 
+    /** Pool on which cells and the filter are calculated in parallel, {@code null} to calculate on the calling thread. */
+    private volatile ForkJoinPool pool;
+
     // ********************
     // *** CONSTRUCTORS ***
     // ********************
@@ -224,6 +231,9 @@ public class ContourDataSource extends PlotDelegate<ContourPaintState, AbstractC
         // get length-weighted mean speed limit from path to determine cFree and Vc for smoothing
         this.cFree = Speed.min(path.getSpeedLimit(), MAX_C_FREE);
         this.vc = Speed.min(path.getSpeedLimit().times(VC_FACRTOR), MAX_C_FREE);
+
+        // interactive plots calculate on their worker thread, so as not to compete with the simulation for the common pool
+        this.pool = plotScheduler.isHeadless() ? ForkJoinPool.commonPool() : null;
     }
 
     @Override
@@ -245,6 +255,26 @@ public class ContourDataSource extends PlotDelegate<ContourPaintState, AbstractC
         return this.path;
     }
 
+    /**
+     * Sets the pool on which the space slices of each time slice, and the smoothing filter, are calculated in parallel. By
+     * default this is the common pool for a data source created with {@link PlotScheduler#HEADLESS}, and {@code null} for
+     * other data sources.
+     * @param pool pool, {@code null} to calculate on the calling thread
+     */
+    public void setPool(final ForkJoinPool pool)
+    {
+        this.pool = pool;
+    }
+
+    /**
+     * Returns the pool on which the space slices of each time slice, and the smoothing filter, are calculated in parallel.
+     * @return pool, empty if calculations are performed on the calling thread
+     */
+    public Optional<ForkJoinPool> getPool()
+    {
+        return Optional.ofNullable(this.pool);
+    }
+
     @Override
     public void addPlot(final AbstractContourPlot<?> contourPlot)
     {
@@ -383,6 +413,12 @@ public class ContourDataSource extends PlotDelegate<ContourPaintState, AbstractC
 
         // Smoothing filter
         applySmoothingIfNeeded(uc);
+
+        // Headless plots only receive the final result
+        if (isHeadless() && !uc.smooth())
+        {
+            offerPaintState(uc);
+        }
     }
 
     /**
@@ -525,6 +561,7 @@ public class ContourDataSource extends PlotDelegate<ContourPaintState, AbstractC
     {
         // create the filter
         this.egtf = new Egtf(C_CONG.si, this.cFree.si, DELTA_V.si, this.vc.si);
+        this.egtf.setPool(this.pool);
 
         // create data source and its data streams for speed, distance traveled, time traveled, and additional
         DataSource generic = this.egtf.getDataSource("generic");
@@ -574,7 +611,8 @@ public class ContourDataSource extends PlotDelegate<ContourPaintState, AbstractC
     }
 
     /**
-     * Processing a time slice.
+     * Processing a time slice. The cells of all space slices are first aggregated, in parallel if there is a pool, after which
+     * the results are written and fed to the filter in order.
      * @param j time slice index
      * @param uc update context
      * @return false if the processing should be aborted
@@ -584,9 +622,36 @@ public class ContourDataSource extends PlotDelegate<ContourPaintState, AbstractC
         final Duration tFrom = Duration.ofSI(uc.timeTicks()[j]);
         final Duration tTo = Duration.ofSI(uc.timeTicks()[j + 1]);
 
-        int fromSpaceIndex = uc.fromSpaceIndex(); // local copy; set to 0 after first cell
+        // in next time slice, all of space needs to be processed
+        int fromSpaceIndex = j == uc.fromTimeIndex() ? uc.fromSpaceIndex() : 0;
+        int toSpaceIndex = uc.spaceTicks().length - 1;
+
+        // define cells and compute cell totals
+        CellWindow[] windows = new CellWindow[toSpaceIndex];
+        CellTotals[] totals = new CellTotals[toSpaceIndex];
+        IntConsumer aggregate = (i) ->
+        {
+            if (!isInterpolationEdge(i, j, uc.interpolate()) && !isInvalidTimeSpan())
+            {
+                Length xFrom = Length.ofSI(uc.spaceTicks()[i]);
+                Length xTo = Length.ofSI(Math.min(uc.spaceTicks()[i + 1], this.path.getTotalLength().si));
+                windows[i] = new CellWindow(i, j, xFrom, xTo, tFrom, tTo);
+                totals[i] = aggregateCell(windows[i]);
+            }
+        };
+        ForkJoinPool forkJoinPool = this.pool;
+        if (forkJoinPool == null || toSpaceIndex - fromSpaceIndex < 2)
+        {
+            IntStream.range(fromSpaceIndex, toSpaceIndex).forEach(aggregate);
+        }
+        else
+        {
+            // a parallel stream started from within the pool runs on the pool
+            forkJoinPool.invoke(ForkJoinTask.adapt(() -> IntStream.range(fromSpaceIndex, toSpaceIndex).parallel()
+                    .forEach(aggregate)));
+        }
 
-        for (int i = fromSpaceIndex; i < uc.spaceTicks().length - 1; i++)
+        for (int i = fromSpaceIndex; i < toSpaceIndex; i++)
         {
             if (handleInterpolationEdges(i, j, uc.interpolate()))
             {
@@ -597,27 +662,20 @@ public class ContourDataSource extends PlotDelegate<ContourPaintState, AbstractC
                 }
                 continue;
             }
-
-            // in next time slice, all of space needs to be processed
-            fromSpaceIndex = 0;
-
-            // define cell
-            Length xFrom = Length.ofSI(uc.spaceTicks()[i]);
-            Length xTo = Length.ofSI(Math.min(uc.spaceTicks()[i + 1], this.path.getTotalLength().si));
-            CellWindow window = new CellWindow(i, j, xFrom, xTo, tFrom, tTo);
-
-            // compute cell totals
-            CellTotals totals = aggregateCell(window);
+            if (totals[i] == null)
+            {
+                return false; // aggregation was stopped as the time span is invalid
+            }
 
             // write cell data
-            this.distance[i][j] = (float) totals.distance();
-            this.time[i][j] = (float) totals.time();
+            this.distance[i][j] = (float) totals[i].distance();
+            this.time[i][j] = (float) totals[i].time();
             for (ContourAdditionalDataType<?, ?> type : this.additionalData.keySet())
             {
-                this.additionalData.get(type)[i][j] = finalizeAdditional(totals.additional(), type);
+                this.additionalData.get(type)[i][j] = finalizeAdditional(totals[i].additional(), type);
             }
 
-            feedFilterIfNeeded(window, totals, uc);
+            feedFilterIfNeeded(windows[i], totals[i], uc);
 
             if (isInvalidTimeSpan())
             {
@@ -626,12 +684,27 @@ public class ContourDataSource extends PlotDelegate<ContourPaintState, AbstractC
             this.readyItems++;
         }
 
-        // offer time slice result
-        offerPaintState(uc);
+        // offer time slice result, headless plots only need the final result
+        if (!isHeadless())
+        {
+            offerPaintState(uc);
+        }
 
         return true;
     }
 
+    /**
+     * Returns whether the cell is an edge case for interpolation.
+     * @param i space slice index
+     * @param j time slice index
+     * @param interpolate whether the data will be interpolated
+     * @return whether the cell is an edge case for interpolation
+     */
+    private static boolean isInterpolationEdge(final int i, final int j, final boolean interpolate)
+    {
+        return (j == 0 || i == 0) && interpolate;
+    }
+
     /**
      * Handle edge cases for interpolation.
      * @param i space slice index
@@ -641,7 +714,7 @@ public class ContourDataSource extends PlotDelegate<ContourPaintState, AbstractC
      */
     private boolean handleInterpolationEdges(final int i, final int j, final boolean interpolate)
     {
-        if ((j == 0 || i == 0) && interpolate)
+        if (isInterpolationEdge(i, j, interpolate))
         {
             this.distance[i][j] = Float.NaN;
             this.time[i][j] = Float.NaN;
@@ -896,14 +969,14 @@ public class ContourDataSource extends PlotDelegate<ContourPaintState, AbstractC
         // size of space to skip as this space was only used to provide data around edges
         int skipSpace = this.path.isCircular() ? (int) Math.ceil(uc.spaceKernelSize() / uc.spaceGranularity()) : 0;
 
-        // do the filtering
+        // do the filtering, the grid excludes the maximum so the upper edge of the last cell is given
         double tTo = uc.snappedToTime();
         if (tTo <= uc.tSliceFromEgtf())
         {
             return;
         }
         Optional<Filter> filter = this.egtf.filterFastSI(uc.spaceTicks()[0] + (0.5 - skipSpace) * uc.spaceGranularity(),
-                uc.spaceGranularity(), uc.spaceTicks()[0] + (-1.5 + uc.spaceTicks().length + skipSpace) * uc.spaceGranularity(),
+                uc.spaceGranularity(), uc.spaceTicks()[0] + (-1.0 + uc.spaceTicks().length + skipSpace) * uc.spaceGranularity(),
                 uc.tSliceFromEgtf(), uc.timeGranularity(), tTo, quantities.toArray(new Quantity<?, ?>[0]));
         if (filter.isEmpty())
         {
@@ -99,6 +99,9 @@ public abstract class PlotDelegate<S extends PaintState, P extends AbstractPlot<
     /** Plot scheduler. */
     private PlotScheduler plotScheduler;
 
+    /** Whether the plots are used without GUI. */
+    private final boolean headless;
+
     /** Plots. */
     private final Set<P> plots = new LinkedHashSet<>();
 
@@ -119,6 +122,7 @@ public abstract class PlotDelegate<S extends PaintState, P extends AbstractPlot<
         this.initialUpdateInterval = initialUpdateInterval;
         this.delay = delay;
         this.plotScheduler = plotScheduler;
+        this.headless = plotScheduler.isHeadless();
     }
 
     /**
@@ -154,10 +158,25 @@ public abstract class PlotDelegate<S extends PaintState, P extends AbstractPlot<
             {
                 return out.getTime();
             }
+
+            @Override
+            public boolean isHeadless()
+            {
+                return out.isHeadless();
+            }
         };
         return out;
     }
 
+    /**
+     * Returns whether the plots are used without GUI, in which case intermediate paint states need not be offered.
+     * @return whether the plots are used without GUI
+     */
+    public boolean isHeadless()
+    {
+        return this.headless;
+    }
+
     /**
      * Add plot. Used to notify plots when data has changed.
      * @param plot plot
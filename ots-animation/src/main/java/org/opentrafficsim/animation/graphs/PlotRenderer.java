@@ -0,0 +1,189 @@
+package org.opentrafficsim.animation.graphs;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.djunits.value.vdouble.scalar.Duration;
+import org.djutils.exceptions.Throw;
+
+/**
+ * Renders plots without GUI, e.g. to produce contour and trajectory plots from stored {@code SamplerData} of many runs. Each
+ * plot is rendered as a task on a pool of threads. The task calculates the paint state up to the requested time on the thread
+ * of the task, and draws the chart on an off-screen image. Plots should be created with {@link PlotScheduler#HEADLESS}, or
+ * with a data source that was created with it. Contour data sources additionally calculate the space slices of each time
+ * slice in parallel, see {@link ContourDataSource#setPool}.
+ * <p>
+ * Plots that share a data source, e.g. speed, flow and density contour plots, calculate the paint state once, as the data
+ * source only calculates new data. Such plots should be rendered for the same time.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public final class PlotRenderer implements AutoCloseable
+{
+
+    /** Default font size. */
+    public static final double DEFAULT_FONT_SIZE = 16.0;
+
+    /** Pool of render threads. */
+    private final ExecutorService pool;
+
+    /**
+     * Constructor with a render thread per available processor.
+     */
+    public PlotRenderer()
+    {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor.
+     * @param threads number of render threads
+     * @throws IllegalArgumentException when the number of threads is not positive
+     */
+    public PlotRenderer(final int threads)
+    {
+        Throw.when(threads <= 0, IllegalArgumentException.class, "Number of threads should be positive.");
+        AtomicInteger counter = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(threads, (runnable) ->
+        {
+            Thread thread = new Thread(runnable, "PlotRenderer-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Renders the plot as PNG image.
+     * @param plot headless plot
+     * @param time time up to which data is shown
+     * @param width width
+     * @param height height
+     * @param fontSize font size (16 is the original on screen size)
+     * @return future of the PNG image as byte array
+     * @throws IllegalArgumentException when the plot is not headless
+     */
+    public CompletableFuture<byte[]> renderPng(final AbstractPlot<?> plot, final Duration time, final int width,
+            final int height, final double fontSize)
+    {
+        return render(plot, time, () -> plot.encodeAsPng(width, height, fontSize));
+    }
+
+    /**
+     * Renders the plot as SVG document.
+     * @param plot headless plot
+     * @param time time up to which data is shown
+     * @param width width
+     * @param height height
+     * @param fontSize font size (16 is the original on screen size)
+     * @return future of the SVG document as byte array
+     * @throws IllegalArgumentException when the plot is not headless
+     * @see AbstractPlot#encodeAsSvg(int, int, double)
+     */
+    public CompletableFuture<byte[]> renderSvg(final AbstractPlot<?> plot, final Duration time, final int width,
+            final int height, final double fontSize)
+    {
+        return render(plot, time, () -> plot.encodeAsSvg(width, height, fontSize));
+    }
+
+    /**
+     * Renders the plot to a file. The file is an SVG document if the file name ends with {@code .svg}, and a PNG image
+     * otherwise.
+     * @param plot headless plot
+     * @param time time up to which data is shown
+     * @param file file
+     * @param width width
+     * @param height height
+     * @return future of the file, completing when the file is written
+     * @throws IllegalArgumentException when the plot is not headless
+     */
+    public CompletableFuture<Path> renderToFile(final AbstractPlot<?> plot, final Duration time, final Path file,
+            final int width, final int height)
+    {
+        Throw.whenNull(file, "file");
+        boolean svg = file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".svg");
+        return render(plot, time, () ->
+        {
+            byte[] bytes = svg ? plot.encodeAsSvg(width, height, DEFAULT_FONT_SIZE)
+                    : plot.encodeAsPng(width, height, DEFAULT_FONT_SIZE);
+            Files.write(file, bytes);
+            return file;
+        });
+    }
+
+    /**
+     * Submits a task that calculates the paint state of the plot and then encodes it.
+     * @param plot headless plot
+     * @param time time up to which data is shown
+     * @param encoder encoder of the plot
+     * @param <T> result type
+     * @return future of the result
+     * @throws IllegalArgumentException when the plot is not headless
+     */
+    private <T> CompletableFuture<T> render(final AbstractPlot<?> plot, final Duration time, final Encoder<T> encoder)
+    {
+        Throw.whenNull(plot, "plot");
+        Throw.whenNull(time, "time");
+        Throw.when(!plot.isHeadless(), IllegalArgumentException.class,
+                "Plot %s is not headless, its paint state is adopted on the Swing EDT.", plot.getCaption());
+        return CompletableFuture.supplyAsync(() ->
+        {
+            plot.calculatePaintState(time);
+            try
+            {
+                return encoder.encode();
+            }
+            catch (IOException exception)
+            {
+                throw new UncheckedIOException(exception);
+            }
+        }, this.pool);
+    }
+
+    /**
+     * Stops accepting plots, and waits for rendering of all submitted plots to finish.
+     */
+    @Override
+    public void close()
+    {
+        this.pool.shutdown();
+        try
+        {
+            while (!this.pool.awaitTermination(1, TimeUnit.MINUTES))
+            {
+                // keep waiting for submitted plots
+            }
+        }
+        catch (InterruptedException exception)
+        {
+            this.pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Encoder of a plot with calculated paint state.
+     * @param <T> result type
+     */
+    @FunctionalInterface
+    private interface Encoder<T>
+    {
+        /**
+         * Encodes the plot.
+         * @return encoded plot
+         * @throws IOException on IO exception
+         */
+        T encode() throws IOException;
+    }
+
+}
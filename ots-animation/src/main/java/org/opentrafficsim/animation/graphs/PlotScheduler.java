@@ -5,6 +5,7 @@ import org.djunits.value.vdouble.scalar.Duration;
 /**
  * Interface between plots (subclasses of {@link AbstractPlot}) and some source that knows about time in the context, e.g. a
  * simulator, or a data loader which knows all time has past. For offline purposes, {@code PlotScheduler.OFFLINE} can be used.
+ * For batch rendering without Swing, {@code PlotScheduler.HEADLESS} can be used with a {@link PlotRenderer}.
  * <p>
  * Copyright (c) 2023-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
  * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
@@ -27,12 +28,42 @@ public interface PlotScheduler
         }
     };
 
+    /**
+     * Headless scheduler. Plots with this scheduler have no worker thread and do not use the Swing EDT. Paint states are
+     * calculated on the thread that requests it, typically a thread of a {@link PlotRenderer}, and adopted immediately.
+     */
+    PlotScheduler HEADLESS = new PlotScheduler()
+    {
+        @Override
+        public Duration getTime()
+        {
+            return Duration.ofSI(Double.MAX_VALUE);
+        }
+
+        @Override
+        public boolean isHeadless()
+        {
+            return true;
+        }
+    };
+
     /**
      * Returns the time.
      * @return time
      */
     Duration getTime();
 
+    /**
+     * Returns whether plots are used without GUI. Such plots calculate and adopt paint states on the calling thread.
+     * <p>
+     * The default implementation returns {@code false}.
+     * @return whether plots are used without GUI
+     */
+    default boolean isHeadless()
+    {
+        return false;
+    }
+
     /**
      * Cancel event on plot.
      * <p>
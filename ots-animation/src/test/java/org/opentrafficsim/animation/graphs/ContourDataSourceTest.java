@@ -0,0 +1,344 @@
+package org.opentrafficsim.animation.graphs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.djunits.value.vdouble.scalar.Acceleration;
+import org.djunits.value.vdouble.scalar.Duration;
+import org.djunits.value.vdouble.scalar.Length;
+import org.djunits.value.vdouble.scalar.Speed;
+import org.junit.jupiter.api.Test;
+import org.opentrafficsim.animation.graphs.ContourDataSource.Dimension;
+import org.opentrafficsim.animation.graphs.GraphPath.Section;
+import org.opentrafficsim.kpi.interfaces.GtuData;
+import org.opentrafficsim.kpi.interfaces.LaneData;
+import org.opentrafficsim.kpi.interfaces.LinkData;
+import org.opentrafficsim.kpi.sampling.Sampler;
+import org.opentrafficsim.kpi.sampling.SamplerData;
+
+/**
+ * Test of ContourDataSource, which checks that the cells and the smoothing filter give identical results when calculated in
+ * parallel on a pool, or sequentially on the calling thread. The static methods create sampler data of a small traffic
+ * situation with a temporary speed drop, for use in other plot tests.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public final class ContourDataSourceTest
+{
+
+    /** Length of each lane [m]. */
+    private static final double LANE_LENGTH = 500.0;
+
+    /** Time up to which data is generated and plotted [s]. */
+    static final Duration TIME = Duration.ofSI(300.0);
+
+    /** */
+    private ContourDataSourceTest()
+    {
+        // do not instantiate test class
+    }
+
+    /**
+     * Tests that pooled and sequential calculation of the contour data give identical results, with and without smoothing.
+     */
+    @Test
+    public void testPooledEqualsSequential()
+    {
+        GraphPath<TestLane> path = makePath();
+        SamplerData<?> samplerData = makeSamplerData(path);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try
+        {
+            for (boolean smooth : new boolean[] {false, true})
+            {
+                ContourPlotSpeed sequential = makeSpeedPlot(samplerData, path, null, smooth);
+                ContourPlotSpeed pooled = makeSpeedPlot(samplerData, path, pool, smooth);
+                sequential.calculatePaintState(TIME);
+                pooled.calculatePaintState(TIME);
+
+                assertEquals(sequential.getItemCount(0), pooled.getItemCount(0));
+                assertTrue(sequential.getItemCount(0) > 1000, "Fine granularity should result in many cells.");
+                int valid = 0;
+                for (int item = 0; item < sequential.getItemCount(0); item++)
+                {
+                    assertEquals(sequential.getXValue(0, item), pooled.getXValue(0, item));
+                    assertEquals(sequential.getYValue(0, item), pooled.getYValue(0, item));
+                    assertEquals(sequential.getZValue(0, item), pooled.getZValue(0, item),
+                            "Pooled and sequential speed differ in cell " + item + ", smooth = " + smooth);
+                    valid += Double.isNaN(sequential.getZValue(0, item)) ? 0 : 1;
+                }
+                assertTrue(valid > sequential.getItemCount(0) / 2, "Most cells should contain data.");
+            }
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Tests that only data sources of headless plots calculate on the common pool by default.
+     */
+    @Test
+    public void testDefaultPool()
+    {
+        GraphPath<TestLane> path = makePath();
+        SamplerData<?> samplerData = makeSamplerData(path);
+        assertEquals(Optional.of(ForkJoinPool.commonPool()),
+                new ContourDataSource(samplerData, path, PlotScheduler.HEADLESS).getPool());
+        assertEquals(Optional.empty(), new ContourDataSource(samplerData, path, PlotScheduler.OFFLINE).getPool());
+    }
+
+    /**
+     * Tests that the speed drop is visible in the contour data.
+     */
+    @Test
+    public void testSpeedDrop()
+    {
+        GraphPath<TestLane> path = makePath();
+        ContourPlotSpeed plot = makeSpeedPlot(makeSamplerData(path), path, null, false);
+        plot.calculatePaintState(TIME);
+        double minSpeed = Double.POSITIVE_INFINITY;
+        double maxSpeed = Double.NEGATIVE_INFINITY;
+        for (int item = 0; item < plot.getItemCount(0); item++)
+        {
+            double speed = plot.getZValue(0, item);
+            if (!Double.isNaN(speed))
+            {
+                minSpeed = Math.min(minSpeed, speed);
+                maxSpeed = Math.max(maxSpeed, speed);
+            }
+        }
+        assertFalse(Double.isInfinite(minSpeed));
+        assertTrue(minSpeed < 0.5 * maxSpeed, "The speed drop should be visible.");
+    }
+
+    /**
+     * Creates a headless speed contour plot with fine granularity.
+     * @param samplerData sampler data
+     * @param path path
+     * @param pool pool, {@code null} to calculate on the calling thread
+     * @param smooth whether to smooth the data
+     * @return headless speed contour plot
+     */
+    static ContourPlotSpeed makeSpeedPlot(final SamplerData<?> samplerData, final GraphPath<TestLane> path,
+            final ForkJoinPool pool, final boolean smooth)
+    {
+        ContourDataSource source = new ContourDataSource(samplerData, path, PlotScheduler.HEADLESS);
+        source.setPool(pool);
+        ContourPlotSpeed plot = new ContourPlotSpeed("Speed", source);
+        source.setGranularity(Dimension.DISTANCE, 20.0);
+        source.setGranularity(Dimension.TIME, 5.0);
+        source.setSmooth(smooth);
+        return plot;
+    }
+
+    /**
+     * Creates a path of two lanes.
+     * @return path of two lanes
+     */
+    static GraphPath<TestLane> makePath()
+    {
+        List<Section<TestLane>> sections = new ArrayList<>();
+        for (String id : new String[] {"A", "B"})
+        {
+            sections.add(new Section<>(Length.ofSI(LANE_LENGTH), Speed.ofSI(20.0),
+                    List.of(new TestLane(id, Length.ofSI(LANE_LENGTH)))));
+        }
+        return new GraphPath<>("path", sections);
+    }
+
+    /**
+     * Creates sampler data of GTUs that drive along the path at 20m/s, except for a speed drop at the downstream lane
+     * between 100s and 200s.
+     * @param path path
+     * @return sampler data
+     */
+    static SamplerData<?> makeSamplerData(final GraphPath<TestLane> path)
+    {
+        TestSampler sampler = new TestSampler();
+        GraphPath.initRecording(sampler, path);
+        double dt = 0.5;
+        for (int n = 0; n < 60; n++)
+        {
+            TestGtu gtu = new TestGtu("gtu" + n);
+            double t = 5.0 * n;
+            double x = 0.0;
+            int section = 0;
+            sampler.addGtuWithSnapshot(lane(path, section), Length.ZERO, Speed.ofSI(speed(x, t)), Acceleration.ZERO,
+                    Duration.ofSI(t), gtu);
+            while (t < TIME.si)
+            {
+                double v = speed(x, t);
+                t += dt;
+                x += v * dt;
+                if (x >= path.getTotalLength().si)
+                {
+                    sampler.removeGtuWithSnapshot(lane(path, section), Length.ofSI(LANE_LENGTH), Speed.ofSI(v),
+                            Acceleration.ZERO, Duration.ofSI(t), gtu);
+                    break;
+                }
+                if (x >= LANE_LENGTH * (section + 1))
+                {
+                    sampler.removeGtuWithSnapshot(lane(path, section), Length.ofSI(LANE_LENGTH), Speed.ofSI(v),
+                            Acceleration.ZERO, Duration.ofSI(t), gtu);
+                    section++;
+                    sampler.addGtuWithSnapshot(lane(path, section), Length.ofSI(x - LANE_LENGTH * section), Speed.ofSI(v),
+                            Acceleration.ZERO, Duration.ofSI(t), gtu);
+                }
+                else
+                {
+                    sampler.snapshot(lane(path, section), Length.ofSI(x - LANE_LENGTH * section), Speed.ofSI(v),
+                            Acceleration.ZERO, Duration.ofSI(t), gtu);
+                }
+            }
+        }
+        return sampler.getSamplerData();
+    }
+
+    /**
+     * Returns the lane of a section.
+     * @param path path
+     * @param section section index
+     * @return lane of the section
+     */
+    private static TestLane lane(final GraphPath<TestLane> path, final int section)
+    {
+        return path.get(section).getSource(0);
+    }
+
+    /**
+     * Returns the speed at a location and time.
+     * @param x location [m]
+     * @param t time [s]
+     * @return speed [m/s]
+     */
+    private static double speed(final double x, final double t)
+    {
+        return x > 600.0 && x < 800.0 && t > 100.0 && t < 200.0 ? 5.0 : 20.0;
+    }
+
+    /**
+     * Lane data.
+     * @param id id
+     * @param length length
+     */
+    record TestLane(String id, Length length) implements LaneData<TestLane>
+    {
+        @Override
+        public String getId()
+        {
+            return this.id;
+        }
+
+        @Override
+        public Length getLength()
+        {
+            return this.length;
+        }
+
+        @Override
+        public LinkData<TestLane> getLinkData()
+        {
+            return null;
+        }
+    }
+
+    /**
+     * GTU data.
+     * @param id id
+     */
+    record TestGtu(String id) implements GtuData
+    {
+        @Override
+        public String getId()
+        {
+            return this.id;
+        }
+
+        @Override
+        public String getOriginId()
+        {
+            return "origin";
+        }
+
+        @Override
+        public String getDestinationId()
+        {
+            return "destination";
+        }
+
+        @Override
+        public String getGtuTypeId()
+        {
+            return "car";
+        }
+
+        @Override
+        public String getRouteId()
+        {
+            return "route";
+        }
+
+        @Override
+        public Speed getReferenceSpeed()
+        {
+            return Speed.ofSI(20.0);
+        }
+    }
+
+    /**
+     * Sampler that starts recording immediately, and to which the test adds the data.
+     */
+    static final class TestSampler extends Sampler<TestGtu, TestLane>
+    {
+        /**
+         * Constructor.
+         */
+        TestSampler()
+        {
+            super(Set.of(), Set.of());
+        }
+
+        @Override
+        public Duration now()
+        {
+            return Duration.ZERO;
+        }
+
+        @Override
+        public void scheduleStartRecording(final Duration time, final TestLane lane)
+        {
+            startRecording(lane);
+        }
+
+        @Override
+        public void scheduleStopRecording(final Duration time, final TestLane lane)
+        {
+            // recording is not stopped
+        }
+
+        @Override
+        public void initRecording(final TestLane lane)
+        {
+            // data is added by the test
+        }
+
+        @Override
+        public void finalizeRecording(final TestLane lane)
+        {
+            // data is added by the test
+        }
+    }
+
+}
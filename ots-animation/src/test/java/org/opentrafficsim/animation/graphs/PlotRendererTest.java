@@ -0,0 +1,123 @@
+package org.opentrafficsim.animation.graphs;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.ExecutionException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.imageio.ImageIO;
+
+import org.djunits.value.vdouble.scalar.Duration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.opentrafficsim.animation.graphs.ContourDataSourceTest.TestLane;
+import org.opentrafficsim.kpi.sampling.SamplerData;
+
+/**
+ * Test of PlotRenderer, which renders headless plots to PNG and SVG without Swing.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public final class PlotRendererTest
+{
+
+    /** Width. */
+    private static final int WIDTH = 400;
+
+    /** Height. */
+    private static final int HEIGHT = 300;
+
+    /** PNG signature. */
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    /** Temporary directory. */
+    @TempDir
+    private Path testDir;
+
+    /** */
+    private PlotRendererTest()
+    {
+        // do not instantiate test class
+    }
+
+    /**
+     * Tests rendering of headless contour and trajectory plots to PNG, SVG and files.
+     * @throws ExecutionException if that happens uncaught; this test has failed
+     * @throws InterruptedException if that happens uncaught; this test has failed
+     * @throws IOException if that happens uncaught; this test has failed
+     */
+    @Test
+    public void testRender() throws InterruptedException, ExecutionException, IOException
+    {
+        GraphPath<TestLane> path = ContourDataSourceTest.makePath();
+        SamplerData<?> samplerData = ContourDataSourceTest.makeSamplerData(path);
+        ContourPlotSpeed contourPlot = ContourDataSourceTest.makeSpeedPlot(samplerData, path, null, false);
+        TrajectoryPlot trajectoryPlot =
+                new TrajectoryPlot("Trajectories", Duration.ofSI(10.0), PlotScheduler.HEADLESS, samplerData, path);
+        assertTrue(contourPlot.isHeadless());
+        assertTrue(trajectoryPlot.isHeadless());
+        assertThrows(IllegalArgumentException.class, () -> new PlotRenderer(0));
+
+        try (PlotRenderer renderer = new PlotRenderer(2))
+        {
+            // PNG
+            for (AbstractPlot<?> plot : new AbstractPlot<?>[] {contourPlot, trajectoryPlot})
+            {
+                byte[] png = renderer.renderPng(plot, ContourDataSourceTest.TIME, WIDTH, HEIGHT, 16.0).get();
+                assertImage(png);
+            }
+            assertTrue(contourPlot.getItemCount(0) > 0, "Rendering should calculate the paint state.");
+
+            // SVG, which embeds a PNG image
+            byte[] svgBytes = renderer.renderSvg(contourPlot, ContourDataSourceTest.TIME, WIDTH, HEIGHT, 16.0).get();
+            String svg = new String(svgBytes, StandardCharsets.UTF_8);
+            assertTrue(svg.startsWith("<?xml"));
+            assertTrue(svg.contains("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"" + WIDTH + "\" height=\"" + HEIGHT));
+            assertTrue(svg.contains("<title>Speed</title>"));
+            Matcher matcher = Pattern.compile("href=\"data:image/png;base64,([^\"]*)\"").matcher(svg);
+            assertTrue(matcher.find(), "SVG should contain an embedded PNG image.");
+            assertImage(Base64.getDecoder().decode(matcher.group(1)));
+
+            // files, type by extension
+            Path pngFile = renderer
+                    .renderToFile(trajectoryPlot, ContourDataSourceTest.TIME, this.testDir.resolve("plot.png"), WIDTH, HEIGHT)
+                    .get();
+            assertImage(Files.readAllBytes(pngFile));
+            Path svgFile = renderer
+                    .renderToFile(contourPlot, ContourDataSourceTest.TIME, this.testDir.resolve("plot.svg"), WIDTH, HEIGHT)
+                    .get();
+            assertTrue(Files.readString(svgFile).contains("<svg"));
+        }
+    }
+
+    /**
+     * Checks that the bytes are a PNG image of the expected size.
+     * @param png bytes of PNG image
+     * @throws IOException when the image cannot be read
+     */
+    private static void assertImage(final byte[] png) throws IOException
+    {
+        assertArrayEquals(PNG_SIGNATURE, Arrays.copyOf(png, PNG_SIGNATURE.length));
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        assertNotNull(image);
+        assertEquals(WIDTH, image.getWidth());
+        assertEquals(HEIGHT, image.getHeight());
+    }
+
+}
@@ -1,10 +1,19 @@
 package org.opentrafficsim.draw.egtf;
 
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
 import org.opentrafficsim.animation.egtf.Convolution;
+import org.opentrafficsim.animation.egtf.DataSource;
+import org.opentrafficsim.animation.egtf.DataStream;
+import org.opentrafficsim.animation.egtf.Egtf;
+import org.opentrafficsim.animation.egtf.typed.TypedQuantity;
 import org.opentrafficsim.base.OtsRuntimeException;
 
 /**
- * Performs a benchmark on Convolution using the classic or FFT method.
+ * Performs a benchmark on Convolution using the classic or FFT method, with and without a reused plan for two kernels, and on
+ * the EGTF filters of a 50km corridor with and without a pool.
  * <p>
  * Copyright (c) 2025-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
  * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
@@ -27,6 +36,16 @@ public final class ConvolutionBenchmark
      * @param args the command line arguments (not used)
      */
     public static void main(final String... args)
+    {
+        convolutionBenchmark();
+        narrowKernelBenchmark();
+        egtfBenchmark();
+    }
+
+    /**
+     * Compares classic convolution with FFT convolution for square matrices.
+     */
+    private static void convolutionBenchmark()
     {
         int[] size = new int[] {10, 12, 15, 18, 20, 25, 30, 35, 50, 100, 200, 500, 1000};
         for (int i = 0; i < size.length; i++)
@@ -57,17 +76,7 @@ public final class ConvolutionBenchmark
                     long t2 = System.currentTimeMillis();
                     double[][] out2 = Convolution.convolution(a, b);
                     t2 = System.currentTimeMillis() - t2;
-                    for (int k = 0; k < size[j]; k++)
-                    {
-                        for (int l = 0; l < size[j]; l++)
-                        {
-                            if (Math.abs(out1[k][l] - out2[k][l]) > 1e-6)
-                            {
-                                throw new OtsRuntimeException(
-                                        String.format("output unequal: %.16f vs. %.16f", out1[k][l], out2[k][l]));
-                            }
-                        }
-                    }
+                    check(out1, out2);
                     System.out.println(String.format("a = %d, b = %d: tConv = %dms, tFft = %dms, gain = %dms", size[i], size[j],
                             t1, t2, t2 - t1));
                 }
@@ -75,13 +84,132 @@ public final class ConvolutionBenchmark
         }
     }
 
+    /**
+     * Compares two kernels with separate FFT convolutions, with a plan for both kernels, and with a reused plan, for kernels
+     * that are wide in space and narrow in time as used for contour plots.
+     */
+    private static void narrowKernelBenchmark()
+    {
+        Random random = new Random(1L);
+        int[][] sizes = new int[][] {{101, 3}, {101, 11}, {201, 3}, {61, 61}};
+        for (int[] size : sizes)
+        {
+            double[][] a1 = random(random, size[0], size[1], 1.0);
+            double[][] a2 = random(random, size[0], size[1], 1.0);
+            double[][] b = random(random, 1000, 360, 35.0);
+            long t1 = System.nanoTime();
+            double[][] out1 = Convolution.convolution(a1, b);
+            double[][] out2 = Convolution.convolution(a2, b);
+            t1 = System.nanoTime() - t1;
+            long t2 = System.nanoTime();
+            Convolution.Plan plan = new Convolution.Plan(b.length, b[0].length, a1, a2);
+            double[][][] out3 = plan.apply(b);
+            t2 = System.nanoTime() - t2;
+            long t3 = System.nanoTime();
+            double[][][] out4 = plan.apply(b);
+            t3 = System.nanoTime() - t3;
+            check(out1, out3[0]);
+            check(out2, out3[1]);
+            check(out1, out4[0]);
+            System.out.println(String.format(Locale.US,
+                    "a = %dx%d, b = 1000x360: tFft = %.1fms, tPlan = %.1fms, tReusedPlan = %.1fms (%s)", size[0], size[1],
+                    t1 / 1e6, t2 / 1e6, t3 / 1e6, plan));
+        }
+    }
+
+    /**
+     * Compares the EGTF filters for a 50km corridor with and without a pool.
+     */
+    private static void egtfBenchmark()
+    {
+        Egtf egtf = new Egtf();
+        DataSource source = egtf.getDataSource("generic");
+        DataStream<?> speed = source.addStreamSI(TypedQuantity.SPEED, 1.0, 1.0);
+        DataStream<?> flow = source.addStreamSI(TypedQuantity.FLOW, 1.0, 1.0);
+        Random random = new Random(2L);
+        for (double x = 0.0; x < 50000.0; x += 500.0)
+        {
+            for (double t = 0.0; t < 3600.0; t += 60.0)
+            {
+                egtf.addPointDataSI(speed, x, t, 5.0 + 30.0 * random.nextDouble());
+                egtf.addPointDataSI(flow, x, t, random.nextDouble());
+            }
+        }
+        // kernel as used by contour plots: wide in space, one time step in time
+        egtf.setKernelSI(500.0, 10.0, 2000.0, 10.0);
+        double[] x = new double[501];
+        double[] t = new double[61];
+        for (int i = 0; i < x.length; i++)
+        {
+            x[i] = i * 100.0;
+        }
+        for (int j = 0; j < t.length; j++)
+        {
+            t[j] = j * 60.0;
+        }
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        for (boolean parallel : new boolean[] {false, true})
+        {
+            egtf.setPool(parallel ? pool : null);
+            long t1 = System.nanoTime();
+            egtf.filterSI(x, t, TypedQuantity.SPEED, TypedQuantity.FLOW);
+            t1 = System.nanoTime() - t1;
+            long t2 = System.nanoTime();
+            egtf.filterFastSI(0.0, 10.0, 50000.0, 0.0, 10.0, 3600.0, TypedQuantity.SPEED, TypedQuantity.FLOW);
+            t2 = System.nanoTime() - t2;
+            System.out.println(String.format(Locale.US, "EGTF 50km, %s: tFilter = %.1fms, tFastFilter = %.1fms",
+                    parallel ? "pool of " + pool.getParallelism() : "calling thread", t1 / 1e6, t2 / 1e6));
+        }
+    }
+
+    /**
+     * Returns a matrix with random values.
+     * @param random random number generator
+     * @param rows number of rows
+     * @param columns number of columns
+     * @param max maximum value
+     * @return matrix with random values
+     */
+    private static double[][] random(final Random random, final int rows, final int columns, final double max)
+    {
+        double[][] matrix = new double[rows][columns];
+        for (int i = 0; i < rows; i++)
+        {
+            for (int j = 0; j < columns; j++)
+            {
+                matrix[i][j] = max * random.nextDouble();
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Checks that two matrices are equal.
+     * @param out1 first matrix
+     * @param out2 second matrix
+     * @throws OtsRuntimeException when the matrices are not equal
+     */
+    private static void check(final double[][] out1, final double[][] out2)
+    {
+        for (int k = 0; k < out1.length; k++)
+        {
+            for (int l = 0; l < out1[k].length; l++)
+            {
+                if (Math.abs(out1[k][l] - out2[k][l]) > 1e-6)
+                {
+                    throw new OtsRuntimeException(String.format("output unequal: %.16f vs. %.16f", out1[k][l], out2[k][l]));
+                }
+            }
+        }
+    }
+
     /**
      * Convolution of two matrices using classical method.
      * @param a the kernel matrix
      * @param b the data matrix
      * @return convolution of a over b, same size as b
      */
-    private static double[][] conv(final double[][] a, final double[][] b)
+    static double[][] conv(final double[][] a, final double[][] b)
     {
         double[][] out2 = new double[b.length][b[0].length];
         int fromRow2 = a.length / 2;
@@ -1,11 +1,16 @@
 package org.opentrafficsim.draw.egtf;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import org.djutils.test.UnitTest;
 import org.junit.jupiter.api.Test;
+import org.opentrafficsim.animation.egtf.Convolution;
 import org.opentrafficsim.animation.egtf.DataSource;
 import org.opentrafficsim.animation.egtf.DataStream;
 import org.opentrafficsim.animation.egtf.Egtf;
@@ -155,6 +160,173 @@ public final class EgtfTest
         // printMatrix(qCom2, "qCom2");
     }
 
+    /** Tests that filtering on a pool gives the same results as filtering on the calling thread. */
+    @Test
+    public void poolTest()
+    {
+        Egtf egtf = new Egtf();
+        DataSource det = egtf.getDataSource("detectors");
+        DataSource fcd = egtf.getDataSource("fcd");
+        DataStream<?> detSpeed = det.addStreamSI(TypedQuantity.SPEED, 10.0, 5.0);
+        DataStream<?> detFlow = det.addStreamSI(TypedQuantity.FLOW, 1.0, 1.0);
+        DataStream<?> fcdSpeed = fcd.addStreamSI(TypedQuantity.SPEED, 2.0, 1.0);
+        Random random = new Random(1L);
+        for (int i = 0; i < 500; i++)
+        {
+            double location = 5000.0 * random.nextDouble();
+            double time = 600.0 * random.nextDouble();
+            egtf.addPointDataSI(detSpeed, location, time, 5.0 + 30.0 * random.nextDouble());
+            egtf.addPointDataSI(detFlow, location, time, random.nextDouble());
+            egtf.addPointDataSI(fcdSpeed, 5000.0 * random.nextDouble(), 600.0 * random.nextDouble(),
+                    5.0 + 30.0 * random.nextDouble());
+        }
+        double[] x = new double[41];
+        double[] t = new double[31];
+        for (int i = 0; i < x.length; i++)
+        {
+            x[i] = i * 125.0;
+        }
+        for (int j = 0; j < t.length; j++)
+        {
+            t[j] = j * 20.0;
+        }
+        Filter sequential = egtf.filterSI(x, t, TypedQuantity.SPEED, TypedQuantity.FLOW).get();
+        Filter sequentialFast =
+                egtf.filterFastSI(0.0, 50.0, 5000.0, 0.0, 10.0, 600.0, TypedQuantity.SPEED, TypedQuantity.FLOW).get();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try
+        {
+            egtf.setPool(pool);
+            assertTrue(egtf.getPool().isPresent());
+            Filter parallel = egtf.filterSI(x, t, TypedQuantity.SPEED, TypedQuantity.FLOW).get();
+            Filter parallelFast =
+                    egtf.filterFastSI(0.0, 50.0, 5000.0, 0.0, 10.0, 600.0, TypedQuantity.SPEED, TypedQuantity.FLOW).get();
+            assertMatrixEquals(sequential.getSI(TypedQuantity.SPEED), parallel.getSI(TypedQuantity.SPEED), MARGIN);
+            assertMatrixEquals(sequential.getSI(TypedQuantity.FLOW), parallel.getSI(TypedQuantity.FLOW), MARGIN);
+            assertMatrixEquals(sequentialFast.getSI(TypedQuantity.SPEED), parallelFast.getSI(TypedQuantity.SPEED), MARGIN);
+            assertMatrixEquals(sequentialFast.getSI(TypedQuantity.FLOW), parallelFast.getSI(TypedQuantity.FLOW), MARGIN);
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Tests the fast filter against reference values, which were calculated with the implementation that discretized the data
+     * with one range query per grid cell. Data points on the edges of grid cells are included, as these are added to all
+     * adjacent cells.
+     */
+    @Test
+    public void fastFilterReferenceTest()
+    {
+        Egtf egtf = new Egtf();
+        DataSource det = egtf.getDataSource("detectors");
+        DataSource fcd = egtf.getDataSource("fcd");
+        DataStream<?> detSpeed = det.addStreamSI(TypedQuantity.SPEED, 10.0, 5.0);
+        DataStream<?> detFlow = det.addStreamSI(TypedQuantity.FLOW, 1.0, 1.0);
+        DataStream<?> fcdSpeed = fcd.addStreamSI(TypedQuantity.SPEED, 2.0, 1.0);
+        for (int i = 0; i <= 10; i++)
+        {
+            double location = 100.0 * i;
+            for (int j = 0; j <= 20; j++)
+            {
+                double time = 15.0 * j;
+                boolean jam = location >= 400.0 && location <= 700.0 && time >= 90.0 && time <= 210.0;
+                egtf.addPointDataSI(detSpeed, location, time,
+                        jam ? 8.0 + 0.01 * location - 0.02 * time : 30.0 - 0.002 * location);
+                egtf.addPointDataSI(detFlow, location, time, jam ? 0.3 : 0.5 + 0.0001 * location);
+            }
+        }
+        for (int k = 0; k < 30; k++)
+        {
+            egtf.addPointDataSI(fcdSpeed, 300.0 + 20.0 * k, 60.0 + 5.0 * k, 12.0 - 0.2 * k);
+        }
+        double[][] speed = new double[][] {
+                {28.932122746811, 27.703976196453, 25.270952267902, 25.524928961503, 25.554794327305},
+                {28.314043060987, 25.635332309430, 23.175230180460, 23.004404817751, 25.775935803905},
+                {26.299133137207, 20.997979329903, 16.633055685560, 16.564139941893, 21.745994507767},
+                {24.596105862795, 22.192349738215, 13.197852863454, 13.470978884674, 20.703675395498},
+                {24.761034226435, 21.846935843753, 17.563454657159, 13.237125391118, 23.277667514966}};
+        double[][] flow = new double[][] {{0.513881713647, 0.499341449223, 0.484284280670, 0.491652028574, 0.505774568038},
+                {0.521659551983, 0.503487991011, 0.475493464630, 0.478585641679, 0.505518305756},
+                {0.531493072719, 0.498646209975, 0.438556928741, 0.418581896421, 0.487791713980},
+                {0.544336959535, 0.501338472280, 0.400064733969, 0.397297994311, 0.495645198184},
+                {0.559389981712, 0.522501137513, 0.454983468949, 0.475424792336, 0.520736586815}};
+        Filter filter =
+                egtf.filterFastSI(0.0, 200.0, 1000.0, 0.0, 60.0, 300.0, TypedQuantity.SPEED, TypedQuantity.FLOW).get();
+        assertMatrixEquals(speed, filter.getSI(TypedQuantity.SPEED), 1e-9);
+        assertMatrixEquals(flow, filter.getSI(TypedQuantity.FLOW), 1e-9);
+
+        // a reused convolution plan gives the same result
+        filter = egtf.filterFastSI(0.0, 200.0, 1000.0, 0.0, 60.0, 300.0, TypedQuantity.SPEED, TypedQuantity.FLOW).get();
+        assertMatrixEquals(speed, filter.getSI(TypedQuantity.SPEED), 1e-9);
+    }
+
+    /** Tests that convolution plans, which may use 1D transforms along either dimension, equal direct convolution. */
+    @Test
+    public void convolutionPlanTest()
+    {
+        Random random = new Random(2L);
+        int[][] kernelSizes = new int[][] {{5, 5}, {31, 3}, {3, 31}, {1, 1}, {40, 40}};
+        for (int[] kernelSize : kernelSizes)
+        {
+            double[][] a = randomMatrix(random, kernelSize[0], kernelSize[1]);
+            double[][] a2 = randomMatrix(random, kernelSize[0], kernelSize[1]);
+            double[][] b = randomMatrix(random, 37, 23);
+            Convolution.Plan plan = new Convolution.Plan(b.length, b[0].length, a, a2);
+            assertTrue(plan.fits(b.length, b[0].length));
+            assertTrue(plan.hasKernels(a, a2));
+            double[][][] out = plan.apply(b);
+            assertMatrixEquals(ConvolutionBenchmark.conv(a, b), out[0], MARGIN);
+            assertMatrixEquals(ConvolutionBenchmark.conv(a2, b), out[1], MARGIN);
+            assertMatrixEquals(ConvolutionBenchmark.conv(a, b), Convolution.convolution(a, b), MARGIN);
+        }
+        UnitTest.testFail(() -> new Convolution.Plan(10, 10), "Plan without kernels should fail.",
+                IllegalArgumentException.class);
+        UnitTest.testFail(() -> new Convolution.Plan(10, 10, new double[3][3]).apply(new double[100][10]),
+                "Data larger than the plan should fail.", IllegalArgumentException.class);
+    }
+
+    /**
+     * Returns a matrix with random values.
+     * @param random random number generator
+     * @param rows number of rows
+     * @param columns number of columns
+     * @return matrix with random values
+     */
+    private static double[][] randomMatrix(final Random random, final int rows, final int columns)
+    {
+        double[][] matrix = new double[rows][columns];
+        for (int i = 0; i < rows; i++)
+        {
+            for (int j = 0; j < columns; j++)
+            {
+                matrix[i][j] = random.nextDouble();
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Asserts that two matrices are equal.
+     * @param expected expected matrix
+     * @param actual actual matrix
+     * @param margin margin
+     */
+    private static void assertMatrixEquals(final double[][] expected, final double[][] actual, final double margin)
+    {
+        assertEquals(expected.length, actual.length, "Unequal number of rows");
+        for (int i = 0; i < expected.length; i++)
+        {
+            assertEquals(expected[i].length, actual[i].length, "Unequal number of columns");
+            for (int j = 0; j < expected[i].length; j++)
+            {
+                assertEquals(expected[i][j], actual[i][j], margin, "Unequal value at " + i + ", " + j);
+            }
+        }
+    }
+
     /**
      * Prints a matrix, also useful for Matlab copy/paste.
      * @param matrix matrix
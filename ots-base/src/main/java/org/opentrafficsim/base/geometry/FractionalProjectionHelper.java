@@ -32,20 +32,11 @@ public final class FractionalProjectionHelper
     /** Number of segments. */
     private final int n;
 
-    /** Whether fixed helper 1..n-2 is a center, other wise a direction. */
-    private final boolean[] isCenter; // length n; interior entries set, edges ignored
+    /** Maximum number of cached edge helpers for different directions. */
+    private static final int MAX_CACHED_EDGES = 4;
 
-    /** Helper center x coordinate. */
-    private final double[] centerX; // length n; only valid when isCenter[i] == true
-
-    /** Helper center y coordinate. */
-    private final double[] centerY; // length n
-
-    /** Helper direction x component. */
-    private final double[] dirX; // length n; only valid when isCenter[i] == false
-
-    /** Helper direction y component. */
-    private final double[] dirY; // length n
+    /** Immutable fixed helpers 1..n-2, either a center or a direction. */
+    private final Helper[] helpers; // length n; interior entries set, edges ignored
 
     /** Intersection of first two unit-offset segments (start direction-independent). */
     private Point2d firstOffsetIntersection;
@@ -54,16 +45,12 @@ public final class FractionalProjectionHelper
     private Point2d lastOffsetIntersection;
 
     /**
-     * Cached helpers for {@code null} start and end direction. Often used by {@link OtsLine2d#radiusAtFraction} and
-     * {@link OtsLine2d#radiusAtVertex(int)}.
+     * Cached edge helpers by directions, including for {@code null} start and end direction which is often used by
+     * {@link OtsLine2d#radiusAtFraction} and {@link OtsLine2d#radiusAtVertex(int)}. The array is never changed, but replaced
+     * by a copy with an added entry. Threads that concurrently add an entry may overwrite each others entry, in which case the
+     * lost entry is calculated again when next needed.
      */
-    private EdgeHelpers edgeNullNull; // cached helpers for (null,null)
-
-    /** Last none-both-{@code null} directions. */
-    private DirectionKey lastKey; // last used (may include null on one side)
-
-    /** Helpers of last none-both-{@code null} directions. */
-    private EdgeHelpers edgeLast; // cached helpers for lastKey
+    private volatile EdgeHelpers[] edgeCache = new EdgeHelpers[0];
 
     /**
      * Constructor.
@@ -74,11 +61,7 @@ public final class FractionalProjectionHelper
         this.line = line;
         this.n = this.line.size() - 1;
 
-        this.isCenter = new boolean[this.n];
-        this.centerX = new double[this.n];
-        this.centerY = new double[this.n];
-        this.dirX = new double[this.n];
-        this.dirY = new double[this.n];
+        this.helpers = new Helper[Math.max(0, this.n)];
 
         // Pre-compute interior (none-edge) helpers and the two direction-independent offset intersections
         precomputeFixedHelpers();
@@ -123,15 +106,11 @@ public final class FractionalProjectionHelper
             final Point2d c = intersectionOrNull(this.line.get(i), parStart, this.line.get(i + 1), parEnd);
             if (c != null)
             {
-                this.isCenter[i] = true;
-                this.centerX[i] = c.x;
-                this.centerY[i] = c.y;
+                this.helpers[i] = Helper.center(c.x, c.y);
             }
             else
             {
-                this.isCenter[i] = false;
-                this.dirX[i] = parStart.x - this.line.get(i).x;
-                this.dirY[i] = parStart.y - this.line.get(i).y;
+                this.helpers[i] = Helper.direction(parStart.x - this.line.get(i).x, parStart.y - this.line.get(i).y);
             }
 
             parStart = parEnd;
@@ -154,7 +133,8 @@ public final class FractionalProjectionHelper
 
     /**
      * Fractionally project a point on the polyline using the fractional helper logic. Falls back via the given strategy when
-     * fractional projection is not applicable.
+     * fractional projection is not applicable. Only segments near the nearest segment are considered, which are found using the
+     * segment index of the line. This method does not lock and may be used by multiple threads concurrently.
      * @param start direction in first point
      * @param end direction in last point
      * @param x x-coordinate of point to project
@@ -163,27 +143,20 @@ public final class FractionalProjectionHelper
      * @return fractional position along this line of the fractional projection on that line of a point
      * @see OtsLine2d#projectFractionalAt
      */
-    public synchronized double projectFractionalAt(final Direction start, final Direction end, final double x, final double y,
+    public double projectFractionalAt(final Direction start, final Direction end, final double x, final double y,
             final FractionalFallback fallback)
     {
         Throw.whenNull(fallback, "fallback");
 
-        // Determine edge helpers for these directions (2-slot cache: (null,null) + lastKey).
+        // Determine edge helpers for these directions (cached by directions).
         final EdgeHelpers edges = getEdgeHelpers(start, end);
 
-        // Compute distances to segments; consider only those near the minimum distance.
-        double minD = Double.POSITIVE_INFINITY;
-        final double[] segDist = new double[this.n];
-        for (int i = 0; i < this.n; i++)
-        {
-            Point2d a = this.line.get(i);
-            Point2d b = this.line.get(i + 1);
-            segDist[i] = Line2D.ptSegDist(a.x, a.y, b.x, b.y, x, y);
-            if (segDist[i] < minD)
-            {
-                minD = segDist[i];
-            }
-        }
+        // Compute distance to nearest segment; consider only segments near the minimum distance.
+        final LineSegmentIndex index = this.line.getSegmentIndex();
+        final int nearest = index.nearest(x, y, (i) -> Line2D.ptSegDistSq(this.line.getX(i), this.line.getY(i),
+                this.line.getX(i + 1), this.line.getY(i + 1), x, y));
+        final double minD = Math.sqrt(Line2D.ptSegDistSq(this.line.getX(nearest), this.line.getY(nearest),
+                this.line.getX(nearest + 1), this.line.getY(nearest + 1), x, y));
 
         double bestDistance = Double.POSITIVE_INFINITY;
         int bestSeg = -1;
@@ -191,9 +164,11 @@ public final class FractionalProjectionHelper
 
         final Point2d ext = new Point2d(x, y);
 
-        for (int i = 0; i < this.n; i++)
+        for (int i : index.within(x, y, minD + FRAC_PROJ_PRECISION))
         {
-            if (segDist[i] > minD + FRAC_PROJ_PRECISION)
+            Point2d a = this.line.get(i);
+            Point2d b = this.line.get(i + 1);
+            if (Line2D.ptSegDist(a.x, a.y, b.x, b.y, x, y) > minD + FRAC_PROJ_PRECISION)
             {
                 continue;
             }
@@ -205,8 +180,6 @@ public final class FractionalProjectionHelper
             }
 
             // Ensure intersection lies on segment (within tolerance)
-            Point2d a = this.line.get(i);
-            Point2d b = this.line.get(i + 1);
             final double segLen = a.distance(b) + FRAC_PROJ_PRECISION;
             if (p.distance(a) > segLen || p.distance(b) > segLen)
             {
@@ -242,13 +215,14 @@ public final class FractionalProjectionHelper
 
     /**
      * Get the helper (center or direction) at a vertex index using (start,end) dependent edges. Useful for curvature / radius
-     * logic. Supply ({@code null}, {@code null}) if that is the desired configuration.
+     * logic. Supply ({@code null}, {@code null}) if that is the desired configuration. This method does not lock and may be used
+     * by multiple threads concurrently.
      * @param vertexIndex 0 .. size-1
      * @param start direction at start (can be {@code null})
      * @param end direction at end (can be {@code null})
      * @return helper
      */
-    public synchronized Helper helperAtVertex(final int vertexIndex, final Direction start, final Direction end)
+    public Helper helperAtVertex(final int vertexIndex, final Direction start, final Direction end)
     {
         Throw.when(vertexIndex < 0 || vertexIndex > this.line.size() - 1, IndexOutOfBoundsException.class,
                 "vertexIndex %s out of bounds [0..%s]", vertexIndex, this.line.size() - 1);
@@ -366,10 +340,11 @@ public final class FractionalProjectionHelper
 
     /**
      * Value object for the two edge helpers.
+     * @param key directions for which the helpers apply
      * @param first helper
      * @param last helper
      */
-    private record EdgeHelpers(Helper first, Helper last)
+    private record EdgeHelpers(DirectionKey key, Helper first, Helper last)
     {
     }
 
@@ -401,11 +376,7 @@ public final class FractionalProjectionHelper
      */
     private Helper helperForInteriorSegment(final int segIndex)
     {
-        if (this.isCenter[segIndex])
-        {
-            return Helper.center(this.centerX[segIndex], this.centerY[segIndex]);
-        }
-        return Helper.direction(this.dirX[segIndex], this.dirY[segIndex]);
+        return this.helpers[segIndex];
     }
 
     /**
@@ -435,31 +406,32 @@ public final class FractionalProjectionHelper
      */
     private EdgeHelpers getEdgeHelpers(final Direction start, final Direction end)
     {
-        if (start == null && end == null)
+        final DirectionKey key = DirectionKey.of(start, end);
+        final EdgeHelpers[] cache = this.edgeCache;
+        for (EdgeHelpers edges : cache)
         {
-            if (this.edgeNullNull == null)
+            if (edges.key.equals(key))
             {
-                this.edgeNullNull = computeEdgeHelpers(null, null);
+                return edges;
             }
-            return this.edgeNullNull;
-        }
-        final DirectionKey key = DirectionKey.of(start, end);
-        if (key.equals(this.lastKey) && this.edgeLast != null)
-        {
-            return this.edgeLast;
         }
-        this.edgeLast = computeEdgeHelpers(start, end);
-        this.lastKey = key;
-        return this.edgeLast;
+        final EdgeHelpers edges = computeEdgeHelpers(key, start, end);
+        // Copy with the new entry first, dropping the oldest entry if the cache is full
+        final EdgeHelpers[] newCache = new EdgeHelpers[Math.min(MAX_CACHED_EDGES, cache.length + 1)];
+        newCache[0] = edges;
+        System.arraycopy(cache, 0, newCache, 1, newCache.length - 1);
+        this.edgeCache = newCache;
+        return edges;
     }
 
     /**
      * Compute edge helpers.
+     * @param key directions key
      * @param start start direction
      * @param end end direction
      * @return edge helpers
      */
-    private EdgeHelpers computeEdgeHelpers(final Direction start, final Direction end)
+    private EdgeHelpers computeEdgeHelpers(final DirectionKey key, final Direction start, final Direction end)
     {
         // Angles (default to segment direction if null)
         final double startAng = (start == null)
@@ -513,7 +485,7 @@ public final class FractionalProjectionHelper
                 hLast = Helper.direction(p2.x - this.line.get(this.n).x, p2.y - this.line.get(this.n).y);
             }
         }
-        return new EdgeHelpers(hFirst, hLast);
+        return new EdgeHelpers(key, hFirst, hLast);
     }
 
     /**
@@ -0,0 +1,310 @@
+package org.opentrafficsim.base.geometry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntToDoubleFunction;
+
+import org.djutils.draw.line.PolyLine2d;
+
+/**
+ * Bounding volume hierarchy over the segments of a line, to find the segments near a point in O(log n) rather than checking
+ * all segments. The first level contains the bounds of consecutive groups of {@link #NODE_CAPACITY} segments, and every next
+ * level contains the bounds of consecutive groups of entries of the level below, up to a single root. As consecutive segments
+ * of a line are near each other, these groups are spatially compact. The bounds of segments themselves are derived from the
+ * line when needed, such that the index requires about 4 bytes per segment. The index is immutable and may be used by
+ * multiple threads concurrently.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+final class LineSegmentIndex
+{
+
+    /** Number of children per entry. */
+    static final int NODE_CAPACITY = 8;
+
+    /** Line. */
+    private final PolyLine2d line;
+
+    /** Number of segments. */
+    private final int n;
+
+    /** Bounds per level, the last level is the root. Each entry has minX, minY, maxX, maxY. */
+    private final double[][] levels;
+
+    /**
+     * Constructor.
+     * @param line line
+     */
+    LineSegmentIndex(final PolyLine2d line)
+    {
+        this.line = line;
+        this.n = line.size() - 1;
+        List<double[]> levelList = new ArrayList<>();
+        double[] below = null;
+        int children = this.n;
+        while (children > 1 || below == null)
+        {
+            int parents = (children + NODE_CAPACITY - 1) / NODE_CAPACITY;
+            double[] level = new double[4 * parents];
+            for (int p = 0; p < parents; p++)
+            {
+                double minX = Double.POSITIVE_INFINITY;
+                double minY = Double.POSITIVE_INFINITY;
+                double maxX = Double.NEGATIVE_INFINITY;
+                double maxY = Double.NEGATIVE_INFINITY;
+                for (int c = p * NODE_CAPACITY; c < Math.min(children, (p + 1) * NODE_CAPACITY); c++)
+                {
+                    if (below == null)
+                    {
+                        // bounds of segment c, between vertices c and c + 1
+                        minX = Math.min(minX, Math.min(line.getX(c), line.getX(c + 1)));
+                        minY = Math.min(minY, Math.min(line.getY(c), line.getY(c + 1)));
+                        maxX = Math.max(maxX, Math.max(line.getX(c), line.getX(c + 1)));
+                        maxY = Math.max(maxY, Math.max(line.getY(c), line.getY(c + 1)));
+                    }
+                    else
+                    {
+                        minX = Math.min(minX, below[4 * c]);
+                        minY = Math.min(minY, below[4 * c + 1]);
+                        maxX = Math.max(maxX, below[4 * c + 2]);
+                        maxY = Math.max(maxY, below[4 * c + 3]);
+                    }
+                }
+                level[4 * p] = minX;
+                level[4 * p + 1] = minY;
+                level[4 * p + 2] = maxX;
+                level[4 * p + 3] = maxY;
+            }
+            levelList.add(level);
+            below = level;
+            children = parents;
+        }
+        this.levels = levelList.toArray(new double[levelList.size()][]);
+    }
+
+    /**
+     * Returns the segment with the smallest squared distance to the point. Of segments with equal distance, the segment with
+     * the lowest index is returned. The squared distance to a segment should not be smaller than the squared distance to the
+     * bounds of the segment, which is true for any point on the segment. Segments to ignore should have an infinite distance.
+     * @param x x-coordinate of the point
+     * @param y y-coordinate of the point
+     * @param squaredDistance squared distance from the point to a segment, by segment index
+     * @return index of the nearest segment, -1 if there is no segment with finite distance
+     */
+    int nearest(final double x, final double y, final IntToDoubleFunction squaredDistance)
+    {
+        Nearest nearest = new Nearest();
+        if (this.n > 0)
+        {
+            nearest(this.levels.length - 1, 0, x, y, squaredDistance, nearest);
+        }
+        return nearest.index;
+    }
+
+    /**
+     * Searches the children of an entry for the nearest segment, nearest children first.
+     * @param level level of the entry
+     * @param index index of the entry in its level
+     * @param x x-coordinate of the point
+     * @param y y-coordinate of the point
+     * @param squaredDistance squared distance from the point to a segment, by segment index
+     * @param nearest nearest segment so far
+     */
+    private void nearest(final int level, final int index, final double x, final double y,
+            final IntToDoubleFunction squaredDistance, final Nearest nearest)
+    {
+        int from = index * NODE_CAPACITY;
+        int to = Math.min(childCount(level), from + NODE_CAPACITY);
+        if (level == 0)
+        {
+            for (int c = from; c < to; c++)
+            {
+                double d2 = squaredDistance.applyAsDouble(c);
+                if (d2 < nearest.squaredDistance || (d2 == nearest.squaredDistance && c < nearest.index))
+                {
+                    nearest.index = c;
+                    nearest.squaredDistance = d2;
+                }
+            }
+            return;
+        }
+
+        // insertion sort of children on distance to their bounds
+        int k = to - from;
+        int[] order = new int[k];
+        double[] distance = new double[k];
+        double[] bounds = this.levels[level - 1];
+        for (int c = 0; c < k; c++)
+        {
+            double d2 = boundsDistanceSquared(bounds, from + c, x, y);
+            int j = c;
+            while (j > 0 && distance[j - 1] > d2)
+            {
+                order[j] = order[j - 1];
+                distance[j] = distance[j - 1];
+                j--;
+            }
+            order[j] = from + c;
+            distance[j] = d2;
+        }
+        for (int c = 0; c < k; c++)
+        {
+            // equal distance may contain a segment with lower index
+            if (distance[c] > nearest.squaredDistance)
+            {
+                return;
+            }
+            nearest(level - 1, order[c], x, y, squaredDistance, nearest);
+        }
+    }
+
+    /**
+     * Returns the segments of which the bounds are within the distance from the point, in order of the segments. These are
+     * candidates to be within the distance, which should be checked by the caller.
+     * @param x x-coordinate of the point
+     * @param y y-coordinate of the point
+     * @param maxDistance distance
+     * @return indices of segments of which the bounds are within the distance from the point, in increasing order
+     */
+    int[] within(final double x, final double y, final double maxDistance)
+    {
+        Within within = new Within(maxDistance * maxDistance);
+        if (this.n > 0)
+        {
+            within(this.levels.length - 1, 0, x, y, within);
+        }
+        return Arrays.copyOf(within.indices, within.size);
+    }
+
+    /**
+     * Adds the segments under an entry of which the bounds are within the distance from the point.
+     * @param level level of the entry
+     * @param index index of the entry in its level
+     * @param x x-coordinate of the point
+     * @param y y-coordinate of the point
+     * @param within collected segments
+     */
+    private void within(final int level, final int index, final double x, final double y, final Within within)
+    {
+        if (boundsDistanceSquared(this.levels[level], index, x, y) > within.squaredDistance)
+        {
+            return;
+        }
+        int from = index * NODE_CAPACITY;
+        int to = Math.min(childCount(level), from + NODE_CAPACITY);
+        for (int c = from; c < to; c++)
+        {
+            if (level > 0)
+            {
+                within(level - 1, c, x, y, within);
+            }
+            else if (segmentDistanceSquared(c, x, y) <= within.squaredDistance)
+            {
+                within.add(c);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of children of the entries at a level.
+     * @param level level
+     * @return number of children of the entries at the level
+     */
+    private int childCount(final int level)
+    {
+        return level == 0 ? this.n : this.levels[level - 1].length / 4;
+    }
+
+    /**
+     * Returns the squared distance from the point to the bounds of a segment, which is 0 if the point is within the bounds.
+     * @param segment segment index
+     * @param x x-coordinate of the point
+     * @param y y-coordinate of the point
+     * @return squared distance from the point to the bounds of a segment
+     */
+    private double segmentDistanceSquared(final int segment, final double x, final double y)
+    {
+        double x0 = this.line.getX(segment);
+        double x1 = this.line.getX(segment + 1);
+        double y0 = this.line.getY(segment);
+        double y1 = this.line.getY(segment + 1);
+        double dx = Math.max(0.0, Math.max(Math.min(x0, x1) - x, x - Math.max(x0, x1)));
+        double dy = Math.max(0.0, Math.max(Math.min(y0, y1) - y, y - Math.max(y0, y1)));
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Returns the squared distance from the point to the bounds of an entry, which is 0 if the point is within the bounds.
+     * @param bounds bounds of the level of the entry
+     * @param index index of the entry in its level
+     * @param x x-coordinate of the point
+     * @param y y-coordinate of the point
+     * @return squared distance from the point to the bounds of an entry
+     */
+    private static double boundsDistanceSquared(final double[] bounds, final int index, final double x, final double y)
+    {
+        double dx = Math.max(0.0, Math.max(bounds[4 * index] - x, x - bounds[4 * index + 2]));
+        double dy = Math.max(0.0, Math.max(bounds[4 * index + 1] - y, y - bounds[4 * index + 3]));
+        return dx * dx + dy * dy;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "LineSegmentIndex [segments=" + this.n + ", depth=" + this.levels.length + "]";
+    }
+
+    /**
+     * Nearest segment during a search.
+     */
+    private static final class Nearest
+    {
+        /** Index of the nearest segment. */
+        private int index = -1;
+
+        /** Squared distance to the nearest segment. */
+        private double squaredDistance = Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Segments collected during a search.
+     */
+    private static final class Within
+    {
+        /** Squared distance. */
+        private final double squaredDistance;
+
+        /** Indices of segments. */
+        private int[] indices = new int[NODE_CAPACITY];
+
+        /** Number of segments. */
+        private int size;
+
+        /**
+         * Constructor.
+         * @param squaredDistance squared distance
+         */
+        Within(final double squaredDistance)
+        {
+            this.squaredDistance = squaredDistance;
+        }
+
+        /**
+         * Adds a segment.
+         * @param segment segment index
+         */
+        void add(final int segment)
+        {
+            if (this.size == this.indices.length)
+            {
+                this.indices = Arrays.copyOf(this.indices, 2 * this.size);
+            }
+            this.indices[this.size++] = segment;
+        }
+    }
+
+}
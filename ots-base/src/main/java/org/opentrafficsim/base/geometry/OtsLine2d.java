@@ -36,6 +36,9 @@ public class OtsLine2d extends PolyLine2d implements Locatable
     /** Radius calculator. */
     private final RadiusCalculator2d radiusCalc;
 
+    /** Index of the segments for projections, created on first use. */
+    private transient volatile LineSegmentIndex segmentIndex;
+
     /**
      * Constructor from points.
      * @param points array of points
@@ -261,7 +264,7 @@ public class OtsLine2d extends PolyLine2d implements Locatable
     /**
      * Orthogonally project a point onto this polyline. If the perpendicular foot on the closest segment falls outside that
      * segment, this method snaps to the nearest vertex of that segment. The result is returned as a fraction along the entire
-     * polyline.
+     * polyline. The closest segment is found using a bounding volume hierarchy over the segments, in O(log n).
      * <p>
      * If {@code clampToDomain} is {@code true}, the returned fraction is clamped to [0..1]. If {@code false}, the fraction may
      * be negative (before the start of the line) or larger than 1 (beyond the end of the line) when the closest point is the
@@ -279,114 +282,95 @@ public class OtsLine2d extends PolyLine2d implements Locatable
             return Double.NaN; // no segments to project on
         }
 
-        // Track the best (closest) candidate across all segments.
-        double bestD2 = Double.POSITIVE_INFINITY;
-        double bestFraction = Double.NaN;
+        // Find the closest segment (orthogonal if interior, otherwise snap to an end-point), degenerate segments are skipped
+        final int i = getSegmentIndex().nearest(x, y, (segment) -> snapDistanceSquared(segment, x, y));
+        if (i < 0)
+        {
+            return Double.NaN; // only degenerate segments
+        }
 
         // Useful constants
         final double totalLength = lengthAtIndex(nPoints - 1);
-        final double xFirst = getX(0);
-        final double yFirst = getY(0);
-        final double xLast = getX(nPoints - 1);
-        final double yLast = getY(nPoints - 1);
-
-        // Loop over segments and compute the closest point (orthogonal if interior, otherwise snap to an end-point)
-        for (int i = 0; i < nPoints - 1; i++)
-        {
-            final double xA = getX(0);
-            final double yA = getY(0);
-            final double xB = getX(nPoints - 1);
-            final double yB = getY(nPoints - 1);
-
-            final double abx = xB - xA;
-            final double aby = yB - yA;
-            final double ab2 = abx * abx + aby * aby;
-            if (ab2 == 0.0)
-            {
-                // Degenerate segment; skip
-                continue;
-            }
+        final double xA = getX(i);
+        final double yA = getY(i);
+        final double abx = getX(i + 1) - xA;
+        final double aby = getY(i + 1) - yA;
 
-            final double apx = x - xA;
-            final double apy = y - yA;
+        // Un-clamped parameter along the infinite line through segment [a,b]
+        final double t = ((x - xA) * abx + (y - yA) * aby) / (abx * abx + aby * aby);
 
-            // Un-clamped parameter along the infinite line through segment [a,b]
-            final double t = (apx * abx + apy * aby) / ab2;
-
-            // Compute the "nearest point on the segment" by clamping t to [0, 1]
-            final double tClamped = Math.max(0.0, Math.min(1.0, t));
-            final double px = xA + tClamped * abx;
-            final double py = yA + tClamped * aby;
-
-            // Distance squared to the candidate on this segment
-            final double dx = x - px;
-            final double dy = y - py;
-            final double d2 = dx * dx + dy * dy;
+        // Convert this segment-local candidate to a fraction along the entire polyline.
+        if (t >= 0.0 && t <= 1.0)
+        {
+            // Orthogonal foot lies within the segment.
+            final double segStart = lengthAtIndex(i);
+            final double segEnd = lengthAtIndex(i + 1);
+            final double absS = segStart + t * (segEnd - segStart);
+            return absS / totalLength;
+        }
 
-            if (d2 < bestD2)
+        // Orthogonal foot outside the segment: snap to the nearest endpoint of this segment.
+        // For t < 0 -> endpoint a; for t > 1 -> endpoint b.
+        if (t < 0.0)
+        {
+            // Extended: if this is the first vertex, return a negative fraction
+            if (!clampToDomain && i == 0)
             {
-                bestD2 = d2;
-
-                // Convert this segment-local candidate to a fraction along the entire polyline.
-                if (t >= 0.0 && t <= 1.0)
-                {
-                    // Orthogonal foot lies within the segment.
-                    final double segStart = lengthAtIndex(i);
-                    final double segEnd = lengthAtIndex(i + 1);
-                    final double absS = segStart + t * (segEnd - segStart);
-                    bestFraction = absS / totalLength;
-                }
-                else
-                {
-                    // Orthogonal foot outside the segment: snap to the nearest endpoint of this segment.
-                    // For t < 0 -> endpoint a; for t > 1 -> endpoint b.
-                    if (t < 0.0)
-                    {
-                        if (clampToDomain)
-                        {
-                            bestFraction = lengthAtIndex(i) / totalLength; // fraction at vertex a
-                        }
-                        else
-                        {
-                            // Extended: if this is the first vertex, return a negative fraction
-                            if (i == 0)
-                            {
-                                final double dStart = Math.hypot(x - xFirst, y - yFirst);
-                                bestFraction = (0.0 - dStart) / totalLength;
-                            }
-                            else
-                            {
-                                // For internal vertices, still snap to the vertex fraction in-domain
-                                bestFraction = lengthAtIndex(i) / totalLength;
-                            }
-                        }
-                    }
-                    else // t > 1.0
-                    {
-                        if (clampToDomain)
-                        {
-                            bestFraction = lengthAtIndex(i + 1) / totalLength; // fraction at vertex b
-                        }
-                        else
-                        {
-                            // Extended: if this is the last vertex, return a fraction beyond 1
-                            if (i + 1 == nPoints - 1)
-                            {
-                                final double dEnd = Math.hypot(x - xLast, y - yLast);
-                                bestFraction = (totalLength + dEnd) / totalLength;
-                            }
-                            else
-                            {
-                                // For internal vertices, still snap to the vertex fraction in-domain
-                                bestFraction = lengthAtIndex(i + 1) / totalLength;
-                            }
-                        }
-                    }
-                }
+                final double dStart = Math.hypot(x - getX(0), y - getY(0));
+                return (0.0 - dStart) / totalLength;
             }
+            // For internal vertices, still snap to the vertex fraction in-domain
+            return lengthAtIndex(i) / totalLength; // fraction at vertex a
+        }
+        // Extended: if this is the last vertex, return a fraction beyond 1
+        if (!clampToDomain && i + 1 == nPoints - 1)
+        {
+            final double dEnd = Math.hypot(x - getX(nPoints - 1), y - getY(nPoints - 1));
+            return (totalLength + dEnd) / totalLength;
         }
+        // For internal vertices, still snap to the vertex fraction in-domain
+        return lengthAtIndex(i + 1) / totalLength; // fraction at vertex b
+    }
 
-        return bestFraction;
+    /**
+     * Returns the squared distance from a point to the nearest point on a segment.
+     * @param segment segment index
+     * @param x x-coordinate of the point
+     * @param y y-coordinate of the point
+     * @return squared distance from a point to the nearest point on a segment, infinite for a degenerate segment
+     */
+    private double snapDistanceSquared(final int segment, final double x, final double y)
+    {
+        final double xA = getX(segment);
+        final double yA = getY(segment);
+        final double abx = getX(segment + 1) - xA;
+        final double aby = getY(segment + 1) - yA;
+        final double ab2 = abx * abx + aby * aby;
+        if (ab2 == 0.0)
+        {
+            return Double.POSITIVE_INFINITY;
+        }
+        // Compute the "nearest point on the segment" by clamping t to [0, 1]
+        final double t = Math.max(0.0, Math.min(1.0, ((x - xA) * abx + (y - yA) * aby) / ab2));
+        final double dx = x - (xA + t * abx);
+        final double dy = y - (yA + t * aby);
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Returns the index of the segments, which is created on first use. Concurrent first use may create more than one index,
+     * of which all but one are discarded. This is preferred over synchronizing every projection.
+     * @return index of the segments
+     */
+    LineSegmentIndex getSegmentIndex()
+    {
+        LineSegmentIndex index = this.segmentIndex;
+        if (index == null)
+        {
+            index = new LineSegmentIndex(this);
+            this.segmentIndex = index;
+        }
+        return index;
     }
 
     /**
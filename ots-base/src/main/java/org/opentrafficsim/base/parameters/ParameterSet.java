@@ -33,10 +33,13 @@ public class ParameterSet implements Parameters
     /** List of parameters. */
     private Map<ParameterType<?>, Object> parameters;
 
-    /** Keys that claim setting parameters. */
-    private Map<ParameterType<?>, Object> keys = new LinkedHashMap<>();
+    /** Shared default parameters, for parameters that are not in {@code parameters}, may be {@code null}. */
+    private Map<ParameterType<?>, Object> defaults;
 
-    /** List of parameters with values before last set. */
+    /** Keys that claim setting parameters, created when the first parameter is claimed. */
+    private Map<ParameterType<?>, Object> keys;
+
+    /** List of parameters with values before last set, created when the first resettable parameter is set. */
     private Map<ParameterType<?>, Object> previous;
 
     /**
@@ -45,7 +48,30 @@ public class ParameterSet implements Parameters
     public ParameterSet()
     {
         this.parameters = new LinkedHashMap<>();
-        this.previous = new LinkedHashMap<>();
+    }
+
+    /**
+     * Creates a parameter set that only stores parameters that are set on it, and obtains all other parameters from the shared
+     * defaults. This saves memory when many sets are derived from the same defaults, e.g. one per GTU. Later changes to the
+     * defaults do not affect the returned set (copy-on-write). Parameters from the defaults cannot be reset in the returned
+     * set.
+     * @param defaults default parameters
+     * @return parameter set with shared defaults
+     */
+    public static ParameterSet withDefaults(final ParameterSet defaults)
+    {
+        Throw.whenNull(defaults, "defaults");
+        ParameterSet parameterSet = new ParameterSet();
+        if (defaults.defaults == null)
+        {
+            parameterSet.defaults = defaults.parameters;
+            defaults.copyOnWrite = true;
+        }
+        else
+        {
+            parameterSet.defaults = defaults.getParameters();
+        }
+        return parameterSet;
     }
 
     /**
@@ -58,6 +84,7 @@ public class ParameterSet implements Parameters
         {
             ParameterSet parameterSet = (ParameterSet) parameters;
             this.parameters = parameterSet.parameters;
+            this.defaults = parameterSet.defaults;
             this.previous = parameterSet.previous;
             this.copyOnWrite = true;
             parameterSet.copyOnWrite = true;
@@ -74,7 +101,7 @@ public class ParameterSet implements Parameters
         Throw.whenNull(parameterType, "parameterType");
         Throw.when(value == null, ParameterException.class,
                 "Parameter of type '%s' was assigned a null value, this is not allowed.", parameterType.getId());
-        Object key = this.keys.get(parameterType);
+        Object key = this.keys == null ? null : this.keys.get(parameterType);
         Throw.when(key != null, ParameterException.class, "Parameter of type '%s' is set, but it is claimed by '%s'.",
                 parameterType.getId(), key);
         saveSetParameter(parameterType, value, false);
@@ -88,6 +115,10 @@ public class ParameterSet implements Parameters
         Throw.when(value == null, ParameterException.class,
                 "Parameter of type '%s' was assigned a null value, this is not allowed.", parameterType.getId());
         Throw.whenNull(key, "key");
+        if (this.keys == null)
+        {
+            this.keys = new LinkedHashMap<>();
+        }
         Object previousKey = this.keys.putIfAbsent(parameterType, key);
         Throw.when(previousKey != null && !key.equals(previousKey), ParameterException.class,
                 "Parameter of type '%s' was assigned trying to claim from '%s' but was claimed by '%s'.", parameterType.getId(),
@@ -117,7 +148,11 @@ public class ParameterSet implements Parameters
         checkCopyOnWrite();
         if (resettable)
         {
-            Object prevValue = this.parameters.get(parameterType);
+            Object prevValue = getValue(parameterType);
+            if (this.previous == null)
+            {
+                this.previous = new LinkedHashMap<>();
+            }
             if (prevValue == null)
             {
                 // remember that there was no value before this set
@@ -128,7 +163,7 @@ public class ParameterSet implements Parameters
                 this.previous.put(parameterType, prevValue);
             }
         }
-        else
+        else if (this.previous != null)
         {
             // no reset after non-resettale set
             this.previous.remove(parameterType);
@@ -140,7 +175,7 @@ public class ParameterSet implements Parameters
     public void resetParameter(final ParameterType<?> parameterType) throws ParameterException
     {
         checkCopyOnWrite();
-        Object prevValue = this.previous.remove(parameterType);
+        Object prevValue = this.previous == null ? null : this.previous.remove(parameterType);
         Throw.when(prevValue == null, ParameterException.class,
                 "Reset on parameter of type '%s' could not be performed, it was not set resettable.", parameterType.getId());
         if (prevValue instanceof Empty)
@@ -162,17 +197,28 @@ public class ParameterSet implements Parameters
         if (this.copyOnWrite)
         {
             this.parameters = new LinkedHashMap<>(this.parameters);
-            this.previous = new LinkedHashMap<>(this.previous);
+            this.previous = this.previous == null ? null : new LinkedHashMap<>(this.previous);
             this.copyOnWrite = false;
         }
     }
 
+    /**
+     * Returns the value of the parameter, from this set or otherwise from the defaults.
+     * @param parameterType the parameter type
+     * @return value of the parameter, {@code null} if not set
+     */
+    private Object getValue(final ParameterType<?> parameterType)
+    {
+        Object value = this.parameters.get(parameterType);
+        return value != null || this.defaults == null ? value : this.defaults.get(parameterType);
+    }
+
     @Override
     public <T> T getParameter(final ParameterType<T> parameterType) throws ParameterException
     {
         @SuppressWarnings("unchecked")
         // set methods guarantee matching of parameter type and value
-        T result = (T) this.parameters.get(parameterType);
+        T result = (T) getValue(parameterType);
         Throw.when(result == null, ParameterException.class, "Could not get parameter of type '%s' as it was not set.",
                 parameterType.getId());
         return result;
@@ -183,13 +229,14 @@ public class ParameterSet implements Parameters
     public <T> Optional<T> getOptionalParameter(final ParameterType<T> parameterType)
     {
         // set methods guarantee matching of parameter type and value
-        return Optional.ofNullable((T) this.parameters.get(parameterType));
+        return Optional.ofNullable((T) getValue(parameterType));
     }
 
     @Override
     public boolean contains(final ParameterType<?> parameterType)
     {
-        return this.parameters.containsKey(parameterType);
+        return this.parameters.containsKey(parameterType)
+                || (this.defaults != null && this.defaults.containsKey(parameterType));
     }
 
     /**
@@ -198,7 +245,13 @@ public class ParameterSet implements Parameters
      */
     public Map<ParameterType<?>, Object> getParameters()
     {
-        return new LinkedHashMap<>(this.parameters);
+        if (this.defaults == null)
+        {
+            return new LinkedHashMap<>(this.parameters);
+        }
+        Map<ParameterType<?>, Object> all = new LinkedHashMap<>(this.defaults);
+        all.putAll(this.parameters);
+        return all;
     }
 
     /**
@@ -283,7 +336,7 @@ public class ParameterSet implements Parameters
         {
             ParameterSet parameterSet = (ParameterSet) params;
             parameterSet.checkCopyOnWrite();
-            parameterSet.parameters.putAll(this.parameters);
+            parameterSet.parameters.putAll(this.defaults == null ? this.parameters : getParameters());
         }
         else
         {
@@ -299,11 +352,11 @@ public class ParameterSet implements Parameters
     @SuppressWarnings("unchecked")
     private <T> void setAllOneByOne(final Parameters params)
     {
-        for (ParameterType<?> parameterType : this.parameters.keySet())
+        for (ParameterType<?> parameterType : getParameters().keySet())
         {
             try
             {
-                params.setParameter((ParameterType<T>) parameterType, (T) this.parameters.get(parameterType));
+                params.setParameter((ParameterType<T>) parameterType, (T) getValue(parameterType));
             }
             catch (ParameterException exception)
             {
@@ -317,7 +370,7 @@ public class ParameterSet implements Parameters
     {
         StringBuilder out = new StringBuilder("Parameters [");
         String sep = "";
-        for (ParameterType<?> apt : this.parameters.keySet())
+        for (ParameterType<?> apt : getParameters().keySet())
         {
             try
             {
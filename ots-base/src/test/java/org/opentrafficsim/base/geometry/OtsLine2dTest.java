@@ -891,6 +891,51 @@ public final class OtsLine2dTest
 
     }
 
+    /**
+     * Tests orthogonal projection, which uses the segment index, against the nearest point over all segments.
+     */
+    @Test
+    public void testOrthogonalProjection()
+    {
+        // line with a bend, where the nearest point is not on the line between the first and last point
+        OtsLine2d line = new OtsLine2d(new Point2d(0, 0), new Point2d(10, 0), new Point2d(10, 10));
+        assertEquals(0.75, line.projectOrthogonalSnapAt(12, 5), 1e-9, "projection on second segment is wrong");
+        assertEquals(0.25, line.projectOrthogonalSnapAt(5, -2), 1e-9, "projection on first segment is wrong");
+        assertEquals(-0.1, line.projectOrthogonalSnapAt(-2, 0, false), 1e-9, "extended projection before start is wrong");
+        assertEquals(1.1, line.projectOrthogonalSnapAt(10, 12, false), 1e-9, "extended projection beyond end is wrong");
+        assertEquals(1.0, line.projectOrthogonalSnapAt(10, 12), 1e-9, "clamped projection beyond end is wrong");
+
+        // long random line
+        Random random = new Random(0);
+        List<Point2d> list = new ArrayList<>();
+        double x = 0.0;
+        double y = 0.0;
+        double heading = 0.0;
+        for (int i = 0; i < 2000; i++)
+        {
+            list.add(new Point2d(x, y));
+            heading += (random.nextDouble() - 0.5) * 0.3;
+            x += Math.cos(heading) * (0.5 + random.nextDouble());
+            y += Math.sin(heading) * (0.5 + random.nextDouble());
+        }
+        line = new OtsLine2d(list);
+        for (int i = 0; i < 1000; i++)
+        {
+            Point2d p = list.get(random.nextInt(list.size()));
+            double px = p.x + (random.nextDouble() - 0.5) * 10.0;
+            double py = p.y + (random.nextDouble() - 0.5) * 10.0;
+            Point2d point = new Point2d(px, py);
+            double nearest = Double.POSITIVE_INFINITY;
+            for (int j = 0; j < line.size() - 1; j++)
+            {
+                PolyLine2d segment = new PolyLine2d(line.get(j), line.get(j + 1));
+                nearest = Math.min(nearest, segment.closestPointOnPolyLine(point).distance(point));
+            }
+            Point2d projected = line.getLocationFraction(line.projectOrthogonalSnapAt(px, py));
+            assertEquals(nearest, projected.distance(point), 1e-6, "orthogonal projection is not nearest point");
+        }
+    }
+
     /**
      * Test the find method.
      * @throws SecurityException if that happens uncaught; this test has failed
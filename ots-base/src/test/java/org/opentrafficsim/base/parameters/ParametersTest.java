@@ -651,6 +651,45 @@ class ParametersTest implements ConstraintInterface
                 "When merging set B with set A, set B should not contain the parameters of set A.");
     }
 
+    /**
+     * Tests parameter sets with shared defaults.
+     * @throws ParameterException parameter exception
+     */
+    @Test
+    void withDefaultsTest() throws ParameterException
+    {
+        ParameterSet defaults = new ParameterSet();
+        defaults.setDefaultParameter(ParameterTypes.A);
+        defaults.setDefaultParameter(ParameterTypes.B);
+        ParameterSet params = ParameterSet.withDefaults(defaults);
+        assertTrue(params.contains(ParameterTypes.A), "Set with defaults should contain the default parameters.");
+        assertEquals(ParameterTypes.A.getDefaultValue(), params.getParameter(ParameterTypes.A));
+        assertFalse(params.contains(ParameterTypes.T));
+
+        // overrides and resets only affect the derived set
+        Acceleration a = Acceleration.ofSI(2.0);
+        params.setParameterResettable(ParameterTypes.A, a);
+        assertEquals(a, params.getParameter(ParameterTypes.A));
+        assertEquals(ParameterTypes.A.getDefaultValue(), defaults.getParameter(ParameterTypes.A));
+        params.resetParameter(ParameterTypes.A);
+        assertEquals(ParameterTypes.A.getDefaultValue(), params.getParameter(ParameterTypes.A));
+        params.setParameterResettable(ParameterTypes.T, Duration.ofSI(1.0));
+        params.resetParameter(ParameterTypes.T);
+        assertFalse(params.contains(ParameterTypes.T));
+        params.setParameter(ParameterTypes.B, Acceleration.ofSI(3.0));
+        assertEquals(2, params.getParameters().size());
+        assertTrue(params.toString().contains("b="), params.toString());
+
+        // changes to the defaults do not affect derived sets, also not when derived in a second generation
+        ParameterSet copy = ParameterSet.withDefaults(params);
+        defaults.setParameter(ParameterTypes.A, Acceleration.ofSI(0.5));
+        assertEquals(ParameterTypes.A.getDefaultValue(), params.getParameter(ParameterTypes.A));
+        assertEquals(Acceleration.ofSI(3.0), copy.getParameter(ParameterTypes.B));
+        ParameterSet merged = new ParameterSet();
+        copy.setAllIn(merged);
+        assertEquals(copy.getParameters(), merged.getParameters());
+    }
+
     /**
      * Tests the correct creation of a column.
      */
@@ -0,0 +1,830 @@
+package org.opentrafficsim.core.dsol;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.djunits.value.vdouble.scalar.Duration;
+import org.djutils.exceptions.Throw;
+
+import nl.tudelft.simulation.dsol.eventlists.EventListInterface;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.SimEventInterface;
+
+/**
+ * Event list that is a calendar queue, or timing wheel, of buckets of fixed width in time. Most events in OTS, such as GTU
+ * moves, lane and detector triggers, sampling and controller ticks, are scheduled within one or a few time steps from now.
+ * Such events are added to the bucket of their time, which only holds few events, rather than to a tree of all pending events.
+ * The wheel covers a limited horizon in time. Events beyond the horizon are stored in an overflow tree, and are moved to the
+ * wheel as time progresses. Events are ordered as in the default DSOL event list: on time, then on priority (high first), and
+ * then on id.
+ * <p>
+ * Each bucket is a sorted array of which a range is used. Events added in order, such as GTU moves at the same aligned step,
+ * are appended without shifting. Events are found for removal, as happens frequently when an operational plan is interrupted,
+ * by their time and a binary search in their bucket. Hence, the time of an event should not change while it is pending.
+ * <p>
+ * The wheel adapts to the density of events. Periodically, after a number of removed events equal to the number of pending
+ * events (at least 1024 and at most 65536), the average time between removed events with distinct time is evaluated. Events
+ * at equal time, such as GTU moves at an aligned step, cannot be separated in buckets and are not counted. The bucket width is
+ * set to a few times the average time between events, as a power of 2 fraction of the initial width, and at least
+ * {@link #MIN_BUCKET_WIDTH}. To prevent rebuilding the wheel back and forth, this is only done if the width changes by more
+ * than a factor 2. Between evaluations, the bucket width is halved when adding an event shifts many events in its bucket. The
+ * number of buckets is set such that the initial horizon is covered, up to {@link #MAX_BUCKETS} buckets.
+ * <p>
+ * The event list can be used by setting it on the simulator, see {@link OtsSimulator#OtsSimulator(java.io.Serializable,
+ * EventListInterface)}. All methods are synchronized.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public class CalendarEventList implements EventListInterface<Duration>
+{
+
+    /** Default bucket width, which is the typical step of operational plans. */
+    public static final Duration DEFAULT_BUCKET_WIDTH = Duration.ofSI(0.5);
+
+    /** Default number of buckets. */
+    public static final int DEFAULT_BUCKETS = 1024;
+
+    /** Maximum number of buckets. */
+    public static final int MAX_BUCKETS = 1 << 18;
+
+    /** Minimum bucket width. */
+    public static final Duration MIN_BUCKET_WIDTH = Duration.ofSI(0.001);
+
+    /** Minimum number of removed events between adapting the wheel. */
+    private static final int MIN_ADAPT = 1024;
+
+    /** Maximum number of removed events between adapting the wheel. */
+    private static final int MAX_ADAPT = 65536;
+
+    /** Number of events shifted when adding an event, above which the bucket width is halved. */
+    private static final int MAX_ADD_SHIFT = 1024;
+
+    /** Targeted number of events with distinct time per bucket. */
+    private static final double TARGET_EVENTS = 4.0;
+
+    /** Initial number of buckets. */
+    private final int initialBuckets;
+
+    /** Initial bucket width [s]. */
+    private final double initialWidth;
+
+    /** Initial horizon [s]. */
+    private final double initialHorizon;
+
+    /** Bucket width [s]. */
+    private double bucketWidth;
+
+    /** Buckets, bucket {@code b} is stored at {@code b % length}. Only buckets in the horizon of the wheel are stored. */
+    private Bucket[] wheel;
+
+    /** Events beyond the horizon of the wheel. */
+    private final TreeSet<SimEventInterface<Duration>> overflow = new TreeSet<>(CalendarEventList::compare);
+
+    /** Bucket of the earliest pending event, the wheel covers this bucket and further buckets up to the number of buckets. */
+    private long cursor = 0L;
+
+    /** Number of events in the wheel. */
+    private int wheelEvents = 0;
+
+    /** Number of removed events since the wheel was last adapted. */
+    private long removed = 0L;
+
+    /** Number of removed events with a time different from the previous removed event, since the wheel was last adapted. */
+    private long distinct = 0L;
+
+    /** Time of the first removed event since the wheel was last adapted [s]. */
+    private double windowStart = Double.NaN;
+
+    /** Time of the last removed event [s]. */
+    private double lastTime = Double.NaN;
+
+    /** Whether adding an event shifted many events, such that the bucket width should be halved. */
+    private boolean crowded = false;
+
+    /**
+     * Constructor with default bucket width and number of buckets.
+     */
+    public CalendarEventList()
+    {
+        this(DEFAULT_BUCKET_WIDTH, DEFAULT_BUCKETS);
+    }
+
+    /**
+     * Constructor.
+     * @param bucketWidth initial bucket width, typically the step of operational plans
+     * @param buckets initial number of buckets, the horizon of the wheel is the number of buckets times the bucket width
+     * @throws NullPointerException when bucketWidth is null
+     * @throws IllegalArgumentException when the bucket width or number of buckets is not positive, or the number of buckets is
+     *             larger than {@link #MAX_BUCKETS}
+     */
+    public CalendarEventList(final Duration bucketWidth, final int buckets)
+    {
+        Throw.whenNull(bucketWidth, "bucketWidth");
+        Throw.when(!(bucketWidth.si > 0.0), IllegalArgumentException.class, "Bucket width should be positive.");
+        Throw.when(buckets <= 0 || buckets > MAX_BUCKETS, IllegalArgumentException.class,
+                "Number of buckets should be in the range [1 ... %d].", MAX_BUCKETS);
+        this.initialBuckets = buckets;
+        this.initialWidth = bucketWidth.si;
+        this.initialHorizon = buckets * bucketWidth.si;
+        this.bucketWidth = bucketWidth.si;
+        this.wheel = new Bucket[buckets];
+    }
+
+    /**
+     * Adds an event. Adding an event that is already pending has no effect.
+     * @param event event
+     * @throws NullPointerException when event is null
+     */
+    @Override
+    public synchronized void add(final SimEventInterface<Duration> event)
+    {
+        Throw.whenNull(event, "event");
+        insert(event);
+        if (this.crowded)
+        {
+            this.crowded = false;
+            if (this.bucketWidth > MIN_BUCKET_WIDTH.si)
+            {
+                resize(0.5 * this.bucketWidth);
+            }
+        }
+    }
+
+    @Override
+    public synchronized boolean contains(final SimEventInterface<Duration> event)
+    {
+        long location = location(event);
+        if (location - this.cursor >= this.wheel.length)
+        {
+            return this.overflow.ceiling(event) == event;
+        }
+        Bucket bucket = this.wheel[slot(location)];
+        return bucket != null && bucket.indexOf(event) >= 0;
+    }
+
+    @Override
+    public synchronized void clear()
+    {
+        this.overflow.clear();
+        this.bucketWidth = this.initialWidth;
+        this.wheel = new Bucket[this.initialBuckets];
+        this.cursor = 0L;
+        this.wheelEvents = 0;
+        this.removed = 0L;
+        this.distinct = 0L;
+        this.lastTime = Double.NaN;
+        this.crowded = false;
+    }
+
+    @Override
+    public synchronized boolean isEmpty()
+    {
+        return size() == 0;
+    }
+
+    /**
+     * Returns an iterator over a copy of the pending events, in order of execution.
+     * @return iterator over a copy of the pending events
+     */
+    @Override
+    public synchronized Iterator<SimEventInterface<Duration>> iterator()
+    {
+        List<SimEventInterface<Duration>> events = pendingEvents();
+        events.sort(CalendarEventList::compare);
+        return Collections.unmodifiableList(events).iterator();
+    }
+
+    /**
+     * Removes the event. The event is found by its time in O(1), and a binary search in its bucket.
+     * @param event event
+     * @return whether the event was pending
+     */
+    @Override
+    public synchronized boolean remove(final SimEventInterface<Duration> event)
+    {
+        long location = location(event);
+        if (location - this.cursor >= this.wheel.length)
+        {
+            return this.overflow.ceiling(event) == event && this.overflow.remove(event);
+        }
+        Bucket bucket = this.wheel[slot(location)];
+        if (bucket != null && bucket.remove(event))
+        {
+            this.wheelEvents--;
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized int size()
+    {
+        return this.wheelEvents + this.overflow.size();
+    }
+
+    @Override
+    public synchronized SimEventInterface<Duration> first()
+    {
+        Bucket bucket = firstBucket();
+        return bucket == null ? null : bucket.peek();
+    }
+
+    @Override
+    public synchronized SimEventInterface<Duration> removeFirst()
+    {
+        Bucket bucket = firstBucket();
+        if (bucket == null)
+        {
+            return null;
+        }
+        SimEventInterface<Duration> event = bucket.poll();
+        this.wheelEvents--;
+        double time = event.getAbsoluteExecutionTime().si;
+        if (time != this.lastTime)
+        {
+            this.distinct++;
+            this.lastTime = time;
+        }
+        if (this.removed++ == 0L)
+        {
+            this.windowStart = time;
+        }
+        else if (this.removed >= Math.max(MIN_ADAPT, Math.min(MAX_ADAPT, size())))
+        {
+            adapt();
+        }
+        return event;
+    }
+
+    /**
+     * Returns the bucket at the cursor, which contains the first event. Empty buckets are skipped to get there.
+     * @return bucket at the cursor, {@code null} if there are no pending events
+     */
+    private Bucket firstBucket()
+    {
+        if (this.wheelEvents == 0)
+        {
+            if (this.overflow.isEmpty())
+            {
+                return null;
+            }
+            // all pending events are beyond the horizon, jump to the first of those
+            this.cursor = bucket(this.overflow.first());
+            migrate();
+        }
+        while (true)
+        {
+            Bucket bucket = this.wheel[slot(this.cursor)];
+            if (bucket != null && bucket.size() > 0)
+            {
+                return bucket;
+            }
+            this.cursor++;
+            migrate();
+        }
+    }
+
+    /**
+     * Inserts an event in the wheel, or in the overflow if it is beyond the horizon of the wheel, if it is not pending.
+     * @param event event
+     */
+    private void insert(final SimEventInterface<Duration> event)
+    {
+        long location = location(event);
+        if (location - this.cursor >= this.wheel.length)
+        {
+            this.overflow.add(event);
+            return;
+        }
+        int slot = slot(location);
+        Bucket bucket = this.wheel[slot];
+        if (bucket == null)
+        {
+            bucket = new Bucket();
+            this.wheel[slot] = bucket;
+        }
+        int shifted = bucket.add(event);
+        if (shifted >= 0)
+        {
+            this.wheelEvents++;
+            this.crowded |= shifted > MAX_ADD_SHIFT;
+        }
+    }
+
+    /**
+     * Moves events from the overflow that are within the horizon of the wheel to the wheel.
+     */
+    private void migrate()
+    {
+        while (!this.overflow.isEmpty() && bucket(this.overflow.first()) - this.cursor < this.wheel.length)
+        {
+            insert(this.overflow.pollFirst());
+        }
+    }
+
+    /**
+     * Adapts the bucket width to the average time between removed events with distinct time, and the number of buckets to
+     * cover the initial horizon.
+     */
+    private void adapt()
+    {
+        double separation = (this.lastTime - this.windowStart) / this.distinct;
+        this.removed = 0L;
+        this.distinct = 0L;
+        if (!(separation > 0.0))
+        {
+            return; // no time has passed
+        }
+        // largest power of 2 fraction of the initial width that does not exceed the targeted width
+        double width = this.initialWidth;
+        while (width > TARGET_EVENTS * separation && width > MIN_BUCKET_WIDTH.si)
+        {
+            width *= 0.5;
+        }
+        if (width < 0.5 * this.bucketWidth || width > 2.0 * this.bucketWidth)
+        {
+            resize(width);
+        }
+    }
+
+    /**
+     * Rebuilds the wheel with a new bucket width, and a number of buckets that covers the initial horizon.
+     * @param width bucket width [s]
+     */
+    private void resize(final double width)
+    {
+        int buckets = (int) Math.min(MAX_BUCKETS, Math.max(this.initialBuckets, Math.ceil(this.initialHorizon / width)));
+        List<SimEventInterface<Duration>> events = pendingEvents();
+        // the cursor should not be beyond any event, as events before the cursor may have been put at the cursor
+        double cursorTime = this.cursor * this.bucketWidth;
+        for (SimEventInterface<Duration> event : events)
+        {
+            cursorTime = Math.min(cursorTime, event.getAbsoluteExecutionTime().si);
+        }
+        this.bucketWidth = width;
+        this.wheel = new Bucket[buckets];
+        this.cursor = (long) Math.floor(cursorTime / width);
+        this.overflow.clear();
+        this.wheelEvents = 0;
+        for (SimEventInterface<Duration> event : events)
+        {
+            insert(event);
+        }
+    }
+
+    /**
+     * Returns all pending events in no particular order.
+     * @return all pending events
+     */
+    private List<SimEventInterface<Duration>> pendingEvents()
+    {
+        List<SimEventInterface<Duration>> events = new ArrayList<>(size());
+        for (Bucket bucket : this.wheel)
+        {
+            if (bucket != null)
+            {
+                bucket.addTo(events);
+            }
+        }
+        events.addAll(this.overflow);
+        return events;
+    }
+
+    /**
+     * Returns the bucket where an event is stored if it is in the wheel. This is the bucket of its time, or the bucket at the
+     * cursor if its time is before the cursor, as all earlier buckets are empty.
+     * @param event event
+     * @return bucket where an event is stored if it is in the wheel
+     */
+    private long location(final SimEventInterface<Duration> event)
+    {
+        return Math.max(this.cursor, bucket(event));
+    }
+
+    /**
+     * Returns the bucket of the time of an event.
+     * @param event event
+     * @return bucket of the time of the event
+     */
+    private long bucket(final SimEventInterface<Duration> event)
+    {
+        return (long) Math.floor(event.getAbsoluteExecutionTime().si / this.bucketWidth);
+    }
+
+    /**
+     * Returns the slot in the wheel of a bucket.
+     * @param bucket bucket
+     * @return slot in the wheel of the bucket
+     */
+    private int slot(final long bucket)
+    {
+        return (int) Math.floorMod(bucket, (long) this.wheel.length);
+    }
+
+    /**
+     * Compares events on time, then on priority (high first), and then on id.
+     * @param event1 event 1
+     * @param event2 event 2
+     * @return negative, zero or positive as event 1 is before, equal to or after event 2
+     */
+    private static int compare(final SimEventInterface<Duration> event1, final SimEventInterface<Duration> event2)
+    {
+        int result = Double.compare(event1.getAbsoluteExecutionTime().si, event2.getAbsoluteExecutionTime().si);
+        if (result == 0)
+        {
+            result = Short.compare(event2.getPriority(), event1.getPriority());
+            if (result == 0)
+            {
+                result = Long.compare(event1.getId(), event2.getId());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized String toString()
+    {
+        return "CalendarEventList [bucketWidth=" + this.bucketWidth + "s, buckets=" + this.wheel.length + ", size=" + size()
+                + ", overflow=" + this.overflow.size() + "]";
+    }
+
+    /**
+     * Bucket of events, sorted in an array of which the range from head to tail is used. The time, priority and id of events
+     * are stored in arrays too, such that events are found without visiting all events on the way. Events can be added and
+     * removed at either end of the range without shifting other events. Events removed from the middle of a large bucket, such
+     * as a GTU move among the moves of all GTUs at an aligned step, are marked as removed and skipped later, rather than
+     * shifting many events. The bucket is compacted once half of the range is marked.
+     */
+    private static final class Bucket
+    {
+        /** Maximum number of events to shift when removing an event, above which the event is marked as removed. */
+        private static final int MAX_SHIFT = 32;
+
+        /** Events. */
+        private SimEventInterface<Duration>[] events = newArray(4);
+
+        /** Times of the events [s]. */
+        private double[] times = new double[4];
+
+        /** Priorities of the events. */
+        private short[] priorities = new short[4];
+
+        /** Ids of the events. */
+        private long[] ids = new long[4];
+
+        /** Whether the event at the same index is marked as removed. */
+        private boolean[] marked = new boolean[4];
+
+        /** Index of the first event, which is never marked. */
+        private int head;
+
+        /** Index after the last event, which is never marked. */
+        private int tail;
+
+        /** Number of marked events. */
+        private int markedEvents;
+
+        /**
+         * Returns the number of events.
+         * @return number of events
+         */
+        int size()
+        {
+            return this.tail - this.head - this.markedEvents;
+        }
+
+        /**
+         * Returns the first event.
+         * @return first event
+         */
+        SimEventInterface<Duration> peek()
+        {
+            return this.events[this.head];
+        }
+
+        /**
+         * Removes and returns the first event.
+         * @return first event
+         */
+        SimEventInterface<Duration> poll()
+        {
+            SimEventInterface<Duration> event = this.events[this.head];
+            this.events[this.head++] = null;
+            trim();
+            return event;
+        }
+
+        /**
+         * Adds an event after all events that are not after it, if it is not in the bucket.
+         * @param event event
+         * @return number of events shifted to add the event, -1 if the event was not added as it is in the bucket
+         */
+        int add(final SimEventInterface<Duration> event)
+        {
+            double time = event.getAbsoluteExecutionTime().si;
+            short priority = event.getPriority();
+            long id = event.getId();
+            // most events are added after all other events, which are then not equal to the event
+            if (this.head == this.tail || compare(this.tail - 1, time, priority, id) < 0)
+            {
+                if (this.tail == this.events.length)
+                {
+                    makeRoom();
+                }
+                set(this.tail++, event, time, priority, id);
+                return 0;
+            }
+            if (this.head > 0 && compare(this.head, time, priority, id) > 0)
+            {
+                set(--this.head, event, time, priority, id);
+                return 0;
+            }
+            if (indexOf(event, time, priority, id) >= 0)
+            {
+                return -1;
+            }
+            int index = upperBound(time, priority, id);
+            // shift the shortest side
+            if (this.head > 0 && index - this.head < this.tail - index)
+            {
+                int shifted = index - this.head;
+                shift(this.head, this.head - 1, shifted);
+                this.head--;
+                set(index - 1, event, time, priority, id);
+                return shifted;
+            }
+            if (this.tail == this.events.length)
+            {
+                makeRoom();
+                index = upperBound(time, priority, id);
+            }
+            int shifted = this.tail - index;
+            shift(index, index + 1, shifted);
+            set(index, event, time, priority, id);
+            this.tail++;
+            return shifted;
+        }
+
+        /**
+         * Removes an event.
+         * @param event event
+         * @return whether the event was in the bucket
+         */
+        boolean remove(final SimEventInterface<Duration> event)
+        {
+            int index = indexOf(event);
+            if (index < 0)
+            {
+                return false;
+            }
+            int before = index - this.head;
+            int after = this.tail - 1 - index;
+            if (Math.min(before, after) > MAX_SHIFT)
+            {
+                this.marked[index] = true;
+                this.markedEvents++;
+                if (2 * this.markedEvents > this.tail - this.head)
+                {
+                    compact();
+                }
+                return true;
+            }
+            // shift the shortest side
+            if (before < after)
+            {
+                shift(this.head, this.head + 1, before);
+                this.events[this.head++] = null;
+            }
+            else
+            {
+                shift(index + 1, index, after);
+                this.events[--this.tail] = null;
+            }
+            trim();
+            return true;
+        }
+
+        /**
+         * Returns the index of the event.
+         * @param event event
+         * @return index of the event, -1 if it is not in the bucket
+         */
+        int indexOf(final SimEventInterface<Duration> event)
+        {
+            return indexOf(event, event.getAbsoluteExecutionTime().si, event.getPriority(), event.getId());
+        }
+
+        /**
+         * Returns the index of the event.
+         * @param event event
+         * @param time time of the event [s]
+         * @param priority priority of the event
+         * @param id id of the event
+         * @return index of the event, -1 if it is not in the bucket
+         */
+        private int indexOf(final SimEventInterface<Duration> event, final double time, final short priority, final long id)
+        {
+            int low = this.head;
+            int high = this.tail;
+            while (low < high)
+            {
+                int mid = (low + high) >>> 1;
+                if (compare(mid, time, priority, id) < 0)
+                {
+                    low = mid + 1;
+                }
+                else
+                {
+                    high = mid;
+                }
+            }
+            for (int i = low; i < this.tail && compare(i, time, priority, id) == 0; i++)
+            {
+                if (this.events[i] == event && !this.marked[i])
+                {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Returns the index of the first event after the given event.
+         * @param time time of the event [s]
+         * @param priority priority of the event
+         * @param id id of the event
+         * @return index of the first event after the given event, or tail if there is no such event
+         */
+        private int upperBound(final double time, final short priority, final long id)
+        {
+            int low = this.head;
+            int high = this.tail;
+            while (low < high)
+            {
+                int mid = (low + high) >>> 1;
+                if (compare(mid, time, priority, id) <= 0)
+                {
+                    low = mid + 1;
+                }
+                else
+                {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Compares the event at an index with an event, on time, then on priority (high first), and then on id.
+         * @param index index
+         * @param time time of the event [s]
+         * @param priority priority of the event
+         * @param id id of the event
+         * @return negative, zero or positive as the event at the index is before, equal to or after the event
+         */
+        private int compare(final int index, final double time, final short priority, final long id)
+        {
+            int result = Double.compare(this.times[index], time);
+            if (result == 0)
+            {
+                result = Short.compare(priority, this.priorities[index]);
+                if (result == 0)
+                {
+                    result = Long.compare(this.ids[index], id);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Sets an event at an index.
+         * @param index index
+         * @param event event
+         * @param time time of the event [s]
+         * @param priority priority of the event
+         * @param id id of the event
+         */
+        private void set(final int index, final SimEventInterface<Duration> event, final double time, final short priority,
+                final long id)
+        {
+            this.events[index] = event;
+            this.times[index] = time;
+            this.priorities[index] = priority;
+            this.ids[index] = id;
+            this.marked[index] = false;
+        }
+
+        /**
+         * Shifts a range of events.
+         * @param from first index of the range
+         * @param to first index of the range after shifting
+         * @param length number of events in the range
+         */
+        private void shift(final int from, final int to, final int length)
+        {
+            System.arraycopy(this.events, from, this.events, to, length);
+            System.arraycopy(this.times, from, this.times, to, length);
+            System.arraycopy(this.priorities, from, this.priorities, to, length);
+            System.arraycopy(this.ids, from, this.ids, to, length);
+            System.arraycopy(this.marked, from, this.marked, to, length);
+        }
+
+        /**
+         * Makes room for an event at the tail, by compacting the arrays if that frees at least half of the arrays, or by
+         * growing the arrays otherwise.
+         */
+        private void makeRoom()
+        {
+            if (2 * size() <= this.events.length)
+            {
+                compact();
+            }
+            else
+            {
+                int length = 2 * this.events.length;
+                this.events = Arrays.copyOf(this.events, length);
+                this.times = Arrays.copyOf(this.times, length);
+                this.priorities = Arrays.copyOf(this.priorities, length);
+                this.ids = Arrays.copyOf(this.ids, length);
+                this.marked = Arrays.copyOf(this.marked, length);
+            }
+        }
+
+        /**
+         * Skips marked events at the head and tail, and resets an empty range to the start of the arrays.
+         */
+        private void trim()
+        {
+            while (this.head < this.tail && this.marked[this.head])
+            {
+                this.marked[this.head] = false;
+                this.events[this.head++] = null;
+                this.markedEvents--;
+            }
+            while (this.head < this.tail && this.marked[this.tail - 1])
+            {
+                this.marked[--this.tail] = false;
+                this.events[this.tail] = null;
+                this.markedEvents--;
+            }
+            if (this.head == this.tail)
+            {
+                this.head = 0;
+                this.tail = 0;
+            }
+        }
+
+        /**
+         * Moves all events that are not marked to the start of the arrays.
+         */
+        private void compact()
+        {
+            int size = 0;
+            for (int i = this.head; i < this.tail; i++)
+            {
+                if (!this.marked[i])
+                {
+                    set(size++, this.events[i], this.times[i], this.priorities[i], this.ids[i]);
+                }
+            }
+            Arrays.fill(this.events, size, this.tail, null);
+            Arrays.fill(this.marked, size, this.tail, false);
+            this.head = 0;
+            this.tail = size;
+            this.markedEvents = 0;
+        }
+
+        /**
+         * Adds all events to the list.
+         * @param list list
+         */
+        void addTo(final List<SimEventInterface<Duration>> list)
+        {
+            for (int i = this.head; i < this.tail; i++)
+            {
+                if (!this.marked[i])
+                {
+                    list.add(this.events[i]);
+                }
+            }
+        }
+
+        /**
+         * Creates an array of events.
+         * @param length length
+         * @return array of events
+         */
+        @SuppressWarnings("unchecked")
+        private static SimEventInterface<Duration>[] newArray(final int length)
+        {
+            return new SimEventInterface[length];
+        }
+    }
+
+}
@@ -6,10 +6,12 @@ import java.util.function.Supplier;
 import javax.naming.NamingException;
 
 import org.djunits.value.vdouble.scalar.Duration;
+import org.djutils.exceptions.Throw;
 import org.opentrafficsim.base.logger.Logger;
 import org.opentrafficsim.core.perception.HistoryManager;
 
 import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.eventlists.EventListInterface;
 import nl.tudelft.simulation.dsol.experiment.Replication;
 import nl.tudelft.simulation.dsol.simulators.DevsSimulator;
 import nl.tudelft.simulation.dsol.simulators.ErrorStrategy;
@@ -36,6 +38,19 @@ public class OtsSimulator extends DevsSimulator<Duration> implements OtsSimulato
         super(simulatorId);
     }
 
+    /**
+     * Construct an OtsSimulator with a specific event list, e.g. a {@link CalendarEventList}.
+     * @param simulatorId the id of the simulator to use in remote communication
+     * @param eventList event list
+     * @throws NullPointerException when eventList is null
+     */
+    public OtsSimulator(final Serializable simulatorId, final EventListInterface<Duration> eventList)
+    {
+        super(simulatorId);
+        Throw.whenNull(eventList, "eventList");
+        setEventList(eventList);
+    }
+
     @Override
     public void initialize(final Duration startTimeOfDay, final Duration warmupPeriod, final Duration runLength,
             final OtsModelInterface model, final HistoryManager historyManager) throws SimRuntimeException, NamingException
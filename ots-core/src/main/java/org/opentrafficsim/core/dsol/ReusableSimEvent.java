@@ -0,0 +1,60 @@
+package org.opentrafficsim.core.dsol;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.djunits.value.vdouble.scalar.Duration;
+
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.AbstractSimEvent;
+
+/**
+ * Simulator event that can be scheduled again once it is executed, such that frequent events, e.g. lane and detector triggers
+ * of GTUs, do not require a new event object each time. Each time the event is prepared for scheduling, it obtains a new id
+ * from a counter of its own. Hence, reusable events at equal time and priority are executed in the order in which they were
+ * prepared. The ids start far beyond the ids of other DSOL events, such that ids are never equal, and reusable events are
+ * executed after other events at equal time and priority.
+ * <p>
+ * The time of an event should only be set when it is not pending in the event list, as the event list depends on it.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public abstract class ReusableSimEvent extends AbstractSimEvent<Duration>
+{
+
+    /** Id counter of reusable events, far beyond the ids of other DSOL events. */
+    private static final AtomicLong ID_COUNTER = new AtomicLong(Long.MAX_VALUE / 2);
+
+    /** Execution time [s]. */
+    private double time;
+
+    /**
+     * Constructor.
+     */
+    protected ReusableSimEvent()
+    {
+        super(Duration.ZERO);
+    }
+
+    /**
+     * Sets the execution time and a new id, to schedule the event. The event should not be pending.
+     * @param executionTime execution time [s]
+     */
+    protected void setTime(final double executionTime)
+    {
+        this.time = executionTime;
+        this.absoluteExecutionTime = Duration.ofSI(executionTime);
+        this.id = ID_COUNTER.incrementAndGet();
+    }
+
+    /**
+     * Returns the execution time.
+     * @return execution time [s]
+     */
+    public double getTime()
+    {
+        return this.time;
+    }
+
+}
@@ -0,0 +1,336 @@
+package org.opentrafficsim.core.geometry;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.ToDoubleFunction;
+
+import org.djutils.draw.bounds.Bounds2d;
+import org.djutils.draw.point.Point2d;
+import org.djutils.exceptions.Throw;
+
+/**
+ * Uniform grid of moving objects with bounds, e.g. GTUs with the bounds of their current operational plan. Objects are stored
+ * in every cell their bounds overlap, such that updating an object is cheap and queries by area only consider the cells that
+ * overlap the area. This is suitable for many objects that move frequently, where an R-tree would need rebalancing. All
+ * methods are synchronized.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ * @param <T> object type
+ */
+public class Ots2dGrid<T>
+{
+
+    /** Maximum number of cells an object is stored in, larger objects are stored as overflow and part of every query. */
+    private static final int MAX_CELLS = 64;
+
+    /** Cell size. */
+    private final double cellSize;
+
+    /** Objects per cell. */
+    private final Map<Long, Set<T>> cells = new LinkedHashMap<>();
+
+    /** Bounds per object. */
+    private final Map<T, Bounds2d> bounds = new LinkedHashMap<>();
+
+    /** Objects that cover too many cells. */
+    private final Set<T> overflow = new LinkedHashSet<>();
+
+    /**
+     * Constructor.
+     * @param cellSize cell size, typically in the order of the distance objects cover between updates
+     * @throws IllegalArgumentException when the cell size is not positive
+     */
+    public Ots2dGrid(final double cellSize)
+    {
+        Throw.when(!(cellSize > 0.0), IllegalArgumentException.class, "Cell size must be positive.");
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Returns the cell size.
+     * @return cell size
+     */
+    public double getCellSize()
+    {
+        return this.cellSize;
+    }
+
+    /**
+     * Adds the object, or updates its bounds if it is already in the grid.
+     * @param item object
+     * @param itemBounds bounds of the object
+     * @throws NullPointerException when any input is null
+     */
+    public synchronized void put(final T item, final Bounds2d itemBounds)
+    {
+        Throw.whenNull(item, "item");
+        Throw.whenNull(itemBounds, "itemBounds");
+        Bounds2d previous = this.bounds.put(item, itemBounds);
+        if (previous != null)
+        {
+            if (cell(previous.getMinX()) == cell(itemBounds.getMinX()) && cell(previous.getMaxX()) == cell(itemBounds.getMaxX())
+                    && cell(previous.getMinY()) == cell(itemBounds.getMinY())
+                    && cell(previous.getMaxY()) == cell(itemBounds.getMaxY()))
+            {
+                return; // same cells
+            }
+            unlink(item, previous);
+        }
+        link(item, itemBounds);
+    }
+
+    /**
+     * Removes the object.
+     * @param item object
+     * @return whether the object was in the grid
+     */
+    public synchronized boolean remove(final T item)
+    {
+        Bounds2d previous = this.bounds.remove(item);
+        if (previous == null)
+        {
+            return false;
+        }
+        unlink(item, previous);
+        return true;
+    }
+
+    /**
+     * Returns whether the object is in the grid.
+     * @param item object
+     * @return whether the object is in the grid
+     */
+    public synchronized boolean contains(final T item)
+    {
+        return this.bounds.containsKey(item);
+    }
+
+    /**
+     * Returns the number of objects.
+     * @return number of objects
+     */
+    public synchronized int size()
+    {
+        return this.bounds.size();
+    }
+
+    /**
+     * Removes all objects.
+     */
+    public synchronized void clear()
+    {
+        this.cells.clear();
+        this.bounds.clear();
+        this.overflow.clear();
+    }
+
+    /**
+     * Returns all objects of which the bounds intersect the area, including touching bounds.
+     * @param area area
+     * @return objects of which the bounds intersect the area
+     * @throws NullPointerException when area is null
+     */
+    public synchronized List<T> find(final Bounds2d area)
+    {
+        Throw.whenNull(area, "area");
+        Set<T> result = new LinkedHashSet<>();
+        long fromX = cell(area.getMinX());
+        long toX = cell(area.getMaxX());
+        long fromY = cell(area.getMinY());
+        long toY = cell(area.getMaxY());
+        if ((toX - fromX + 1.0) * (toY - fromY + 1.0) > this.cells.size())
+        {
+            // area covers more cells than are occupied
+            for (Set<T> cell : this.cells.values())
+            {
+                collect(cell, area, result);
+            }
+        }
+        else
+        {
+            for (long x = fromX; x <= toX; x++)
+            {
+                for (long y = fromY; y <= toY; y++)
+                {
+                    Set<T> cell = this.cells.get(key(x, y));
+                    if (cell != null)
+                    {
+                        collect(cell, area, result);
+                    }
+                }
+            }
+        }
+        collect(this.overflow, area, result);
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * Returns the object nearest to the point within a maximum distance. The distance function should return the distance from
+     * the point to a location within the bounds of the object, e.g. the current position of a GTU. The search expands in rings
+     * of cells around the point, until no remaining cell can contain a nearer object.
+     * @param point point
+     * @param maxDistance maximum distance
+     * @param distance distance from the point to an object
+     * @return nearest object within the maximum distance, empty if there is no such object
+     * @throws NullPointerException when any input is null
+     */
+    public synchronized Optional<T> nearest(final Point2d point, final double maxDistance,
+            final ToDoubleFunction<? super T> distance)
+    {
+        Throw.whenNull(point, "point");
+        Throw.whenNull(distance, "distance");
+        T nearest = null;
+        double nearestDistance = maxDistance;
+        Set<T> visited = new LinkedHashSet<>();
+        for (T item : this.overflow)
+        {
+            double d = distance.applyAsDouble(item);
+            if (d <= nearestDistance)
+            {
+                nearest = item;
+                nearestDistance = d;
+            }
+        }
+        long cx = cell(point.x);
+        long cy = cell(point.y);
+        long maxRing = (long) Math.ceil(maxDistance / this.cellSize) + 1;
+        for (long ring = 0; ring <= maxRing && !this.cells.isEmpty(); ring++)
+        {
+            // cells in ring r are at least (r - 1) cells away from the point
+            if ((ring - 1) * this.cellSize > nearestDistance)
+            {
+                break;
+            }
+            for (long x = cx - ring; x <= cx + ring; x++)
+            {
+                boolean edgeColumn = x == cx - ring || x == cx + ring;
+                for (long y = cy - ring; y <= cy + ring; y += edgeColumn ? 1 : 2 * ring)
+                {
+                    Set<T> cell = this.cells.get(key(x, y));
+                    if (cell == null)
+                    {
+                        continue;
+                    }
+                    for (T item : cell)
+                    {
+                        if (visited.add(item))
+                        {
+                            double d = distance.applyAsDouble(item);
+                            if (d <= nearestDistance)
+                            {
+                                nearest = item;
+                                nearestDistance = d;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return Optional.ofNullable(nearest);
+    }
+
+    /**
+     * Adds the objects in the set of which the bounds intersect the area to the result.
+     * @param set set of objects
+     * @param area area
+     * @param result result
+     */
+    private void collect(final Set<T> set, final Bounds2d area, final Set<T> result)
+    {
+        for (T item : set)
+        {
+            Bounds2d b = this.bounds.get(item);
+            if (b.getMinX() <= area.getMaxX() && b.getMaxX() >= area.getMinX() && b.getMinY() <= area.getMaxY()
+                    && b.getMaxY() >= area.getMinY())
+            {
+                result.add(item);
+            }
+        }
+    }
+
+    /**
+     * Stores the object in all cells its bounds overlap.
+     * @param item object
+     * @param itemBounds bounds of the object
+     */
+    private void link(final T item, final Bounds2d itemBounds)
+    {
+        long fromX = cell(itemBounds.getMinX());
+        long toX = cell(itemBounds.getMaxX());
+        long fromY = cell(itemBounds.getMinY());
+        long toY = cell(itemBounds.getMaxY());
+        if ((toX - fromX + 1.0) * (toY - fromY + 1.0) > MAX_CELLS)
+        {
+            this.overflow.add(item);
+            return;
+        }
+        for (long x = fromX; x <= toX; x++)
+        {
+            for (long y = fromY; y <= toY; y++)
+            {
+                this.cells.computeIfAbsent(key(x, y), (k) -> new LinkedHashSet<>()).add(item);
+            }
+        }
+    }
+
+    /**
+     * Removes the object from all cells its bounds overlap.
+     * @param item object
+     * @param itemBounds bounds of the object
+     */
+    private void unlink(final T item, final Bounds2d itemBounds)
+    {
+        if (this.overflow.remove(item))
+        {
+            return;
+        }
+        for (long x = cell(itemBounds.getMinX()); x <= cell(itemBounds.getMaxX()); x++)
+        {
+            for (long y = cell(itemBounds.getMinY()); y <= cell(itemBounds.getMaxY()); y++)
+            {
+                Long key = key(x, y);
+                Set<T> cell = this.cells.get(key);
+                if (cell != null && cell.remove(item) && cell.isEmpty())
+                {
+                    this.cells.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the cell index of a coordinate.
+     * @param coordinate coordinate
+     * @return cell index of the coordinate
+     */
+    private long cell(final double coordinate)
+    {
+        return (long) Math.floor(coordinate / this.cellSize);
+    }
+
+    /**
+     * Returns the key of a cell.
+     * @param x cell index in x-direction
+     * @param y cell index in y-direction
+     * @return key of the cell
+     */
+    private static long key(final long x, final long y)
+    {
+        return (x << 32) ^ (y & 0xFFFFFFFFL);
+    }
+
+    @Override
+    public synchronized String toString()
+    {
+        return "Ots2dGrid [cellSize=" + this.cellSize + ", size=" + this.bounds.size() + ", cells=" + this.cells.size() + "]";
+    }
+
+}
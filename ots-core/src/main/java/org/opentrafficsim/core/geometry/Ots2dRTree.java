@@ -0,0 +1,292 @@
+package org.opentrafficsim.core.geometry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+
+import org.djutils.draw.bounds.Bounds2d;
+import org.djutils.draw.point.Point2d;
+import org.djutils.exceptions.Throw;
+
+/**
+ * Immutable R-tree of objects with bounds, packed with the Sort-Tile-Recursive (STR) algorithm. This is suitable for static
+ * objects such as nodes, links and lanes. The tree is built once in O(n log n) and stored in flat arrays, where each level
+ * consists of consecutive groups of {@link #NODE_CAPACITY} entries of the level below. Queries by area and nearest-neighbour
+ * queries visit only the branches that can contain results.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ * @param <T> object type
+ */
+public final class Ots2dRTree<T>
+{
+
+    /** Number of children per tree node. */
+    public static final int NODE_CAPACITY = 16;
+
+    /** Objects, in the order of the leaf level. */
+    private final List<T> items;
+
+    /** Bounds per level, level 0 are the objects, the last level is the root. Each entry has minX, minY, maxX, maxY. */
+    private final double[][] levels;
+
+    /**
+     * Constructor.
+     * @param items objects
+     * @param bounds function that returns the absolute bounds of an object
+     * @throws NullPointerException when items or bounds is null
+     */
+    public Ots2dRTree(final Collection<? extends T> items, final Function<? super T, Bounds2d> bounds)
+    {
+        Throw.whenNull(items, "items");
+        Throw.whenNull(bounds, "bounds");
+        int n = items.size();
+        List<Entry<T>> entries = new ArrayList<>(n);
+        for (T item : items)
+        {
+            entries.add(new Entry<>(item, bounds.apply(item)));
+        }
+
+        // sort-tile: sort on x, cut in vertical slices, and sort each slice on y
+        entries.sort(Comparator.comparingDouble((e) -> e.bounds().getMinX() + e.bounds().getMaxX()));
+        int leafNodes = (n + NODE_CAPACITY - 1) / NODE_CAPACITY;
+        int sliceSize = NODE_CAPACITY * (int) Math.ceil(Math.sqrt(leafNodes));
+        for (int from = 0; from < n; from += sliceSize)
+        {
+            entries.subList(from, Math.min(n, from + sliceSize))
+                    .sort(Comparator.comparingDouble((e) -> e.bounds().getMinY() + e.bounds().getMaxY()));
+        }
+        this.items = new ArrayList<>(n);
+        double[] level = new double[4 * n];
+        for (int i = 0; i < n; i++)
+        {
+            Entry<T> entry = entries.get(i);
+            this.items.add(entry.item());
+            level[4 * i] = entry.bounds().getMinX();
+            level[4 * i + 1] = entry.bounds().getMinY();
+            level[4 * i + 2] = entry.bounds().getMaxX();
+            level[4 * i + 3] = entry.bounds().getMaxY();
+        }
+
+        // pack consecutive groups in to parent levels up to a single root
+        List<double[]> levelList = new ArrayList<>();
+        levelList.add(level);
+        while (level.length > 4)
+        {
+            int children = level.length / 4;
+            int parents = (children + NODE_CAPACITY - 1) / NODE_CAPACITY;
+            double[] parent = new double[4 * parents];
+            for (int p = 0; p < parents; p++)
+            {
+                double minX = Double.POSITIVE_INFINITY;
+                double minY = Double.POSITIVE_INFINITY;
+                double maxX = Double.NEGATIVE_INFINITY;
+                double maxY = Double.NEGATIVE_INFINITY;
+                for (int c = p * NODE_CAPACITY; c < Math.min(children, (p + 1) * NODE_CAPACITY); c++)
+                {
+                    minX = Math.min(minX, level[4 * c]);
+                    minY = Math.min(minY, level[4 * c + 1]);
+                    maxX = Math.max(maxX, level[4 * c + 2]);
+                    maxY = Math.max(maxY, level[4 * c + 3]);
+                }
+                parent[4 * p] = minX;
+                parent[4 * p + 1] = minY;
+                parent[4 * p + 2] = maxX;
+                parent[4 * p + 3] = maxY;
+            }
+            levelList.add(parent);
+            level = parent;
+        }
+        this.levels = levelList.toArray(new double[levelList.size()][]);
+    }
+
+    /**
+     * Returns the number of objects.
+     * @return number of objects
+     */
+    public int size()
+    {
+        return this.items.size();
+    }
+
+    /**
+     * Returns whether the tree is empty.
+     * @return whether the tree is empty
+     */
+    public boolean isEmpty()
+    {
+        return this.items.isEmpty();
+    }
+
+    /**
+     * Returns the bounds of all objects.
+     * @return bounds of all objects, empty if there are no objects
+     */
+    public Optional<Bounds2d> getBounds()
+    {
+        if (isEmpty())
+        {
+            return Optional.empty();
+        }
+        double[] root = this.levels[this.levels.length - 1];
+        return Optional.of(new Bounds2d(root[0], root[2], root[1], root[3]));
+    }
+
+    /**
+     * Returns all objects of which the bounds intersect the area, including touching bounds.
+     * @param area area
+     * @return objects of which the bounds intersect the area
+     * @throws NullPointerException when area is null
+     */
+    public List<T> find(final Bounds2d area)
+    {
+        Throw.whenNull(area, "area");
+        List<T> result = new ArrayList<>();
+        if (!isEmpty())
+        {
+            find(this.levels.length - 1, 0, area, result);
+        }
+        return result;
+    }
+
+    /**
+     * Adds all objects in the subtree of the entry that intersect the area to the result.
+     * @param level level of the entry
+     * @param index index of the entry in its level
+     * @param area area
+     * @param result result list
+     */
+    private void find(final int level, final int index, final Bounds2d area, final List<T> result)
+    {
+        double[] bounds = this.levels[level];
+        if (bounds[4 * index] > area.getMaxX() || bounds[4 * index + 2] < area.getMinX()
+                || bounds[4 * index + 1] > area.getMaxY() || bounds[4 * index + 3] < area.getMinY())
+        {
+            return;
+        }
+        if (level == 0)
+        {
+            result.add(this.items.get(index));
+            return;
+        }
+        int children = this.levels[level - 1].length / 4;
+        for (int c = index * NODE_CAPACITY; c < Math.min(children, (index + 1) * NODE_CAPACITY); c++)
+        {
+            find(level - 1, c, area, result);
+        }
+    }
+
+    /**
+     * Returns the object nearest to the point. The distance function should return the distance from the point to a location
+     * within the bounds of the object, for example the distance to the nearest point on the center line of a lane. As the
+     * distance to the bounds is a lower bound of such distances, branches are visited nearest first, and the search stops when
+     * no remaining branch can contain a nearer object.
+     * @param point point
+     * @param filter filter on objects to consider
+     * @param distance distance from the point to an object
+     * @return nearest object that passes the filter, empty if there is no such object
+     * @throws NullPointerException when any input is null
+     */
+    public Optional<T> nearest(final Point2d point, final Predicate<? super T> filter,
+            final ToDoubleFunction<? super T> distance)
+    {
+        Throw.whenNull(point, "point");
+        Throw.whenNull(filter, "filter");
+        Throw.whenNull(distance, "distance");
+        if (isEmpty())
+        {
+            return Optional.empty();
+        }
+        PriorityQueue<Candidate> queue = new PriorityQueue<>();
+        int root = this.levels.length - 1;
+        queue.add(new Candidate(root, 0, boundsDistance(root, 0, point)));
+        T nearest = null;
+        double nearestDistance = Double.POSITIVE_INFINITY;
+        while (!queue.isEmpty() && queue.peek().distance() < nearestDistance)
+        {
+            Candidate candidate = queue.poll();
+            if (candidate.level() == 0)
+            {
+                T item = this.items.get(candidate.index());
+                if (filter.test(item))
+                {
+                    double d = distance.applyAsDouble(item);
+                    if (d < nearestDistance)
+                    {
+                        nearest = item;
+                        nearestDistance = d;
+                    }
+                }
+                continue;
+            }
+            int level = candidate.level() - 1;
+            int children = this.levels[level].length / 4;
+            for (int c = candidate.index() * NODE_CAPACITY; c < Math.min(children, (candidate.index() + 1) * NODE_CAPACITY);
+                    c++)
+            {
+                double d = boundsDistance(level, c, point);
+                if (d < nearestDistance)
+                {
+                    queue.add(new Candidate(level, c, d));
+                }
+            }
+        }
+        return Optional.ofNullable(nearest);
+    }
+
+    /**
+     * Returns the distance from the point to the bounds of an entry, which is 0 if the point is within the bounds.
+     * @param level level of the entry
+     * @param index index of the entry in its level
+     * @param point point
+     * @return distance from the point to the bounds of an entry
+     */
+    private double boundsDistance(final int level, final int index, final Point2d point)
+    {
+        double[] bounds = this.levels[level];
+        double dx = Math.max(0.0, Math.max(bounds[4 * index] - point.x, point.x - bounds[4 * index + 2]));
+        double dy = Math.max(0.0, Math.max(bounds[4 * index + 1] - point.y, point.y - bounds[4 * index + 3]));
+        return Math.hypot(dx, dy);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Ots2dRTree [size=" + size() + ", depth=" + this.levels.length + ", bounds="
+                + getBounds().map(Bounds2d::toString).orElse("none") + "]";
+    }
+
+    /**
+     * Object with its bounds, used during construction.
+     * @param item object
+     * @param bounds bounds
+     * @param <T> object type
+     */
+    private record Entry<T>(T item, Bounds2d bounds)
+    {
+    }
+
+    /**
+     * Entry in the nearest-neighbour search, ordered by the distance to its bounds.
+     * @param level level of the entry
+     * @param index index of the entry in its level
+     * @param distance distance to its bounds
+     */
+    private record Candidate(int level, int index, double distance) implements Comparable<Candidate>
+    {
+        @Override
+        public int compareTo(final Candidate other)
+        {
+            return Double.compare(this.distance, other.distance);
+        }
+    }
+
+}
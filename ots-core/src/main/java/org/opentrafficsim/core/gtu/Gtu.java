@@ -8,6 +8,8 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.djunits.unit.DirectionUnit;
 import org.djunits.unit.DurationUnit;
@@ -49,9 +51,10 @@ import org.opentrafficsim.core.gtu.plan.strategical.StrategicalPlanner;
 import org.opentrafficsim.core.gtu.plan.tactical.TacticalPlanner;
 import org.opentrafficsim.core.network.NetworkException;
 import org.opentrafficsim.core.perception.Historical;
-import org.opentrafficsim.core.perception.HistoricalValue;
 import org.opentrafficsim.core.perception.HistoryManager;
 import org.opentrafficsim.core.perception.PerceivableContext;
+import org.opentrafficsim.core.profiler.Profiler;
+import org.opentrafficsim.core.profiler.ProfilerStage;
 
 import nl.tudelft.simulation.dsol.SimRuntimeException;
 import nl.tudelft.simulation.dsol.formalisms.eventscheduling.SimEventInterface;
@@ -67,14 +70,21 @@ import nl.tudelft.simulation.dsol.formalisms.eventscheduling.SimEventInterface;
  */
 public class Gtu extends LocalEventProducer implements HierarchicallyTyped<GtuType, Gtu>, OtsShape, Identifiable
 {
-    /** The id of the GTU. */
-    private final String id;
+    /** The id of the GTU, which changes when the GTU is recycled. */
+    private String id;
 
-    /** unique number of the GTU. */
+    /** unique number of the GTU, which is kept when the GTU is recycled as it defines the hash code. */
     private final int uniqueNumber;
 
-    /** the unique number counter. */
-    private static int staticUNIQUENUMBER = 0;
+    /** the unique number counter, atomic as simulations may run concurrently. */
+    private static final AtomicInteger UNIQUE_NUMBER_COUNTER = new AtomicInteger();
+
+    /** Maximum number of shared relative position tables. GTUs with dimensions beyond these get their own table. */
+    private static final int MAX_RELATIVE_POSITION_TABLES = 1024;
+
+    /** Relative position tables shared between GTUs with equal dimensions, such as GTUs from the same template. */
+    private static final Map<List<RelativePosition>, ImmutableMap<Type, RelativePosition>> RELATIVE_POSITION_TABLES =
+            new ConcurrentHashMap<>();
 
     /** The type of GTU, e.g. TruckType, CarType, BusType. */
     private final GtuType gtuType;
@@ -99,13 +109,13 @@ public class Gtu extends LocalEventProducer implements HierarchicallyTyped<GtuTy
     private Historical<Length> odometer;
 
     /** The strategical planner that can instantiate tactical planners to determine mid-term decisions. */
-    private final Historical<StrategicalPlanner> strategicalPlanner;
+    private Historical<StrategicalPlanner> strategicalPlanner;
 
     /** The tactical planner that can generate an operational plan. */
-    private final Historical<TacticalPlanner<?, ?>> tacticalPlanner;
+    private Historical<TacticalPlanner<?, ?>> tacticalPlanner;
 
     /** The current operational plan, which provides a short-term movement over time. */
-    private final Historical<OperationalPlan> operationalPlan;
+    private Historical<OperationalPlan> operationalPlan;
 
     /** The next move event as scheduled on the simulator, can be used for interrupting the current move. */
     private SimEventInterface<Duration> nextMoveEvent;
@@ -140,8 +150,8 @@ public class Gtu extends LocalEventProducer implements HierarchicallyTyped<GtuTy
     /** Parent GTU. */
     private Gtu parent = null;
 
-    /** Children GTU's. */
-    private Set<Gtu> children = new LinkedHashSet<>();
+    /** Children GTU's, created when the first child is added. */
+    private Set<Gtu> children = null;
 
     /** Error handler. */
     private GtuErrorHandler errorHandler = GtuErrorHandler.THROW;
@@ -149,8 +159,8 @@ public class Gtu extends LocalEventProducer implements HierarchicallyTyped<GtuTy
     /** Shape. */
     private final OtsShape shape;
 
-    /** Relative positions to the reference point of type RelativePosition.REFERENCE. */
-    private final Map<RelativePosition.Type, RelativePosition> relativePositions = new LinkedHashMap<>();
+    /** Relative positions to the reference point of type RelativePosition.REFERENCE, possibly shared with other GTUs. */
+    private final ImmutableMap<RelativePosition.Type, RelativePosition> relativePositions;
 
     /** The maximum length of the GTU (parallel with driving direction). */
     private final Length length;
@@ -161,8 +171,8 @@ public class Gtu extends LocalEventProducer implements HierarchicallyTyped<GtuTy
     /** The maximum speed of the GTU (in the driving direction). */
     private final Speed maximumSpeed;
 
-    /** Tags of the GTU, these are used for specific use cases of any sort. */
-    private final Map<String, String> tags = new LinkedHashMap<>();
+    /** Tags of the GTU, these are used for specific use cases of any sort, created when the first tag is set. */
+    private Map<String, String> tags = null;
 
     /**
      * Constructor using shape.
@@ -194,15 +204,15 @@ public class Gtu extends LocalEventProducer implements HierarchicallyTyped<GtuTy
 
         HistoryManager historyManager = simulator.getReplication().getHistoryManager(simulator);
         this.id = id;
-        this.uniqueNumber = ++staticUNIQUENUMBER;
+        this.uniqueNumber = UNIQUE_NUMBER_COUNTER.incrementAndGet();
         this.gtuType = gtuType;
         this.simulator = simulator;
-        this.odometer = new HistoricalValue<>(historyManager, this, Length.ZERO);
+        this.odometer = historyManager.newHistorical(this, Length.ZERO);
         this.perceivableContext = perceivableContext;
         this.perceivableContext.addGTU(this);
-        this.strategicalPlanner = new HistoricalValue<>(historyManager, this);
-        this.tacticalPlanner = new HistoricalValue<>(historyManager, this, null);
-        this.operationalPlan = new HistoricalValue<>(historyManager, this, null);
+        this.strategicalPlanner = historyManager.newHistorical(this, null);
+        this.tacticalPlanner = historyManager.newHistorical(this, null);
+        this.operationalPlan = historyManager.newHistorical(this, null);
 
         this.length = length;
         this.width = width;
@@ -230,16 +240,43 @@ public class Gtu extends LocalEventProducer implements HierarchicallyTyped<GtuTy
             };
         }
 
-        this.relativePositions.put(RelativePosition.REFERENCE, RelativePosition.REFERENCE_POSITION);
-        this.relativePositions.put(RelativePosition.FRONT,
-                new RelativePosition(front, Length.ZERO, Length.ZERO, RelativePosition.FRONT));
-        this.relativePositions.put(RelativePosition.REAR,
-                new RelativePosition(front.minus(this.length), Length.ZERO, Length.ZERO, RelativePosition.REAR));
         Point2d midPoint = this.shape.getRelativeBounds().midPoint();
-        this.relativePositions.put(RelativePosition.CENTER,
+        this.relativePositions = relativePositionTable(
+                new RelativePosition(front, Length.ZERO, Length.ZERO, RelativePosition.FRONT),
+                new RelativePosition(front.minus(this.length), Length.ZERO, Length.ZERO, RelativePosition.REAR),
                 new RelativePosition(Length.ofSI(midPoint.x), Length.ofSI(midPoint.y), Length.ZERO, RelativePosition.CENTER));
     }
 
+    /**
+     * Returns the relative position table for the given positions. Tables are shared between GTUs with equal positions, up to
+     * a maximum number of tables.
+     * @param front front position
+     * @param rear rear position
+     * @param center center position
+     * @return immutable relative position table, including the reference position
+     */
+    private static ImmutableMap<Type, RelativePosition> relativePositionTable(final RelativePosition front,
+            final RelativePosition rear, final RelativePosition center)
+    {
+        List<RelativePosition> key = List.of(front, rear, center);
+        ImmutableMap<Type, RelativePosition> table = RELATIVE_POSITION_TABLES.get(key);
+        if (table == null)
+        {
+            Map<Type, RelativePosition> map = new LinkedHashMap<>();
+            map.put(RelativePosition.REFERENCE, RelativePosition.REFERENCE_POSITION);
+            map.put(RelativePosition.FRONT, front);
+            map.put(RelativePosition.REAR, rear);
+            map.put(RelativePosition.CENTER, center);
+            table = new ImmutableLinkedHashMap<>(map, Immutable.WRAP);
+            if (RELATIVE_POSITION_TABLES.size() < MAX_RELATIVE_POSITION_TABLES)
+            {
+                ImmutableMap<Type, RelativePosition> existing = RELATIVE_POSITION_TABLES.putIfAbsent(key, table);
+                table = existing == null ? table : existing;
+            }
+        }
+        return table;
+    }
+
     /**
      * Constructor using contour.
      * @param id the id of the GTU
@@ -348,7 +385,7 @@ public class Gtu extends LocalEventProducer implements HierarchicallyTyped<GtuTy
      */
     public ImmutableMap<Type, RelativePosition> getRelativePositions()
     {
-        return new ImmutableLinkedHashMap<>(this.relativePositions, Immutable.WRAP);
+        return this.relativePositions;
     }
 
     /**
@@ -407,6 +444,62 @@ public class Gtu extends LocalEventProducer implements HierarchicallyTyped<GtuTy
         this.destroyed = true;
     }
 
+    /**
+     * Profiles the firing of the move event. Subclasses that fire further events at each move may override this method to
+     * include this time in the profiling of their own events, such that event firing is counted once per move.
+     * @param start timestamp from {@code Profiler.start()} before the move event was fired
+     */
+    @SuppressWarnings("checkstyle:designforextension")
+    protected void profileMoveEventFiring(final long start)
+    {
+        Profiler.lap(ProfilerStage.EVENT_FIRING, getType(), start);
+    }
+
+    /**
+     * Recycles a destroyed GTU, such that it can be initialized as a new GTU with the same type, dimensions and maximum speed.
+     * The GTU obtains a new id, and is registered in its perceivable context again. The unique number, and thereby the hash
+     * code, is kept such that hash based collections that still contain the GTU remain consistent. All listeners, tags,
+     * children, parameters and planners are removed, and the historicals are replaced by new ones, such that no state of the
+     * destroyed GTU remains. Subclasses that override this method should call {@code super.recycle(id)} and reset their own
+     * state.
+     * @param newId the new id of the GTU
+     * @throws GtuException when the GTU is not destroyed, or the id already exists in the context
+     * @throws NullPointerException when newId is null
+     */
+    @SuppressWarnings("checkstyle:designforextension")
+    protected void recycle(final String newId) throws GtuException
+    {
+        Throw.when(!this.destroyed, GtuException.class, "GTU %s is recycled while it is not destroyed.", this.id);
+        Throw.whenNull(newId, "newId");
+        Throw.when(this.perceivableContext.containsGtuId(newId), GtuException.class,
+                "GTU with id %s already registered in perceivableContext %s", newId, this.perceivableContext.getId());
+        removeAllListeners();
+
+        HistoryManager historyManager = this.simulator.getReplication().getHistoryManager(this.simulator);
+        this.id = newId;
+        this.odometer = historyManager.newHistorical(this, Length.ZERO);
+        this.strategicalPlanner = historyManager.newHistorical(this, null);
+        this.tacticalPlanner = historyManager.newHistorical(this, null);
+        this.operationalPlan = historyManager.newHistorical(this, null);
+        this.parameters = null;
+        this.maximumAcceleration = null;
+        this.maximumDeceleration = null;
+        this.nextMoveEvent = null;
+        this.alignStep = Double.NaN;
+        this.cacheLocationTime = Duration.NaN;
+        this.cacheLocation = null;
+        this.cachedSpeedTime = Double.NaN;
+        this.cachedSpeed = null;
+        this.cachedAccelerationTime = Double.NaN;
+        this.cachedAcceleration = null;
+        this.parent = null;
+        this.children = null;
+        this.errorHandler = GtuErrorHandler.THROW;
+        this.tags = null;
+        this.destroyed = false;
+        this.perceivableContext.addGTU(this);
+    }
+
     /**
      * Move from the current location according to an operational plan to a location that will bring us nearer to reaching the
      * location provided by the strategical planner. <br>
@@ -448,11 +541,14 @@ public class Gtu extends LocalEventProducer implements HierarchicallyTyped<GtuTy
                 tactPlanner = this.strategicalPlanner.get().getTacticalPlanner();
                 this.tacticalPlanner.set(tactPlanner);
             }
+            long t = Profiler.start();
             synchronized (this)
             {
                 tactPlanner.getPerception().perceive();
             }
+            t = Profiler.lap(ProfilerStage.PERCEPTION, getType(), t);
             OperationalPlan newOperationalPlan = tactPlanner.generateOperationalPlan(now, fromLocation);
+            Profiler.lap(ProfilerStage.OPERATIONAL_PLAN, getType(), t);
             synchronized (this)
             {
                 this.operationalPlan.set(newOperationalPlan);
@@ -496,12 +592,18 @@ public class Gtu extends LocalEventProducer implements HierarchicallyTyped<GtuTy
                 });
             }
 
-            fireTimedEvent(Gtu.MOVE_EVENT,
-                    new Object[] {getId(),
-                            new PositionVector(new double[] {fromLocation.x, fromLocation.y}, PositionUnit.METER),
-                            new Direction(fromLocation.getDirZ(), DirectionUnit.EAST_RADIAN), getSpeed(), getAcceleration(),
-                            getOdometer()},
-                    this.simulator.getSimulatorTime());
+            // the payload is only created when there are listeners, as this happens for every GTU at every step
+            if (numberOfListeners(Gtu.MOVE_EVENT) > 0)
+            {
+                t = Profiler.start();
+                fireTimedEvent(Gtu.MOVE_EVENT,
+                        new Object[] {getId(),
+                                new PositionVector(new double[] {fromLocation.x, fromLocation.y}, PositionUnit.METER),
+                                new Direction(fromLocation.getDirZ(), DirectionUnit.EAST_RADIAN), getSpeed(),
+                                getAcceleration(), getOdometer()},
+                        this.simulator.getSimulatorTime());
+                profileMoveEventFiring(t);
+            }
 
             return false;
         }
@@ -547,6 +649,10 @@ public class Gtu extends LocalEventProducer implements HierarchicallyTyped<GtuTy
      */
     public void setTag(final String tag, final String value)
     {
+        if (this.tags == null)
+        {
+            this.tags = new LinkedHashMap<>();
+        }
         this.tags.put(tag, value);
     }
 
@@ -557,7 +663,7 @@ public class Gtu extends LocalEventProducer implements HierarchicallyTyped<GtuTy
      */
     public Optional<String> getTag(final String tag)
     {
-        return Optional.ofNullable(this.tags.get(tag));
+        return this.tags == null ? Optional.empty() : Optional.ofNullable(this.tags.get(tag));
     }
 
     @Override
@@ -989,6 +1095,10 @@ public class Gtu extends LocalEventProducer implements HierarchicallyTyped<GtuTy
      */
     public void addGtu(final Gtu gtu) throws GtuException
     {
+        if (this.children == null)
+        {
+            this.children = new LinkedHashSet<>();
+        }
         this.children.add(gtu);
         gtu.setParent(this);
     }
@@ -999,7 +1109,10 @@ public class Gtu extends LocalEventProducer implements HierarchicallyTyped<GtuTy
      */
     public void removeGtu(final Gtu gtu)
     {
-        this.children.remove(gtu);
+        if (this.children != null)
+        {
+            this.children.remove(gtu);
+        }
         try
         {
             gtu.setParent(null);
@@ -1036,7 +1149,7 @@ public class Gtu extends LocalEventProducer implements HierarchicallyTyped<GtuTy
      */
     public Set<Gtu> getChildren()
     {
-        return new LinkedHashSet<>(this.children); // safe copy
+        return this.children == null ? new LinkedHashSet<>() : new LinkedHashSet<>(this.children); // safe copy
     }
 
     /**
@@ -1084,6 +1197,11 @@ public class Gtu extends LocalEventProducer implements HierarchicallyTyped<GtuTy
         return this.nextMoveEvent;
     }
 
+    /**
+     * Returns the hash code, based on the unique number of the GTU. This number is not changed when the GTU is recycled with a
+     * new id, such that the hash code is stable during the lifetime of the object.
+     * @return hash code
+     */
     @Override
     public int hashCode()
     {
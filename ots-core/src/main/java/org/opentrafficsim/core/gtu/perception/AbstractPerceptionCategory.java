@@ -1,11 +1,13 @@
 package org.opentrafficsim.core.gtu.perception;
 
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.function.Supplier;
 
 import org.djunits.value.vdouble.scalar.Duration;
+import org.djutils.exceptions.Throw;
 import org.opentrafficsim.base.OtsRuntimeException;
 import org.opentrafficsim.base.TimeStampedObject;
 import org.opentrafficsim.base.Type;
@@ -31,9 +33,6 @@ public abstract class AbstractPerceptionCategory<G extends Gtu, P extends Percep
     /** Connected perception. */
     private final P perception;
 
-    /** Nested maps to contain context specific keys for given information keys. */
-    private final Map<Object, Map<Object, Object>> contextualKeyMap = new LinkedHashMap<>();
-
     /** Map from key, either non-contextual or contextual, and time-stamped object. */
     private Map<Object, TimeStampedObject<?>> cache = new LinkedHashMap<>();
 
@@ -139,8 +138,7 @@ public abstract class AbstractPerceptionCategory<G extends Gtu, P extends Percep
      */
     private Object contextualKey(final Object key, final Object context)
     {
-        Map<Object, Object> map = this.contextualKeyMap.computeIfAbsent(key, (k) -> new LinkedHashMap<>());
-        return map.computeIfAbsent(context, (k) -> new Object());
+        return new ContextualKey(key, context);
     }
 
     /**
@@ -188,22 +186,11 @@ public abstract class AbstractPerceptionCategory<G extends Gtu, P extends Percep
      * @param context context, for example the lane and longitudinal direction to which the information applies
      * @return key that is unique for the given information key and multi-object context
      */
-    @SuppressWarnings("unchecked")
     private Object contextualKey(final Object key, final Object... context)
     {
-        // get layer of highest level, the key level
-        Map<Object, Object> map = this.contextualKeyMap.computeIfAbsent(key, (k) -> new LinkedHashMap<>());
-        for (int i = 0; i < context.length; i++)
-        {
-            if (i == context.length - 1)
-            {
-                // deepest layer, i.e. a leaf, we need to return an Object as key
-                return map.computeIfAbsent(context[i], (k) -> new Object());
-            }
-            // intermediate layer, we need to obtain the next layer's map
-            map = (Map<Object, Object>) map.computeIfAbsent(context[i], (k) -> new LinkedHashMap<>());
-        }
-        throw new OtsRuntimeException("Unexpected exception while obtaining contextual key for specific perceived info.");
+        Throw.when(context.length == 0, OtsRuntimeException.class,
+                "Unexpected exception while obtaining contextual key for specific perceived info.");
+        return new ContextualKey(key, context.length == 1 ? context[0] : Arrays.asList(context));
     }
 
     /**
@@ -224,4 +211,14 @@ public abstract class AbstractPerceptionCategory<G extends Gtu, P extends Percep
         return str.toString();
     }
 
+    /**
+     * Key for context specific information. Keys are equal for equal information keys and contexts, so no keys need to be
+     * stored per category, which saves memory with many GTUs.
+     * @param key information key
+     * @param context context, multi-object contexts are a list
+     */
+    private record ContextualKey(Object key, Object context)
+    {
+    }
+
 }
@@ -0,0 +1,63 @@
+package org.opentrafficsim.core.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.djutils.exceptions.Throw;
+
+/**
+ * Counter metric, which only increases. Counters can be increased from any thread.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public final class Counter
+{
+
+    /** Value. */
+    private final LongAdder value = new LongAdder();
+
+    /**
+     * Constructor.
+     */
+    Counter()
+    {
+        //
+    }
+
+    /**
+     * Increases the counter by 1.
+     */
+    public void increment()
+    {
+        this.value.increment();
+    }
+
+    /**
+     * Increases the counter.
+     * @param amount amount, not negative
+     * @throws IllegalArgumentException when the amount is negative
+     */
+    public void add(final long amount)
+    {
+        Throw.when(amount < 0L, IllegalArgumentException.class, "Counter cannot decrease.");
+        this.value.add(amount);
+    }
+
+    /**
+     * Returns the value.
+     * @return value
+     */
+    public long get()
+    {
+        return this.value.sum();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Counter [value=" + get() + "]";
+    }
+
+}
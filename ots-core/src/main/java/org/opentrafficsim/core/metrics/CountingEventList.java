@@ -0,0 +1,103 @@
+package org.opentrafficsim.core.metrics;
+
+import java.util.Iterator;
+
+import org.djunits.value.vdouble.scalar.Duration;
+
+import nl.tudelft.simulation.dsol.eventlists.EventListInterface;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.SimEventInterface;
+
+/**
+ * Event list that wraps another event list, and counts the events that are removed to be executed.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+class CountingEventList implements EventListInterface<Duration>
+{
+
+    /** Wrapped event list. */
+    private final EventListInterface<Duration> eventList;
+
+    /** Counter of executed events. */
+    private final Counter executed;
+
+    /**
+     * Constructor.
+     * @param eventList wrapped event list
+     * @param executed counter of executed events
+     */
+    CountingEventList(final EventListInterface<Duration> eventList, final Counter executed)
+    {
+        this.eventList = eventList;
+        this.executed = executed;
+    }
+
+    @Override
+    public SimEventInterface<Duration> removeFirst()
+    {
+        SimEventInterface<Duration> event = this.eventList.removeFirst();
+        if (event != null)
+        {
+            this.executed.increment();
+        }
+        return event;
+    }
+
+    @Override
+    public void add(final SimEventInterface<Duration> event)
+    {
+        this.eventList.add(event);
+    }
+
+    @Override
+    public boolean contains(final SimEventInterface<Duration> event)
+    {
+        return this.eventList.contains(event);
+    }
+
+    @Override
+    public void clear()
+    {
+        this.eventList.clear();
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return this.eventList.isEmpty();
+    }
+
+    @Override
+    public Iterator<SimEventInterface<Duration>> iterator()
+    {
+        return this.eventList.iterator();
+    }
+
+    @Override
+    public boolean remove(final SimEventInterface<Duration> event)
+    {
+        return this.eventList.remove(event);
+    }
+
+    @Override
+    public int size()
+    {
+        return this.eventList.size();
+    }
+
+    @Override
+    public SimEventInterface<Duration> first()
+    {
+        return this.eventList.first();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "CountingEventList [eventList=" + this.eventList + "]";
+    }
+
+}
@@ -0,0 +1,118 @@
+package org.opentrafficsim.core.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.djutils.exceptions.Throw;
+
+/**
+ * Histogram metric, which counts observations in buckets with given upper bounds. Observations can be added from any thread.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public final class Histogram
+{
+
+    /** Upper bounds of buckets, in increasing order, excluding the last bucket without upper bound. */
+    private final double[] upperBounds;
+
+    /** Number of observations per bucket, the last bucket has no upper bound. */
+    private final LongAdder[] buckets;
+
+    /** Sum of observations. */
+    private final DoubleAdder sum = new DoubleAdder();
+
+    /**
+     * Constructor.
+     * @param upperBounds upper bounds of buckets, in increasing order
+     * @throws IllegalArgumentException when there are no upper bounds, or they are not finite and increasing
+     */
+    Histogram(final double... upperBounds)
+    {
+        Throw.whenNull(upperBounds, "Upper bounds may not be null.");
+        Throw.when(upperBounds.length == 0, IllegalArgumentException.class, "At least one upper bound is required.");
+        for (int i = 0; i < upperBounds.length; i++)
+        {
+            Throw.when(!Double.isFinite(upperBounds[i]), IllegalArgumentException.class, "Upper bounds should be finite.");
+            Throw.when(i > 0 && upperBounds[i] <= upperBounds[i - 1], IllegalArgumentException.class,
+                    "Upper bounds should be increasing.");
+        }
+        this.upperBounds = upperBounds.clone();
+        this.buckets = new LongAdder[upperBounds.length + 1];
+        for (int i = 0; i < this.buckets.length; i++)
+        {
+            this.buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Adds an observation.
+     * @param value value
+     */
+    public void observe(final double value)
+    {
+        int index = Arrays.binarySearch(this.upperBounds, value);
+        // an exact match is in the bucket of that upper bound, otherwise the insertion point is the first larger bound
+        this.buckets[index < 0 ? -index - 1 : index].increment();
+        this.sum.add(value);
+    }
+
+    /**
+     * Returns the upper bounds of the buckets, excluding the last bucket without upper bound.
+     * @return upper bounds of the buckets
+     */
+    public double[] getUpperBounds()
+    {
+        return this.upperBounds.clone();
+    }
+
+    /**
+     * Returns the cumulative number of observations up to and including each bucket. The last value is the total count.
+     * @return cumulative number of observations per bucket
+     */
+    public long[] getCumulativeCounts()
+    {
+        long[] counts = new long[this.buckets.length];
+        long count = 0L;
+        for (int i = 0; i < counts.length; i++)
+        {
+            count += this.buckets[i].sum();
+            counts[i] = count;
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the number of observations.
+     * @return number of observations
+     */
+    public long getCount()
+    {
+        long count = 0L;
+        for (LongAdder bucket : this.buckets)
+        {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the sum of observations.
+     * @return sum of observations
+     */
+    public double getSum()
+    {
+        return this.sum.sum();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Histogram [upperBounds=" + Arrays.toString(this.upperBounds) + ", count=" + getCount() + "]";
+    }
+
+}
@@ -0,0 +1,241 @@
+package org.opentrafficsim.core.metrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.djutils.exceptions.Throw;
+
+/**
+ * Registry of named metrics, i.e. counters, gauges and histograms, which can be written in the Prometheus text format. Counters
+ * and histograms are updated by the simulation. Gauges are suppliers that are only evaluated when the metrics are written, so
+ * they cost nothing during simulation. Metrics are written in the order in which they are registered.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public class MetricsRegistry
+{
+
+    /** Content type of the Prometheus text format. */
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    /** Valid metric and label names. */
+    private static final Pattern NAME = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
+
+    /** Metrics by name. */
+    private final Map<String, Metric> metrics = new LinkedHashMap<>();
+
+    /**
+     * Registers a counter.
+     * @param name name, by convention ending with "_total"
+     * @param help description
+     * @return counter
+     * @throws IllegalArgumentException when the name is invalid or already registered
+     */
+    public Counter counter(final String name, final String help)
+    {
+        Counter counter = new Counter();
+        register(name, help, "counter", (out) -> writeSample(out, name, "", counter.get()));
+        return counter;
+    }
+
+    /**
+     * Registers a gauge.
+     * @param name name
+     * @param help description
+     * @param value supplier of the value, which is evaluated when the metrics are written
+     * @throws IllegalArgumentException when the name is invalid or already registered
+     */
+    public void gauge(final String name, final String help, final DoubleSupplier value)
+    {
+        Throw.whenNull(value, "Value may not be null.");
+        register(name, help, "gauge", (out) -> writeSample(out, name, "", value.getAsDouble()));
+    }
+
+    /**
+     * Registers a gauge with a value for each value of a label, e.g. a queue length per generator.
+     * @param name name
+     * @param help description
+     * @param label label name
+     * @param values supplier of the values per label value, which is evaluated when the metrics are written
+     * @throws IllegalArgumentException when the name or label is invalid, or the name is already registered
+     */
+    public void gauge(final String name, final String help, final String label,
+            final Supplier<? extends Map<String, ? extends Number>> values)
+    {
+        Throw.whenNull(label, "Label may not be null.");
+        Throw.when(!NAME.matcher(label).matches(), IllegalArgumentException.class, "Invalid label name %s.", label);
+        Throw.whenNull(values, "Values may not be null.");
+        register(name, help, "gauge", (out) ->
+        {
+            for (Entry<String, ? extends Number> entry : values.get().entrySet())
+            {
+                writeSample(out, name, "{" + label + "=\"" + escape(entry.getKey()) + "\"}", entry.getValue().doubleValue());
+            }
+        });
+    }
+
+    /**
+     * Registers a histogram.
+     * @param name name
+     * @param help description
+     * @param upperBounds upper bounds of buckets, in increasing order
+     * @return histogram
+     * @throws IllegalArgumentException when the name is invalid or already registered, or the upper bounds are invalid
+     */
+    public Histogram histogram(final String name, final String help, final double... upperBounds)
+    {
+        Histogram histogram = new Histogram(upperBounds);
+        register(name, help, "histogram", (out) ->
+        {
+            double[] bounds = histogram.getUpperBounds();
+            long[] counts = histogram.getCumulativeCounts();
+            for (int i = 0; i < bounds.length; i++)
+            {
+                writeSample(out, name + "_bucket", "{le=\"" + format(bounds[i]) + "\"}", counts[i]);
+            }
+            writeSample(out, name + "_bucket", "{le=\"+Inf\"}", counts[bounds.length]);
+            writeSample(out, name + "_sum", "", histogram.getSum());
+            writeSample(out, name + "_count", "", counts[bounds.length]);
+        });
+        return histogram;
+    }
+
+    /**
+     * Registers a metric.
+     * @param name name
+     * @param help description
+     * @param type Prometheus type
+     * @param samples writer of the samples
+     * @throws IllegalArgumentException when the name is invalid or already registered
+     */
+    private synchronized void register(final String name, final String help, final String type, final SampleWriter samples)
+    {
+        Throw.whenNull(name, "Name may not be null.");
+        Throw.whenNull(help, "Help may not be null.");
+        Throw.when(!NAME.matcher(name).matches(), IllegalArgumentException.class, "Invalid metric name %s.", name);
+        Throw.when(this.metrics.containsKey(name), IllegalArgumentException.class, "Metric %s is already registered.", name);
+        this.metrics.put(name, new Metric(help, type, samples));
+    }
+
+    /**
+     * Writes all metrics in the Prometheus text format.
+     * @param out output
+     * @throws IOException when writing fails
+     */
+    public synchronized void write(final Appendable out) throws IOException
+    {
+        for (Entry<String, Metric> entry : this.metrics.entrySet())
+        {
+            Metric metric = entry.getValue();
+            out.append("# HELP ").append(entry.getKey()).append(' ')
+                    .append(metric.help().replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+            out.append("# TYPE ").append(entry.getKey()).append(' ').append(metric.type()).append('\n');
+            metric.samples().write(out);
+        }
+    }
+
+    /**
+     * Returns all metrics in the Prometheus text format.
+     * @return all metrics in the Prometheus text format
+     */
+    public String toPrometheus()
+    {
+        StringBuilder out = new StringBuilder();
+        try
+        {
+            write(out);
+        }
+        catch (IOException exception)
+        {
+            // a StringBuilder does not throw IOException
+            throw new UncheckedIOException(exception);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Writes a sample line.
+     * @param out output
+     * @param name name
+     * @param labels labels including braces, or empty
+     * @param value value
+     * @throws IOException when writing fails
+     */
+    private static void writeSample(final Appendable out, final String name, final String labels, final double value)
+            throws IOException
+    {
+        out.append(name).append(labels).append(' ').append(format(value)).append('\n');
+    }
+
+    /**
+     * Formats a value, with integer values without decimals.
+     * @param value value
+     * @return formatted value
+     */
+    private static String format(final double value)
+    {
+        if (Double.isNaN(value))
+        {
+            return "NaN";
+        }
+        if (Double.isInfinite(value))
+        {
+            return value > 0.0 ? "+Inf" : "-Inf";
+        }
+        if (value == Math.rint(value) && Math.abs(value) < 1e15)
+        {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    /**
+     * Escapes a label value.
+     * @param value label value
+     * @return escaped label value
+     */
+    private static String escape(final String value)
+    {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    @Override
+    public synchronized String toString()
+    {
+        return "MetricsRegistry [metrics=" + this.metrics.keySet() + "]";
+    }
+
+    /**
+     * Writer of the samples of a metric.
+     */
+    @FunctionalInterface
+    private interface SampleWriter
+    {
+        /**
+         * Writes the samples.
+         * @param out output
+         * @throws IOException when writing fails
+         */
+        void write(Appendable out) throws IOException;
+    }
+
+    /**
+     * Registered metric.
+     * @param help description
+     * @param type Prometheus type
+     * @param samples writer of the samples
+     */
+    private record Metric(String help, String type, SampleWriter samples)
+    {
+    }
+
+}
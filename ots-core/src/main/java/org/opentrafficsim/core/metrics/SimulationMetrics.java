@@ -0,0 +1,164 @@
+package org.opentrafficsim.core.metrics;
+
+import java.util.function.DoubleSupplier;
+
+import org.djunits.value.vdouble.scalar.Duration;
+import org.djutils.exceptions.Throw;
+import org.opentrafficsim.base.OtsRuntimeException;
+import org.opentrafficsim.core.dsol.OtsSimulatorInterface;
+import org.opentrafficsim.core.network.Network;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+
+/**
+ * Registers metrics of a simulator and network in a registry:
+ * <ul>
+ * <li>ots_gtus_generated_total: number of GTUs added to the network since registration</li>
+ * <li>ots_gtus_destroyed_total: number of GTUs removed from the network since registration</li>
+ * <li>ots_gtus_alive: number of GTUs in the network, including GTUs that were in the network at registration</li>
+ * <li>ots_gtu_trip_distance_meters: histogram of the distance traveled by GTUs that are removed from the network</li>
+ * <li>ots_events_executed_total: number of executed simulator events</li>
+ * <li>ots_events_per_second: executed events per second of wall-clock time, over the last 10 to 20 seconds</li>
+ * <li>ots_event_list_size: number of pending simulator events</li>
+ * <li>ots_simulation_time_seconds: simulation time</li>
+ * <li>ots_sim_wall_time_ratio: simulated time per wall-clock time, over the last 10 to 20 seconds</li>
+ * </ul>
+ * Rates are determined over fixed windows of wall-clock time, so they do not depend on how often, or by how many clients, the
+ * registry is written. During the first 20 seconds after registration, rates are determined over the time since registration.
+ * Raw values for other rates are available as {@code ots_events_executed_total} and {@code ots_simulation_time_seconds}.
+ * To count executed events, the event list of the simulator is wrapped, which should hence be done before the simulation is
+ * started. Apart from this wrapper and the listeners on the network for GTUs being added and removed, the metrics are only
+ * derived when the registry is written.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public final class SimulationMetrics
+{
+
+    /** Upper bounds of trip distance buckets [m]. */
+    private static final double[] TRIP_DISTANCE_BOUNDS =
+            new double[] {100.0, 250.0, 500.0, 1000.0, 2000.0, 5000.0, 10000.0, 20000.0, 50000.0};
+
+    /** Wall-clock window of rates [ns]. */
+    private static final long RATE_WINDOW = 10_000_000_000L;
+
+    /**
+     * Constructor.
+     */
+    private SimulationMetrics()
+    {
+        //
+    }
+
+    /**
+     * Registers metrics of the simulator and network in the registry.
+     * @param registry registry
+     * @param simulator simulator
+     * @param network network
+     * @throws IllegalArgumentException when any of the metrics is already registered
+     */
+    public static void register(final MetricsRegistry registry, final OtsSimulatorInterface simulator, final Network network)
+    {
+        Throw.whenNull(registry, "Registry may not be null.");
+        Throw.whenNull(simulator, "Simulator may not be null.");
+        Throw.whenNull(network, "Network may not be null.");
+
+        Counter generated = registry.counter("ots_gtus_generated_total", "Number of GTUs added to the network.");
+        Counter destroyed = registry.counter("ots_gtus_destroyed_total", "Number of GTUs removed from the network.");
+        long initiallyAlive = network.getGTUs().size();
+        registry.gauge("ots_gtus_alive", "Number of GTUs in the network.",
+                () -> initiallyAlive + generated.get() - destroyed.get());
+        Histogram tripDistance = registry.histogram("ots_gtu_trip_distance_meters",
+                "Distance traveled by GTUs that are removed from the network.", TRIP_DISTANCE_BOUNDS);
+        network.addListener((event) -> generated.increment(), Network.GTU_ADD_EVENT);
+        // the GTU is removed from the network after the event is fired
+        network.addListener((event) ->
+        {
+            destroyed.increment();
+            network.getGTU((String) event.getContent()).ifPresent((gtu) -> tripDistance.observe(gtu.getOdometer().si));
+        }, Network.GTU_REMOVE_EVENT);
+
+        Counter executed = registry.counter("ots_events_executed_total", "Number of executed simulator events.");
+        try
+        {
+            simulator.setEventList(new CountingEventList(simulator.getEventList(), executed));
+        }
+        catch (SimRuntimeException exception)
+        {
+            throw new OtsRuntimeException("Unable to wrap event list of simulator to count executed events.", exception);
+        }
+        registry.gauge("ots_events_per_second", "Executed events per second of wall-clock time over the last 10 to 20 seconds.",
+                new WallClockRate(() -> executed.get()));
+        registry.gauge("ots_event_list_size", "Number of pending simulator events.", () -> simulator.getEventList().size());
+        registry.gauge("ots_simulation_time_seconds", "Simulation time.", () -> simulationTime(simulator));
+        registry.gauge("ots_sim_wall_time_ratio", "Simulated time per wall-clock time over the last 10 to 20 seconds.",
+                new WallClockRate(() -> simulationTime(simulator)));
+    }
+
+    /**
+     * Returns the simulation time.
+     * @param simulator simulator
+     * @return simulation time [s], 0 if the simulator is not initialized
+     */
+    private static double simulationTime(final OtsSimulatorInterface simulator)
+    {
+        Duration time = simulator.getSimulatorTime();
+        return time == null ? 0.0 : time.si;
+    }
+
+    /**
+     * Rate of change of a value per second of wall-clock time. The value is sampled when the rate is requested, but a new
+     * window is only started when the current window is at least {@code RATE_WINDOW} old. The rate is determined since the
+     * start of the previous window, so it spans at least one window regardless of how often the rate is requested.
+     */
+    private static final class WallClockRate implements DoubleSupplier
+    {
+        /** Value. */
+        private final DoubleSupplier value;
+
+        /** Value at start of previous window. */
+        private double previousValue;
+
+        /** Wall-clock time at start of previous window [ns]. */
+        private long previousTime;
+
+        /** Value at start of current window. */
+        private double windowValue;
+
+        /** Wall-clock time at start of current window [ns]. */
+        private long windowTime;
+
+        /**
+         * Constructor.
+         * @param value value
+         */
+        WallClockRate(final DoubleSupplier value)
+        {
+            this.value = value;
+            this.previousValue = value.getAsDouble();
+            this.previousTime = System.nanoTime();
+            this.windowValue = this.previousValue;
+            this.windowTime = this.previousTime;
+        }
+
+        @Override
+        public synchronized double getAsDouble()
+        {
+            double currentValue = this.value.getAsDouble();
+            long currentTime = System.nanoTime();
+            if (currentTime - this.windowTime >= RATE_WINDOW)
+            {
+                this.previousValue = this.windowValue;
+                this.previousTime = this.windowTime;
+                this.windowValue = currentValue;
+                this.windowTime = currentTime;
+            }
+            return currentTime > this.previousTime
+                    ? (currentValue - this.previousValue) / ((currentTime - this.previousTime) / 1e9) : 0.0;
+        }
+    }
+
+}
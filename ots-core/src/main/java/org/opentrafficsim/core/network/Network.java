@@ -11,7 +11,11 @@ import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 
+import org.djunits.value.vdouble.scalar.Length;
 import org.djutils.draw.bounds.Bounds2d;
+import org.djutils.draw.point.Point2d;
+import org.djutils.event.Event;
+import org.djutils.event.EventListener;
 import org.djutils.event.EventProducer;
 import org.djutils.event.EventType;
 import org.djutils.event.LocalEventProducer;
@@ -28,8 +32,11 @@ import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
 import org.jgrapht.graph.SimpleDirectedWeightedGraph;
 import org.opentrafficsim.base.logger.Logger;
 import org.opentrafficsim.core.dsol.OtsSimulatorInterface;
+import org.opentrafficsim.core.geometry.Ots2dGrid;
+import org.opentrafficsim.core.geometry.Ots2dRTree;
 import org.opentrafficsim.core.gtu.Gtu;
 import org.opentrafficsim.core.gtu.GtuType;
+import org.opentrafficsim.core.gtu.plan.operational.OperationalPlan;
 import org.opentrafficsim.core.network.route.Route;
 import org.opentrafficsim.core.object.LocatedObject;
 import org.opentrafficsim.core.object.NonLocatedObject;
@@ -76,6 +83,21 @@ public class Network extends LocalEventProducer implements PerceivableContext, E
     /** The DSOL simulator engine. */
     private final OtsSimulatorInterface simulator;
 
+    /** Spatial index of nodes, created when needed. */
+    private Ots2dRTree<Node> nodeIndex;
+
+    /** Spatial index of links, created when needed. */
+    private Ots2dRTree<Link> linkIndex;
+
+    /** Spatial index of located objects, created when needed. */
+    private Ots2dRTree<LocatedObject> objectIndex;
+
+    /** Grid of GTUs with the bounds of their operational plan, created when needed. */
+    private Ots2dGrid<Gtu> gtuGrid;
+
+    /** Listener that updates the GTU grid when GTUs move. */
+    private final EventListener gtuGridUpdater = new GtuGridUpdater();
+
     /**
      * Construction of an empty network.
      * @param id the network id.
@@ -136,6 +158,7 @@ public class Network extends LocalEventProducer implements PerceivableContext, E
             throw new NetworkException("Node " + node + " already registered in network " + this.id);
         }
         this.nodeMap.put(node.getId(), node);
+        invalidateSpatialIndex();
         fireTimedEvent(Network.NODE_ADD_EVENT, node.getId(), getSimulator().getSimulatorTime());
     }
 
@@ -152,6 +175,7 @@ public class Network extends LocalEventProducer implements PerceivableContext, E
         }
         fireTimedEvent(Network.NODE_REMOVE_EVENT, node.getId(), getSimulator().getSimulatorTime());
         this.nodeMap.remove(node.getId());
+        invalidateSpatialIndex();
     }
 
     /**
@@ -265,6 +289,7 @@ public class Network extends LocalEventProducer implements PerceivableContext, E
                     "Start node or end node of Link " + link.getId() + " not registered in network " + this.id);
         }
         this.linkMap.put(link.getId(), link);
+        invalidateSpatialIndex();
         fireTimedEvent(Network.LINK_ADD_EVENT, link.getId(), getSimulator().getSimulatorTime());
     }
 
@@ -281,6 +306,7 @@ public class Network extends LocalEventProducer implements PerceivableContext, E
         }
         fireTimedEvent(Network.LINK_REMOVE_EVENT, link.getId(), getSimulator().getSimulatorTime());
         this.linkMap.remove(link.getId());
+        invalidateSpatialIndex();
     }
 
     /**
@@ -426,6 +452,7 @@ public class Network extends LocalEventProducer implements PerceivableContext, E
             throw new NetworkException("Object with name " + object.getFullId() + " already registered in network " + this.id);
         }
         this.objectMap.put(object.getFullId(), object);
+        invalidateSpatialIndex();
         fireTimedEvent(Network.OBJECT_ADD_EVENT, object.getFullId(), getSimulator().getSimulatorTime());
     }
 
@@ -442,6 +469,7 @@ public class Network extends LocalEventProducer implements PerceivableContext, E
         }
         fireTimedEvent(Network.OBJECT_REMOVE_EVENT, object.getFullId(), getSimulator().getSimulatorTime());
         this.objectMap.remove(object.getFullId());
+        invalidateSpatialIndex();
     }
 
     /**
@@ -543,6 +571,7 @@ public class Network extends LocalEventProducer implements PerceivableContext, E
         }
         fireTimedEvent(Network.NONLOCATED_OBJECT_REMOVE_EVENT, object.getFullId(), getSimulator().getSimulatorTime());
         this.objectMap.remove(object.getFullId());
+        invalidateSpatialIndex();
     }
 
     /**
@@ -928,6 +957,13 @@ public class Network extends LocalEventProducer implements PerceivableContext, E
     public void addGTU(final Gtu gtu)
     {
         this.gtuMap.put(gtu.getId(), gtu);
+        synchronized (this.gtuGridUpdater)
+        {
+            if (this.gtuGrid != null)
+            {
+                gtu.addListener(this.gtuGridUpdater, Gtu.MOVE_EVENT);
+            }
+        }
         // TODO verify that gtu.getSimulator() equals getSimulator() ?
         fireTimedEvent(Network.GTU_ADD_EVENT, gtu.getId(), getSimulator().getSimulatorTime());
     }
@@ -937,6 +973,14 @@ public class Network extends LocalEventProducer implements PerceivableContext, E
     {
         fireTimedEvent(Network.GTU_REMOVE_EVENT, gtu.getId(), getSimulator().getSimulatorTime());
         this.gtuMap.remove(gtu.getId());
+        synchronized (this.gtuGridUpdater)
+        {
+            if (this.gtuGrid != null)
+            {
+                gtu.removeListener(this.gtuGridUpdater, Gtu.MOVE_EVENT);
+                this.gtuGrid.remove(gtu);
+            }
+        }
     }
 
     @Override
@@ -973,6 +1017,187 @@ public class Network extends LocalEventProducer implements PerceivableContext, E
         return this.gtuMap;
     }
 
+    /***************************************************************************************/
+    /*********************************** SPATIAL INDEX *************************************/
+    /***************************************************************************************/
+
+    /** Cell size of the grid of GTUs [m]. */
+    public static final double GTU_GRID_CELL_SIZE = 50.0;
+
+    /**
+     * Discards the spatial index of nodes, links and objects, such that it is rebuilt on the next spatial query. This is
+     * invoked when nodes, links or objects are added or removed, and should be invoked when their geometry changes.
+     */
+    public synchronized void invalidateSpatialIndex()
+    {
+        this.nodeIndex = null;
+        this.linkIndex = null;
+        this.objectIndex = null;
+    }
+
+    /**
+     * Returns the spatial index of nodes.
+     * @return spatial index of nodes
+     */
+    public synchronized Ots2dRTree<Node> getNodeIndex()
+    {
+        if (this.nodeIndex == null)
+        {
+            this.nodeIndex = new Ots2dRTree<>(new ArrayList<>(this.nodeMap.values()), Node::getAbsoluteBounds);
+        }
+        return this.nodeIndex;
+    }
+
+    /**
+     * Returns the spatial index of links.
+     * @return spatial index of links
+     */
+    public synchronized Ots2dRTree<Link> getLinkIndex()
+    {
+        if (this.linkIndex == null)
+        {
+            this.linkIndex = new Ots2dRTree<>(new ArrayList<>(this.linkMap.values()), Link::getAbsoluteBounds);
+        }
+        return this.linkIndex;
+    }
+
+    /**
+     * Returns the spatial index of located objects.
+     * @return spatial index of located objects
+     */
+    public synchronized Ots2dRTree<LocatedObject> getObjectIndex()
+    {
+        if (this.objectIndex == null)
+        {
+            this.objectIndex = new Ots2dRTree<>(new ArrayList<>(this.objectMap.values()), LocatedObject::getAbsoluteBounds);
+        }
+        return this.objectIndex;
+    }
+
+    /**
+     * Returns the nodes of which the bounds intersect the area.
+     * @param area area
+     * @return nodes of which the bounds intersect the area
+     */
+    public List<Node> findNodes(final Bounds2d area)
+    {
+        return getNodeIndex().find(area);
+    }
+
+    /**
+     * Returns the links of which the bounds intersect the area.
+     * @param area area
+     * @return links of which the bounds intersect the area
+     */
+    public List<Link> findLinks(final Bounds2d area)
+    {
+        return getLinkIndex().find(area);
+    }
+
+    /**
+     * Returns the located objects of which the bounds intersect the area.
+     * @param area area
+     * @return located objects of which the bounds intersect the area
+     */
+    public List<LocatedObject> findObjects(final Bounds2d area)
+    {
+        return getObjectIndex().find(area);
+    }
+
+    /**
+     * Returns the node nearest to the point.
+     * @param point point
+     * @return node nearest to the point, empty if there are no nodes
+     */
+    public Optional<Node> getNearestNode(final Point2d point)
+    {
+        return getNodeIndex().nearest(point, (node) -> true, (node) -> node.getPoint().distance(point));
+    }
+
+    /**
+     * Returns the GTUs of which the current location is within the area. GTUs are found using a grid that is created on the
+     * first GTU query, and that is updated as GTUs move from then on.
+     * @param area area
+     * @return GTUs of which the current location is within the area
+     */
+    public List<Gtu> findGtus(final Bounds2d area)
+    {
+        List<Gtu> gtus = getGtuGrid().find(area);
+        gtus.removeIf((gtu) -> !area.covers(gtu.getLocation()));
+        return gtus;
+    }
+
+    /**
+     * Returns the GTU of which the current location is nearest to the point, within a maximum distance.
+     * @param point point
+     * @param maxDistance maximum distance
+     * @return GTU nearest to the point, empty if there is no GTU within the maximum distance
+     */
+    public Optional<Gtu> getNearestGtu(final Point2d point, final Length maxDistance)
+    {
+        return getGtuGrid().nearest(point, maxDistance.si, (gtu) -> gtu.getLocation().distance(point));
+    }
+
+    /**
+     * Returns the grid of GTUs. When the grid is created, it starts listening to moves of all GTUs.
+     * @return grid of GTUs
+     */
+    private Ots2dGrid<Gtu> getGtuGrid()
+    {
+        synchronized (this.gtuGridUpdater)
+        {
+            if (this.gtuGrid == null)
+            {
+                this.gtuGrid = new Ots2dGrid<>(GTU_GRID_CELL_SIZE);
+                for (Gtu gtu : getGTUs())
+                {
+                    gtu.addListener(this.gtuGridUpdater, Gtu.MOVE_EVENT);
+                    updateGtuGrid(gtu);
+                }
+            }
+            return this.gtuGrid;
+        }
+    }
+
+    /**
+     * Updates the bounds of the GTU in the grid to the bounds of the path of its operational plan. GTUs without plan are added
+     * at their first move.
+     * @param gtu GTU
+     */
+    private void updateGtuGrid(final Gtu gtu)
+    {
+        OperationalPlan plan = gtu.getOperationalPlan();
+        if (plan != null)
+        {
+            this.gtuGrid.put(gtu, plan.getPath().getAbsoluteBounds());
+        }
+    }
+
+    /**
+     * Listener to moves of GTUs that updates the GTU grid.
+     */
+    private final class GtuGridUpdater implements EventListener
+    {
+        /** */
+        private static final long serialVersionUID = 20261019L;
+
+        @Override
+        public void notify(final Event event)
+        {
+            Gtu gtu = Network.this.gtuMap.get((String) ((Object[]) event.getContent())[0]);
+            if (gtu != null)
+            {
+                synchronized (this)
+                {
+                    if (Network.this.gtuGrid != null)
+                    {
+                        updateGtuGrid(gtu);
+                    }
+                }
+            }
+        }
+    }
+
     /***************************************************************************************/
 
     /** Extra clearance around boundaries of network as fraction of width and height. */
@@ -989,32 +1214,18 @@ public class Network extends LocalEventProducer implements PerceivableContext, E
         double maxX = -Double.MAX_VALUE;
         double maxY = -Double.MAX_VALUE;
         boolean content = false;
-        for (Node node : this.nodeMap.values())
+        for (Ots2dRTree<?> index : List.of(getNodeIndex(), getLinkIndex(), getObjectIndex()))
         {
-            Bounds2d b = node.getAbsoluteBounds();
-            minX = Math.min(minX, b.getMinX());
-            minY = Math.min(minY, b.getMinY());
-            maxX = Math.max(maxX, b.getMaxX());
-            maxY = Math.max(maxY, b.getMaxY());
-            content = true;
-        }
-        for (Link link : this.linkMap.values())
-        {
-            Bounds2d b = link.getAbsoluteBounds();
-            minX = Math.min(minX, b.getMinX());
-            minY = Math.min(minY, b.getMinY());
-            maxX = Math.max(maxX, b.getMaxX());
-            maxY = Math.max(maxY, b.getMaxY());
-            content = true;
-        }
-        for (LocatedObject object : this.objectMap.values())
-        {
-            Bounds2d b = object.getAbsoluteBounds();
-            minX = Math.min(minX, b.getMinX());
-            minY = Math.min(minY, b.getMinY());
-            maxX = Math.max(maxX, b.getMaxX());
-            maxY = Math.max(maxY, b.getMaxY());
-            content = true;
+            Optional<Bounds2d> bounds = index.getBounds();
+            if (bounds.isPresent())
+            {
+                Bounds2d b = bounds.get();
+                minX = Math.min(minX, b.getMinX());
+                minY = Math.min(minY, b.getMinY());
+                maxX = Math.max(maxX, b.getMaxX());
+                maxY = Math.max(maxY, b.getMaxY());
+                content = true;
+            }
         }
         if (content)
         {
@@ -6,6 +6,9 @@ import java.util.Set;
 import java.util.WeakHashMap;
 
 import org.djunits.value.vdouble.scalar.Duration;
+import org.opentrafficsim.core.perception.collections.HistoricalArrayList;
+import org.opentrafficsim.core.perception.collections.HistoricalList;
+import org.opentrafficsim.core.perception.collections.NullHistoricalList;
 
 /**
  * History manager with automatic garbage collection by the java garbage collector using weak references to the
@@ -45,6 +48,39 @@ public abstract class HistoryManager
         }
     }
 
+    /**
+     * Returns whether this manager keeps no history at all. In that case the historicals created by this manager are plain
+     * values and collections, which are not registered and which return the current state for any time.
+     * @return whether this manager keeps no history at all
+     */
+    public boolean isHistoryFree()
+    {
+        return false;
+    }
+
+    /**
+     * Creates a historical value, which is a plain value if this manager keeps no history.
+     * @param owner object that owns the historical value
+     * @param initialValue initial value, may be {@code null}
+     * @param <T> value type
+     * @return historical value
+     */
+    public <T> Historical<T> newHistorical(final Object owner, final T initialValue)
+    {
+        return isHistoryFree() ? new NullHistorical<>(initialValue) : new HistoricalValue<>(this, owner, initialValue);
+    }
+
+    /**
+     * Creates an empty historical list, which is a plain list if this manager keeps no history.
+     * @param owner object that owns the historical list
+     * @param <E> element type
+     * @return historical list
+     */
+    public <E> HistoricalList<E> newHistoricalList(final Object owner)
+    {
+        return isHistoryFree() ? new NullHistoricalList<>() : new HistoricalArrayList<>(this, owner);
+    }
+
     /**
      * Returns the historicals.
      * @return the historicals
@@ -5,6 +5,8 @@ import org.djutils.event.Event;
 import org.djutils.event.EventListener;
 import org.opentrafficsim.base.OtsRuntimeException;
 import org.opentrafficsim.core.dsol.OtsSimulatorInterface;
+import org.opentrafficsim.core.profiler.Profiler;
+import org.opentrafficsim.core.profiler.ProfilerStage;
 
 import nl.tudelft.simulation.dsol.SimRuntimeException;
 import nl.tudelft.simulation.dsol.experiment.Replication;
@@ -30,6 +32,9 @@ public class HistoryManagerDevs extends HistoryManager implements EventListener
     /** Clean-up interval. */
     private final Duration cleanUpInterval;
 
+    /** Whether no history is kept at all. */
+    private final boolean historyFree;
+
     /**
      * Constructor.
      * @param simulator simulator
@@ -37,22 +42,43 @@ public class HistoryManagerDevs extends HistoryManager implements EventListener
      * @param cleanUpInterval clean-up interval
      */
     public HistoryManagerDevs(final OtsSimulatorInterface simulator, final Duration history, final Duration cleanUpInterval)
+    {
+        this(simulator, history, cleanUpInterval, false);
+    }
+
+    /**
+     * Constructor.
+     * @param simulator simulator
+     * @param history time over which history is guaranteed
+     * @param cleanUpInterval clean-up interval
+     * @param historyFree whether no history is kept at all
+     */
+    private HistoryManagerDevs(final OtsSimulatorInterface simulator, final Duration history, final Duration cleanUpInterval,
+            final boolean historyFree)
     {
         this.simulator = simulator;
         this.history = history;
         this.cleanUpInterval = cleanUpInterval;
+        this.historyFree = historyFree;
         this.simulator.addListener(this, Replication.START_REPLICATION_EVENT);
         this.simulator.addListener(this, Replication.END_REPLICATION_EVENT);
     }
 
     /**
-     * Returns a history manager with no guaranteed history.
+     * Returns a history manager with no history. Historicals of GTUs and lanes are then plain values and lists, which are not
+     * registered, and which return the current state for any time.
      * @param simulator simulator
-     * @return history manager with no guaranteed history
+     * @return history manager with no history
      */
     public static HistoryManagerDevs noHistory(final OtsSimulatorInterface simulator)
     {
-        return new HistoryManagerDevs(simulator, Duration.ZERO, Duration.ofSI(10.0));
+        return new HistoryManagerDevs(simulator, Duration.ZERO, Duration.ofSI(10.0), true);
+    }
+
+    @Override
+    public boolean isHistoryFree()
+    {
+        return this.historyFree;
     }
 
     @Override
@@ -66,10 +92,12 @@ public class HistoryManagerDevs extends HistoryManager implements EventListener
      */
     protected final void cleanUpHistory()
     {
+        long t = Profiler.start();
         for (HistoricalElement historical : getHistoricals())
         {
             historical.cleanUpHistory(this.history);
         }
+        Profiler.lap(ProfilerStage.HISTORY_CLEANUP, null, t);
         try
         {
             this.simulator.scheduleEventRel(this.cleanUpInterval, () -> cleanUpHistory());
@@ -85,7 +113,10 @@ public class HistoryManagerDevs extends HistoryManager implements EventListener
     {
         if (event.getType().equals(Replication.START_REPLICATION_EVENT))
         {
-            cleanUpHistory(); // start clean-up event chain
+            if (!this.historyFree)
+            {
+                cleanUpHistory(); // start clean-up event chain
+            }
         }
         else if (event.getType().equals(Replication.END_REPLICATION_EVENT))
         {
@@ -96,7 +127,8 @@ public class HistoryManagerDevs extends HistoryManager implements EventListener
     @Override
     public String toString()
     {
-        return "HistoryManagerDevs [history=" + this.history + ", cleanUpInterval=" + this.cleanUpInterval + "]";
+        return "HistoryManagerDevs [history=" + this.history + ", cleanUpInterval=" + this.cleanUpInterval + ", historyFree="
+                + this.historyFree + "]";
     }
 
 }
@@ -0,0 +1,50 @@
+package org.opentrafficsim.core.perception.collections;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.djunits.value.vdouble.scalar.Duration;
+
+/**
+ * Simple list without history that can be used inside a generic context where also lists with history can be used. The
+ * current list is returned for any time.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ * @param <E> element type
+ */
+public class NullHistoricalList<E> extends ArrayList<E> implements HistoricalList<E>
+{
+
+    /** */
+    private static final long serialVersionUID = 20261019L;
+
+    /**
+     * Constructor.
+     */
+    public NullHistoricalList()
+    {
+        //
+    }
+
+    @Override
+    public List<E> get()
+    {
+        return this;
+    }
+
+    @Override
+    public List<E> get(final Duration time)
+    {
+        return this;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "NullHistoricalList [current=" + super.toString() + "]";
+    }
+
+}
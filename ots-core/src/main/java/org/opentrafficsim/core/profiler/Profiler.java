@@ -0,0 +1,332 @@
+package org.opentrafficsim.core.profiler;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.djunits.value.vdouble.scalar.Duration;
+import org.djutils.exceptions.Throw;
+import org.opentrafficsim.base.OtsRuntimeException;
+import org.opentrafficsim.base.logger.Logger;
+import org.opentrafficsim.core.dsol.OtsSimulatorInterface;
+import org.opentrafficsim.core.gtu.GtuType;
+
+import jdk.jfr.FlightRecorder;
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+
+/**
+ * Opt-in profiler that times stages of a simulation, per GTU type and aggregated. Stages are timed as below, where the
+ * timestamp returned by {@code lap()} can be used to time a next stage directly after.
+ *
+ * <pre>
+ * long t = Profiler.start();
+ * perception.perceive();
+ * t = Profiler.lap(ProfilerStage.PERCEPTION, gtuType, t);
+ * </pre>
+ *
+ * When the profiler is disabled, {@code start()} returns 0 and each {@code lap()} is a single branch on that value. When
+ * enabled, each timed stage is committed as a JDK Flight Recorder event "org.opentrafficsim.Stage" if that event is enabled in
+ * a recording, and periodic "org.opentrafficsim.StageSummary" events contain aggregated statistics. A summary table is
+ * available from {@code summary()}, and can be logged periodically during a simulation with {@code scheduleSummary()}.
+ * <p>
+ * The profiler is global to the JVM, and should be enabled before a simulation is started.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public final class Profiler
+{
+
+    /** Key of statistics of stages that are not for a GTU, and of aggregated statistics in the summary. */
+    private static final String ALL = "-";
+
+    /** Statistics per stage, per GTU type id. */
+    private static final Map<ProfilerStage, Map<String, Statistics>> STATISTICS = new EnumMap<>(ProfilerStage.class);
+
+    static
+    {
+        for (ProfilerStage stage : ProfilerStage.values())
+        {
+            STATISTICS.put(stage, new ConcurrentHashMap<>());
+        }
+    }
+
+    /** Whether the profiler is enabled. */
+    private static volatile boolean enabled = false;
+
+    /** Whether the periodic JFR event is registered. */
+    private static boolean periodicEventRegistered = false;
+
+    /**
+     * Constructor.
+     */
+    private Profiler()
+    {
+        //
+    }
+
+    /**
+     * Sets whether the profiler is enabled.
+     * @param enable whether the profiler is enabled
+     */
+    public static synchronized void setEnabled(final boolean enable)
+    {
+        if (enable && !periodicEventRegistered)
+        {
+            FlightRecorder.addPeriodicEvent(ProfilerSummaryEvent.class, Profiler::commitSummaryEvents);
+            periodicEventRegistered = true;
+        }
+        enabled = enable;
+    }
+
+    /**
+     * Returns whether the profiler is enabled.
+     * @return whether the profiler is enabled
+     */
+    public static boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    /**
+     * Returns the timestamp to start timing a stage.
+     * @return timestamp, 0 if the profiler is disabled
+     */
+    public static long start()
+    {
+        return enabled ? timestamp() : 0L;
+    }
+
+    /**
+     * Records the time of a stage since the given timestamp, and returns a new timestamp to time a next stage.
+     * @param stage stage
+     * @param gtuType GTU type, may be {@code null} if the stage is not for a GTU
+     * @param start timestamp from {@code start()} or a previous {@code lap()}
+     * @return timestamp, 0 if the profiler was disabled at the start
+     */
+    public static long lap(final ProfilerStage stage, final GtuType gtuType, final long start)
+    {
+        if (start == 0L)
+        {
+            return 0L;
+        }
+        long now = timestamp();
+        record(stage, gtuType, now - start);
+        return now;
+    }
+
+    /**
+     * Returns a timestamp, which is never 0.
+     * @return timestamp
+     */
+    private static long timestamp()
+    {
+        long now = System.nanoTime();
+        return now == 0L ? 1L : now;
+    }
+
+    /**
+     * Records the time of a stage.
+     * @param stage stage
+     * @param gtuType GTU type, may be {@code null}
+     * @param nanos time [ns]
+     */
+    private static void record(final ProfilerStage stage, final GtuType gtuType, final long nanos)
+    {
+        String gtuTypeId = gtuType == null ? ALL : gtuType.getId();
+        STATISTICS.get(stage).computeIfAbsent(gtuTypeId, (id) -> new Statistics()).add(nanos);
+        ProfilerEvent event = new ProfilerEvent();
+        if (event.isEnabled())
+        {
+            event.stage = stage.getLabel();
+            event.gtuType = gtuType == null ? null : gtuTypeId;
+            event.time = nanos;
+            event.commit();
+        }
+    }
+
+    /**
+     * Commits a summary event for each stage that was timed.
+     */
+    private static void commitSummaryEvents()
+    {
+        for (ProfilerStage stage : ProfilerStage.values())
+        {
+            Statistics statistics = aggregate(stage);
+            if (statistics.count.sum() > 0L)
+            {
+                ProfilerSummaryEvent event = new ProfilerSummaryEvent();
+                event.stage = stage.getLabel();
+                event.count = statistics.count.sum();
+                event.total = statistics.total.sum();
+                event.max = statistics.max.get();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Returns the statistics of a stage aggregated over GTU types.
+     * @param stage stage
+     * @return aggregated statistics
+     */
+    private static Statistics aggregate(final ProfilerStage stage)
+    {
+        Statistics aggregate = new Statistics();
+        for (Statistics statistics : STATISTICS.get(stage).values())
+        {
+            aggregate.count.add(statistics.count.sum());
+            aggregate.total.add(statistics.total.sum());
+            aggregate.max.accumulate(statistics.max.get());
+        }
+        return aggregate;
+    }
+
+    /**
+     * Returns the number of times a stage was timed, aggregated over GTU types.
+     * @param stage stage
+     * @return number of times the stage was timed
+     */
+    public static long getCount(final ProfilerStage stage)
+    {
+        Throw.whenNull(stage, "Stage may not be null.");
+        return aggregate(stage).count.sum();
+    }
+
+    /**
+     * Returns the total time spent in a stage, aggregated over GTU types.
+     * @param stage stage
+     * @return total time spent in the stage
+     */
+    public static Duration getTotalTime(final ProfilerStage stage)
+    {
+        Throw.whenNull(stage, "Stage may not be null.");
+        return Duration.ofSI(aggregate(stage).total.sum() / 1e9);
+    }
+
+    /**
+     * Returns the total time spent in a stage for a GTU type.
+     * @param stage stage
+     * @param gtuType GTU type
+     * @return total time spent in the stage for the GTU type
+     */
+    public static Duration getTotalTime(final ProfilerStage stage, final GtuType gtuType)
+    {
+        Throw.whenNull(stage, "Stage may not be null.");
+        Throw.whenNull(gtuType, "GTU type may not be null.");
+        Statistics statistics = STATISTICS.get(stage).get(gtuType.getId());
+        return Duration.ofSI(statistics == null ? 0.0 : statistics.total.sum() / 1e9);
+    }
+
+    /**
+     * Resets all statistics.
+     */
+    public static void reset()
+    {
+        STATISTICS.values().forEach(Map::clear);
+    }
+
+    /**
+     * Returns a summary table of all timed stages. For stages that are timed per GTU type, a row per GTU type is given after
+     * the aggregated row.
+     * @return summary table
+     */
+    public static String summary()
+    {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(Locale.US, "%-22s %-16s %12s %12s %12s %12s", "Stage", "GTU type", "Count", "Total [ms]",
+                "Mean [us]", "Max [us]"));
+        for (ProfilerStage stage : ProfilerStage.values())
+        {
+            Map<String, Statistics> perType = new TreeMap<>(STATISTICS.get(stage));
+            if (perType.isEmpty())
+            {
+                continue;
+            }
+            lines.add(summaryLine(stage.getLabel(), ALL, aggregate(stage)));
+            perType.remove(ALL);
+            for (Entry<String, Statistics> entry : perType.entrySet())
+            {
+                lines.add(summaryLine("", entry.getKey(), entry.getValue()));
+            }
+        }
+        return String.join(System.lineSeparator(), lines);
+    }
+
+    /**
+     * Returns a line of the summary table.
+     * @param stage stage label
+     * @param gtuType GTU type id
+     * @param statistics statistics
+     * @return line of the summary table
+     */
+    private static String summaryLine(final String stage, final String gtuType, final Statistics statistics)
+    {
+        long count = statistics.count.sum();
+        long total = statistics.total.sum();
+        return String.format(Locale.US, "%-22s %-16s %12d %12.3f %12.3f %12.3f", stage, gtuType, count, total / 1e6,
+                count == 0L ? 0.0 : total / 1e3 / count, statistics.max.get() / 1e3);
+    }
+
+    /**
+     * Logs the summary table periodically during a simulation, starting one interval from now.
+     * @param simulator simulator
+     * @param interval interval
+     * @throws IllegalArgumentException when the interval is not positive
+     */
+    public static void scheduleSummary(final OtsSimulatorInterface simulator, final Duration interval)
+    {
+        Throw.whenNull(simulator, "Simulator may not be null.");
+        Throw.whenNull(interval, "Interval may not be null.");
+        Throw.when(interval.le0(), IllegalArgumentException.class, "Interval should be positive.");
+        try
+        {
+            simulator.scheduleEventRel(interval, () ->
+            {
+                Logger.ots().info("Profiler summary at {}{}{}", simulator.getSimulatorTime(), System.lineSeparator(),
+                        summary());
+                scheduleSummary(simulator, interval);
+            });
+        }
+        catch (SimRuntimeException exception)
+        {
+            throw new OtsRuntimeException(exception);
+        }
+    }
+
+    /**
+     * Statistics of a stage for a GTU type.
+     */
+    private static final class Statistics
+    {
+        /** Number of times the stage was timed. */
+        private final LongAdder count = new LongAdder();
+
+        /** Total time [ns]. */
+        private final LongAdder total = new LongAdder();
+
+        /** Maximum time [ns]. */
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+        /**
+         * Adds a time.
+         * @param nanos time [ns]
+         */
+        void add(final long nanos)
+        {
+            this.count.increment();
+            this.total.add(nanos);
+            this.max.accumulate(nanos);
+        }
+    }
+
+}
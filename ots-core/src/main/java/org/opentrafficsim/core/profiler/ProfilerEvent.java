@@ -0,0 +1,40 @@
+package org.opentrafficsim.core.profiler;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JDK Flight Recorder event of a single timed stage. The time is measured by the {@code Profiler}, rather than by the event.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+@Name("org.opentrafficsim.Stage")
+@Label("Stage")
+@Category("OpenTrafficSim")
+@Description("Time spent in a stage of the simulation")
+@StackTrace(false)
+class ProfilerEvent extends Event
+{
+
+    /** Stage. */
+    @Label("Stage")
+    String stage;
+
+    /** GTU type id, {@code null} if the stage is not for a GTU. */
+    @Label("GTU type")
+    String gtuType;
+
+    /** Time spent in the stage. */
+    @Label("Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long time;
+
+}
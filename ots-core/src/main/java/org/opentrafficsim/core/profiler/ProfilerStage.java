@@ -0,0 +1,61 @@
+package org.opentrafficsim.core.profiler;
+
+/**
+ * Stages of a simulation that are timed by the {@code Profiler}.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public enum ProfilerStage
+{
+    /** Perception of a GTU in a move. */
+    PERCEPTION("perception"),
+
+    /** Generation of the operational plan of a GTU in a move. */
+    OPERATIONAL_PLAN("operational plan"),
+
+    /** Scheduling of lane events of a GTU in a move. */
+    LANE_EVENTS("lane events"),
+
+    /** Search for detector triggers of a GTU in a move. */
+    DETECTOR_TRIGGERS("detector triggers"),
+
+    /** Firing of move events of a GTU, including all listeners. */
+    EVENT_FIRING("event firing"),
+
+    /** Attempt of a generator to place a GTU, including construction of the GTU when placed. */
+    GENERATOR_PLACEMENT("generator placement"),
+
+    /** Evaluation of a traffic controller. */
+    CONTROLLER_EVALUATION("controller evaluation"),
+
+    /** Snapshot of a GTU by a sampler. */
+    SAMPLER_SNAPSHOT("sampler snapshot"),
+
+    /** Clean-up of history. */
+    HISTORY_CLEANUP("history clean-up");
+
+    /** Label. */
+    private final String label;
+
+    /**
+     * Constructor.
+     * @param label label
+     */
+    ProfilerStage(final String label)
+    {
+        this.label = label;
+    }
+
+    /**
+     * Returns the label.
+     * @return label
+     */
+    public String getLabel()
+    {
+        return this.label;
+    }
+
+}
@@ -0,0 +1,47 @@
+package org.opentrafficsim.core.profiler;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Periodic JDK Flight Recorder event with the aggregated statistics of a stage since the profiler was last reset.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+@Name("org.opentrafficsim.StageSummary")
+@Label("Stage Summary")
+@Category("OpenTrafficSim")
+@Description("Aggregated time spent in a stage of the simulation")
+@Period("10 s")
+@StackTrace(false)
+class ProfilerSummaryEvent extends Event
+{
+
+    /** Stage. */
+    @Label("Stage")
+    String stage;
+
+    /** Number of times the stage was timed. */
+    @Label("Count")
+    long count;
+
+    /** Total time spent in the stage. */
+    @Label("Total Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long total;
+
+    /** Maximum time spent in the stage. */
+    @Label("Maximum Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long max;
+
+}
@@ -0,0 +1,151 @@
+package org.opentrafficsim.core.dsol;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import org.djunits.value.vdouble.scalar.Duration;
+import org.opentrafficsim.base.OtsRuntimeException;
+
+import nl.tudelft.simulation.dsol.eventlists.EventListInterface;
+import nl.tudelft.simulation.dsol.eventlists.RedBlackTree;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.LambdaSimEvent;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.SimEventInterface;
+
+/**
+ * Performs a benchmark on the default DSOL event list and CalendarEventList, with 10^4 and 10^6 pending events. Events are
+ * removed as the simulator does, and for each removed event a new event is added as GTU moves, lane and detector triggers do.
+ * A part of the pending events is cancelled and added again for a new time, as for interrupted operational plans.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public final class CalendarEventListBenchmark
+{
+
+    /** Numbers of pending events. */
+    private static final int[] PENDING = new int[] {10_000, 1_000_000};
+
+    /** Maximum number of pending events, used to derive an index from the event id. */
+    private static final int MAX_PENDING = 1_000_000;
+
+    /** Number of executed events. */
+    private static final int EXECUTED = 5_000_000;
+
+    /** Fraction of executed events for which a pending event is cancelled. */
+    private static final double CANCEL_FRACTION = 0.2;
+
+    /**
+     * Constructor.
+     */
+    private CalendarEventListBenchmark()
+    {
+        //
+    }
+
+    /**
+     * Program entry point.
+     * @param args the command line arguments (not used)
+     */
+    public static void main(final String... args)
+    {
+        for (int pending : PENDING)
+        {
+            // second run after warm-up
+            for (int run = 0; run < 2; run++)
+            {
+                long checksum1 = benchmark("RedBlackTree", RedBlackTree::new, pending);
+                long checksum2 = benchmark("CalendarEventList", CalendarEventList::new, pending);
+                if (checksum1 != checksum2)
+                {
+                    throw new OtsRuntimeException("Event lists executed events in different order.");
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs the benchmark on an event list.
+     * @param name name of the event list
+     * @param supplier supplier of the event list
+     * @param n number of pending events
+     * @return checksum of the order of executed events
+     */
+    private static long benchmark(final String name, final Supplier<EventListInterface<Duration>> supplier, final int n)
+    {
+        EventListInterface<Duration> list = supplier.get();
+        Random random = new Random(1L);
+        @SuppressWarnings("unchecked")
+        SimEventInterface<Duration>[] pending = new SimEventInterface[n];
+        for (int i = 0; i < n; i++)
+        {
+            pending[i] = event(random, 0.0, i);
+            list.add(pending[i]);
+        }
+        long checksum = 0L;
+        long t = System.nanoTime();
+        for (int i = 0; i < EXECUTED; i++)
+        {
+            SimEventInterface<Duration> event = list.removeFirst();
+            int index = (int) (event.getId() % MAX_PENDING);
+            double now = event.getAbsoluteExecutionTime().si;
+            checksum = 31L * checksum + 17L * index + Double.hashCode(now);
+            pending[index] = event(random, now, index);
+            list.add(pending[index]);
+            if (random.nextDouble() < CANCEL_FRACTION)
+            {
+                int cancel = random.nextInt(n);
+                if (list.remove(pending[cancel]))
+                {
+                    pending[cancel] = event(random, now, cancel);
+                    list.add(pending[cancel]);
+                }
+            }
+        }
+        t = System.nanoTime() - t;
+        System.out.println(String.format(Locale.US, "%s: %d pending, %.0f events/s", name, list.size(), EXECUTED / (t / 1e9)));
+        return checksum;
+    }
+
+    /**
+     * Returns an event for an index in the pending events, with id such that the index can be derived from it. Half of the
+     * events is on the next aligned step of 0.5s, as GTU moves, others are at a random time within 2s, as lane and detector
+     * triggers, and a few are up to a minute ahead, as generators and sampling intervals.
+     * @param random random number generator
+     * @param now current time [s]
+     * @param index index in pending events
+     * @return event
+     */
+    private static SimEventInterface<Duration> event(final Random random, final double now, final int index)
+    {
+        double r = random.nextDouble();
+        double time = r < 0.5 ? 0.5 * (Math.floor(now / 0.5) + 1) : now + (r < 0.95 ? 2.0 : 60.0) * random.nextDouble();
+        return new IndexedEvent(Duration.ofSI(time), index);
+    }
+
+    /**
+     * Event with id derived from an index.
+     */
+    private static final class IndexedEvent extends LambdaSimEvent<Duration>
+    {
+        /** Counter of events, to create unique ids. */
+        private static long counter = 0L;
+
+        /**
+         * Constructor.
+         * @param time execution time
+         * @param index index in pending events
+         */
+        IndexedEvent(final Duration time, final int index)
+        {
+            super(time, () ->
+            {
+                //
+            });
+            this.id = (counter++) * MAX_PENDING + index;
+        }
+    }
+
+}
@@ -0,0 +1,233 @@
+package org.opentrafficsim.core.dsol;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import javax.naming.NamingException;
+
+import org.djunits.value.vdouble.scalar.Duration;
+import org.junit.jupiter.api.Test;
+import org.opentrafficsim.core.dsol.AbstractOtsModelTest.OtsModel;
+import org.opentrafficsim.core.perception.HistoryManagerDevs;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.eventlists.EventListInterface;
+import nl.tudelft.simulation.dsol.eventlists.RedBlackTree;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.LambdaSimEvent;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.SimEventInterface;
+
+/**
+ * Test of CalendarEventList.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public final class CalendarEventListTest
+{
+
+    /** */
+    private CalendarEventListTest()
+    {
+        // do not instantiate test class
+    }
+
+    /**
+     * Tests basic operations and input checks.
+     */
+    @Test
+    public void testBasics()
+    {
+        assertThrows(NullPointerException.class, () -> new CalendarEventList(null, 10));
+        assertThrows(IllegalArgumentException.class, () -> new CalendarEventList(Duration.ZERO, 10));
+        assertThrows(IllegalArgumentException.class, () -> new CalendarEventList(Duration.ofSI(1.0), 0));
+
+        CalendarEventList list = new CalendarEventList();
+        assertTrue(list.isEmpty());
+        assertNull(list.first());
+        assertNull(list.removeFirst());
+        assertThrows(NullPointerException.class, () -> list.add(null));
+
+        SimEventInterface<Duration> late = event(1000.0, SimEventInterface.NORMAL_PRIORITY);
+        SimEventInterface<Duration> early = event(1.0, SimEventInterface.NORMAL_PRIORITY);
+        SimEventInterface<Duration> urgent = event(1.0, SimEventInterface.MAX_PRIORITY);
+        list.add(late);
+        list.add(early);
+        list.add(urgent);
+        list.add(early);
+        assertEquals(3, list.size());
+        assertTrue(list.contains(late));
+        Iterator<SimEventInterface<Duration>> iterator = list.iterator();
+        assertEquals(urgent, iterator.next());
+        assertEquals(early, iterator.next());
+        assertEquals(late, iterator.next());
+        assertFalse(iterator.hasNext());
+
+        assertTrue(list.remove(urgent));
+        assertFalse(list.remove(urgent));
+        assertFalse(list.contains(urgent));
+        assertEquals(2, list.size());
+        assertEquals(early, list.first());
+        assertEquals(early, list.removeFirst());
+        assertEquals(late, list.removeFirst());
+        assertTrue(list.isEmpty());
+
+        list.add(early);
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertNull(list.first());
+    }
+
+    /**
+     * Tests that events are returned in the same order as the default event list, with random adds and removes, for a wheel
+     * with a short horizon such that the overflow is used, and for the default wheel.
+     */
+    @Test
+    public void testOrder()
+    {
+        for (CalendarEventList list : new CalendarEventList[] {new CalendarEventList(Duration.ofSI(0.5), 8),
+                new CalendarEventList()})
+        {
+            EventListInterface<Duration> reference = new RedBlackTree<>();
+            Random random = new Random(1L);
+            List<SimEventInterface<Duration>> pending = new ArrayList<>();
+            double now = 0.0;
+            for (int i = 0; i < 100000; i++)
+            {
+                double r = random.nextDouble();
+                if (r < 0.5 || pending.isEmpty())
+                {
+                    // aligned steps, some exact and some far ahead
+                    double time = now + (random.nextBoolean() ? 0.5 * random.nextInt(4)
+                            : random.nextDouble() * (random.nextDouble() < 0.1 ? 1000.0 : 10.0));
+                    short priority = (short) (SimEventInterface.NORMAL_PRIORITY + random.nextInt(3) - 1);
+                    SimEventInterface<Duration> event = event(time, priority);
+                    list.add(event);
+                    reference.add(event);
+                    pending.add(event);
+                }
+                else if (r < 0.7)
+                {
+                    SimEventInterface<Duration> event = pending.remove(random.nextInt(pending.size()));
+                    assertEquals(reference.remove(event), list.remove(event));
+                }
+                else
+                {
+                    assertEquals(reference.first(), list.first());
+                    SimEventInterface<Duration> event = reference.removeFirst();
+                    assertEquals(event, list.removeFirst());
+                    pending.remove(event);
+                    now = event.getAbsoluteExecutionTime().si;
+                }
+                assertEquals(reference.size(), list.size());
+            }
+            while (!reference.isEmpty())
+            {
+                assertEquals(reference.removeFirst(), list.removeFirst());
+            }
+            assertTrue(list.isEmpty());
+        }
+    }
+
+    /**
+     * Tests removing events from the middle of a large bucket, as happens when GTU moves at an aligned step are cancelled.
+     */
+    @Test
+    public void testLargeBucket()
+    {
+        CalendarEventList list = new CalendarEventList();
+        EventListInterface<Duration> reference = new RedBlackTree<>();
+        Random random = new Random(2L);
+        List<SimEventInterface<Duration>> pending = new ArrayList<>();
+        for (int i = 0; i < 10000; i++)
+        {
+            SimEventInterface<Duration> event = event(1.0 + 0.001 * random.nextInt(3), SimEventInterface.NORMAL_PRIORITY);
+            list.add(event);
+            reference.add(event);
+            pending.add(event);
+        }
+        for (int i = 0; i < 9000; i++)
+        {
+            SimEventInterface<Duration> event = pending.remove(random.nextInt(pending.size()));
+            assertTrue(list.remove(event));
+            reference.remove(event);
+            assertFalse(list.contains(event));
+            if (i % 10 == 0)
+            {
+                // re-add, between marked events, and add a new event
+                for (SimEventInterface<Duration> added : List.of(event,
+                        event(1.0 + 0.001 * random.nextInt(3), SimEventInterface.NORMAL_PRIORITY)))
+                {
+                    list.add(added);
+                    reference.add(added);
+                    pending.add(added);
+                }
+            }
+            assertEquals(reference.size(), list.size());
+        }
+        List<SimEventInterface<Duration>> expected = new ArrayList<>();
+        reference.iterator().forEachRemaining(expected::add);
+        List<SimEventInterface<Duration>> actual = new ArrayList<>();
+        list.iterator().forEachRemaining(actual::add);
+        assertEquals(expected, actual);
+        while (!reference.isEmpty())
+        {
+            assertEquals(reference.removeFirst(), list.removeFirst());
+        }
+        assertTrue(list.isEmpty());
+    }
+
+    /**
+     * Tests a simulator with the event list.
+     * @throws NamingException if that happens uncaught; this test has failed
+     * @throws SimRuntimeException if that happens uncaught; this test has failed
+     * @throws InterruptedException if that happens uncaught; this test has failed
+     */
+    @Test
+    public void testSimulator() throws SimRuntimeException, NamingException, InterruptedException
+    {
+        OtsSimulator simulator = new OtsSimulator("Simulator for CalendarEventList test", new CalendarEventList());
+        assertThrows(NullPointerException.class, () -> new OtsSimulator("id", null));
+        OtsModel model = new OtsModel(simulator);
+        simulator.initialize(Duration.ZERO, Duration.ZERO, Duration.ofSI(100.0), model,
+                HistoryManagerDevs.noHistory(simulator));
+        List<Double> times = new ArrayList<>();
+        for (double t : new double[] {50.0, 2.5, 0.5, 700.0, 10.0})
+        {
+            simulator.scheduleEventAbs(Duration.ofSI(t), () -> times.add(simulator.getSimulatorTime().si));
+        }
+        SimEventInterface<Duration> cancelled =
+                simulator.scheduleEventAbs(Duration.ofSI(5.0), () -> times.add(simulator.getSimulatorTime().si));
+        simulator.cancelEvent(cancelled);
+        simulator.start();
+        while (simulator.isStartingOrRunning())
+        {
+            Thread.sleep(10);
+        }
+        assertEquals(List.of(0.5, 2.5, 10.0, 50.0), times);
+    }
+
+    /**
+     * Returns an event.
+     * @param time time [s]
+     * @param priority priority
+     * @return event
+     */
+    private static SimEventInterface<Duration> event(final double time, final short priority)
+    {
+        return new LambdaSimEvent<>(Duration.ofSI(time), priority, () ->
+        {
+            //
+        });
+    }
+
+}
@@ -0,0 +1,82 @@
+package org.opentrafficsim.core.dsol;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.djunits.value.vdouble.scalar.Duration;
+import org.junit.jupiter.api.Test;
+
+import nl.tudelft.simulation.dsol.eventlists.EventListInterface;
+import nl.tudelft.simulation.dsol.eventlists.RedBlackTree;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.LambdaSimEvent;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.SimEventInterface;
+
+/**
+ * Test of ReusableSimEvent.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public final class ReusableSimEventTest
+{
+
+    /** */
+    private ReusableSimEventTest()
+    {
+        // do not instantiate test class
+    }
+
+    /**
+     * Tests that reused events are ordered in the order they were prepared, after other events at equal time.
+     */
+    @Test
+    public void testReuse()
+    {
+        List<String> executed = new ArrayList<>();
+        ReusableSimEvent reusable = new ReusableSimEvent()
+        {
+            @Override
+            public void execute()
+            {
+                executed.add("reusable@" + getTime());
+            }
+        };
+        ReusableSimEvent second = new ReusableSimEvent()
+        {
+            @Override
+            public void execute()
+            {
+                executed.add("second@" + getTime());
+            }
+        };
+        EventListInterface<Duration> eventList = new RedBlackTree<>();
+        for (double time : new double[] {1.0, 2.0})
+        {
+            SimEventInterface<Duration> before =
+                    new LambdaSimEvent<>(Duration.ofSI(time), () -> executed.add("before@" + time));
+            reusable.setTime(time);
+            assertEquals(time, reusable.getTime());
+            assertEquals(time, reusable.getAbsoluteExecutionTime().si);
+            assertTrue(reusable.getId() > before.getId());
+            SimEventInterface<Duration> after = new LambdaSimEvent<>(Duration.ofSI(time), () -> executed.add("after@" + time));
+            second.setTime(time);
+            assertTrue(second.getId() > reusable.getId());
+            eventList.add(second);
+            eventList.add(after);
+            eventList.add(reusable);
+            eventList.add(before);
+            while (!eventList.isEmpty())
+            {
+                eventList.removeFirst().execute();
+            }
+        }
+        assertEquals(List.of("before@1.0", "after@1.0", "reusable@1.0", "second@1.0", "before@2.0", "after@2.0", "reusable@2.0",
+                "second@2.0"), executed);
+    }
+
+}
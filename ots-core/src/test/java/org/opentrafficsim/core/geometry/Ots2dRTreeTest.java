@@ -0,0 +1,176 @@
+package org.opentrafficsim.core.geometry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+
+import org.djutils.draw.bounds.Bounds2d;
+import org.djutils.draw.point.Point2d;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the Ots2dRTree class against brute force searches.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public final class Ots2dRTreeTest
+{
+
+    /** */
+    private Ots2dRTreeTest()
+    {
+        // do not instantiate test class
+    }
+
+    /**
+     * Test empty tree.
+     */
+    @Test
+    public void testEmpty()
+    {
+        Ots2dRTree<Bounds2d> tree = new Ots2dRTree<>(new ArrayList<>(), (b) -> b);
+        assertTrue(tree.isEmpty());
+        assertEquals(0, tree.size());
+        assertFalse(tree.getBounds().isPresent());
+        assertTrue(tree.find(new Bounds2d(-1, 1, -1, 1)).isEmpty());
+        assertFalse(tree.nearest(new Point2d(0, 0), (b) -> true, (b) -> 0.0).isPresent());
+    }
+
+    /**
+     * Test area and nearest-neighbour queries.
+     */
+    @Test
+    public void testQueries()
+    {
+        Random random = new Random(1L);
+        for (int n : new int[] {1, 15, 16, 17, 300, 5000})
+        {
+            List<Bounds2d> items = new ArrayList<>();
+            for (int i = 0; i < n; i++)
+            {
+                items.add(randomBounds(random, 1000.0, 20.0));
+            }
+            Ots2dRTree<Bounds2d> tree = new Ots2dRTree<>(items, (b) -> b);
+            assertEquals(n, tree.size());
+            assertEquals(new Bounds2d(items.toArray(new Bounds2d[0])), tree.getBounds().get());
+            for (int q = 0; q < 50; q++)
+            {
+                Bounds2d area = randomBounds(random, 1000.0, 200.0);
+                List<Bounds2d> expected = new ArrayList<>();
+                for (Bounds2d item : items)
+                {
+                    if (item.intersects(area) || item.covers(area) || area.covers(item))
+                    {
+                        expected.add(item);
+                    }
+                }
+                assertEquals(new LinkedHashSet<>(expected), new LinkedHashSet<>(tree.find(area)), "area query " + area);
+
+                Point2d point = new Point2d(random.nextDouble() * 1200.0 - 100.0, random.nextDouble() * 1200.0 - 100.0);
+                double best = Double.POSITIVE_INFINITY;
+                for (Bounds2d item : items)
+                {
+                    if (item.getMinX() > 500.0)
+                    {
+                        best = Math.min(best, item.midPoint().distance(point));
+                    }
+                }
+                double nearest = tree.nearest(point, (b) -> b.getMinX() > 500.0, (b) -> b.midPoint().distance(point))
+                        .map((b) -> b.midPoint().distance(point)).orElse(Double.POSITIVE_INFINITY);
+                assertEquals(best, nearest, 1e-9, "nearest query " + point);
+            }
+        }
+    }
+
+    /**
+     * Test the grid of moving objects.
+     */
+    @Test
+    public void testGrid()
+    {
+        Random random = new Random(2L);
+        Ots2dGrid<Integer> grid = new Ots2dGrid<>(50.0);
+        List<Bounds2d> bounds = new ArrayList<>();
+        for (int i = 0; i < 500; i++)
+        {
+            // a few large objects are stored as overflow
+            bounds.add(randomBounds(random, 1000.0, i % 100 == 0 ? 800.0 : 30.0));
+            grid.put(i, bounds.get(i));
+        }
+        for (int step = 0; step < 5; step++)
+        {
+            // move all objects, and remove some
+            for (int i = 0; i < bounds.size(); i++)
+            {
+                if (bounds.get(i) != null)
+                {
+                    Bounds2d b = bounds.get(i);
+                    double dx = random.nextDouble() * 40.0;
+                    double dy = random.nextDouble() * 40.0 - 20.0;
+                    bounds.set(i, new Bounds2d(b.getMinX() + dx, b.getMaxX() + dx, b.getMinY() + dy, b.getMaxY() + dy));
+                    grid.put(i, bounds.get(i));
+                }
+                if (random.nextDouble() < 0.02 && bounds.get(i) != null)
+                {
+                    assertTrue(grid.remove(i));
+                    assertFalse(grid.contains(i));
+                    bounds.set(i, null);
+                }
+            }
+            for (int q = 0; q < 50; q++)
+            {
+                Bounds2d area = randomBounds(random, 1000.0, 150.0);
+                LinkedHashSet<Integer> expected = new LinkedHashSet<>();
+                for (int i = 0; i < bounds.size(); i++)
+                {
+                    Bounds2d b = bounds.get(i);
+                    if (b != null && (b.intersects(area) || b.covers(area) || area.covers(b)))
+                    {
+                        expected.add(i);
+                    }
+                }
+                assertEquals(expected, new LinkedHashSet<>(grid.find(area)), "grid query " + area);
+
+                Point2d point = new Point2d(random.nextDouble() * 1000.0, random.nextDouble() * 1000.0);
+                double best = Double.POSITIVE_INFINITY;
+                for (Bounds2d b : bounds)
+                {
+                    if (b != null && b.midPoint().distance(point) <= 100.0)
+                    {
+                        best = Math.min(best, b.midPoint().distance(point));
+                    }
+                }
+                double nearest = grid.nearest(point, 100.0, (i) -> bounds.get(i).midPoint().distance(point))
+                        .map((i) -> bounds.get(i).midPoint().distance(point)).orElse(Double.POSITIVE_INFINITY);
+                assertEquals(best, nearest, 1e-9, "grid nearest query " + point);
+            }
+        }
+        long count = bounds.stream().filter((b) -> b != null).count();
+        assertEquals(count, grid.size());
+        grid.clear();
+        assertEquals(0, grid.size());
+    }
+
+    /**
+     * Returns random bounds.
+     * @param random random number generator
+     * @param range range of the lower-left corner
+     * @param maxSize maximum size in x and y direction
+     * @return random bounds
+     */
+    private static Bounds2d randomBounds(final Random random, final double range, final double maxSize)
+    {
+        double x = random.nextDouble() * range;
+        double y = random.nextDouble() * range;
+        return new Bounds2d(x, x + random.nextDouble() * maxSize, y, y + random.nextDouble() * maxSize);
+    }
+
+}
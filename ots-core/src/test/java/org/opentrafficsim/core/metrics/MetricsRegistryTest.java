@@ -0,0 +1,157 @@
+package org.opentrafficsim.core.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.naming.NamingException;
+
+import org.djunits.value.vdouble.scalar.Duration;
+import org.djunits.value.vdouble.scalar.Length;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.opentrafficsim.core.dsol.OtsModelInterface;
+import org.opentrafficsim.core.dsol.OtsSimulator;
+import org.opentrafficsim.core.gtu.Gtu;
+import org.opentrafficsim.core.network.Network;
+import org.opentrafficsim.core.perception.HistoryManagerDevs;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+
+/**
+ * Test of MetricsRegistry and SimulationMetrics.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public final class MetricsRegistryTest
+{
+
+    /** */
+    private MetricsRegistryTest()
+    {
+        // do not instantiate test class
+    }
+
+    /**
+     * Tests the metrics and the Prometheus text format.
+     */
+    @Test
+    public void testRegistry()
+    {
+        MetricsRegistry registry = new MetricsRegistry();
+        Counter counter = registry.counter("test_total", "Test counter.");
+        counter.increment();
+        counter.add(2L);
+        assertEquals(3L, counter.get());
+        assertThrows(IllegalArgumentException.class, () -> counter.add(-1L));
+        registry.gauge("test_gauge", "Test gauge.", () -> 0.5);
+        Map<String, Integer> queues = new LinkedHashMap<>();
+        queues.put("a", 1);
+        queues.put("b\"c", 2);
+        registry.gauge("test_labeled", "Test labeled gauge.", "id", () -> queues);
+        Histogram histogram = registry.histogram("test_histogram", "Test histogram.", 1.0, 2.0);
+        histogram.observe(0.5);
+        histogram.observe(1.0);
+        histogram.observe(1.5);
+        histogram.observe(3.0);
+        assertEquals(4L, histogram.getCount());
+        assertEquals(6.0, histogram.getSum(), 1e-12);
+        assertArrayEquals(new long[] {2L, 3L, 4L}, histogram.getCumulativeCounts());
+
+        assertThrows(IllegalArgumentException.class, () -> registry.counter("test_total", "Duplicate."));
+        assertThrows(IllegalArgumentException.class, () -> registry.counter("1invalid", "Invalid name."));
+        assertThrows(IllegalArgumentException.class, () -> registry.gauge("test_other", "Invalid label.", "a-b", () -> queues));
+        assertThrows(NullPointerException.class, () -> registry.gauge("test_other", "No supplier.", null));
+        assertThrows(IllegalArgumentException.class, () -> registry.histogram("test_other", "No bounds."));
+        assertThrows(IllegalArgumentException.class, () -> registry.histogram("test_other", "Decreasing.", 2.0, 1.0));
+        assertThrows(IllegalArgumentException.class,
+                () -> registry.histogram("test_other", "Infinite.", Double.POSITIVE_INFINITY));
+
+        String expected = """
+                # HELP test_total Test counter.
+                # TYPE test_total counter
+                test_total 3
+                # HELP test_gauge Test gauge.
+                # TYPE test_gauge gauge
+                test_gauge 0.5
+                # HELP test_labeled Test labeled gauge.
+                # TYPE test_labeled gauge
+                test_labeled{id="a"} 1
+                test_labeled{id="b\\"c"} 2
+                # HELP test_histogram Test histogram.
+                # TYPE test_histogram histogram
+                test_histogram_bucket{le="1"} 2
+                test_histogram_bucket{le="2"} 3
+                test_histogram_bucket{le="+Inf"} 4
+                test_histogram_sum 6
+                test_histogram_count 4
+                """;
+        assertEquals(expected, registry.toPrometheus());
+    }
+
+    /**
+     * Tests the metrics of a simulator and network.
+     * @throws NamingException if that happens uncaught; this test has failed
+     * @throws SimRuntimeException if that happens uncaught; this test has failed
+     * @throws InterruptedException if that happens uncaught; this test has failed
+     */
+    @Test
+    public void testSimulationMetrics() throws SimRuntimeException, NamingException, InterruptedException
+    {
+        OtsSimulator simulator = new OtsSimulator("Simulator for SimulationMetrics test");
+        Network network = new Network("network", simulator);
+        simulator.initialize(Duration.ZERO, Duration.ZERO, Duration.ofSI(100.0), Mockito.mock(OtsModelInterface.class),
+                HistoryManagerDevs.noHistory(simulator));
+        // a GTU that exists before registration counts as alive
+        Gtu existing = Mockito.mock(Gtu.class);
+        Mockito.when(existing.getId()).thenReturn("0");
+        network.addGTU(existing);
+        MetricsRegistry registry = new MetricsRegistry();
+        SimulationMetrics.register(registry, simulator, network);
+        assertTrue(registry.toPrometheus().contains("ots_simulation_time_seconds 0\n"));
+        assertTrue(registry.toPrometheus().contains("ots_gtus_alive 1\n"));
+        assertThrows(IllegalArgumentException.class, () -> SimulationMetrics.register(registry, simulator, network));
+
+        Gtu gtu = Mockito.mock(Gtu.class);
+        Mockito.when(gtu.getId()).thenReturn("1");
+        Mockito.when(gtu.getOdometer()).thenReturn(Length.ofSI(300.0));
+        simulator.scheduleEventAbs(Duration.ofSI(1.0), () -> network.addGTU(gtu));
+        simulator.scheduleEventAbs(Duration.ofSI(2.0), () -> network.removeGTU(gtu));
+        simulator.scheduleEventAbs(Duration.ofSI(3.0), () -> network.addGTU(gtu));
+        simulator.scheduleEventAbs(Duration.ofSI(200.0), () -> network.removeGTU(gtu));
+        simulator.start();
+        while (simulator.isStartingOrRunning())
+        {
+            Thread.sleep(10);
+        }
+
+        String metrics = registry.toPrometheus();
+        assertTrue(metrics.contains("ots_gtus_generated_total 2\n"), metrics);
+        assertTrue(metrics.contains("ots_gtus_destroyed_total 1\n"), metrics);
+        assertTrue(metrics.contains("ots_gtus_alive 2\n"), metrics);
+        assertTrue(metrics.contains("ots_gtu_trip_distance_meters_bucket{le=\"250\"} 0\n"), metrics);
+        assertTrue(metrics.contains("ots_gtu_trip_distance_meters_bucket{le=\"500\"} 1\n"), metrics);
+        assertTrue(metrics.contains("ots_simulation_time_seconds 100\n"), metrics);
+        // at least 3 events and the end of the replication are executed, which clears the event at 200s
+        assertTrue(metrics.contains("ots_event_list_size 0\n"), metrics);
+        long executed = Long.parseLong(metrics.lines().filter((line) -> line.startsWith("ots_events_executed_total "))
+                .findFirst().orElseThrow().split(" ")[1]);
+        assertTrue(executed >= 4L, metrics);
+
+        // rates are not reset by a scrape, as they span at least the time since registration during the first window
+        for (int scrape = 0; scrape < 2; scrape++)
+        {
+            double ratio = Double.parseDouble(registry.toPrometheus().lines()
+                    .filter((line) -> line.startsWith("ots_sim_wall_time_ratio ")).findFirst().orElseThrow().split(" ")[1]);
+            assertTrue(ratio > 0.0, "Simulation time progressed since registration, the ratio should be positive.");
+        }
+    }
+
+}
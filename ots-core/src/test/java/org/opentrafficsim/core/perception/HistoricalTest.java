@@ -1,11 +1,14 @@
 package org.opentrafficsim.core.perception;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -19,6 +22,7 @@ import org.opentrafficsim.core.dsol.OtsSimulatorInterface;
 import org.opentrafficsim.core.perception.collections.HistoricalHashMap;
 import org.opentrafficsim.core.perception.collections.HistoricalLinkedHashSet;
 import org.opentrafficsim.core.perception.collections.HistoricalLinkedList;
+import org.opentrafficsim.core.perception.collections.HistoricalList;
 import org.opentrafficsim.core.perception.collections.HistoricalMap;
 import org.opentrafficsim.core.perception.collections.HistoricalSet;
 
@@ -252,6 +256,34 @@ public class HistoricalTest
         assertEquals(asMap(5, "5.0", 6, "6.0"), hist.get(Duration.ofSI(6.0)), msg);
     }
 
+    /**
+     * Tests that a history manager without history creates plain values and lists, which are not registered.
+     */
+    @Test
+    public void historyFreeTest()
+    {
+        this.time = Duration.ZERO;
+        assertFalse(this.historyManager.isHistoryFree());
+        Historical<String> withHistory = this.historyManager.newHistorical(new Object(), "0.0");
+        assertTrue(withHistory instanceof HistoricalValue);
+        assertFalse(this.historyManager.getHistoricals().isEmpty());
+
+        HistoryManagerDevs noHistory = HistoryManagerDevs.noHistory(this.simulator);
+        assertTrue(noHistory.isHistoryFree());
+        Historical<String> hist = noHistory.newHistorical(new Object(), "0.0");
+        this.time = Duration.ofSI(1.0);
+        hist.set("1.0");
+        String msg = "History-free value is incorrect.";
+        assertEquals("1.0", hist.get(), msg);
+        assertEquals("1.0", hist.get(Duration.ZERO), msg);
+        HistoricalList<String> list = noHistory.newHistoricalList(new Object());
+        list.add("0.0");
+        list.add(0, "1.0");
+        assertEquals(List.of("1.0", "0.0"), list.get(), msg);
+        assertEquals(List.of("1.0", "0.0"), list.get(Duration.ZERO), msg);
+        assertTrue(noHistory.getHistoricals().isEmpty());
+    }
+
     /**
      * Creates a map with 1 pair.
      * @param int1 key 1
@@ -0,0 +1,153 @@
+package org.opentrafficsim.core.profiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.djunits.value.vdouble.scalar.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.opentrafficsim.core.definitions.DefaultsNl;
+import org.opentrafficsim.core.dsol.OtsSimulatorInterface;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Test of Profiler.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public final class ProfilerTest
+{
+
+    /** Temporary directory for the recording. */
+    @TempDir
+    private Path testDir;
+
+    /** */
+    private ProfilerTest()
+    {
+        // do not instantiate test class
+    }
+
+    /**
+     * Disables and resets the profiler, as it is global.
+     */
+    @AfterEach
+    public void disable()
+    {
+        Profiler.setEnabled(false);
+        Profiler.reset();
+    }
+
+    /**
+     * Tests that nothing is recorded when disabled.
+     */
+    @Test
+    public void testDisabled()
+    {
+        assertFalse(Profiler.isEnabled());
+        long t = Profiler.start();
+        assertEquals(0L, t);
+        assertEquals(0L, Profiler.lap(ProfilerStage.PERCEPTION, DefaultsNl.CAR, t));
+        assertEquals(0L, Profiler.getCount(ProfilerStage.PERCEPTION));
+        assertFalse(Profiler.summary().contains(ProfilerStage.PERCEPTION.getLabel()));
+    }
+
+    /**
+     * Tests statistics per GTU type and aggregated, the summary table, and reset.
+     */
+    @Test
+    public void testStatistics()
+    {
+        Profiler.setEnabled(true);
+        assertTrue(Profiler.isEnabled());
+        long t = Profiler.start();
+        assertNotEquals(0L, t);
+        for (int i = 0; i < 3; i++)
+        {
+            t = Profiler.lap(ProfilerStage.PERCEPTION, DefaultsNl.CAR, t);
+            t = Profiler.lap(ProfilerStage.OPERATIONAL_PLAN, DefaultsNl.CAR, t);
+        }
+        t = Profiler.lap(ProfilerStage.PERCEPTION, DefaultsNl.TRUCK, t);
+        Profiler.lap(ProfilerStage.HISTORY_CLEANUP, null, t);
+        assertEquals(4L, Profiler.getCount(ProfilerStage.PERCEPTION));
+        assertEquals(3L, Profiler.getCount(ProfilerStage.OPERATIONAL_PLAN));
+        assertEquals(1L, Profiler.getCount(ProfilerStage.HISTORY_CLEANUP));
+        assertEquals(0L, Profiler.getCount(ProfilerStage.SAMPLER_SNAPSHOT));
+        assertEquals(Profiler.getTotalTime(ProfilerStage.PERCEPTION).si,
+                Profiler.getTotalTime(ProfilerStage.PERCEPTION, DefaultsNl.CAR).si
+                        + Profiler.getTotalTime(ProfilerStage.PERCEPTION, DefaultsNl.TRUCK).si,
+                1e-12);
+        assertEquals(0.0, Profiler.getTotalTime(ProfilerStage.PERCEPTION, DefaultsNl.BUS).si);
+        assertThrows(NullPointerException.class, () -> Profiler.getCount(null));
+        assertThrows(NullPointerException.class, () -> Profiler.getTotalTime(ProfilerStage.PERCEPTION, null));
+
+        String summary = Profiler.summary();
+        assertTrue(summary.contains(ProfilerStage.PERCEPTION.getLabel()));
+        assertTrue(summary.contains(ProfilerStage.HISTORY_CLEANUP.getLabel()));
+        assertFalse(summary.contains(ProfilerStage.SAMPLER_SNAPSHOT.getLabel()));
+        assertTrue(summary.contains(DefaultsNl.CAR.getId()));
+        assertTrue(summary.contains(DefaultsNl.TRUCK.getId()));
+        // header, perception (aggregated, car, truck), operational plan (aggregated, car), history clean-up (aggregated)
+        assertEquals(7, summary.lines().count());
+
+        Profiler.reset();
+        assertEquals(0L, Profiler.getCount(ProfilerStage.PERCEPTION));
+        assertEquals(1, Profiler.summary().lines().count());
+    }
+
+    /**
+     * Tests that stage events are recorded by JDK Flight Recorder.
+     * @throws IOException if that happens uncaught; this test has failed
+     */
+    @Test
+    public void testFlightRecorder() throws IOException
+    {
+        Profiler.setEnabled(true);
+        Path file = this.testDir.resolve("profiler.jfr");
+        try (Recording recording = new Recording())
+        {
+            recording.enable("org.opentrafficsim.Stage");
+            recording.start();
+            long t = Profiler.start();
+            t = Profiler.lap(ProfilerStage.LANE_EVENTS, DefaultsNl.CAR, t);
+            Profiler.lap(ProfilerStage.CONTROLLER_EVALUATION, null, t);
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter((e) -> e.getEventType().getName().equals("org.opentrafficsim.Stage")).toList();
+        assertEquals(2, events.size());
+        assertEquals(ProfilerStage.LANE_EVENTS.getLabel(), events.get(0).getString("stage"));
+        assertEquals(DefaultsNl.CAR.getId(), events.get(0).getString("gtuType"));
+        assertEquals(ProfilerStage.CONTROLLER_EVALUATION.getLabel(), events.get(1).getString("stage"));
+        assertEquals(null, events.get(1).getString("gtuType"));
+    }
+
+    /**
+     * Tests input checks of the periodic summary.
+     */
+    @Test
+    public void testScheduleSummary()
+    {
+        OtsSimulatorInterface simulator = Mockito.mock(OtsSimulatorInterface.class);
+        assertThrows(NullPointerException.class, () -> Profiler.scheduleSummary(null, Duration.ONE));
+        assertThrows(NullPointerException.class, () -> Profiler.scheduleSummary(simulator, null));
+        assertThrows(IllegalArgumentException.class, () -> Profiler.scheduleSummary(simulator, Duration.ZERO));
+    }
+
+}
@@ -31,18 +31,25 @@ import org.opentrafficsim.cosim.adapters.TimeAdapter;
 import org.opentrafficsim.cosim.messages.CommandMessage;
 import org.opentrafficsim.cosim.messages.CommandMessage.CommandType;
 import org.opentrafficsim.cosim.messages.DeleteMessage;
+import org.opentrafficsim.cosim.messages.ErrorMessage;
+import org.opentrafficsim.cosim.messages.ExternalBatchMessage;
 import org.opentrafficsim.cosim.messages.ExternalMessage;
 import org.opentrafficsim.cosim.messages.ModeMessage;
 import org.opentrafficsim.cosim.messages.ModeMessage.ControlMode;
 import org.opentrafficsim.cosim.messages.NetworkMessage;
 import org.opentrafficsim.cosim.messages.NetworkMessage.NetworkType;
 import org.opentrafficsim.cosim.messages.OdMatrixMessage;
+import org.opentrafficsim.cosim.messages.PlanBatchMessage;
 import org.opentrafficsim.cosim.messages.PlanMessage;
 import org.opentrafficsim.cosim.messages.ProgressMessage;
+import org.opentrafficsim.cosim.messages.ProtocolMessage;
+import org.opentrafficsim.cosim.messages.ProtocolMessage.Protocol;
 import org.opentrafficsim.cosim.messages.ReadyMessage;
 import org.opentrafficsim.cosim.messages.ResetMessage;
 import org.opentrafficsim.cosim.messages.RoutesMessage;
 import org.opentrafficsim.cosim.messages.StartMessage;
+import org.opentrafficsim.cosim.messages.StepMessage;
+import org.opentrafficsim.cosim.messages.StepReadyMessage;
 import org.opentrafficsim.cosim.messages.StopMessage;
 import org.opentrafficsim.cosim.messages.TerminateMessage;
 import org.opentrafficsim.cosim.messages.VehicleMessage;
@@ -178,12 +185,33 @@ public class OtsTransceiverSim0mq extends AbstractOtsTransceiver
                         Object[] payload = message.createObjectArray();
                         processExternalPayload(payload);
                     }
+                    else if (ExternalBatchMessage.ID.equals(message.getMessageTypeId()))
+                    {
+                        Object[] payload = message.createObjectArray();
+                        receive(ExternalBatchMessage.decode((byte[]) payload[8]));
+                    }
                     else if (ProgressMessage.ID.equals(message.getMessageTypeId()))
                     {
                         Object[] payload = message.createObjectArray();
                         Duration until = (Duration) payload[8];
                         receive(new ProgressMessage(until, payload[6]));
                     }
+                    else if (StepMessage.ID.equals(message.getMessageTypeId()))
+                    {
+                        Object[] payload = message.createObjectArray();
+                        long sequence = ((Number) payload[8]).longValue();
+                        Duration until = (Duration) payload[9];
+                        long ackSequence = ((Number) payload[10]).longValue();
+                        try
+                        {
+                            receive(new StepMessage(sequence, until, ackSequence));
+                        }
+                        catch (IllegalArgumentException exception)
+                        {
+                            // reject the step, but keep listening for a valid step
+                            reject(new ErrorMessage(payload[6], exception.getMessage()));
+                        }
+                    }
                     else if (VehicleMessage.ID.equals(message.getMessageTypeId()))
                     {
                         Object[] payload = message.createObjectArray();
@@ -228,6 +256,12 @@ public class OtsTransceiverSim0mq extends AbstractOtsTransceiver
                         Object[] payload = message.createObjectArray();
                         receive(new NetworkMessage(NetworkType.OPENDRIVE, (String) payload[8], payload[6]));
                     }
+                    else if (ProtocolMessage.ID.equals(message.getMessageTypeId()))
+                    {
+                        Object[] payload = message.createObjectArray();
+                        Protocol protocol = Protocol.valueOf(((String) payload[8]).toUpperCase());
+                        receive(new ProtocolMessage(protocol, payload[6]));
+                    }
                     else if (StartMessage.ID.equals(message.getMessageTypeId()))
                     {
                         receive(new StartMessage());
@@ -321,6 +355,16 @@ public class OtsTransceiverSim0mq extends AbstractOtsTransceiver
 
     @Override
     protected void send(final PlanMessage planMessage)
+    {
+        send(planMessage.getId(), planPayload(planMessage));
+    }
+
+    /**
+     * Returns the payload of a plan message.
+     * @param planMessage plan message
+     * @return payload of the plan message
+     */
+    static Object[] planPayload(final PlanMessage planMessage)
     {
         Object[] payload = new Object[7];
         payload[0] = planMessage.vehicleId();
@@ -330,7 +374,26 @@ public class OtsTransceiverSim0mq extends AbstractOtsTransceiver
         payload[4] = planMessage.steps();
         payload[5] = planMessage.acceleration();
         payload[6] = planMessage.turnIndicator().name();
-        send(planMessage.getId(), payload);
+        return payload;
+    }
+
+    @Override
+    protected void send(final PlanBatchMessage planBatchMessage)
+    {
+        send(planBatchMessage.getId(), new Object[] {planBatchMessage.encode()});
+    }
+
+    @Override
+    protected void send(final StepReadyMessage stepReadyMessage)
+    {
+        send(stepReadyMessage.getId(), new Object[] {stepReadyMessage.sequence(), stepReadyMessage.time()});
+    }
+
+    @Override
+    protected void send(final ErrorMessage errorMessage)
+    {
+        super.send(errorMessage);
+        send(errorMessage.getId(), new Object[] {errorMessage.responseId(), errorMessage.description()});
     }
 
     @Override
@@ -0,0 +1,227 @@
+package org.opentrafficsim.cosim.sim0mq;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import org.djunits.value.vdouble.scalar.Duration;
+import org.djunits.value.vdouble.scalar.Speed;
+import org.djunits.value.vfloat.vector.FloatAccelerationVector;
+import org.djunits.value.vfloat.vector.FloatDurationVector;
+import org.djunits.value.vfloat.vector.FloatLengthVector;
+import org.djutils.serialization.Endianness;
+import org.djutils.serialization.SerializationException;
+import org.djutils.serialization.TypedMessage;
+import org.opentrafficsim.core.gtu.TurnIndicatorStatus;
+import org.opentrafficsim.cosim.messages.PlanBatchMessage;
+import org.opentrafficsim.cosim.messages.PlanMessage;
+import org.sim0mq.Sim0MQException;
+import org.sim0mq.message.Sim0MQMessage;
+import org.zeromq.SocketType;
+import org.zeromq.ZContext;
+import org.zeromq.ZMQ;
+
+/**
+ * Measures the throughput of plan messages over a local loopback connection, for individual {@link PlanMessage}s and for
+ * {@link PlanBatchMessage}s. Each simulation step contains one plan for every vehicle. Messages are encoded as in
+ * {@link OtsTransceiverSim0mq}. The receiver fully decodes batch messages, but only counts individual messages, as these are
+ * decoded by ExternalSim and not by OTS. This favors the individual messages.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public final class LoopbackThroughput
+{
+
+    /** Number of vehicles. */
+    private static final int VEHICLES = 2000;
+
+    /** Number of simulation steps. */
+    private static final int STEPS = 100;
+
+    /** Number of points in the path of each plan. */
+    private static final int POINTS = 20;
+
+    /** Number of segments in each plan. */
+    private static final int SEGMENTS = 3;
+
+    /** First port of the loopback address, each run uses the next port. */
+    private static int port = 5599;
+
+    /**
+     * Constructor.
+     */
+    private LoopbackThroughput()
+    {
+        //
+    }
+
+    /**
+     * Runs the measurement for individual and batch messages.
+     * @param args command line arguments, not used
+     * @throws Exception on any exception
+     */
+    public static void main(final String[] args) throws Exception
+    {
+        List<List<PlanMessage>> steps = createPlans();
+        try (ZContext context = new ZContext(1))
+        {
+            // warm-up run of each, then measured run
+            run(context, steps, false);
+            run(context, steps, true);
+            report("PLAN", run(context, steps, false));
+            report("PLANS", run(context, steps, true));
+        }
+    }
+
+    /**
+     * Creates plans for all vehicles in all steps.
+     * @return plans per step
+     */
+    private static List<List<PlanMessage>> createPlans()
+    {
+        Random random = new Random(1L);
+        List<List<PlanMessage>> steps = new ArrayList<>(STEPS);
+        for (int step = 0; step < STEPS; step++)
+        {
+            Duration time = Duration.ofSI(0.05 * step);
+            List<PlanMessage> plans = new ArrayList<>(VEHICLES);
+            for (int vehicle = 0; vehicle < VEHICLES; vehicle++)
+            {
+                float[] x = new float[POINTS];
+                float[] y = new float[POINTS];
+                x[0] = 80000.0f + 5000.0f * random.nextFloat();
+                y[0] = 440000.0f + 5000.0f * random.nextFloat();
+                for (int i = 1; i < POINTS; i++)
+                {
+                    x[i] = x[i - 1] + 2.0f * random.nextFloat();
+                    y[i] = y[i - 1] + 0.2f * random.nextFloat();
+                }
+                float[] t = new float[SEGMENTS];
+                float[] a = new float[SEGMENTS];
+                for (int i = 0; i < SEGMENTS; i++)
+                {
+                    t[i] = 0.5f;
+                    a[i] = 2.0f * random.nextFloat() - 1.0f;
+                }
+                plans.add(new PlanMessage(time, "OTS_" + vehicle, Speed.ofSI(20.0 * random.nextDouble()),
+                        new FloatLengthVector(x), new FloatLengthVector(y), new FloatDurationVector(t),
+                        new FloatAccelerationVector(a), TurnIndicatorStatus.NONE));
+            }
+            steps.add(plans);
+        }
+        return steps;
+    }
+
+    /**
+     * Sends all plans from one socket to another and decodes them.
+     * @param context context
+     * @param steps plans per step
+     * @param batch whether to send one batch message per step, or one message per plan
+     * @return result
+     * @throws Exception on any exception
+     */
+    private static Result run(final ZContext context, final List<List<PlanMessage>> steps, final boolean batch)
+            throws Exception
+    {
+        int expectedPlans = STEPS * VEHICLES;
+        long[] received = new long[3]; // messages, plans, bytes
+        try (ZMQ.Socket receiver = context.createSocket(SocketType.PAIR);
+                ZMQ.Socket sender = context.createSocket(SocketType.PAIR))
+        {
+            String address = "tcp://127.0.0.1:" + port++;
+            receiver.bind(address);
+            sender.connect(address);
+            Thread thread = new Thread(() ->
+            {
+                try
+                {
+                    while (received[1] < expectedPlans)
+                    {
+                        byte[] bytes = receiver.recv();
+                        received[0]++;
+                        received[2] += bytes.length;
+                        if (batch)
+                        {
+                            Object[] array = TypedMessage.decodeToPrimitiveDataTypes(
+                                    bytes[11] == 1 ? Endianness.BIG_ENDIAN : Endianness.LITTLE_ENDIAN, bytes);
+                            Sim0MQMessage message = new Sim0MQMessage(array, array.length - 8, array[5]);
+                            Object[] payload = message.createObjectArray();
+                            received[1] += PlanBatchMessage.decode((byte[]) payload[8]).plans().size();
+                        }
+                        else
+                        {
+                            received[1]++;
+                        }
+                    }
+                }
+                catch (Sim0MQException | SerializationException exception)
+                {
+                    exception.printStackTrace();
+                }
+            }, "LoopbackThroughput receiver");
+            long start = System.nanoTime();
+            thread.start();
+            int messageId = 0;
+            for (List<PlanMessage> plans : steps)
+            {
+                if (batch)
+                {
+                    PlanBatchMessage planBatchMessage = new PlanBatchMessage(plans.get(0).time(), plans);
+                    sender.send(encode(PlanBatchMessage.ID, messageId++, new Object[] {planBatchMessage.encode()}));
+                }
+                else
+                {
+                    for (PlanMessage plan : plans)
+                    {
+                        sender.send(encode(PlanMessage.ID, messageId++, OtsTransceiverSim0mq.planPayload(plan)));
+                    }
+                }
+            }
+            thread.join();
+            return new Result(received[0], received[1], received[2], (System.nanoTime() - start) / 1e9);
+        }
+    }
+
+    /**
+     * Encodes a message as in {@link OtsTransceiverSim0mq}.
+     * @param messageTypeId message type ID
+     * @param messageId message ID
+     * @param payload payload
+     * @return bytes
+     * @throws Sim0MQException on encoding error
+     * @throws SerializationException on encoding error
+     */
+    private static byte[] encode(final String messageTypeId, final int messageId, final Object[] payload)
+            throws Sim0MQException, SerializationException
+    {
+        return Sim0MQMessage.encodeUTF8(false, "Ots_ExternalSim", "Ots", "ExternalSim", messageTypeId, messageId, payload);
+    }
+
+    /**
+     * Prints a result.
+     * @param name name of the message type
+     * @param result result
+     */
+    private static void report(final String name, final Result result)
+    {
+        System.out.println(String.format(Locale.US, "%-6s %8d messages, %9.0f messages/s, %10.0f plans/s, %6.1f bytes/plan",
+                name, result.messages(), result.messages() / result.seconds(), result.plans() / result.seconds(),
+                (double) result.bytes() / result.plans()));
+    }
+
+    /**
+     * Result of a run.
+     * @param messages number of messages
+     * @param plans number of plans
+     * @param bytes number of bytes
+     * @param seconds duration [s]
+     */
+    private record Result(long messages, long plans, long bytes, double seconds)
+    {
+    }
+
+}
@@ -59,18 +59,25 @@ import org.opentrafficsim.core.parameters.ParameterFactoryOneShot;
 import org.opentrafficsim.core.perception.HistoryManagerDevs;
 import org.opentrafficsim.cosim.messages.CommandMessage;
 import org.opentrafficsim.cosim.messages.DeleteMessage;
+import org.opentrafficsim.cosim.messages.ErrorMessage;
+import org.opentrafficsim.cosim.messages.ExternalBatchMessage;
 import org.opentrafficsim.cosim.messages.ExternalMessage;
 import org.opentrafficsim.cosim.messages.ModeMessage;
 import org.opentrafficsim.cosim.messages.ModeMessage.ControlMode;
 import org.opentrafficsim.cosim.messages.NetworkMessage;
 import org.opentrafficsim.cosim.messages.NetworkMessage.NetworkType;
 import org.opentrafficsim.cosim.messages.OdMatrixMessage;
+import org.opentrafficsim.cosim.messages.PlanBatchMessage;
 import org.opentrafficsim.cosim.messages.PlanMessage;
 import org.opentrafficsim.cosim.messages.ProgressMessage;
+import org.opentrafficsim.cosim.messages.ProtocolMessage;
+import org.opentrafficsim.cosim.messages.ProtocolMessage.Protocol;
 import org.opentrafficsim.cosim.messages.ReadyMessage;
 import org.opentrafficsim.cosim.messages.ResetMessage;
 import org.opentrafficsim.cosim.messages.RoutesMessage;
 import org.opentrafficsim.cosim.messages.StartMessage;
+import org.opentrafficsim.cosim.messages.StepMessage;
+import org.opentrafficsim.cosim.messages.StepReadyMessage;
 import org.opentrafficsim.cosim.messages.StopMessage;
 import org.opentrafficsim.cosim.messages.TerminateMessage;
 import org.opentrafficsim.cosim.messages.VehicleMessage;
@@ -97,6 +104,8 @@ import org.xml.sax.SAXException;
 
 import jakarta.xml.bind.JAXBException;
 import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.Executable;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.SimEventInterface;
 import nl.tudelft.simulation.dsol.simulators.SimulatorInterface;
 import nl.tudelft.simulation.language.DsolException;
 import picocli.CommandLine.Command;
@@ -196,6 +205,18 @@ public abstract class AbstractOtsTransceiver implements EventListener
     /** Queue of runnable to send messages. */
     private final BlockingQueue<Runnable> sendQueue = new LinkedBlockingQueue<>();
 
+    /** Protocol for high-frequency vehicle messages, set on the receiving thread and used on the simulator thread. */
+    private volatile Protocol protocol = Protocol.MESSAGE;
+
+    /** Plans of the current simulation step that are not yet sent, when using the batch protocol. */
+    private List<PlanMessage> planBatch = new ArrayList<>();
+
+    /** Sequence number of the last step message, -1 when not simulating in lock-step. */
+    private long stepSequence = -1;
+
+    /** Inputs received during a lock-step, to be applied at the start of the next step. */
+    private final List<Executable> pendingInputs = new ArrayList<>();
+
     /**
      * Constructor.
      */
@@ -208,7 +229,10 @@ public abstract class AbstractOtsTransceiver implements EventListener
             {
                 try
                 {
-                    AbstractOtsTransceiver.this.sendQueue.take().run();
+                    while (!Thread.currentThread().isInterrupted())
+                    {
+                        AbstractOtsTransceiver.this.sendQueue.take().run();
+                    }
                 }
                 catch (InterruptedException exception)
                 {
@@ -329,6 +353,15 @@ public abstract class AbstractOtsTransceiver implements EventListener
         this.planGtuIds.clear();
         this.externalGtuIds.clear();
         this.commandHandlers.clear();
+        synchronized (this)
+        {
+            this.planBatch.clear();
+        }
+        synchronized (this.pendingInputs)
+        {
+            this.stepSequence = -1;
+            this.pendingInputs.clear();
+        }
         if (this.app != null)
         {
             this.app.dispose();
@@ -372,10 +405,9 @@ public abstract class AbstractOtsTransceiver implements EventListener
         GtuType gtuType = GTU_TYPES.get(vehicleMessage.type());
         Route route = this.network.getRoute(vehicleMessage.route()).orElseThrow();
 
-        this.externallyGeneratedGtuId = vehicleMessage.vehicleId();
         if (isRunning())
         {
-            this.simulator.scheduleEventNow(() -> spawnGtu(vehicleMessage.vehicleId(), gtuType, vehicleMessage.length(),
+            scheduleInput(() -> spawnGtu(vehicleMessage.vehicleId(), gtuType, vehicleMessage.length(),
                     vehicleMessage.width(), vehicleMessage.refToNose(), route, vehicleMessage.speed(), position,
                     vehicleMessage.controlMode(), vehicleMessage.parameters()));
         }
@@ -406,6 +438,7 @@ public abstract class AbstractOtsTransceiver implements EventListener
             final Length vehicleWidth, final Length refToNose, final Route route, final Speed initSpeed,
             final DirectedPoint2d position, final ControlMode mode, final Map<String, Object> parameterMap)
     {
+        this.externallyGeneratedGtuId = id;
         Set<ParameterType<?>> setParameters = new LinkedHashSet<>();
         for (Entry<String, Object> parameterEntry : parameterMap.entrySet())
         {
@@ -604,7 +637,7 @@ public abstract class AbstractOtsTransceiver implements EventListener
             if (this.runUntil != null)
             {
                 this.runUntil = null;
-                this.sendQueue.add(() -> sendAndLog(new ReadyMessage(this.progressMessageId)));
+                sendReady();
             }
             // if not, stopped for some other reason, perhaps a stop button in the GUI
         }
@@ -615,8 +648,28 @@ public abstract class AbstractOtsTransceiver implements EventListener
                 Logger.ots().error("PROGRESSED_EVENT but no runUntil value");
             }
             this.runUntil = null;
+            sendReady();
+        }
+    }
+
+    /**
+     * Sends all plans of the simulation step, followed by a ready message for the progress message, or a step ready message
+     * for the step message.
+     */
+    private void sendReady()
+    {
+        flushPlanBatch();
+        if (this.stepSequence < 0)
+        {
             this.sendQueue.add(() -> sendAndLog(new ReadyMessage(this.progressMessageId)));
+            return;
         }
+        StepReadyMessage stepReadyMessage = new StepReadyMessage(this.stepSequence, this.simulator.getSimulatorTime());
+        this.sendQueue.add(() ->
+        {
+            send(stepReadyMessage);
+            Logger.ots().debug("Ots sent {} message for step {}", stepReadyMessage.getId(), stepReadyMessage.sequence());
+        });
     }
 
     /**
@@ -687,16 +740,47 @@ public abstract class AbstractOtsTransceiver implements EventListener
             a[i] = (float) segments.get(i).acceleration().si;
         }
 
+        PlanMessage planMessage = new PlanMessage(this.simulator.getSimulatorTime(), gtuId, speed, new FloatLengthVector(x),
+                new FloatLengthVector(y), new FloatDurationVector(t), new FloatAccelerationVector(a),
+                ((LaneBasedGtu) gtu).getTurnIndicatorStatus());
+        if (Protocol.BATCH.equals(this.protocol))
+        {
+            synchronized (this)
+            {
+                if (this.planBatch.isEmpty())
+                {
+                    // flush after all other events at this time, such as moves of other GTUs
+                    this.simulator.scheduleEventNow(SimEventInterface.MIN_PRIORITY, () -> flushPlanBatch());
+                }
+                this.planBatch.add(planMessage);
+            }
+            return;
+        }
         this.sendQueue.add(() ->
         {
-            PlanMessage planMessage = new PlanMessage(this.simulator.getSimulatorTime(), gtuId, speed, new FloatLengthVector(x),
-                    new FloatLengthVector(y), new FloatDurationVector(t), new FloatAccelerationVector(a),
-                    ((LaneBasedGtu) gtu).getTurnIndicatorStatus());
             send(planMessage);
             Logger.ots().debug("Ots sent {} message for GTU {} with acceleration {}", planMessage.getId(), gtuId, a[0]);
         });
     }
 
+    /**
+     * Sends all plans of the current simulation step in one batch message, if there are any.
+     */
+    private synchronized void flushPlanBatch()
+    {
+        if (this.planBatch.isEmpty())
+        {
+            return;
+        }
+        PlanBatchMessage planBatchMessage = new PlanBatchMessage(this.planBatch.get(0).time(), this.planBatch);
+        this.planBatch = new ArrayList<>();
+        this.sendQueue.add(() ->
+        {
+            send(planBatchMessage);
+            Logger.ots().debug("Ots sent {} message with {} plans", planBatchMessage.getId(), planBatchMessage.plans().size());
+        });
+    }
+
     /**
      * Delete GTU.
      * @param id GTU id
@@ -777,6 +861,24 @@ public abstract class AbstractOtsTransceiver implements EventListener
         }
     }
 
+    /**
+     * Schedules an input from ExternalSim. When simulating in lock-step, the input is buffered until the start of the next
+     * step, such that it does not depend on the moment of receiving it during the current step.
+     * @param input input
+     */
+    private void scheduleInput(final Executable input)
+    {
+        synchronized (this.pendingInputs)
+        {
+            if (this.stepSequence >= 0)
+            {
+                this.pendingInputs.add(input);
+                return;
+            }
+        }
+        this.simulator.scheduleEventNow(input);
+    }
+
     // ===== Receive methods =====
 
     /**
@@ -790,10 +892,37 @@ public abstract class AbstractOtsTransceiver implements EventListener
         Logger.ots().debug("OTS received {} message for GTU {}", externalMessage.getId(), externalMessage.vehicleId());
         DirectedPoint2d loc = new DirectedPoint2d(externalMessage.xCoordinate().si, externalMessage.yCoordinate().si,
                 externalMessage.direction().si);
-        this.simulator.scheduleEventNow(() -> deadReckoning(externalMessage.vehicleId(), externalMessage.time(), loc,
+        scheduleInput(() -> deadReckoning(externalMessage.vehicleId(), externalMessage.time(), loc,
                 externalMessage.speed(), externalMessage.acceleration()));
     }
 
+    /**
+     * Receive external batch message.
+     * @param externalBatchMessage external batch message
+     * @throws NullPointerException when the message is {@code null}
+     */
+    protected void receive(final ExternalBatchMessage externalBatchMessage)
+    {
+        Throw.whenNull(externalBatchMessage, "externalBatchMessage");
+        for (ExternalMessage externalMessage : externalBatchMessage.externals())
+        {
+            receive(externalMessage);
+        }
+    }
+
+    /**
+     * Receive protocol message.
+     * @param protocolMessage protocol message
+     * @throws NullPointerException when the message is {@code null}
+     */
+    protected void receive(final ProtocolMessage protocolMessage)
+    {
+        Throw.whenNull(protocolMessage, "protocolMessage");
+        Logger.ots().debug("Ots received {} message for protocol {}", protocolMessage.getId(), protocolMessage.protocol());
+        this.protocol = protocolMessage.protocol();
+        this.sendQueue.add(() -> sendAndLog(new ReadyMessage(protocolMessage.responseId())));
+    }
+
     /**
      * Receive vehicle message.
      * @param vehicleMessage vehicle message
@@ -820,7 +949,7 @@ public abstract class AbstractOtsTransceiver implements EventListener
     {
         Throw.whenNull(modeMessage, "modeMessage");
         Logger.ots().debug("OTS received {} message for GTU {}", modeMessage.getId(), modeMessage.vehicleId());
-        this.simulator.scheduleEventNow(() -> changeControlMode(modeMessage.vehicleId(), modeMessage.controlMode()));
+        scheduleInput(() -> changeControlMode(modeMessage.vehicleId(), modeMessage.controlMode()));
     }
 
     /**
@@ -832,7 +961,7 @@ public abstract class AbstractOtsTransceiver implements EventListener
     {
         Throw.whenNull(commandMessage, "commandMessage");
         Logger.ots().debug("Ots received {} message for GTU {}", commandMessage.getId(), commandMessage.vehicleId());
-        this.simulator.scheduleEventNow(() -> performCommand(commandMessage.vehicleId(), commandMessage.command()));
+        scheduleInput(() -> performCommand(commandMessage.vehicleId(), commandMessage.command()));
     }
 
     /**
@@ -845,7 +974,7 @@ public abstract class AbstractOtsTransceiver implements EventListener
         Throw.whenNull(deleteMessage, "deleteMessage");
         Logger.ots().debug("Ots received {} message for GTU {}", deleteMessage.getId(), deleteMessage.vehicleId());
         this.deleteGtuIds.add(deleteMessage.vehicleId());
-        this.simulator.scheduleEventNow(() -> delete(deleteMessage.vehicleId()));
+        scheduleInput(() -> delete(deleteMessage.vehicleId()));
     }
 
     /**
@@ -956,6 +1085,45 @@ public abstract class AbstractOtsTransceiver implements EventListener
         Throw.whenNull(progressMessage, "progressMessage");
         Duration until = progressMessage.untilTime();
         Logger.ots().debug("Ots received {} message until {}", progressMessage.getId(), until);
+        waitForStep();
+        this.progressMessageId = progressMessage.responseId();
+        synchronized (this.pendingInputs)
+        {
+            this.stepSequence = -1;
+        }
+        runStep(until);
+    }
+
+    /**
+     * Receive step message. Inputs received after this message are applied at the start of the next step.
+     * @param stepMessage step message
+     * @throws NullPointerException when the message is {@code null}
+     * @throws IllegalArgumentException when the sequence number does not follow the previous step, or when the step is more
+     *             than one step ahead of the acknowledged step
+     */
+    protected void receive(final StepMessage stepMessage)
+    {
+        Throw.whenNull(stepMessage, "stepMessage");
+        Duration until = stepMessage.untilTime();
+        Logger.ots().debug("Ots received {} message {} until {}", stepMessage.getId(), stepMessage.sequence(), until);
+        Throw.when(this.stepSequence >= 0 && stepMessage.sequence() != this.stepSequence + 1, IllegalArgumentException.class,
+                "Step %d does not follow step %d.", stepMessage.sequence(), this.stepSequence);
+        Throw.when(stepMessage.sequence() - stepMessage.ackSequence() > 2, IllegalArgumentException.class,
+                "Step %d is more than one step ahead of acknowledged step %d.", stepMessage.sequence(),
+                stepMessage.ackSequence());
+        waitForStep();
+        synchronized (this.pendingInputs)
+        {
+            this.stepSequence = stepMessage.sequence();
+        }
+        runStep(until);
+    }
+
+    /**
+     * Waits until the simulator has stopped after the previous step.
+     */
+    private void waitForStep()
+    {
         this.simulator.setSpeedFactor(1000.0);
         while (this.simulator.isStartingOrRunning())
         {
@@ -969,7 +1137,22 @@ public abstract class AbstractOtsTransceiver implements EventListener
             {
             }
         }
-        this.progressMessageId = progressMessage.responseId();
+    }
+
+    /**
+     * Applies inputs that were received during the previous step, and runs the simulation until the given time.
+     * @param until time until which to simulate
+     */
+    private void runStep(final Duration until)
+    {
+        synchronized (this.pendingInputs)
+        {
+            for (Executable input : this.pendingInputs)
+            {
+                this.simulator.scheduleEventNow(input);
+            }
+            this.pendingInputs.clear();
+        }
         this.runUntil = until;
         this.simulator.scheduleEventAbs(until, () -> this.simulator.fireEvent(PROGRESSED_EVENT));
         this.simulator.runUpToAndIncluding(until);
@@ -977,6 +1160,18 @@ public abstract class AbstractOtsTransceiver implements EventListener
 
     // ===== Send methods =====
 
+    /**
+     * Rejects a received message. The error message is sent on the dedicated thread of {@link AbstractOtsTransceiver}, after
+     * all messages that were queued before. This method should be invoked on the thread that received the rejected message.
+     * @param errorMessage error message
+     * @throws NullPointerException when the message is {@code null}
+     */
+    protected final void reject(final ErrorMessage errorMessage)
+    {
+        Throw.whenNull(errorMessage, "errorMessage");
+        this.sendQueue.add(() -> send(errorMessage));
+    }
+
     /**
      * Send ready message and log this.
      * @param readyMessage ready message
@@ -999,6 +1194,40 @@ public abstract class AbstractOtsTransceiver implements EventListener
      */
     protected abstract void send(PlanMessage planMessage);
 
+    /**
+     * Send plan batch message, which is only used when the batch protocol is selected. The default implementation sends the
+     * individual plan messages. All send methods are invoked on a dedicated thread of {@link AbstractOtsTransceiver}.
+     * @param planBatchMessage plan batch message
+     */
+    protected void send(final PlanBatchMessage planBatchMessage)
+    {
+        for (PlanMessage planMessage : planBatchMessage.plans())
+        {
+            send(planMessage);
+        }
+    }
+
+    /**
+     * Send step ready message, which is only used when simulating with step messages. The default implementation sends a
+     * ready message with the sequence number as response ID. All send methods are invoked on a dedicated thread of
+     * {@link AbstractOtsTransceiver}.
+     * @param stepReadyMessage step ready message
+     */
+    protected void send(final StepReadyMessage stepReadyMessage)
+    {
+        send(new ReadyMessage(stepReadyMessage.sequence()));
+    }
+
+    /**
+     * Send error message, when a received message is rejected. The default implementation only logs the error. All send
+     * methods are invoked on a dedicated thread of {@link AbstractOtsTransceiver}.
+     * @param errorMessage error message
+     */
+    protected void send(final ErrorMessage errorMessage)
+    {
+        Logger.ots().error("Ots rejected message {}: {}", errorMessage.responseId(), errorMessage.description());
+    }
+
     /**
      * Send delete message. All send methods are invoked on a dedicated thread of {@link AbstractOtsTransceiver}.
      * @param deleteMessage delete message
@@ -15,7 +15,6 @@ import org.opentrafficsim.core.network.route.Route;
 import org.opentrafficsim.road.gtu.generator.GtuSpawner;
 import org.opentrafficsim.road.gtu.generator.characteristics.LaneBasedGtuCharacteristics;
 import org.opentrafficsim.road.gtu.generator.characteristics.LaneBasedGtuCharacteristicsGeneratorOd;
-import org.opentrafficsim.road.network.CrossSectionLink;
 import org.opentrafficsim.road.network.Lane;
 import org.opentrafficsim.road.network.LanePosition;
 import org.opentrafficsim.road.network.RoadNetwork;
@@ -102,35 +101,32 @@ public class GtuSpawnerOd
     }
 
     /**
-     * Returns the lane position closest to the given location.
+     * Returns the lane position closest to the given location, using the spatial index of lanes in the network.
      * @param network network
      * @param position position
      * @return lane position closest to the given location
      */
     private static LanePosition getLanePosition(final RoadNetwork network, final Point2d position)
     {
-        double minDistance = Double.POSITIVE_INFINITY;
-        LanePosition lanePosition = null;
-        for (Link link : network.getLinkMap().values())
-        {
-            if (link instanceof CrossSectionLink roadLink)
-            {
-                for (Lane lane : roadLink.getLanesAndShoulders())
-                {
-                    double fraction = lane.getCenterLine().projectFractionalAt(link.getStartNode().getHeading(),
-                            link.getEndNode().getHeading(), position.x, position.y, FractionalFallback.ENDPOINT);
-                    fraction = fraction < 0.0 ? 0.0 : (fraction > 1.0 ? 1.0 : fraction);
-                    Point2d pointOnLane = lane.getCenterLine().getLocationFractionExtended(fraction);
-                    double distance = pointOnLane.distance(position);
-                    if (distance < minDistance)
-                    {
-                        minDistance = distance;
-                        lanePosition = new LanePosition(lane, Length.ofSI(lane.getCenterLine().getLength() * fraction));
-                    }
-                }
-            }
-        }
-        return lanePosition;
+        return network.getLaneIndex().nearest(position, (lane) -> true,
+                (lane) -> lane.getCenterLine().getLocationFractionExtended(getFraction(lane, position)).distance(position))
+                .map((lane) -> new LanePosition(lane,
+                        Length.ofSI(lane.getCenterLine().getLength() * getFraction(lane, position))))
+                .orElse(null);
+    }
+
+    /**
+     * Returns the fractional projection of the position on the lane, limited to the lane.
+     * @param lane lane
+     * @param position position
+     * @return fractional projection of the position on the lane
+     */
+    private static double getFraction(final Lane lane, final Point2d position)
+    {
+        Link link = lane.getLink();
+        double fraction = lane.getCenterLine().projectFractionalAt(link.getStartNode().getHeading(),
+                link.getEndNode().getHeading(), position.x, position.y, FractionalFallback.ENDPOINT);
+        return fraction < 0.0 ? 0.0 : (fraction > 1.0 ? 1.0 : fraction);
     }
 
 }
@@ -0,0 +1,174 @@
+package org.opentrafficsim.cosim.messages;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.djutils.exceptions.Throw;
+
+/**
+ * Utilities for the binary encoding of batch messages. All values are written in big-endian (network) byte order, regardless of
+ * the endianness of the message bus. Strings are written as a length in bytes followed by UTF-8 bytes. Coordinates are written
+ * in millimeters as zig-zag encoded variable length integers, where all but the first coordinate of a sequence are relative to
+ * the previous coordinate. This takes 2 bytes for typical distances between subsequent points of a path.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+final class BinaryCodec
+{
+
+    /** Version of the binary format, which is the first byte of each encoded message. */
+    static final byte VERSION = 1;
+
+    /** Coordinate resolution [1/m]. */
+    private static final double COORDINATE_RESOLUTION = 1000.0;
+
+    /**
+     * Constructor.
+     */
+    private BinaryCodec()
+    {
+        //
+    }
+
+    /**
+     * Writes the version byte.
+     * @param buffer buffer
+     */
+    static void writeVersion(final ByteBuffer buffer)
+    {
+        buffer.put(VERSION);
+    }
+
+    /**
+     * Reads and checks the version byte.
+     * @param buffer buffer
+     * @throws IllegalArgumentException when the version is not supported
+     */
+    static void readVersion(final ByteBuffer buffer)
+    {
+        byte version = buffer.get();
+        Throw.when(version != VERSION, IllegalArgumentException.class, "Binary message version %d is not supported.", version);
+    }
+
+    /**
+     * Returns the number of bytes required to write a string.
+     * @param string string
+     * @return number of bytes required to write the string
+     */
+    static int stringSize(final String string)
+    {
+        return Short.BYTES + string.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    /**
+     * Writes a string.
+     * @param buffer buffer
+     * @param string string
+     * @throws IllegalArgumentException when the string is longer than 65535 bytes in UTF-8
+     */
+    static void writeString(final ByteBuffer buffer, final String string)
+    {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        Throw.when(bytes.length > 0xFFFF, IllegalArgumentException.class, "String %s is too long.", string);
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    /**
+     * Reads a string.
+     * @param buffer buffer
+     * @return string
+     */
+    static String readString(final ByteBuffer buffer)
+    {
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the maximum number of bytes required to write a sequence of coordinates.
+     * @param n number of coordinates
+     * @return maximum number of bytes required to write the coordinates
+     */
+    static int maxCoordinatesSize(final int n)
+    {
+        return n * 10;
+    }
+
+    /**
+     * Writes a sequence of coordinates, each relative to the previous coordinate.
+     * @param buffer buffer
+     * @param coordinates coordinates [m]
+     */
+    static void writeCoordinates(final ByteBuffer buffer, final float[] coordinates)
+    {
+        long previous = 0;
+        for (float coordinate : coordinates)
+        {
+            long value = Math.round(coordinate * COORDINATE_RESOLUTION);
+            writeVarLong(buffer, value - previous);
+            previous = value;
+        }
+    }
+
+    /**
+     * Reads a sequence of coordinates, each relative to the previous coordinate.
+     * @param buffer buffer
+     * @param n number of coordinates
+     * @return coordinates [m]
+     */
+    static float[] readCoordinates(final ByteBuffer buffer, final int n)
+    {
+        float[] coordinates = new float[n];
+        long value = 0;
+        for (int i = 0; i < n; i++)
+        {
+            value += readVarLong(buffer);
+            coordinates[i] = (float) (value / COORDINATE_RESOLUTION);
+        }
+        return coordinates;
+    }
+
+    /**
+     * Writes a zig-zag encoded variable length integer, using 7 bits per byte.
+     * @param buffer buffer
+     * @param value value
+     */
+    private static void writeVarLong(final ByteBuffer buffer, final long value)
+    {
+        long zigZag = (value << 1) ^ (value >> 63);
+        while ((zigZag & ~0x7FL) != 0)
+        {
+            buffer.put((byte) ((zigZag & 0x7F) | 0x80));
+            zigZag >>>= 7;
+        }
+        buffer.put((byte) zigZag);
+    }
+
+    /**
+     * Reads a zig-zag encoded variable length integer.
+     * @param buffer buffer
+     * @return value
+     * @throws BufferUnderflowException when the buffer ends before the value
+     */
+    private static long readVarLong(final ByteBuffer buffer)
+    {
+        long zigZag = 0;
+        int shift = 0;
+        byte b;
+        do
+        {
+            b = buffer.get();
+            zigZag |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        }
+        while ((b & 0x80) != 0);
+        return (zigZag >>> 1) ^ -(zigZag & 1);
+    }
+
+}
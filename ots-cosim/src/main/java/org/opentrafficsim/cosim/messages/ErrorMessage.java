@@ -0,0 +1,38 @@
+package org.opentrafficsim.cosim.messages;
+
+import org.djutils.base.Identifiable;
+import org.djutils.exceptions.Throw;
+
+/**
+ * Error message from OTS to ExternalSim when a received message is rejected, for example a {@link StepMessage} with a
+ * sequence number that does not follow the previous step. The message is not processed.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ * @param responseId response ID in the received message that is rejected
+ * @param description description of the reason the message is rejected
+ */
+public record ErrorMessage(Object responseId, String description) implements Identifiable
+{
+
+    /** Message type ID. */
+    public static final String ID = "ERROR";
+
+    /**
+     * Constructor.
+     */
+    public ErrorMessage
+    {
+        Throw.whenNull(responseId, "responseId");
+        Throw.whenNull(description, "description");
+    }
+
+    @Override
+    public String getId()
+    {
+        return ID;
+    }
+
+}
@@ -0,0 +1,104 @@
+package org.opentrafficsim.cosim.messages;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.djunits.value.vdouble.scalar.Acceleration;
+import org.djunits.value.vdouble.scalar.Direction;
+import org.djunits.value.vdouble.scalar.Duration;
+import org.djunits.value.vdouble.scalar.Length;
+import org.djunits.value.vdouble.scalar.Speed;
+import org.djutils.base.Identifiable;
+import org.djutils.exceptions.Throw;
+
+/**
+ * Message from ExternalSim with the state of all vehicles in Hybrid or External mode in one simulation step. This message may
+ * be used instead of individual {@link ExternalMessage}s after the {@link ProtocolMessage} selected the batch protocol.
+ * <p>
+ * The binary layout is: version byte (1), number of vehicles (int), and for each vehicle: vehicle ID (string), time (double,
+ * s), x-coordinate (double, m), y-coordinate (double, m), direction (float, rad), speed (float, m/s) and acceleration (float,
+ * m/s<sup>2</sup>).
+ * </p>
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ * @param externals external messages
+ */
+public record ExternalBatchMessage(List<ExternalMessage> externals) implements Identifiable
+{
+
+    /** Message type ID. */
+    public static final String ID = "EXTERNALS";
+
+    /**
+     * Constructor.
+     */
+    public ExternalBatchMessage
+    {
+        Throw.whenNull(externals, "externals");
+        externals = List.copyOf(externals);
+    }
+
+    /**
+     * Encodes this message in the binary layout.
+     * @return bytes
+     */
+    public byte[] encode()
+    {
+        int size = 1 + Integer.BYTES;
+        for (ExternalMessage external : this.externals)
+        {
+            size += BinaryCodec.stringSize(external.vehicleId()) + 3 * Double.BYTES + 3 * Float.BYTES;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        BinaryCodec.writeVersion(buffer);
+        buffer.putInt(this.externals.size());
+        for (ExternalMessage external : this.externals)
+        {
+            BinaryCodec.writeString(buffer, external.vehicleId());
+            buffer.putDouble(external.time().si);
+            buffer.putDouble(external.xCoordinate().si);
+            buffer.putDouble(external.yCoordinate().si);
+            buffer.putFloat((float) external.direction().si);
+            buffer.putFloat((float) external.speed().si);
+            buffer.putFloat((float) external.acceleration().si);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Decodes a message from the binary layout.
+     * @param bytes bytes
+     * @return decoded message
+     * @throws IllegalArgumentException when the version is not supported
+     */
+    public static ExternalBatchMessage decode(final byte[] bytes)
+    {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        BinaryCodec.readVersion(buffer);
+        int n = buffer.getInt();
+        List<ExternalMessage> externals = new ArrayList<>(n);
+        for (int i = 0; i < n; i++)
+        {
+            String vehicleId = BinaryCodec.readString(buffer);
+            Duration time = Duration.ofSI(buffer.getDouble());
+            Length x = Length.ofSI(buffer.getDouble());
+            Length y = Length.ofSI(buffer.getDouble());
+            Direction direction = Direction.ofSI(buffer.getFloat());
+            Speed speed = Speed.ofSI(buffer.getFloat());
+            Acceleration acceleration = Acceleration.ofSI(buffer.getFloat());
+            externals.add(new ExternalMessage(time, vehicleId, x, y, direction, speed, acceleration));
+        }
+        return new ExternalBatchMessage(externals);
+    }
+
+    @Override
+    public String getId()
+    {
+        return ID;
+    }
+
+}
@@ -0,0 +1,142 @@
+package org.opentrafficsim.cosim.messages;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.djunits.value.vdouble.scalar.Duration;
+import org.djunits.value.vdouble.scalar.Speed;
+import org.djunits.value.vfloat.vector.FloatAccelerationVector;
+import org.djunits.value.vfloat.vector.FloatDurationVector;
+import org.djunits.value.vfloat.vector.FloatLengthVector;
+import org.djutils.base.Identifiable;
+import org.djutils.exceptions.Throw;
+import org.opentrafficsim.core.gtu.TurnIndicatorStatus;
+
+/**
+ * Message from OTS to ExternalSim with the plans of all vehicles with OTS or Hybrid control that were determined in one
+ * simulation step. This message is only sent after the {@link ProtocolMessage} selected the batch protocol, and replaces the
+ * individual {@link PlanMessage}s.
+ * <p>
+ * The binary layout is: version byte (1), time (double, s), number of plans (int), and for each plan: vehicle ID (string),
+ * speed (float, m/s), turn indicator (byte, ordinal of {@link TurnIndicatorStatus}), number of path points (unsigned short),
+ * x-coordinates and y-coordinates (delta-encoded, see {@link BinaryCodec}), number of segments (unsigned short), segment
+ * durations (float, s) and segment accelerations (float, m/s<sup>2</sup>).
+ * </p>
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ * @param time duration since start of simulation
+ * @param plans plans, all at the time of the batch
+ */
+public record PlanBatchMessage(Duration time, List<PlanMessage> plans) implements Identifiable
+{
+
+    /** Message type ID. */
+    public static final String ID = "PLANS";
+
+    /**
+     * Constructor.
+     */
+    public PlanBatchMessage
+    {
+        Throw.whenNull(time, "time");
+        Throw.when(time.lt0(), IllegalArgumentException.class, "Time should not be negative.");
+        Throw.whenNull(plans, "plans");
+        plans = List.copyOf(plans);
+    }
+
+    /**
+     * Encodes this message in the binary layout.
+     * @return bytes
+     * @throws IllegalArgumentException when a plan has more than 65535 path points or segments, or when a vehicle ID is longer
+     *             than 65535 bytes in UTF-8
+     */
+    public byte[] encode()
+    {
+        int size = 1 + Double.BYTES + Integer.BYTES;
+        for (PlanMessage plan : this.plans)
+        {
+            Throw.when(plan.xCoordinates().size() > 0xFFFF, IllegalArgumentException.class,
+                    "Plan of vehicle %s has more than 65535 path points.", plan.vehicleId());
+            Throw.when(plan.steps().size() > 0xFFFF, IllegalArgumentException.class,
+                    "Plan of vehicle %s has more than 65535 segments.", plan.vehicleId());
+            size += BinaryCodec.stringSize(plan.vehicleId()) + Float.BYTES + 1 + Short.BYTES
+                    + 2 * BinaryCodec.maxCoordinatesSize(plan.xCoordinates().size()) + Short.BYTES
+                    + 2 * Float.BYTES * plan.steps().size();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        BinaryCodec.writeVersion(buffer);
+        buffer.putDouble(this.time.si);
+        buffer.putInt(this.plans.size());
+        for (PlanMessage plan : this.plans)
+        {
+            BinaryCodec.writeString(buffer, plan.vehicleId());
+            buffer.putFloat((float) plan.speed().si);
+            buffer.put((byte) plan.turnIndicator().ordinal());
+            buffer.putShort((short) plan.xCoordinates().size());
+            BinaryCodec.writeCoordinates(buffer, plan.xCoordinates().getValuesSI());
+            BinaryCodec.writeCoordinates(buffer, plan.yCoordinates().getValuesSI());
+            buffer.putShort((short) plan.steps().size());
+            for (float step : plan.steps().getValuesSI())
+            {
+                buffer.putFloat(step);
+            }
+            for (float acceleration : plan.acceleration().getValuesSI())
+            {
+                buffer.putFloat(acceleration);
+            }
+        }
+        byte[] bytes = new byte[buffer.position()];
+        buffer.flip().get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Decodes a message from the binary layout.
+     * @param bytes bytes
+     * @return decoded message
+     * @throws IllegalArgumentException when the version is not supported
+     */
+    public static PlanBatchMessage decode(final byte[] bytes)
+    {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        BinaryCodec.readVersion(buffer);
+        Duration time = Duration.ofSI(buffer.getDouble());
+        int n = buffer.getInt();
+        List<PlanMessage> plans = new ArrayList<>(n);
+        TurnIndicatorStatus[] turnIndicators = TurnIndicatorStatus.values();
+        for (int i = 0; i < n; i++)
+        {
+            String vehicleId = BinaryCodec.readString(buffer);
+            Speed speed = Speed.ofSI(buffer.getFloat());
+            TurnIndicatorStatus turnIndicator = turnIndicators[buffer.get()];
+            int points = Short.toUnsignedInt(buffer.getShort());
+            float[] x = BinaryCodec.readCoordinates(buffer, points);
+            float[] y = BinaryCodec.readCoordinates(buffer, points);
+            int segments = Short.toUnsignedInt(buffer.getShort());
+            float[] t = new float[segments];
+            float[] a = new float[segments];
+            for (int j = 0; j < segments; j++)
+            {
+                t[j] = buffer.getFloat();
+            }
+            for (int j = 0; j < segments; j++)
+            {
+                a[j] = buffer.getFloat();
+            }
+            plans.add(new PlanMessage(time, vehicleId, speed, new FloatLengthVector(x), new FloatLengthVector(y),
+                    new FloatDurationVector(t), new FloatAccelerationVector(a), turnIndicator));
+        }
+        return new PlanBatchMessage(time, plans);
+    }
+
+    @Override
+    public String getId()
+    {
+        return ID;
+    }
+
+}
@@ -0,0 +1,54 @@
+package org.opentrafficsim.cosim.messages;
+
+import org.djutils.base.Identifiable;
+import org.djutils.exceptions.Throw;
+
+/**
+ * Message from ExternalSim to OTS to select the protocol for high-frequency vehicle messages, typically sent once at the start
+ * of the connection. Without this message the {@link Protocol#MESSAGE} protocol is used. OTS responds with a
+ * {@link ReadyMessage}.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ * @param protocol protocol
+ * @param responseId response ID for in the ready message
+ */
+public record ProtocolMessage(Protocol protocol, Object responseId) implements Identifiable
+{
+
+    /** Message type ID. */
+    public static final String ID = "PROTOCOL";
+
+    /**
+     * Constructor.
+     */
+    public ProtocolMessage
+    {
+        Throw.whenNull(protocol, "protocol");
+        Throw.whenNull(responseId, "responseId");
+    }
+
+    @Override
+    public String getId()
+    {
+        return ID;
+    }
+
+    /**
+     * Protocol for high-frequency vehicle messages.
+     */
+    public enum Protocol
+    {
+        /** One {@link PlanMessage} per vehicle per plan (default). ExternalSim sends {@link ExternalMessage}s. */
+        MESSAGE,
+
+        /**
+         * One {@link PlanBatchMessage} per simulation step. ExternalSim may send {@link ExternalBatchMessage}s as well as
+         * {@link ExternalMessage}s.
+         */
+        BATCH;
+    }
+
+}
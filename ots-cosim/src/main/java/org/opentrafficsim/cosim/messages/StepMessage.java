@@ -0,0 +1,50 @@
+package org.opentrafficsim.cosim.messages;
+
+import org.djunits.value.vdouble.scalar.Duration;
+import org.djutils.base.Identifiable;
+import org.djutils.exceptions.Throw;
+
+/**
+ * Step message from ExternalSim to OTS for lock-step simulation. This is an alternative to the {@link ProgressMessage} with
+ * explicit sequence numbers, to which OTS responds with a {@link StepReadyMessage}. Inputs from ExternalSim, such as
+ * {@link ExternalMessage}s, that are received after a step message are buffered and applied at the start of the next step.
+ * <p>
+ * ExternalSim may pipeline steps by sending the step message of step <i>k</i>+1 directly after the step ready message of step
+ * <i>k</i>, and only then processing the state of step <i>k</i>. OTS then simulates step <i>k</i>+1 while ExternalSim processes
+ * step <i>k</i>, and the inputs resulting from step <i>k</i> are applied at the start of step <i>k</i>+2. The lag is bounded
+ * to one step: the acknowledged sequence number should not be more than 2 below the sequence number.
+ * </p>
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ * @param sequence sequence number of the step, one more than the previous step
+ * @param untilTime time until which to simulate
+ * @param ackSequence sequence number of the last step of which ExternalSim has processed the state and sent all inputs, -1
+ *            if none
+ */
+public record StepMessage(long sequence, Duration untilTime, long ackSequence) implements Identifiable
+{
+
+    /** Message type ID. */
+    public static final String ID = "STEP";
+
+    /**
+     * Constructor.
+     */
+    public StepMessage
+    {
+        Throw.when(sequence < 0, IllegalArgumentException.class, "Sequence should not be negative.");
+        Throw.whenNull(untilTime, "untilTime");
+        Throw.when(ackSequence < -1 || ackSequence >= sequence, IllegalArgumentException.class,
+                "Acknowledged sequence %d should be in the range [-1, %d).", ackSequence, sequence);
+    }
+
+    @Override
+    public String getId()
+    {
+        return ID;
+    }
+
+}
@@ -0,0 +1,38 @@
+package org.opentrafficsim.cosim.messages;
+
+import org.djunits.value.vdouble.scalar.Duration;
+import org.djutils.base.Identifiable;
+import org.djutils.exceptions.Throw;
+
+/**
+ * Step ready message from OTS to ExternalSim after a {@link StepMessage}. All plans of the step are sent before this message.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ * @param sequence sequence number of the step that is ready
+ * @param time simulation time at which the step is ready
+ */
+public record StepReadyMessage(long sequence, Duration time) implements Identifiable
+{
+
+    /** Message type ID. */
+    public static final String ID = "STEPREADY";
+
+    /**
+     * Constructor.
+     */
+    public StepReadyMessage
+    {
+        Throw.when(sequence < 0, IllegalArgumentException.class, "Sequence should not be negative.");
+        Throw.whenNull(time, "time");
+    }
+
+    @Override
+    public String getId()
+    {
+        return ID;
+    }
+
+}
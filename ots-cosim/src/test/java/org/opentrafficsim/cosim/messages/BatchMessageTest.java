@@ -0,0 +1,158 @@
+package org.opentrafficsim.cosim.messages;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.djunits.value.vdouble.scalar.Acceleration;
+import org.djunits.value.vdouble.scalar.Direction;
+import org.djunits.value.vdouble.scalar.Duration;
+import org.djunits.value.vdouble.scalar.Length;
+import org.djunits.value.vdouble.scalar.Speed;
+import org.djunits.value.vfloat.vector.FloatAccelerationVector;
+import org.djunits.value.vfloat.vector.FloatDurationVector;
+import org.djunits.value.vfloat.vector.FloatLengthVector;
+import org.junit.jupiter.api.Test;
+import org.opentrafficsim.core.gtu.TurnIndicatorStatus;
+
+/**
+ * Tests that PlanBatchMessage and ExternalBatchMessage are decoded as they were encoded.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public final class BatchMessageTest
+{
+
+    /** */
+    private BatchMessageTest()
+    {
+        // do not instantiate test class
+    }
+
+    /**
+     * Tests encoding and decoding of plan batches.
+     */
+    @Test
+    public void testPlanBatch()
+    {
+        // empty batches
+        assertRoundTrip(new PlanBatchMessage(Duration.ZERO, List.of()));
+        assertRoundTrip(new PlanBatchMessage(Duration.ofSI(Double.MAX_VALUE), List.of()));
+
+        // plans with all turn indicators, without and with path points and segments
+        Duration time = Duration.ofSI(12.5);
+        List<PlanMessage> plans = new ArrayList<>();
+        for (TurnIndicatorStatus turnIndicator : TurnIndicatorStatus.values())
+        {
+            plans.add(plan(time, "vehicle " + turnIndicator, 0, 0, turnIndicator));
+        }
+        plans.add(plan(time, "", 1, 1, TurnIndicatorStatus.NONE));
+        plans.add(plan(time, "€🚗", 21, 20, TurnIndicatorStatus.LEFT));
+        plans.add(new PlanMessage(time, "extremes", Speed.ofSI(Float.MAX_VALUE),
+                new FloatLengthVector(new float[] {-1000000.0f, 1000000.0f, 0.001f}),
+                new FloatLengthVector(new float[] {1000000.0f, -1000000.0f, -0.001f}),
+                new FloatDurationVector(new float[] {Float.MIN_VALUE, Float.MAX_VALUE}),
+                new FloatAccelerationVector(new float[] {-Float.MAX_VALUE, 0.0f}), TurnIndicatorStatus.HAZARD));
+        assertRoundTrip(new PlanBatchMessage(time, plans));
+
+        // number of path points and segments are written as unsigned short
+        assertRoundTrip(new PlanBatchMessage(time, List.of(plan(time, "long", 40000, 40000, TurnIndicatorStatus.RIGHT))));
+        assertRoundTrip(new PlanBatchMessage(time, List.of(plan(time, "max", 0xFFFF, 0xFFFF, TurnIndicatorStatus.NONE))));
+        assertThrows(IllegalArgumentException.class, () -> new PlanBatchMessage(time,
+                List.of(plan(time, "too many points", 0x10000, 1, TurnIndicatorStatus.NONE))).encode());
+        assertThrows(IllegalArgumentException.class, () -> new PlanBatchMessage(time,
+                List.of(plan(time, "too many segments", 1, 0x10000, TurnIndicatorStatus.NONE))).encode());
+
+        byte[] bytes = new PlanBatchMessage(time, plans).encode();
+        bytes[0]++;
+        assertThrows(IllegalArgumentException.class, () -> PlanBatchMessage.decode(bytes));
+    }
+
+    /**
+     * Tests encoding and decoding of external batches.
+     */
+    @Test
+    public void testExternalBatch()
+    {
+        // empty batch
+        assertRoundTrip(new ExternalBatchMessage(List.of()));
+
+        List<ExternalMessage> externals = new ArrayList<>();
+        externals.add(new ExternalMessage(Duration.ZERO, "", Length.ZERO, Length.ZERO, Direction.ZERO, Speed.ZERO,
+                Acceleration.ZERO));
+        externals.add(new ExternalMessage(Duration.ofSI(12.5), "car1", Length.ofSI(123.456789), Length.ofSI(-0.000001),
+                Direction.ofSI(-3.1415927f), Speed.ofSI(27.75f), Acceleration.ofSI(-7.25f)));
+        externals.add(new ExternalMessage(Duration.ofSI(Double.MAX_VALUE), "€🚗",
+                Length.ofSI(-Double.MAX_VALUE), Length.ofSI(Double.MIN_VALUE), Direction.ofSI(Float.MAX_VALUE),
+                Speed.ofSI(Float.MIN_VALUE), Acceleration.ofSI(-Float.MAX_VALUE)));
+        externals.add(new ExternalMessage(Duration.ofSI(0.1), "x".repeat(0xFFFF), Length.ofSI(1.0), Length.ofSI(2.0),
+                Direction.ofSI(0.5f), Speed.ofSI(1.0f), Acceleration.ofSI(0.125f)));
+        assertRoundTrip(new ExternalBatchMessage(externals));
+
+        byte[] bytes = new ExternalBatchMessage(externals).encode();
+        bytes[0]++;
+        assertThrows(IllegalArgumentException.class, () -> ExternalBatchMessage.decode(bytes));
+    }
+
+    /**
+     * Creates a plan with path points at millimeter resolution, as this is the resolution at which coordinates are encoded.
+     * @param time time
+     * @param vehicleId vehicle id
+     * @param points number of path points
+     * @param segments number of segments
+     * @param turnIndicator turn indicator
+     * @return plan
+     */
+    private static PlanMessage plan(final Duration time, final String vehicleId, final int points, final int segments,
+            final TurnIndicatorStatus turnIndicator)
+    {
+        float[] x = new float[points];
+        float[] y = new float[points];
+        for (int i = 0; i < points; i++)
+        {
+            x[i] = (float) (1234.567 + (i % 1000) * 0.5);
+            y[i] = (float) (-89.012 - (i % 1000) * 0.25);
+        }
+        float[] t = new float[segments];
+        float[] a = new float[segments];
+        for (int i = 0; i < segments; i++)
+        {
+            t[i] = 0.1f * (i + 1);
+            a[i] = -2.0f + 0.3f * i;
+        }
+        return new PlanMessage(time, vehicleId, Speed.ofSI(13.875f), new FloatLengthVector(x), new FloatLengthVector(y),
+                new FloatDurationVector(t), new FloatAccelerationVector(a), turnIndicator);
+    }
+
+    /**
+     * Checks that the plan batch is equal after encoding and decoding.
+     * @param message plan batch
+     */
+    private static void assertRoundTrip(final PlanBatchMessage message)
+    {
+        byte[] bytes = message.encode();
+        PlanBatchMessage decoded = PlanBatchMessage.decode(bytes);
+        assertEquals(message, decoded);
+        assertEquals(bytes.length, decoded.encode().length);
+        assertTrue(bytes.length >= 1 + Double.BYTES + Integer.BYTES);
+    }
+
+    /**
+     * Checks that the external batch is equal after encoding and decoding.
+     * @param message external batch
+     */
+    private static void assertRoundTrip(final ExternalBatchMessage message)
+    {
+        byte[] bytes = message.encode();
+        ExternalBatchMessage decoded = ExternalBatchMessage.decode(bytes);
+        assertEquals(message, decoded);
+        assertEquals(bytes.length, decoded.encode().length);
+    }
+
+}
@@ -0,0 +1,105 @@
+package org.opentrafficsim.cosim.messages;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test of BinaryCodec.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public final class BinaryCodecTest
+{
+
+    /** */
+    private BinaryCodecTest()
+    {
+        // do not instantiate test class
+    }
+
+    /**
+     * Tests the version byte.
+     */
+    @Test
+    public void testVersion()
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(1);
+        BinaryCodec.writeVersion(buffer);
+        assertEquals(BinaryCodec.VERSION, buffer.array()[0]);
+        BinaryCodec.readVersion(buffer.flip());
+        assertFalse(buffer.hasRemaining());
+        assertThrows(IllegalArgumentException.class, () -> BinaryCodec.readVersion(ByteBuffer.wrap(new byte[] {0})));
+    }
+
+    /**
+     * Tests that strings are decoded as they were encoded.
+     */
+    @Test
+    public void testString()
+    {
+        for (String string : new String[] {"", "car1", "ÄØ€🚗", "a".repeat(0xFFFF)})
+        {
+            ByteBuffer buffer = ByteBuffer.allocate(BinaryCodec.stringSize(string));
+            BinaryCodec.writeString(buffer, string);
+            assertFalse(buffer.hasRemaining(), "String size should be exact.");
+            assertEquals(string, BinaryCodec.readString(buffer.flip()));
+            assertFalse(buffer.hasRemaining());
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> BinaryCodec.writeString(ByteBuffer.allocate(0x10001 + Short.BYTES), "a".repeat(0x10000)));
+    }
+
+    /**
+     * Tests that coordinates are decoded as they were encoded, at millimeter resolution.
+     */
+    @Test
+    public void testCoordinates()
+    {
+        assertCoordinates(new float[0]);
+        assertCoordinates(new float[] {0.0f});
+        assertCoordinates(new float[] {1.234f, 1.235f, 1.236f, -1.236f, 0.001f, -0.001f});
+        assertCoordinates(new float[] {1000000.0f, -1000000.0f, 1000000.0f, 0.0f});
+        assertCoordinates(new float[] {4096.125f, -4096.125f, 8191.999f});
+
+        // values are rounded to millimeters
+        ByteBuffer buffer = ByteBuffer.allocate(BinaryCodec.maxCoordinatesSize(2));
+        BinaryCodec.writeCoordinates(buffer, new float[] {0.0004f, 0.0006f});
+        assertArrayEquals(new float[] {0.0f, 0.001f}, BinaryCodec.readCoordinates(buffer.flip(), 2));
+
+        // small steps take 2 bytes, large steps more
+        buffer = ByteBuffer.allocate(BinaryCodec.maxCoordinatesSize(3));
+        BinaryCodec.writeCoordinates(buffer, new float[] {0.0f, 8.0f, 16.0f});
+        assertEquals(5, buffer.position());
+        buffer.clear();
+        BinaryCodec.writeCoordinates(buffer, new float[] {1000000.0f});
+        assertEquals(5, buffer.position());
+
+        // truncated data
+        assertThrows(BufferUnderflowException.class,
+                () -> BinaryCodec.readCoordinates(ByteBuffer.wrap(new byte[] {(byte) 0x80}), 1));
+    }
+
+    /**
+     * Checks that coordinates are decoded as they were encoded, and within the maximum size.
+     * @param coordinates coordinates
+     */
+    private static void assertCoordinates(final float[] coordinates)
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(BinaryCodec.maxCoordinatesSize(coordinates.length));
+        BinaryCodec.writeCoordinates(buffer, coordinates);
+        float[] decoded = BinaryCodec.readCoordinates(buffer.flip(), coordinates.length);
+        assertFalse(buffer.hasRemaining());
+        assertArrayEquals(coordinates, decoded);
+    }
+
+}
@@ -4,9 +4,13 @@ import org.djutils.event.Event;
 import org.djutils.event.EventListener;
 import org.opentrafficsim.base.OtsRuntimeException;
 import org.opentrafficsim.core.network.Network;
+import org.opentrafficsim.road.network.GtuStateBatch;
+import org.opentrafficsim.road.network.RoadNetwork;
 
 /**
- * Abstract class that listens to move events of GTUs so checks can be performed.
+ * Abstract class that listens to move events of GTUs so checks can be performed. On a {@link RoadNetwork} the checker listens
+ * to the {@link RoadNetwork#GTU_STATE_BATCH_EVENT} of the network, such that all GTUs that moved at the same time are checked
+ * once they all moved. On other networks the checker listens to move events of each GTU.
  * <p>
  * Copyright (c) 2013-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
  * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
@@ -26,15 +30,46 @@ public abstract class AbstractLaneBasedMoveChecker implements EventListener
      */
     public AbstractLaneBasedMoveChecker(final Network network)
     {
-        network.addListener(this, Network.GTU_ADD_EVENT);
-        network.addListener(this, Network.GTU_REMOVE_EVENT);
+        if (network instanceof RoadNetwork)
+        {
+            network.addListener(this, RoadNetwork.GTU_STATE_BATCH_EVENT);
+        }
+        else
+        {
+            network.addListener(this, Network.GTU_ADD_EVENT);
+            network.addListener(this, Network.GTU_REMOVE_EVENT);
+        }
         this.network = network;
     }
 
     @Override
     public void notify(final Event event)
     {
-        if (event.getType().equals(LaneBasedGtu.LANEBASED_MOVE_EVENT))
+        if (event.getType().equals(RoadNetwork.GTU_STATE_BATCH_EVENT))
+        {
+            GtuStateBatch batch = (GtuStateBatch) event.getContent();
+            try
+            {
+                for (int i = 0; i < batch.size(); i++)
+                {
+                    LaneBasedGtu gtu = batch.getGtu(i);
+                    // the GTU may have been destroyed by a check of another GTU, or by an event at the same time
+                    if (!gtu.isDestroyed())
+                    {
+                        checkMove(gtu);
+                    }
+                }
+            }
+            catch (OtsRuntimeException ex)
+            {
+                throw ex;
+            }
+            catch (Exception ex)
+            {
+                throw new OtsRuntimeException(ex);
+            }
+        }
+        else if (event.getType().equals(LaneBasedGtu.LANEBASED_MOVE_EVENT))
         {
             try
             {
@@ -10,6 +10,7 @@ import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.function.Predicate;
 
 import org.djunits.unit.DirectionUnit;
 import org.djunits.unit.PositionUnit;
@@ -33,6 +34,7 @@ import org.opentrafficsim.base.geometry.OtsGeometryUtil;
 import org.opentrafficsim.base.geometry.OtsLine2d;
 import org.opentrafficsim.base.logger.Logger;
 import org.opentrafficsim.base.parameters.ParameterException;
+import org.opentrafficsim.core.dsol.ReusableSimEvent;
 import org.opentrafficsim.core.gtu.Gtu;
 import org.opentrafficsim.core.gtu.GtuException;
 import org.opentrafficsim.core.gtu.GtuType;
@@ -44,11 +46,11 @@ import org.opentrafficsim.core.gtu.plan.operational.Segments;
 import org.opentrafficsim.core.network.LateralDirectionality;
 import org.opentrafficsim.core.network.Link;
 import org.opentrafficsim.core.network.NetworkException;
-import org.opentrafficsim.core.network.Node;
 import org.opentrafficsim.core.network.route.Route;
 import org.opentrafficsim.core.perception.Historical;
-import org.opentrafficsim.core.perception.HistoricalValue;
 import org.opentrafficsim.core.perception.HistoryManager;
+import org.opentrafficsim.core.profiler.Profiler;
+import org.opentrafficsim.core.profiler.ProfilerStage;
 import org.opentrafficsim.road.gtu.operational.LaneBasedOperationalPlan;
 import org.opentrafficsim.road.gtu.strategical.LaneBasedStrategicalPlanner;
 import org.opentrafficsim.road.gtu.tactical.LaneBasedTacticalPlanner;
@@ -60,7 +62,6 @@ import org.opentrafficsim.road.network.object.LaneBasedObject;
 import org.opentrafficsim.road.network.object.detector.LaneDetector;
 
 import nl.tudelft.simulation.dsol.SimRuntimeException;
-import nl.tudelft.simulation.dsol.formalisms.eventscheduling.SimEventInterface;
 
 /**
  * This class contains most of the code that is needed to run a lane based GTU. <br>
@@ -95,7 +96,7 @@ public class LaneBasedGtu extends Gtu implements LaneBasedObject
     private static final Length EVENT_MARGIN = Length.ofSI(50.0);
 
     /** Lane. */
-    private final HistoricalValue<Lane> lane;
+    private Historical<Lane> lane;
 
     /** Time of reference position cache. */
     private Duration cachedPositionTime = null;
@@ -112,20 +113,20 @@ public class LaneBasedGtu extends Gtu implements LaneBasedObject
     /** Lanes for which enter events are scheduled. */
     private NavigableMap<Duration, Lane> pendingLanesToEnter = new TreeMap<>();
 
-    /** Pending enter events. */
-    private Map<Lane, SimEventInterface<Duration>> pendingEnterEvents = new LinkedHashMap<>();
-
-    /** Event to leave lane and start roaming. */
-    private SimEventInterface<Duration> roamEvent;
-
     /** Detector triggers (detector and odometer at trigger time). */
     private Map<LaneDetector, Length> detectorTriggers = new LinkedHashMap<>();
 
-    /** Detector events. */
-    private Set<SimEventInterface<Duration>> detectorEvents = new LinkedHashSet<>();
+    /** Epoch of lane and detector events, pending events of an earlier epoch are cancelled. */
+    private long eventEpoch = 0L;
+
+    /** Lane enter events that are not pending and can be reused. */
+    private final List<LaneEnterEvent> laneEnterEventPool = new ArrayList<>();
+
+    /** Detector trigger events that are not pending and can be reused. */
+    private final List<DetectorTriggerEvent> detectorTriggerEventPool = new ArrayList<>();
 
     /** Turn indicator status. */
-    private final Historical<TurnIndicatorStatus> turnIndicatorStatus;
+    private Historical<TurnIndicatorStatus> turnIndicatorStatus;
 
     /** Vehicle model. */
     private VehicleModel vehicleModel = VehicleModel.MINMAX;
@@ -137,7 +138,10 @@ public class LaneBasedGtu extends Gtu implements LaneBasedObject
     private Length noLaneChangeDistance;
 
     /** Lane change direction. */
-    private final Historical<LateralDirectionality> laneChangeDirection;
+    private Historical<LateralDirectionality> laneChangeDirection;
+
+    /** Time spent on firing the move event of {@code Gtu} in the current move, which is profiled with our own events [ns]. */
+    private long moveEventFiringTime = 0L;
 
     /**
      * The lane-based event type for pub/sub indicating a move.<br>
@@ -222,9 +226,9 @@ public class LaneBasedGtu extends Gtu implements LaneBasedObject
     {
         super(id, gtuType, network.getSimulator(), network, length, width, front, maximumSpeed);
         HistoryManager historyManager = network.getSimulator().getReplication().getHistoryManager(network.getSimulator());
-        this.lane = new HistoricalValue<>(historyManager, this);
-        this.turnIndicatorStatus = new HistoricalValue<>(historyManager, this, TurnIndicatorStatus.NOTPRESENT);
-        this.laneChangeDirection = new HistoricalValue<>(historyManager, this, LateralDirectionality.NONE);
+        this.lane = historyManager.newHistorical(this, null);
+        this.turnIndicatorStatus = historyManager.newHistorical(this, TurnIndicatorStatus.NOTPRESENT);
+        this.laneChangeDirection = historyManager.newHistorical(this, LateralDirectionality.NONE);
     }
 
     /**
@@ -323,7 +327,6 @@ public class LaneBasedGtu extends Gtu implements LaneBasedObject
         {
             exitLane.removeGtu(this, true, exitPosition);
             this.pendingLanesToEnter.values().remove(lane);
-            this.pendingEnterEvents.remove(lane);
             fireTimedEvent(LaneBasedGtu.LANE_EXIT_EVENT, new Object[] {getId(), exitLane.getLink().getId(), exitLane.getId()},
                     getSimulator().getSimulatorTime());
             if (exitLane.getLink().equals(lane.getLink()))
@@ -504,8 +507,7 @@ public class LaneBasedGtu extends Gtu implements LaneBasedObject
     }
 
     /**
-     * Returns the nearest lane position on the route / network. It is not strictly guaranteed that the position is closest, as
-     * this method will only search on links where either of the nodes is the closest node.
+     * Returns the nearest lane position on the route / network.
      * @return nearest lane position on the route / network
      * @throws IllegalStateException if the GTU is on a lane
      */
@@ -521,54 +523,17 @@ public class LaneBasedGtu extends Gtu implements LaneBasedObject
     }
 
     /**
-     * Returns the nearest lane position on the route / network. It is not strictly guaranteed that the position is closest, as
-     * this method will only search on links where either of the nodes is the closest node.
+     * Returns the nearest lane position on the route / network, using the spatial index of lanes in the network.
      * @param location location to find the nearest lane position for
      * @return nearest lane position on the route / network
+     * @throws IllegalStateException if there is no lane in the route or in the network
      */
     protected LanePosition getRoamingPosition(final Point2d location)
     {
         Optional<Route> route = getStrategicalPlanner() == null ? Optional.empty() : getStrategicalPlanner().getRoute();
-        // TODO instead of getNetwork().getNodeMap().values(), using spatial tree would be a good alternative
-        // perhaps even a findClosest() method.
-        Iterable<Node> nodes = route.isEmpty() ? getNetwork().getNodeMap().values() : route.get().getNodes();
-        List<CrossSectionLink> nearestLinks = new ArrayList<>(2);
-        double minDist = Double.POSITIVE_INFINITY;
-        for (Node node : nodes)
-        {
-            double dist = node.getPoint().distance(location);
-            if (dist < minDist)
-            {
-                nearestLinks.clear();
-                for (Link link : node.getLinks())
-                {
-                    if (link instanceof CrossSectionLink cLink && (route.isEmpty() || route.get().containsLink(link)))
-                    {
-                        nearestLinks.add(cLink);
-                        minDist = dist;
-                    }
-                }
-            }
-        }
-        Throw.when(nearestLinks.isEmpty(), IllegalStateException.class, "No lane in the route or in the network.");
-        LanePosition roamingPosition = null;
-        minDist = Double.POSITIVE_INFINITY;
-        for (CrossSectionLink nearestLink : nearestLinks)
-        {
-            for (Lane checkLane : nearestLink.getLanesAndShoulders())
-            {
-                double fraction = checkLane.getCenterLine().projectOrthogonalSnapAt(location.x, location.y);
-                DirectedPoint2d point = checkLane.getCenterLine().getLocationFraction(fraction);
-                double dist = point.distance(location);
-                if (dist < minDist)
-                {
-                    roamingPosition =
-                            new LanePosition(checkLane, Length.ofSI(checkLane.getCenterLine().getLength() * fraction));
-                    minDist = dist;
-                }
-            }
-        }
-        return roamingPosition;
+        Predicate<Lane> onRoute = route.isEmpty() ? (lane) -> true : (lane) -> route.get().containsLink(lane.getLink());
+        return getNetwork().getNearestLanePosition(location, onRoute)
+                .orElseThrow(() -> new IllegalStateException("No lane in the route or in the network."));
     }
 
     /**
@@ -644,6 +609,7 @@ public class LaneBasedGtu extends Gtu implements LaneBasedObject
         {
             // cancel events, if any
             cancelAllEvents();
+            this.moveEventFiringTime = 0L;
 
             // generate the next operational plan and carry it out
             try
@@ -663,19 +629,40 @@ public class LaneBasedGtu extends Gtu implements LaneBasedObject
                 return true;
             }
 
+            long t = Profiler.start();
             scheduleLaneEvents();
+            t = Profiler.lap(ProfilerStage.LANE_EVENTS, getType(), t);
             findDetectorTriggers(true);
+            t = Profiler.lap(ProfilerStage.DETECTOR_TRIGGERS, getType(), t);
 
-            LanePosition position = getPosition();
-            String linkId = position != null ? position.lane().getLink().getId() : null;
-            String laneId = position != null ? position.lane().getId() : null;
-            Length pos = position != null ? position.position() : null;
-            fireTimedEvent(LaneBasedGtu.LANEBASED_MOVE_EVENT,
-                    new Object[] {getId(),
-                            new PositionVector(new double[] {fromLocation.x, fromLocation.y}, PositionUnit.METER),
-                            new Direction(fromLocation.getDirZ(), DirectionUnit.EAST_RADIAN), getSpeed(), getAcceleration(),
-                            getTurnIndicatorStatus().name(), getOdometer(), linkId, laneId, pos},
-                    getSimulator().getSimulatorTime());
+            // the payload and position are only derived when there are listeners, as this happens for every GTU at every step
+            boolean moveListeners = numberOfListeners(LaneBasedGtu.LANEBASED_MOVE_EVENT) > 0;
+            boolean batchListeners = getNetwork().numberOfListeners(RoadNetwork.GTU_STATE_BATCH_EVENT) > 0;
+            if (moveListeners || batchListeners)
+            {
+                LanePosition position = getPosition();
+                if (moveListeners)
+                {
+                    String linkId = position != null ? position.lane().getLink().getId() : null;
+                    String laneId = position != null ? position.lane().getId() : null;
+                    Length pos = position != null ? position.position() : null;
+                    fireTimedEvent(LaneBasedGtu.LANEBASED_MOVE_EVENT,
+                            new Object[] {getId(),
+                                    new PositionVector(new double[] {fromLocation.x, fromLocation.y}, PositionUnit.METER),
+                                    new Direction(fromLocation.getDirZ(), DirectionUnit.EAST_RADIAN), getSpeed(),
+                                    getAcceleration(), getTurnIndicatorStatus().name(), getOdometer(), linkId, laneId, pos},
+                            getSimulator().getSimulatorTime());
+                }
+                if (batchListeners)
+                {
+                    getNetwork().addGtuState(this, fromLocation, position);
+                }
+            }
+            if (t != 0L && (moveListeners || batchListeners || this.moveEventFiringTime > 0L))
+            {
+                // includes the time of the move event of Gtu, such that event firing is counted once per move
+                Profiler.lap(ProfilerStage.EVENT_FIRING, getType(), t - this.moveEventFiringTime);
+            }
 
             return false;
 
@@ -696,24 +683,53 @@ public class LaneBasedGtu extends Gtu implements LaneBasedObject
     }
 
     /**
-     * Cancels all future events.
+     * Cancels all future events. Pending lane and detector events are cancelled at once by starting a new epoch. They remain
+     * in the event list, and do nothing but return to the pool when executed.
      */
     protected void cancelAllEvents()
     {
-        if (this.roamEvent != null)
-        {
-            getSimulator().cancelEvent(this.roamEvent);
-            this.roamEvent = null;
-        }
+        this.eventEpoch++;
         this.pendingLanesToEnter.clear();
-        this.pendingEnterEvents.values().forEach((event) -> getSimulator().cancelEvent(event));
-        this.pendingEnterEvents.clear();
-        // we should clear all detector events as triggers that remain in this.detectorTriggers will be rescheduled in move
-        this.detectorEvents.forEach((event) -> getSimulator().cancelEvent(event));
-        this.detectorEvents.clear();
+        // we should cancel all detector events as triggers that remain in this.detectorTriggers will be rescheduled in move
         findDetectorTriggers(false);
     }
 
+    /**
+     * {@inheritDoc} The time is included in the profiling of the lane-based events.
+     */
+    @Override
+    protected void profileMoveEventFiring(final long start)
+    {
+        this.moveEventFiringTime = start == 0L ? 0L : System.nanoTime() - start;
+    }
+
+    /**
+     * Schedules an event to enter a lane, or to leave the lane and start roaming, using a pooled event.
+     * @param time time [s]
+     * @param lane lane to enter, {@code null} to leave the lane and start roaming
+     * @param fraction fractional position on the lane to enter
+     */
+    private void scheduleLaneEnterEvent(final double time, final Lane lane, final double fraction)
+    {
+        LaneEnterEvent event = this.laneEnterEventPool.isEmpty() ? new LaneEnterEvent()
+                : this.laneEnterEventPool.remove(this.laneEnterEventPool.size() - 1);
+        event.set(time, lane, fraction);
+        getSimulator().scheduleEvent(event);
+    }
+
+    /**
+     * Schedules an event to trigger a detector, using a pooled event.
+     * @param time time [s]
+     * @param detector detector
+     */
+    private void scheduleDetectorTriggerEvent(final double time, final LaneDetector detector)
+    {
+        DetectorTriggerEvent event = this.detectorTriggerEventPool.isEmpty() ? new DetectorTriggerEvent()
+                : this.detectorTriggerEventPool.remove(this.detectorTriggerEventPool.size() - 1);
+        event.set(time, detector);
+        getSimulator().scheduleEvent(event);
+    }
+
     /**
      * Schedules when a lane is entered (and a previous one is left). Also schedules start of roaming (GTU not having a lane),
      * or ends roaming if the GTU is on a lane.
@@ -778,8 +794,7 @@ public class LaneBasedGtu extends Gtu implements LaneBasedObject
                     Duration lateralCrossingTime = getTimeOfLateralCrossing(firstTimeOnLane, lastTimeOnLane, willRoam);
                     if (lateralCrossingTime != null && willRoam)
                     {
-                        this.roamEvent =
-                                getSimulator().scheduleEventAbs(Duration.ofSI(lateralCrossingTime.si), () -> exitLane());
+                        scheduleLaneEnterEvent(lateralCrossingTime.si, null, Double.NaN);
                         return; // no further lanes to check when roaming
                     }
                     else if (lateralCrossingTime != null)
@@ -796,15 +811,12 @@ public class LaneBasedGtu extends Gtu implements LaneBasedObject
                             double fractionOnTargetLane = positionOnTargetLane.si / laneOnPath.getLength().si;
                             planStartPositionAtLaneOnPath = positionOnTargetLane.minus(distanceTillLaneChange);
                             this.pendingLanesToEnter.put(lateralCrossingTime, laneOnPath);
-                            Lane finalLane = laneOnPath;
-                            this.pendingEnterEvents.put(laneOnPath, getSimulator().scheduleEventAbs(
-                                    Duration.ofSI(lateralCrossingTime.si), () -> enterLane(finalLane, fractionOnTargetLane)));
+                            scheduleLaneEnterEvent(lateralCrossingTime.si, laneOnPath, fractionOnTargetLane);
                         }
                         else
                         {
                             // no lane to change to, curve back or roam
-                            this.roamEvent =
-                                    getSimulator().scheduleEventAbs(Duration.ofSI(lateralCrossingTime.si), () -> exitLane());
+                            scheduleLaneEnterEvent(lateralCrossingTime.si, null, Double.NaN);
                             return; // no further lanes to check when roaming
                         }
                     }
@@ -830,7 +842,7 @@ public class LaneBasedGtu extends Gtu implements LaneBasedObject
                     {
                         Duration timeRearLeaving = Try.assign(() -> getOperationalPlan().getTimeAtDistance(distanceRearLeaving),
                                 "Distance till rear leaves link is beyond plan.");
-                        this.roamEvent = getSimulator().scheduleEventAbs(Duration.ofSI(timeRearLeaving.si), () -> exitLane());
+                        scheduleLaneEnterEvent(timeRearLeaving.si, null, Double.NaN);
                     }
                     return; // no further lanes to check
                 }
@@ -843,9 +855,7 @@ public class LaneBasedGtu extends Gtu implements LaneBasedObject
                         Logger.ots().error("GTU {} enters lane through hack.", getId());
                     }
                     this.pendingLanesToEnter.put(enterTime, laneOnPath);
-                    Lane finalLane = laneOnPath;
-                    this.pendingEnterEvents.put(laneOnPath,
-                            getSimulator().scheduleEventAbs(Duration.ofSI(enterTime.si), () -> enterLane(finalLane, 0.0)));
+                    scheduleLaneEnterEvent(enterTime.si, laneOnPath, 0.0);
                 }
             }
             else
@@ -998,8 +1008,7 @@ public class LaneBasedGtu extends Gtu implements LaneBasedObject
                 {
                     Duration triggerTime = Try.assign(() -> getOperationalPlan().getTimeAtDistance(toDetector),
                             "Distance to detector beyond plan length.");
-                    this.detectorEvents
-                            .add(getSimulator().scheduleEventAbs(triggerTime, () -> triggerDetector(trigger.getKey())));
+                    scheduleDetectorTriggerEvent(triggerTime.si, trigger.getKey());
                 }
             }
         }
@@ -1475,6 +1484,31 @@ public class LaneBasedGtu extends Gtu implements LaneBasedObject
         super.destroy();
     }
 
+    /**
+     * {@inheritDoc} The pooled lane and detector events are kept for reuse. Such events that are still scheduled from before
+     * the GTU was destroyed remain cancelled.
+     */
+    @Override
+    @SuppressWarnings("checkstyle:designforextension")
+    protected synchronized void recycle(final String newId) throws GtuException
+    {
+        super.recycle(newId);
+        HistoryManager historyManager = getSimulator().getReplication().getHistoryManager(getSimulator());
+        this.lane = historyManager.newHistorical(this, null);
+        this.turnIndicatorStatus = historyManager.newHistorical(this, TurnIndicatorStatus.NOTPRESENT);
+        this.laneChangeDirection = historyManager.newHistorical(this, LateralDirectionality.NONE);
+        this.cachedPositionTime = null;
+        this.cachedPosition = null;
+        this.cachedRoamingPositionTime = null;
+        this.cachedRoamingPosition = null;
+        this.eventEpoch++;
+        this.pendingLanesToEnter.clear();
+        this.detectorTriggers.clear();
+        this.vehicleModel = VehicleModel.MINMAX;
+        this.bookkeeping = LaneBookkeeping.START;
+        this.noLaneChangeDistance = null;
+    }
+
     @Override
     @SuppressWarnings("checkstyle:designforextension")
     public String toString()
@@ -1482,4 +1516,107 @@ public class LaneBasedGtu extends Gtu implements LaneBasedObject
         return "GTU " + getId();
     }
 
+    /**
+     * Pooled event to enter a lane, or to leave the lane and start roaming. When executed, the event returns to the pool, and
+     * only acts if it was not cancelled.
+     */
+    private final class LaneEnterEvent extends ReusableSimEvent
+    {
+        /** Lane to enter, {@code null} to leave the lane and start roaming. */
+        private Lane targetLane;
+
+        /** Fractional position on the lane to enter. */
+        private double fraction;
+
+        /** Epoch in which the event was scheduled. */
+        private long epoch;
+
+        /**
+         * Prepares the event to be scheduled.
+         * @param time time [s]
+         * @param lane lane to enter, {@code null} to leave the lane and start roaming
+         * @param fractionOnLane fractional position on the lane to enter
+         */
+        void set(final double time, final Lane lane, final double fractionOnLane)
+        {
+            setTime(time);
+            this.targetLane = lane;
+            this.fraction = fractionOnLane;
+            this.epoch = LaneBasedGtu.this.eventEpoch;
+        }
+
+        @Override
+        public void execute()
+        {
+            Lane lane = this.targetLane;
+            double fractionOnLane = this.fraction;
+            boolean cancelled = this.epoch != LaneBasedGtu.this.eventEpoch;
+            this.targetLane = null;
+            LaneBasedGtu.this.laneEnterEventPool.add(this);
+            if (cancelled)
+            {
+                return;
+            }
+            if (lane == null)
+            {
+                exitLane();
+            }
+            else
+            {
+                enterLane(lane, fractionOnLane);
+            }
+        }
+
+        @Override
+        public String toString()
+        {
+            return "LaneEnterEvent [gtu=" + LaneBasedGtu.this.getId() + ", time=" + getTime() + "s, lane="
+                    + (this.targetLane == null ? "none" : this.targetLane.getFullId()) + "]";
+        }
+    }
+
+    /**
+     * Pooled event to trigger a detector. When executed, the event returns to the pool, and only acts if it was not cancelled.
+     */
+    private final class DetectorTriggerEvent extends ReusableSimEvent
+    {
+        /** Detector. */
+        private LaneDetector detector;
+
+        /** Epoch in which the event was scheduled. */
+        private long epoch;
+
+        /**
+         * Prepares the event to be scheduled.
+         * @param time time [s]
+         * @param laneDetector detector
+         */
+        void set(final double time, final LaneDetector laneDetector)
+        {
+            setTime(time);
+            this.detector = laneDetector;
+            this.epoch = LaneBasedGtu.this.eventEpoch;
+        }
+
+        @Override
+        public void execute()
+        {
+            LaneDetector laneDetector = this.detector;
+            boolean cancelled = this.epoch != LaneBasedGtu.this.eventEpoch;
+            this.detector = null;
+            LaneBasedGtu.this.detectorTriggerEventPool.add(this);
+            if (!cancelled)
+            {
+                triggerDetector(laneDetector);
+            }
+        }
+
+        @Override
+        public String toString()
+        {
+            return "DetectorTriggerEvent [gtu=" + LaneBasedGtu.this.getId() + ", time=" + getTime() + "s, detector="
+                    + (this.detector == null ? "none" : this.detector.getFullId()) + "]";
+        }
+    }
+
 }
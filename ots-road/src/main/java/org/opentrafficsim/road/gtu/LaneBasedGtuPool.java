@@ -0,0 +1,164 @@
+package org.opentrafficsim.road.gtu;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+
+import org.djunits.value.vdouble.scalar.Length;
+import org.djunits.value.vdouble.scalar.Speed;
+import org.djutils.event.Event;
+import org.djutils.event.EventListener;
+import org.djutils.exceptions.Throw;
+import org.opentrafficsim.base.TimeStampedObject;
+import org.opentrafficsim.core.gtu.Gtu;
+import org.opentrafficsim.core.gtu.GtuException;
+import org.opentrafficsim.core.gtu.GtuType;
+import org.opentrafficsim.core.network.Network;
+import org.opentrafficsim.road.network.RoadNetwork;
+
+/**
+ * Pool of lane based GTUs that are recycled once destroyed. A GTU obtained from the pool is returned to the pool when it is
+ * destroyed, and is reused for a GTU with equal type, dimensions and maximum speed. A reused GTU has a new id, no listeners,
+ * tags, parameters or planners, and new historicals, but an unchanged hash code. Events of the GTU that are still scheduled
+ * from before it was destroyed are ignored. GTUs are only reused at a later simulation time than the time they were
+ * destroyed.
+ * <p>
+ * Recycling saves allocation of the GTU objects and their internal structures, but it requires that no component keeps a
+ * reference to a GTU after it was destroyed, as the same object may later represent another GTU. Therefore the pool can only
+ * be used when no history is kept, and only GTUs of class {@code LaneBasedGtu} that were obtained from the pool are recycled.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public class LaneBasedGtuPool implements EventListener
+{
+
+    /** Network. */
+    private final RoadNetwork network;
+
+    /** Maximum number of destroyed GTUs that are kept per template. */
+    private final int capacity;
+
+    /** Destroyed GTUs, time-stamped with the time they were destroyed, per template. */
+    private final Map<Template, Queue<TimeStampedObject<LaneBasedGtu>>> pool = new LinkedHashMap<>();
+
+    /** GTUs obtained from the pool that are not yet destroyed. */
+    private final Set<LaneBasedGtu> issued = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /** Number of GTUs that were reused. */
+    private long recycled = 0;
+
+    /**
+     * Constructor.
+     * @param network network
+     * @param capacity maximum number of destroyed GTUs that are kept per template
+     * @throws NullPointerException when network is {@code null}
+     * @throws IllegalArgumentException when capacity is below 1
+     * @throws IllegalStateException when the simulation keeps history
+     */
+    public LaneBasedGtuPool(final RoadNetwork network, final int capacity)
+    {
+        Throw.whenNull(network, "network");
+        Throw.when(capacity < 1, IllegalArgumentException.class, "Capacity should be at least 1.");
+        Throw.when(!network.getSimulator().getReplication().getHistoryManager(network.getSimulator()).isHistoryFree(),
+                IllegalStateException.class, "GTUs can only be recycled in a simulation that keeps no history.");
+        this.network = network;
+        this.capacity = capacity;
+        network.addListener(this, Network.GTU_REMOVE_EVENT);
+    }
+
+    /**
+     * Returns a GTU, which is either a recycled GTU of the same template, or a new GTU. The GTU is registered in the network
+     * and should be initialized as a new GTU.
+     * @param id the id of the GTU
+     * @param gtuType the type of GTU
+     * @param length the maximum length of the GTU (parallel with driving direction)
+     * @param width the maximum width of the GTU (perpendicular to driving direction)
+     * @param maximumSpeed the maximum speed of the GTU (in the driving direction)
+     * @param front front distance relative to the reference position
+     * @return recycled or new GTU
+     * @throws GtuException when initial values are not correct, or the id already exists in the network
+     */
+    public LaneBasedGtu get(final String id, final GtuType gtuType, final Length length, final Length width,
+            final Speed maximumSpeed, final Length front) throws GtuException
+    {
+        Queue<TimeStampedObject<LaneBasedGtu>> queue = this.pool.get(new Template(gtuType, length, width, maximumSpeed, front));
+        LaneBasedGtu gtu;
+        if (queue != null && !queue.isEmpty()
+                && queue.peek().timestamp().lt(this.network.getSimulator().getSimulatorTime()))
+        {
+            gtu = queue.remove().object();
+            gtu.recycle(id);
+            this.recycled++;
+        }
+        else
+        {
+            gtu = new LaneBasedGtu(id, gtuType, length, width, maximumSpeed, front, this.network);
+        }
+        this.issued.add(gtu);
+        return gtu;
+    }
+
+    /**
+     * Returns the number of GTUs that were reused.
+     * @return number of GTUs that were reused
+     */
+    public long getRecycled()
+    {
+        return this.recycled;
+    }
+
+    /**
+     * Returns the number of destroyed GTUs that are available for reuse.
+     * @return number of destroyed GTUs that are available for reuse
+     */
+    public int size()
+    {
+        return this.pool.values().stream().mapToInt(Queue::size).sum();
+    }
+
+    @Override
+    public void notify(final Event event)
+    {
+        // the GTU is still in the network, but is being destroyed
+        Optional<Gtu> gtu = this.network.getGTU((String) event.getContent());
+        if (gtu.isPresent() && gtu.get().getClass().equals(LaneBasedGtu.class) && this.issued.remove(gtu.get()))
+        {
+            LaneBasedGtu laneBasedGtu = (LaneBasedGtu) gtu.get();
+            Queue<TimeStampedObject<LaneBasedGtu>> queue =
+                    this.pool.computeIfAbsent(new Template(laneBasedGtu.getType(), laneBasedGtu.getLength(),
+                            laneBasedGtu.getWidth(), laneBasedGtu.getMaximumSpeed(), laneBasedGtu.getFront().dx()),
+                            (template) -> new ArrayDeque<>());
+            if (queue.size() < this.capacity)
+            {
+                queue.add(new TimeStampedObject<>(laneBasedGtu, this.network.getSimulator().getSimulatorTime()));
+            }
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return "LaneBasedGtuPool [capacity=" + this.capacity + ", size=" + size() + ", recycled=" + this.recycled + "]";
+    }
+
+    /**
+     * Properties that GTUs need to have in common to be recycled for one another.
+     * @param gtuType GTU type
+     * @param length length
+     * @param width width
+     * @param maximumSpeed maximum speed
+     * @param front front distance relative to the reference position
+     */
+    private record Template(GtuType gtuType, Length length, Length width, Speed maximumSpeed, Length front)
+    {
+    }
+
+}
@@ -69,6 +69,11 @@ import nl.tudelft.simulation.jstats.streams.StreamInterface;
  * </ol>
  * Note that there are various {@code asXxx()} methods to supply a view of injections as the components mentioned above.
  * <p>
+ * Large injection tables, e.g. of a day of recorded arrivals, can be supplied as a {@code StreamingCsvTable}, which reads rows
+ * from file while they are used. Such a table is not sorted, instead it should be in order of time, which is checked as arrival
+ * times are requested. Reading for columns that are not used is stopped. When the simulation ends before all injections are
+ * used, the table should be closed to stop reading.
+ * <p>
  * It is assumed that for each next GTU, first an inter-arrival time is requested. Functions 2 and 3 will not check order and
  * simply return information from the current row in the injections table. Function 4 and 5 are tracked independently and
  * asynchronous with the rest, as these occur at later times when GTUs are (attempted to be) placed.
@@ -236,6 +241,28 @@ public class Injections
                 "Injection table contains no time column.");
 
         createLanePositions(sortedTable);
+
+        // release the iterators of a streaming table that are not used
+        if (!this.columnNumbers.containsKey(ID_COLUMN))
+        {
+            close(this.idIterator);
+        }
+        if (!this.columnNumbers.containsKey(SPEED_COLUMN))
+        {
+            close(this.speedIterator);
+        }
+    }
+
+    /**
+     * Closes an iterator that is not used, which stops reading for the iterator if it is of a {@code StreamingCsvTable}.
+     * @param iterator iterator
+     */
+    private static void close(final Iterator<Row> iterator)
+    {
+        if (iterator instanceof StreamingCsvTable.RowIterator rowIterator)
+        {
+            rowIterator.close();
+        }
     }
 
     /**
@@ -245,6 +272,11 @@ public class Injections
      */
     private static Table sortTable(final Table table)
     {
+        if (table instanceof StreamingCsvTable)
+        {
+            // sorting would require all rows in memory, order is checked in asArrivalsSupplier()
+            return table;
+        }
         int timeColumn = table.getColumnNumber(TIME_COLUMN);
         Iterator<Row> iterator = table.iterator();
         Duration prev = iterator.hasNext() ? (Duration) iterator.next().getValue(timeColumn) : null;
@@ -356,12 +388,18 @@ public class Injections
             for (Row row : table)
             {
                 String linkId = (String) row.getValue(this.columnNumbers.get(LINK_COLUMN));
+                String laneId = (String) row.getValue(this.columnNumbers.get(LANE_COLUMN));
+                Length position = (Length) row.getValue(this.columnNumbers.get(POSITION_COLUMN));
+                if (this.lanePositions.get(linkId, laneId, position) != null)
+                {
+                    // repeated position, as is common in large tables
+                    continue;
+                }
                 Link link = this.network.getLink(linkId).orElseThrow(
                         () -> new IllegalArgumentException("Link " + linkId + " in injections is not in the network."));
                 Throw.when(!(link instanceof CrossSectionLink), IllegalArgumentException.class,
                         "Injection table contains link that is not a CrossSectionLink.");
 
-                String laneId = (String) row.getValue(this.columnNumbers.get(LANE_COLUMN));
                 // get and sort lanes to get the lane number (1 = right-most lane)
                 List<Lane> lanes = ((CrossSectionLink) link).getLanes();
                 Collections.sort(lanes, new Comparator<Lane>()
@@ -384,7 +422,6 @@ public class Injections
                 Throw.when(laneNumber == 0, IllegalArgumentException.class,
                         "Injection table contains lane %s on link %s, but the link has no such lane.", laneId, linkId);
 
-                Length position = (Length) row.getValue(this.columnNumbers.get(POSITION_COLUMN));
                 Throw.when(position.lt0() || position.gt(lanes.get(laneNumber - 1).getLength()), IllegalArgumentException.class,
                         "Injection table contains position %s on lane %s on link %s, but the position is negative or "
                                 + "beyond the length of the lane.",
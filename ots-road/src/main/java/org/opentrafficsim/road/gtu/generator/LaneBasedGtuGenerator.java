@@ -10,6 +10,7 @@ import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import javax.naming.NamingException;
@@ -36,7 +37,10 @@ import org.opentrafficsim.core.gtu.GtuGenerator;
 import org.opentrafficsim.core.gtu.GtuType;
 import org.opentrafficsim.core.gtu.RelativePosition;
 import org.opentrafficsim.core.network.NetworkException;
+import org.opentrafficsim.core.profiler.Profiler;
+import org.opentrafficsim.core.profiler.ProfilerStage;
 import org.opentrafficsim.road.gtu.LaneBasedGtu;
+import org.opentrafficsim.road.gtu.LaneBasedGtuPool;
 import org.opentrafficsim.road.gtu.LaneBookkeeping;
 import org.opentrafficsim.road.gtu.generator.GeneratorPositions.GeneratorLanePosition;
 import org.opentrafficsim.road.gtu.generator.characteristics.LaneBasedGtuCharacteristics;
@@ -92,6 +96,9 @@ public class LaneBasedGtuGenerator extends LocalEventProducer implements GtuGene
     /** Total number of GTUs generated so far. */
     private long generatedGTUs = 0;
 
+    /** Total number of GTUs in queue over all positions, which may be read from other threads. */
+    private final AtomicInteger queueSize = new AtomicInteger();
+
     /** Retry interval for checking if a GTU can be placed. */
     private Duration reTryInterval = new Duration(0.1, DurationUnit.SI);
 
@@ -134,6 +141,9 @@ public class LaneBasedGtuGenerator extends LocalEventProducer implements GtuGene
     /** This enables to check whether idsInCharacteristicsOrder can still be set. */
     private boolean firstCharacteristicsDrawn = false;
 
+    /** Pool of GTUs to recycle, {@code null} if GTUs are not recycled. */
+    private LaneBasedGtuPool gtuPool = null;
+
     /**
      * Construct a new lane base GTU generator. If the ID generator is an instance of IdsWithCharacteristics and its
      * {@code hasIds()} method returns true, IDs are assigned in order of GTU characteristics.
@@ -203,6 +213,17 @@ public class LaneBasedGtuGenerator extends LocalEventProducer implements GtuGene
         this.errorHandler = gtuErrorHandler;
     }
 
+    /**
+     * Sets the pool from which GTUs are obtained, such that destroyed GTUs are recycled. By default GTUs are not recycled. A
+     * pool may be shared by multiple generators in the same network. Recycling requires that no reference to a GTU is kept
+     * after it is destroyed, see {@link LaneBasedGtuPool}.
+     * @param gtuPool pool of GTUs to recycle, {@code null} to not recycle GTUs
+     */
+    public void setGtuPool(final LaneBasedGtuPool gtuPool)
+    {
+        this.gtuPool = gtuPool;
+    }
+
     /**
      * Sets what order should be used for the ids. By default this is in the order of successful GTU generation. If however the
      * id generator is an instance of {@code IdsWithCharacteristics} returning true for {@code hasIds()}, it is by default in
@@ -293,6 +314,7 @@ public class LaneBasedGtuGenerator extends LocalEventProducer implements GtuGene
             return; // Do not re-schedule this method
         }
 
+        long t = Profiler.start();
         LaneBasedGtuCharacteristics characteristics = timedCharacteristics.object();
         SortedSet<PerceivedGtu> leaders = new TreeSet<>();
         getFirstLeaders(position.getPosition().lane(),
@@ -307,6 +329,7 @@ public class LaneBasedGtuGenerator extends LocalEventProducer implements GtuGene
             {
                 queue.remove();
             }
+            this.queueSize.decrementAndGet();
             placeGtu(characteristics, placement.getPosition(), placement.getSpeed());
             if (queue.size() > 0)
             {
@@ -321,6 +344,7 @@ public class LaneBasedGtuGenerator extends LocalEventProducer implements GtuGene
                     OtsRuntimeException.class, "Exception during attempt to place GTU."));
         }
         // @end
+        Profiler.lap(ProfilerStage.GENERATOR_PLACEMENT, characteristics.getGtuType(), t);
     }
 
     /**
@@ -374,6 +398,7 @@ public class LaneBasedGtuGenerator extends LocalEventProducer implements GtuGene
         }
         Queue<TimeStampedObject<LaneBasedGtuCharacteristics>> queue = linkMap.get(lanePosition);
         queue.add(new TimeStampedObject<>(characteristics, this.simulator.getSimulatorTime()));
+        this.queueSize.incrementAndGet();
         // @docs/02-model-structure/dsol.md#event-based-simulation
         if (queue.size() == 1)
         {
@@ -397,8 +422,11 @@ public class LaneBasedGtuGenerator extends LocalEventProducer implements GtuGene
             final Speed speed) throws NamingException, GtuException, NetworkException, SimRuntimeException
     {
         String gtuId = this.idsInCharacteristicsOrder ? this.unplacedIds.remove(characteristics) : this.idGenerator.get();
-        LaneBasedGtu gtu = new LaneBasedGtu(gtuId, characteristics.getGtuType(), characteristics.getLength(),
-                characteristics.getWidth(), characteristics.getMaximumSpeed(), characteristics.getFront(), this.network);
+        LaneBasedGtu gtu = this.gtuPool == null
+                ? new LaneBasedGtu(gtuId, characteristics.getGtuType(), characteristics.getLength(),
+                        characteristics.getWidth(), characteristics.getMaximumSpeed(), characteristics.getFront(), this.network)
+                : this.gtuPool.get(gtuId, characteristics.getGtuType(), characteristics.getLength(),
+                        characteristics.getWidth(), characteristics.getMaximumSpeed(), characteristics.getFront());
         gtu.setMaximumAcceleration(characteristics.getMaximumAcceleration());
         gtu.setMaximumDeceleration(characteristics.getMaximumDeceleration());
         gtu.setVehicleModel(characteristics.getVehicleModel());
@@ -461,6 +489,15 @@ public class LaneBasedGtuGenerator extends LocalEventProducer implements GtuGene
         return this.generatedGTUs;
     }
 
+    /**
+     * Returns the number of GTUs in queue over all positions. This method may be called from other threads than the simulator.
+     * @return number of GTUs in queue over all positions
+     */
+    public final int getQueueSize()
+    {
+        return this.queueSize.get();
+    }
+
     /**
      * Retrieve the id of this LaneBasedGtuGenerator.
      * @return the id of this LaneBasedGtuGenerator
@@ -0,0 +1,322 @@
+package org.opentrafficsim.road.gtu.generator;
+
+import java.io.BufferedReader;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPInputStream;
+
+import org.djutils.data.Column;
+import org.djutils.data.Row;
+import org.djutils.data.Table;
+import org.djutils.data.csv.CsvData;
+import org.djutils.data.serialization.TextSerializationException;
+import org.djutils.data.serialization.TextSerializer;
+import org.djutils.exceptions.Throw;
+import org.opentrafficsim.base.OtsRuntimeException;
+
+import de.siegmar.fastcsv.reader.NamedCsvReader;
+import de.siegmar.fastcsv.reader.NamedCsvRow;
+
+/**
+ * Table that reads its rows lazily from a CSV file, in the format as written by {@code CsvData}, i.e. a data file and a header
+ * file with the column metadata. The data file may be compressed with gzip, in which case its name should end with ".gz". Each
+ * iterator reads the file on a background thread, which stays at most a bounded number of rows ahead of the iterator. Rows are
+ * hence not stored in memory, which allows a table with many rows, for example injections of a day of recorded arrivals, to be
+ * used with {@code Injections}. In that case the rows should be in order of time, which is checked during simulation.
+ * <p>
+ * An iterator starts its thread when {@code hasNext()} or {@code next()} is first invoked. Iterators that are not iterated
+ * until the end keep their thread waiting and the file open, until the iterator is closed, or the table is closed which closes
+ * all its iterators.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public class StreamingCsvTable extends Table implements AutoCloseable
+{
+
+    /** Default number of rows that are read ahead. */
+    public static final int DEFAULT_BUFFER_SIZE = 1024;
+
+    /** Marker in the buffer of the end of the file. */
+    private static final Object[] END = new Object[0];
+
+    /** Data file. */
+    private final String dataFile;
+
+    /** Number of rows that are read ahead. */
+    private final int bufferSize;
+
+    /** Serializers per column. */
+    private final TextSerializer<?>[] serializers;
+
+    /** Iterators that are not closed and did not reach the end of the file. */
+    private final Set<RowIterator> openIterators = Collections.synchronizedSet(new LinkedHashSet<>());
+
+    /**
+     * Constructor with default buffer size.
+     * @param dataFile data file, compressed with gzip if the name ends with ".gz"
+     * @param headerFile header file with column metadata
+     * @throws IOException when a file cannot be read
+     * @throws TextSerializationException when a column value type cannot be deserialized
+     */
+    public StreamingCsvTable(final String dataFile, final String headerFile) throws IOException, TextSerializationException
+    {
+        this(dataFile, headerFile, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructor.
+     * @param dataFile data file, compressed with gzip if the name ends with ".gz"
+     * @param headerFile header file with column metadata
+     * @param bufferSize number of rows that are read ahead
+     * @throws IOException when a file cannot be read
+     * @throws TextSerializationException when a column value type cannot be deserialized
+     * @throws IllegalArgumentException when the buffer size is not positive
+     */
+    public StreamingCsvTable(final String dataFile, final String headerFile, final int bufferSize)
+            throws IOException, TextSerializationException
+    {
+        this(dataFile, metadata(dataFile, headerFile), bufferSize);
+    }
+
+    /**
+     * Constructor using an empty table with the metadata.
+     * @param dataFile data file
+     * @param metadata empty table with id, description and columns
+     * @param bufferSize number of rows that are read ahead
+     * @throws TextSerializationException when a column value type cannot be deserialized
+     */
+    private StreamingCsvTable(final String dataFile, final Table metadata, final int bufferSize)
+            throws TextSerializationException
+    {
+        super(metadata.getId(), metadata.getDescription(), metadata.getColumns().toCollection());
+        Throw.when(bufferSize < 1, IllegalArgumentException.class, "Buffer size should be at least 1.");
+        this.dataFile = dataFile;
+        this.bufferSize = bufferSize;
+        this.serializers = new TextSerializer<?>[getNumberOfColumns()];
+        for (int i = 0; i < this.serializers.length; i++)
+        {
+            this.serializers[i] = TextSerializer.resolve(getColumn(i).getValueType());
+        }
+    }
+
+    /**
+     * Reads the metadata from the header file, and checks it against the first line of the data file.
+     * @param dataFile data file
+     * @param headerFile header file
+     * @return empty table with id, description and columns
+     * @throws IOException when a file cannot be read, or the files do not match
+     * @throws TextSerializationException when a column value type cannot be deserialized
+     */
+    private static Table metadata(final String dataFile, final String headerFile)
+            throws IOException, TextSerializationException
+    {
+        String firstLine;
+        try (BufferedReader reader = new BufferedReader(open(dataFile)))
+        {
+            firstLine = reader.readLine();
+        }
+        Throw.when(firstLine == null, IOException.class, "Data file %s has no header line.", dataFile);
+        try (Reader metaReader = new InputStreamReader(new FileInputStream(headerFile), StandardCharsets.UTF_8))
+        {
+            return CsvData.readData(new StringReader(firstLine), metaReader);
+        }
+    }
+
+    /**
+     * Opens a reader on the data file.
+     * @param dataFile data file
+     * @return reader on the data file
+     * @throws IOException when the file cannot be read
+     */
+    private static Reader open(final String dataFile) throws IOException
+    {
+        InputStream stream = new FileInputStream(dataFile);
+        if (dataFile.endsWith(".gz"))
+        {
+            stream = new GZIPInputStream(stream);
+        }
+        return new InputStreamReader(stream, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Iterator<Row> iterator()
+    {
+        RowIterator iterator = new RowIterator();
+        this.openIterators.add(iterator);
+        return iterator;
+    }
+
+    /**
+     * Closes all iterators of this table, which stops their threads and closes the file. The table can still be iterated by new
+     * iterators.
+     */
+    @Override
+    public void close()
+    {
+        List<RowIterator> iterators;
+        synchronized (this.openIterators)
+        {
+            iterators = new ArrayList<>(this.openIterators);
+        }
+        iterators.forEach(RowIterator::close);
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        try (NamedCsvReader reader = NamedCsvReader.builder().build(open(this.dataFile)))
+        {
+            return !reader.iterator().hasNext();
+        }
+        catch (IOException exception)
+        {
+            throw new OtsRuntimeException("Unable to read " + this.dataFile, exception);
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return "StreamingCsvTable [id=" + getId() + ", dataFile=" + this.dataFile + ", bufferSize=" + this.bufferSize + "]";
+    }
+
+    /**
+     * Iterator over the rows, which are read on a background thread that is started when the iterator is first used.
+     */
+    final class RowIterator implements Iterator<Row>, AutoCloseable
+    {
+        /** Rows read ahead, as values, or an exception. */
+        private final BlockingQueue<Object> buffer = new ArrayBlockingQueue<>(StreamingCsvTable.this.bufferSize);
+
+        /** Next item from the buffer, {@code null} if not yet taken. */
+        private Object next;
+
+        /** Thread that reads the file, {@code null} if not yet started. */
+        private Thread thread;
+
+        /** Whether the iterator is closed. */
+        private boolean closed = false;
+
+        /**
+         * Stops the thread that reads the file, if it was started, which closes the file. A closed iterator has no more rows.
+         */
+        @Override
+        public synchronized void close()
+        {
+            this.closed = true;
+            if (this.thread != null)
+            {
+                this.thread.interrupt();
+            }
+            this.next = END;
+            this.buffer.clear();
+            StreamingCsvTable.this.openIterators.remove(this);
+        }
+
+        /**
+         * Reads the file and puts values of rows in the buffer, followed by the end marker or an exception.
+         */
+        private void read()
+        {
+            try
+            {
+                try (NamedCsvReader reader = NamedCsvReader.builder().build(open(StreamingCsvTable.this.dataFile)))
+                {
+                    for (NamedCsvRow csvRow : reader)
+                    {
+                        Object[] values = new Object[getNumberOfColumns()];
+                        for (int i = 0; i < values.length; i++)
+                        {
+                            Column<?> column = getColumn(i);
+                            values[i] = TextSerializer.deserialize(StreamingCsvTable.this.serializers[i],
+                                    csvRow.getField(column.getId()), column);
+                        }
+                        this.buffer.put(values);
+                    }
+                }
+                this.buffer.put(END);
+            }
+            catch (InterruptedException exception)
+            {
+                Thread.currentThread().interrupt();
+            }
+            catch (IOException | RuntimeException exception)
+            {
+                try
+                {
+                    this.buffer.put(new OtsRuntimeException("Unable to read " + StreamingCsvTable.this.dataFile, exception));
+                }
+                catch (InterruptedException interrupted)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public synchronized boolean hasNext()
+        {
+            if (this.closed)
+            {
+                return false;
+            }
+            if (this.thread == null)
+            {
+                this.thread = new Thread(this::read, "StreamingCsvTable " + getId());
+                this.thread.setDaemon(true);
+                this.thread.start();
+            }
+            if (this.next == null)
+            {
+                try
+                {
+                    this.next = this.buffer.take();
+                }
+                catch (InterruptedException exception)
+                {
+                    Thread.currentThread().interrupt();
+                    throw new OtsRuntimeException("Interrupted while reading " + StreamingCsvTable.this.dataFile, exception);
+                }
+            }
+            if (this.next instanceof OtsRuntimeException exception)
+            {
+                StreamingCsvTable.this.openIterators.remove(this);
+                throw exception;
+            }
+            if (this.next == END)
+            {
+                // the thread has ended and closed the file
+                StreamingCsvTable.this.openIterators.remove(this);
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public synchronized Row next()
+        {
+            Throw.when(!hasNext(), NoSuchElementException.class, "No more rows in %s.", StreamingCsvTable.this.dataFile);
+            Row row = new Row(StreamingCsvTable.this, (Object[]) this.next);
+            this.next = null;
+            return row;
+        }
+    }
+
+}
@@ -2,8 +2,6 @@ package org.opentrafficsim.road.gtu.perception.mental.channel;
 
 import org.djutils.exceptions.Throw;
 
-import Jama.Matrix;
-
 /**
  * This class describes attention over channels, based on task demand per channel. Transition probabilities are based on demand
  * per channel, where drivers are assumed to keep perceiving the same channel by the demand of that channel alone. When total
@@ -61,73 +59,26 @@ public class AttentionMatrix
         }
 
         /*
-         * matrix is the transition matrix in a Markov chain describing the probability of the next perception glance to be
-         * towards channel j, given previous channel i.
-         */
-        Matrix matrix = new Matrix(n, n);
-        for (int i = 0; i < n; i++)
-        {
-            for (int j = 0; j < n; j++)
-            {
-                /*
-                 * As we need a left-eigenvector (v*P = 1*v, v=eigenvector, P=matrix), we pre-transpose the data setting at (j,
-                 * i). Note that left-eigenvectors are the transposed right-eigenvectors of matrix'. We do not care for how it
-                 * is transposed.
-                 */
-                if (i == j)
-                {
-                    // probability to keep perceiving the same channel is the demand of the channel
-                    matrix.set(j, i, demand[i]);
-                }
-                else if (demandSum > demand[i])
-                {
-                    /*
-                     * The probability of a switch to another channel is 1 - TD(i). The relative probabilities of the other
-                     * channels to be switched to, is proportional to the demand in these channels TD(j). These are normalized
-                     * by the total sum of demand minus the demand of the channel we switch from (i.e. the sum of demand of the
-                     * other channels), and scaled by the probability to switch 1 - TD(i).
-                     */
-                    matrix.set(j, i, (1 - demand[i]) * demand[j] / (demandSum - demand[i]));
-                }
-                else
-                {
-                    // there is only one channel with task demand, do not switch
-                    matrix.set(j, i, 0.0);
-                }
-            }
-        }
-
-        /*
-         * We use Jama to find the eigenvector of the transition matrix pertaining to the eigenvalue 1. Each Markov transition
-         * matrix has an eigenvalue 1, and the pertaining eigenvector is the steady-state. This steady state is the distribution
-         * of attention (in time) over the channels.
+         * The transition matrix in the Markov chain describing the probability of the next perception glance to be towards
+         * channel j, given previous channel i, is P(i, i) = TD(i) and P(i, j) = (1 - TD(i)) * TD(j) / (S - TD(i)), with S the
+         * sum of demand. The probability of a switch to another channel is 1 - TD(i), and the relative probabilities of the
+         * other channels to be switched to are proportional to their demand TD(j), normalized by the sum of demand of the
+         * other channels S - TD(i). As S > 1 > TD(i), the denominator is positive. The steady state v with v*P = v is the
+         * distribution of attention (in time) over the channels. With x(i) = v(i) * (1 - TD(i)) / (S - TD(i)), the flow out
+         * of channel j equals the flow in when x(j) * (S - TD(j)) = TD(j) * (X - x(j)), with X the sum of all x(i). Hence
+         * x(j) = TD(j) * X / S is proportional to TD(j), and the steady state in closed form is proportional to
+         * TD(j) * (S - TD(j)) / (1 - TD(j)). This replaces finding the eigenvector pertaining to the eigenvalue 1.
          */
-        var ed = matrix.eig();
-        double[] eigenValues = ed.getRealEigenvalues();
-        // find the eigenvalue closest to 1 (these values are not highly exact)
-        int eigenIndex = 0;
-        double dMin = 1.0;
-        for (int i = 0; i < n; i++)
-        {
-            double di = Math.abs(eigenValues[i] - 1.0);
-            if (di < dMin)
-            {
-                dMin = di;
-                eigenIndex = i;
-            }
-        }
-        // obtain the eigenvector pertaining to the eigenvalue of 1
-        double[][] v = ed.getV().getArray();
-        double sumEigenVector = 0.0;
+        double sum = 0.0;
         for (int i = 0; i < n; i++)
         {
-            this.attention[i] = v[i][eigenIndex];
-            sumEigenVector += this.attention[i];
+            this.attention[i] = demand[i] * (demandSum - demand[i]) / (1.0 - demand[i]);
+            sum += this.attention[i];
         }
         // normalize so it sums to 1
         for (int i = 0; i < n; i++)
         {
-            this.attention[i] = this.attention[i] / sumEigenVector;
+            this.attention[i] = this.attention[i] / sum;
         }
 
         /*
@@ -1,5 +1,6 @@
 package org.opentrafficsim.road.gtu.perception.structure;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
@@ -13,6 +14,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 
 import org.djunits.value.vdouble.scalar.Duration;
@@ -185,7 +187,10 @@ public class LaneStructure
         Length dx = LaneStructure.this.egoGtu.getRelativePositions().get(egoPosition).dx();
         Length dxDistance = LaneStructure.this.egoGtu.getRelativePositions().get(egoDistancePosition).dx();
         Optional<Route> route = LaneStructure.this.egoGtu.getStrategicalPlanner().getRoute();
-        return new NavigatingIterable<>(LaneBasedGtu.class, this.downstream,
+        Length range = this.downstream;
+        BiFunction<LaneBasedGtu, LaneRecord, Length> distancer =
+                (t, r) -> r.getStartDistance().plus(position(t, r, otherDistancePosition)).minus(dxDistance);
+        return new NavigatingIterable<>(LaneBasedGtu.class, range,
                 start((record) -> startDownstream(record, egoPosition), relativeLane), (record) ->
                 {
                     // this navigator ignores downstream lanes that are not on the route, if the current record is on the route
@@ -228,12 +233,14 @@ public class LaneStructure
                     {
                         return Collections.emptyList();
                     }
-                    if (from > 0 || to < gtus.size() - 1)
+                    // the first GTU beyond the range ends the iteration, copy up to there so the lane list is not retained
+                    int last = from;
+                    while (last < to && distancer.apply(gtus.get(last), record).le(range))
                     {
-                        gtus = gtus.subList(from, to + 1);
+                        last++;
                     }
-                    return gtus;
-                }, (t, r) -> r.getStartDistance().plus(position(t, r, otherDistancePosition)).minus(dxDistance));
+                    return new ArrayList<>(gtus.subList(from, last + 1));
+                }, distancer);
     }
 
     /**
@@ -254,7 +261,10 @@ public class LaneStructure
         update();
         Length dx = LaneStructure.this.egoGtu.getRelativePositions().get(egoPosition).dx();
         Length dxDistance = LaneStructure.this.egoGtu.getRelativePositions().get(egoDistancePosition).dx();
-        return new NavigatingIterable<>(LaneBasedGtu.class, this.upstream,
+        Length range = this.upstream;
+        BiFunction<LaneBasedGtu, LaneRecord, Length> distancer =
+                (t, r) -> dxDistance.minus(r.getStartDistance().plus(position(t, r, otherDistancePosition)));
+        return new NavigatingIterable<>(LaneBasedGtu.class, range,
                 start((record) -> startUpstream(record, egoPosition), relativeLane), (record) ->
                 {
                     // this navigator combines the upstream and lateral records
@@ -285,13 +295,16 @@ public class LaneStructure
                     {
                         return Collections.emptyList();
                     }
-                    if (from > 0 || to < gtus.size() - 1)
+                    // the first GTU beyond the range ends the iteration, copy up to there so the lane list is not retained
+                    int first = to;
+                    while (first > from && distancer.apply(gtus.get(first), record).le(range))
                     {
-                        gtus = gtus.subList(from, to + 1);
+                        first--;
                     }
-                    Collections.reverse(gtus);
-                    return gtus;
-                }, (t, r) -> dxDistance.minus(r.getStartDistance().plus(position(t, r, otherDistancePosition))));
+                    List<LaneBasedGtu> window = new ArrayList<>(gtus.subList(first, to + 1));
+                    Collections.reverse(window);
+                    return window;
+                }, distancer);
     }
 
     /**
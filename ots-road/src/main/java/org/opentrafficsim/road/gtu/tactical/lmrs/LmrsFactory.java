@@ -24,6 +24,7 @@ import org.opentrafficsim.base.OtsRuntimeException;
 import org.opentrafficsim.base.logger.Logger;
 import org.opentrafficsim.base.parameters.ParameterException;
 import org.opentrafficsim.base.parameters.ParameterSet;
+import org.opentrafficsim.base.parameters.ParameterType;
 import org.opentrafficsim.base.parameters.ParameterTypes;
 import org.opentrafficsim.base.parameters.Parameters;
 import org.opentrafficsim.core.definitions.DefaultsNl;
@@ -321,6 +322,9 @@ public class LmrsFactory<T extends AbstractIncentivesTacticalPlanner> extends Pa
         implements LaneBasedTacticalPlannerFactory<T>
 {
 
+    /** Maximum number of different shared default parameter sets, beyond which defaults are no longer shared. */
+    private static final int MAX_SHARED_DEFAULTS = 64;
+
     /** Remembered state to reset in one-shot mode. */
     private Map<Setting<?>, List<?>> state;
 
@@ -350,6 +354,12 @@ public class LmrsFactory<T extends AbstractIncentivesTacticalPlanner> extends Pa
     /** Peeked car-following model per GTU type. */
     private Map<GtuType, CarFollowingModel> peekedCarFollowingModel = new LinkedHashMap<>();
 
+    /** Whether GTUs share default parameter values. */
+    private boolean sharedDefaults = false;
+
+    /** Shared default parameters, by their values. */
+    private final Map<Map<ParameterType<?>, Object>, ParameterSet> sharedDefaultsCache = new LinkedHashMap<>();
+
     // LMRS
 
     /** Car-following model: IDM, IDM_PLUS (default) or IDM_PLUS_MULTI. */
@@ -680,6 +690,19 @@ public class LmrsFactory<T extends AbstractIncentivesTacticalPlanner> extends Pa
         return this;
     }
 
+    /**
+     * Sets whether GTUs share default parameter values. When shared, only values that are drawn or set for a specific GTU are
+     * stored with the GTU, which saves memory with many GTUs. The parameter values are the same in both cases.
+     * @param sharedDefaults whether GTUs share default parameter values
+     * @return this factory for method chaining
+     */
+    @SuppressWarnings("hiddenfield")
+    public LmrsFactory<T> setSharedDefaults(final boolean sharedDefaults)
+    {
+        this.sharedDefaults = sharedDefaults;
+        return this;
+    }
+
     /**
      * Sets the setting value for all GTU types.
      * @param <V> value type
@@ -831,6 +854,41 @@ public class LmrsFactory<T extends AbstractIncentivesTacticalPlanner> extends Pa
 
     @Override
     public Parameters getParameters(final GtuType gtuType) throws ParameterException
+    {
+        ParameterSet parameters = getDefaultParameters(gtuType);
+        if (this.sharedDefaults)
+        {
+            // use an equal set of defaults from earlier GTUs, so only the values below are stored per GTU
+            ParameterSet defaults = parameters;
+            Map<ParameterType<?>, Object> values = defaults.getParameters();
+            parameters = ParameterSet.withDefaults(this.sharedDefaultsCache.size() < MAX_SHARED_DEFAULTS
+                    ? this.sharedDefaultsCache.computeIfAbsent(values, (v) -> defaults)
+                    : this.sharedDefaultsCache.getOrDefault(values, defaults));
+        }
+
+        // values drawn per GTU
+        if (!FullerImplementation.NONE.equals(get(this.fullerImplementation, gtuType)))
+        {
+            parameters.setParameter(Fuller.OVER_EST,
+                    this.stream.nextDouble() <= get(this.fractionOverEstimation, gtuType) ? 1.0 : -1.0);
+        }
+        if (get(this.socioLaneChange, gtuType) || get(this.socioSpeed, gtuType))
+        {
+            parameters.setParameter(LmrsParameters.VGAIN, this.vGainDist.get());
+            parameters.setParameter(LmrsParameters.SOCIO, this.sigmaDist.draw());
+        }
+        parameters.setParameter(ParameterTypes.FSPEED, this.fSpeedDist.draw());
+        parameters.setParameter(ParameterTypes.FSPEED_GTU, this.fSpeedGtuDist.draw());
+        return parameters;
+    }
+
+    /**
+     * Returns the parameters for the GTU type that are equal for all GTUs of the type.
+     * @param gtuType GTU type
+     * @return parameters for the GTU type that are equal for all GTUs of the type
+     * @throws ParameterException if a parameter value is illegal
+     */
+    private ParameterSet getDefaultParameters(final GtuType gtuType) throws ParameterException
     {
         ParameterSet parameters = new ParameterSet();
         parameters.setDefaultParameters(LmrsUtil.class);
@@ -858,8 +916,6 @@ public class LmrsFactory<T extends AbstractIncentivesTacticalPlanner> extends Pa
             parameters.setParameter(ParameterTypes.TR, Duration.ZERO);
             parameters.setDefaultParameter(AdaptationSituationalAwareness.TR_MAX);
             parameters.setParameter(ChannelFuller.EST_FACTOR, 1.0);
-            parameters.setParameter(Fuller.OVER_EST,
-                    this.stream.nextDouble() <= get(this.fractionOverEstimation, gtuType) ? 1.0 : -1.0);
             parameters.setDefaultParameter(ChannelTaskScan.TDSCAN);
             if (get(this.headwayAdaptation, gtuType))
             {
@@ -945,11 +1001,7 @@ public class LmrsFactory<T extends AbstractIncentivesTacticalPlanner> extends Pa
                 Logger.ots().warn("SocioSpeed is enabled for {} but likely ineffective as"
                         + " social pressure is currently disabled for all GTU types.", gtuType);
             }
-            parameters.setParameter(LmrsParameters.VGAIN, this.vGainDist.get());
-            parameters.setParameter(LmrsParameters.SOCIO, this.sigmaDist.draw());
         }
-        parameters.setParameter(ParameterTypes.FSPEED, this.fSpeedDist.draw());
-        parameters.setParameter(ParameterTypes.FSPEED_GTU, this.fSpeedGtuDist.draw());
         return parameters;
     }
 
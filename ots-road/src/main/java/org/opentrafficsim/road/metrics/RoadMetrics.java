@@ -0,0 +1,76 @@
+package org.opentrafficsim.road.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.djutils.exceptions.Throw;
+import org.opentrafficsim.core.metrics.Counter;
+import org.opentrafficsim.core.metrics.MetricsRegistry;
+import org.opentrafficsim.core.object.NonLocatedObject;
+import org.opentrafficsim.road.gtu.CollisionDetector;
+import org.opentrafficsim.road.gtu.generator.LaneBasedGtuGenerator;
+import org.opentrafficsim.road.network.RoadNetwork;
+
+/**
+ * Registers metrics of road simulations in a registry:
+ * <ul>
+ * <li>ots_generator_queue_length: number of GTUs in queue, per generator</li>
+ * <li>ots_collisions_total: number of collisions detected by a collision detector</li>
+ * </ul>
+ * These complement the metrics of {@code SimulationMetrics}.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public final class RoadMetrics
+{
+
+    /**
+     * Constructor.
+     */
+    private RoadMetrics()
+    {
+        //
+    }
+
+    /**
+     * Registers the queue length of each generator in the network. Generators that are added to the network later are included.
+     * @param registry registry
+     * @param network network
+     * @throws IllegalArgumentException when the metric is already registered
+     */
+    public static void registerGeneratorQueues(final MetricsRegistry registry, final RoadNetwork network)
+    {
+        Throw.whenNull(registry, "Registry may not be null.");
+        Throw.whenNull(network, "Network may not be null.");
+        registry.gauge("ots_generator_queue_length", "Number of GTUs in queue, per generator.", "generator", () ->
+        {
+            Map<String, Integer> queues = new LinkedHashMap<>();
+            for (NonLocatedObject object : network.getNonLocatedObjectMap().values())
+            {
+                if (object instanceof LaneBasedGtuGenerator generator)
+                {
+                    queues.merge(generator.getId(), generator.getQueueSize(), Integer::sum);
+                }
+            }
+            return queues;
+        });
+    }
+
+    /**
+     * Registers the number of collisions detected by the collision detector.
+     * @param registry registry
+     * @param collisionDetector collision detector
+     * @throws IllegalArgumentException when the metric is already registered
+     */
+    public static void registerCollisions(final MetricsRegistry registry, final CollisionDetector collisionDetector)
+    {
+        Throw.whenNull(registry, "Registry may not be null.");
+        Throw.whenNull(collisionDetector, "Collision detector may not be null.");
+        Counter collisions = registry.counter("ots_collisions_total", "Number of collisions detected.");
+        collisionDetector.addListener((event) -> collisions.increment(), CollisionDetector.COLLISION);
+    }
+
+}
@@ -0,0 +1,9 @@
+/**
+ * Metrics of road simulations, i.e. generator queues and collisions.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+package org.opentrafficsim.road.metrics;
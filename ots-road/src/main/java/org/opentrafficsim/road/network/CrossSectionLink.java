@@ -109,6 +109,7 @@ public class CrossSectionLink extends Link
     protected final void addCrossSectionElement(final CrossSectionElement cse)
     {
         this.crossSectionElementList.add(cse);
+        getNetwork().invalidateSpatialIndex();
         if (cse instanceof Lane)
         {
             if (cse instanceof Shoulder)
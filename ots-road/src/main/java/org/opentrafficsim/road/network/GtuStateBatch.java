@@ -0,0 +1,253 @@
+package org.opentrafficsim.road.network;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.djutils.draw.point.DirectedPoint2d;
+import org.opentrafficsim.road.gtu.LaneBasedGtu;
+
+/**
+ * States of all GTUs that moved at the same time, as fired by {@link RoadNetwork#GTU_STATE_BATCH_EVENT}. The states are stored
+ * in primitive arrays, with values in SI units. A GTU that is not on a lane has a {@code null} lane and a {@code NaN} position.
+ * The batch is reused by the network for the next time, so listeners should obtain what they need during the event, and not
+ * store the batch itself.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public final class GtuStateBatch
+{
+
+    /** Initial capacity. */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** Simulation time [s]. */
+    private double time;
+
+    /** Number of GTU states. */
+    private int size;
+
+    /** GTUs. */
+    private LaneBasedGtu[] gtus = new LaneBasedGtu[INITIAL_CAPACITY];
+
+    /** X-coordinates [m]. */
+    private double[] x = new double[INITIAL_CAPACITY];
+
+    /** Y-coordinates [m]. */
+    private double[] y = new double[INITIAL_CAPACITY];
+
+    /** Directions [rad]. */
+    private double[] dirZ = new double[INITIAL_CAPACITY];
+
+    /** Speeds [m/s]. */
+    private double[] speed = new double[INITIAL_CAPACITY];
+
+    /** Accelerations [m/s^2]. */
+    private double[] acceleration = new double[INITIAL_CAPACITY];
+
+    /** Odometers [m]. */
+    private double[] odometer = new double[INITIAL_CAPACITY];
+
+    /** Reference lanes. */
+    private Lane[] lanes = new Lane[INITIAL_CAPACITY];
+
+    /** Positions on the reference lanes [m]. */
+    private double[] position = new double[INITIAL_CAPACITY];
+
+    /**
+     * Constructor.
+     */
+    GtuStateBatch()
+    {
+        //
+    }
+
+    /**
+     * Adds the state of a GTU.
+     * @param gtu GTU
+     * @param location location of the GTU
+     * @param lanePosition reference position of the GTU, may be {@code null}
+     */
+    void add(final LaneBasedGtu gtu, final DirectedPoint2d location, final LanePosition lanePosition)
+    {
+        if (this.size == this.gtus.length)
+        {
+            int capacity = 2 * this.size;
+            this.gtus = Arrays.copyOf(this.gtus, capacity);
+            this.x = Arrays.copyOf(this.x, capacity);
+            this.y = Arrays.copyOf(this.y, capacity);
+            this.dirZ = Arrays.copyOf(this.dirZ, capacity);
+            this.speed = Arrays.copyOf(this.speed, capacity);
+            this.acceleration = Arrays.copyOf(this.acceleration, capacity);
+            this.odometer = Arrays.copyOf(this.odometer, capacity);
+            this.lanes = Arrays.copyOf(this.lanes, capacity);
+            this.position = Arrays.copyOf(this.position, capacity);
+        }
+        int i = this.size++;
+        this.gtus[i] = gtu;
+        this.x[i] = location.x;
+        this.y[i] = location.y;
+        this.dirZ[i] = location.getDirZ();
+        this.speed[i] = gtu.getSpeed().si;
+        this.acceleration[i] = gtu.getAcceleration().si;
+        this.odometer[i] = gtu.getOdometer().si;
+        this.lanes[i] = lanePosition == null ? null : lanePosition.lane();
+        this.position[i] = lanePosition == null ? Double.NaN : lanePosition.position().si;
+    }
+
+    /**
+     * Sets the simulation time.
+     * @param time simulation time [s]
+     */
+    void setTime(final double time)
+    {
+        this.time = time;
+    }
+
+    /**
+     * Clears the batch, releasing references to GTUs and lanes.
+     */
+    void clear()
+    {
+        Arrays.fill(this.gtus, 0, this.size, null);
+        Arrays.fill(this.lanes, 0, this.size, null);
+        this.size = 0;
+    }
+
+    /**
+     * Returns the simulation time at which the GTUs moved.
+     * @return simulation time [s]
+     */
+    public double getTime()
+    {
+        return this.time;
+    }
+
+    /**
+     * Returns the number of GTU states.
+     * @return number of GTU states
+     */
+    public int size()
+    {
+        return this.size;
+    }
+
+    /**
+     * Returns the GTU.
+     * @param index index
+     * @return GTU
+     * @throws IndexOutOfBoundsException when the index is out of bounds
+     */
+    public LaneBasedGtu getGtu(final int index)
+    {
+        return this.gtus[Objects.checkIndex(index, this.size)];
+    }
+
+    /**
+     * Returns the GTU id.
+     * @param index index
+     * @return GTU id
+     * @throws IndexOutOfBoundsException when the index is out of bounds
+     */
+    public String getId(final int index)
+    {
+        return getGtu(index).getId();
+    }
+
+    /**
+     * Returns the x-coordinate.
+     * @param index index
+     * @return x-coordinate [m]
+     * @throws IndexOutOfBoundsException when the index is out of bounds
+     */
+    public double getX(final int index)
+    {
+        return this.x[Objects.checkIndex(index, this.size)];
+    }
+
+    /**
+     * Returns the y-coordinate.
+     * @param index index
+     * @return y-coordinate [m]
+     * @throws IndexOutOfBoundsException when the index is out of bounds
+     */
+    public double getY(final int index)
+    {
+        return this.y[Objects.checkIndex(index, this.size)];
+    }
+
+    /**
+     * Returns the direction.
+     * @param index index
+     * @return direction [rad]
+     * @throws IndexOutOfBoundsException when the index is out of bounds
+     */
+    public double getDirZ(final int index)
+    {
+        return this.dirZ[Objects.checkIndex(index, this.size)];
+    }
+
+    /**
+     * Returns the speed.
+     * @param index index
+     * @return speed [m/s]
+     * @throws IndexOutOfBoundsException when the index is out of bounds
+     */
+    public double getSpeed(final int index)
+    {
+        return this.speed[Objects.checkIndex(index, this.size)];
+    }
+
+    /**
+     * Returns the acceleration.
+     * @param index index
+     * @return acceleration [m/s^2]
+     * @throws IndexOutOfBoundsException when the index is out of bounds
+     */
+    public double getAcceleration(final int index)
+    {
+        return this.acceleration[Objects.checkIndex(index, this.size)];
+    }
+
+    /**
+     * Returns the odometer.
+     * @param index index
+     * @return odometer [m]
+     * @throws IndexOutOfBoundsException when the index is out of bounds
+     */
+    public double getOdometer(final int index)
+    {
+        return this.odometer[Objects.checkIndex(index, this.size)];
+    }
+
+    /**
+     * Returns the reference lane.
+     * @param index index
+     * @return reference lane, {@code null} if the GTU is not on a lane
+     * @throws IndexOutOfBoundsException when the index is out of bounds
+     */
+    public Lane getLane(final int index)
+    {
+        return this.lanes[Objects.checkIndex(index, this.size)];
+    }
+
+    /**
+     * Returns the position on the reference lane.
+     * @param index index
+     * @return position on the reference lane [m], {@code NaN} if the GTU is not on a lane
+     * @throws IndexOutOfBoundsException when the index is out of bounds
+     */
+    public double getPosition(final int index)
+    {
+        return this.position[Objects.checkIndex(index, this.size)];
+    }
+
+    @Override
+    public String toString()
+    {
+        return "GtuStateBatch [time=" + this.time + ", size=" + this.size + "]";
+    }
+
+}
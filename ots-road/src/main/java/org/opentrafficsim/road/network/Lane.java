@@ -32,7 +32,6 @@ import org.opentrafficsim.core.network.Link;
 import org.opentrafficsim.core.network.NetworkException;
 import org.opentrafficsim.core.object.Detector;
 import org.opentrafficsim.core.perception.HistoryManager;
-import org.opentrafficsim.core.perception.collections.HistoricalArrayList;
 import org.opentrafficsim.core.perception.collections.HistoricalList;
 import org.opentrafficsim.road.gtu.LaneBasedGtu;
 import org.opentrafficsim.road.network.object.LaneBasedObject;
@@ -186,7 +185,7 @@ public class Lane extends CrossSectionElement implements HierarchicallyTyped<Lan
         super(link, id, geometry);
         this.speedLimits = laneSpeedLimits;
         this.laneType = laneType;
-        this.gtuList = new HistoricalArrayList<>(getManager(link), this);
+        this.gtuList = getManager(link).newHistoricalList(this);
     }
 
     /**
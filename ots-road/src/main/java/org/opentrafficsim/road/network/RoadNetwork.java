@@ -1,25 +1,39 @@
 package org.opentrafficsim.road.network;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.function.Predicate;
 
 import org.djunits.value.vdouble.scalar.Length;
 import org.djutils.base.Identifiable;
+import org.djutils.draw.bounds.Bounds2d;
+import org.djutils.draw.point.DirectedPoint2d;
+import org.djutils.draw.point.Point2d;
+import org.djutils.event.EventType;
 import org.djutils.exceptions.Throw;
 import org.djutils.immutablecollections.ImmutableSortedSet;
 import org.djutils.immutablecollections.ImmutableTreeSet;
-import org.djutils.multikeymap.MultiKeyMap;
+import org.djutils.metadata.MetaData;
+import org.djutils.metadata.ObjectDescriptor;
 import org.jgrapht.GraphPath;
+import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.SingleSourcePaths;
 import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
+import org.jgrapht.graph.AsSubgraph;
+import org.jgrapht.graph.EdgeReversedGraph;
 import org.jgrapht.graph.SimpleDirectedWeightedGraph;
 import org.opentrafficsim.base.OtsRuntimeException;
 import org.opentrafficsim.core.dsol.OtsSimulatorInterface;
+import org.opentrafficsim.core.geometry.Ots2dRTree;
 import org.opentrafficsim.core.gtu.GtuType;
 import org.opentrafficsim.core.network.LateralDirectionality;
 import org.opentrafficsim.core.network.Link;
@@ -27,10 +41,21 @@ import org.opentrafficsim.core.network.Network;
 import org.opentrafficsim.core.network.NetworkException;
 import org.opentrafficsim.core.network.Node;
 import org.opentrafficsim.core.network.route.Route;
+import org.opentrafficsim.road.gtu.LaneBasedGtu;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.SimEventInterface;
 
 /**
  * RoadNetwork adds the ability to retrieve lane change information.
  * <p>
+ * Lane change information only depends on the GTU type, the lane, and the remainder of the route from the lane up to the
+ * destination, i.e. the last node on a link with lanes. It is cached by these, such that different route objects, e.g. from
+ * route generators or OD assignment, share information when they share the remainder of the route. When information is
+ * missing, it is derived for all lanes along the remainder of the route in a single search from the destination. The cache
+ * has a maximum size, beyond which the least recently used information is removed.
+ * </p>
+ * <p>
  * Copyright (c) 2013-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
  * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
  * </p>
@@ -39,18 +64,54 @@ import org.opentrafficsim.core.network.route.Route;
  */
 public class RoadNetwork extends Network
 {
+    /** Default maximum number of cached sets of lane change info. */
+    public static final int DEFAULT_LANE_CHANGE_INFO_CACHE_CAPACITY = 100_000;
+
+    /**
+     * Event fired once after all moves of GTUs at the same time, with the states of those GTUs. This is a cheaper alternative
+     * to listening to {@code LANEBASED_MOVE_EVENT} of every GTU. States are only collected while there are listeners. The batch
+     * is reused, so listeners should not store it.
+     */
+    public static final EventType GTU_STATE_BATCH_EVENT = new EventType("NETWORK.GTU.STATE_BATCH",
+            new MetaData("GTU state batch", "States of GTUs that moved at the same time",
+                    new ObjectDescriptor("GTU state batch", "GTU state batch", GtuStateBatch.class)));
+
+    /** Cached value for when there is no path towards the destination. */
+    private static final SortedSet<LaneChangeInfo> NO_PATH = Collections.unmodifiableSortedSet(new TreeSet<>());
+
     /** Cached lane graph for legal connections, per GTU type. */
     private Map<GtuType, RouteWeightedGraph> legalLaneGraph = new LinkedHashMap<>();
 
     /** Cached lane graph for physical connections. */
     private RouteWeightedGraph physicalLaneGraph = null;
 
-    /** Cached legal lane change info, over complete length of route. */
-    private MultiKeyMap<SortedSet<LaneChangeInfo>> legalLaneChangeInfoCache =
-            new MultiKeyMap<>(GtuType.class, Route.class, Lane.class);
+    /** Maximum number of cached sets of lane change info. */
+    private int laneChangeInfoCacheCapacity = DEFAULT_LANE_CHANGE_INFO_CACHE_CAPACITY;
+
+    /** Cached lane change info over the complete remainder of the route, in least recently used order. */
+    private final Map<LaneChangeInfoKey, SortedSet<LaneChangeInfo>> laneChangeInfoCache = new LinkedHashMap<>(16, 0.75f, true)
+    {
+        /** */
+        private static final long serialVersionUID = 20261019L;
+
+        @Override
+        protected boolean removeEldestEntry(final Entry<LaneChangeInfoKey, SortedSet<LaneChangeInfo>> eldest)
+        {
+            return size() > RoadNetwork.this.laneChangeInfoCacheCapacity;
+        }
+    };
+
+    /** Number of lane change info requests answered from the cache. */
+    private long laneChangeInfoCacheHits = 0;
+
+    /** Number of lane change info requests that required a search. */
+    private long laneChangeInfoCacheMisses = 0;
 
-    /** Cached physical lane change info, over complete length of route. */
-    private MultiKeyMap<SortedSet<LaneChangeInfo>> physicalLaneChangeInfoCache = new MultiKeyMap<>(Route.class, Lane.class);
+    /** Spatial index of lanes and shoulders, created when needed. */
+    private Ots2dRTree<Lane> laneIndex;
+
+    /** Batch of GTU states at the current time, created when first needed. */
+    private GtuStateBatch gtuStateBatch;
 
     /**
      * Construction of an empty network.
@@ -62,6 +123,55 @@ public class RoadNetwork extends Network
         super(id, simulator);
     }
 
+    /**
+     * Adds the state of a GTU that just moved to the batch of the current time, if there are listeners to
+     * {@code GTU_STATE_BATCH_EVENT}. The batch is fired after all other events at the current time. This method is invoked by
+     * the GTU after each move.
+     * @param gtu GTU
+     * @param location location of the GTU
+     * @param position reference position of the GTU, may be {@code null}
+     */
+    public void addGtuState(final LaneBasedGtu gtu, final DirectedPoint2d location, final LanePosition position)
+    {
+        if (numberOfListeners(GTU_STATE_BATCH_EVENT) == 0)
+        {
+            return;
+        }
+        if (this.gtuStateBatch == null)
+        {
+            this.gtuStateBatch = new GtuStateBatch();
+        }
+        if (this.gtuStateBatch.size() == 0)
+        {
+            this.gtuStateBatch.setTime(getSimulator().getSimulatorTime().si);
+            try
+            {
+                // fire after all other events at this time, such as moves of other GTUs
+                getSimulator().scheduleEventNow(SimEventInterface.MIN_PRIORITY, () -> fireGtuStateBatch());
+            }
+            catch (SimRuntimeException exception)
+            {
+                throw new OtsRuntimeException("Unable to schedule GTU state batch event.", exception);
+            }
+        }
+        this.gtuStateBatch.add(gtu, location, position);
+    }
+
+    /**
+     * Fires the batch of GTU states of the current time. GTUs that move as a consequence of the event start a new batch.
+     */
+    private void fireGtuStateBatch()
+    {
+        GtuStateBatch batch = this.gtuStateBatch;
+        this.gtuStateBatch = null;
+        fireTimedEvent(GTU_STATE_BATCH_EVENT, batch, getSimulator().getSimulatorTime());
+        batch.clear();
+        if (this.gtuStateBatch == null)
+        {
+            this.gtuStateBatch = batch;
+        }
+    }
+
     /**
      * Returns lane change info from the given lane. Distances are given from the start of the lane and will never exceed the
      * given range. This method returns {@code null} if no valid path exists. If there are no reasons to change lane within
@@ -112,7 +222,7 @@ public class RoadNetwork extends Network
 
     /**
      * Returns the complete (i.e. without range) lane change info from the given lane. It is either taken from cache, or
-     * created.
+     * derived for all lanes along the remainder of the route.
      * @param lane from lane.
      * @param route route.
      * @param gtuType GTU Type.
@@ -122,80 +232,151 @@ public class RoadNetwork extends Network
     private SortedSet<LaneChangeInfo> getCompleteLaneChangeInfo(final Lane lane, final Route route, final GtuType gtuType,
             final LaneAccessLaw laneAccessLaw)
     {
-        // try to get info from the right cache
-        SortedSet<LaneChangeInfo> outputLaneChangeInfo;
+        // get the right lane graph, or build it
+        RouteWeightedGraph graph;
+        GtuType keyGtuType;
         if (laneAccessLaw.equals(LaneAccessLaw.LEGAL))
         {
-            outputLaneChangeInfo = this.legalLaneChangeInfoCache.get(gtuType, route, lane);
-            // build info if required
-            if (outputLaneChangeInfo == null)
+            graph = this.legalLaneGraph.get(gtuType);
+            if (graph == null)
             {
-                // get the right lane graph for the GTU type, or build it
-                RouteWeightedGraph graph = this.legalLaneGraph.get(gtuType);
-                if (graph == null)
-                {
-                    graph = new RouteWeightedGraph();
-                    this.legalLaneGraph.put(gtuType, graph);
-                    buildGraph(graph, gtuType, laneAccessLaw);
-                }
-                List<LaneChangeInfoEdge> path = findPath(lane, graph, gtuType, route);
-
-                if (path != null)
-                {
-                    // derive lane change info from every lane along the path and cache it
-                    boolean originalPath = true;
-                    while (!path.isEmpty())
-                    {
-                        SortedSet<LaneChangeInfo> laneChangeInfo = extractLaneChangeInfo(path);
-                        if (originalPath)
-                        {
-                            outputLaneChangeInfo = laneChangeInfo;
-                            originalPath = false;
-                        }
-                        this.legalLaneChangeInfoCache.put(laneChangeInfo, gtuType, route, path.get(0).fromLane());
-                        path.remove(0); // next lane
-                    }
-                }
+                graph = new RouteWeightedGraph();
+                this.legalLaneGraph.put(gtuType, graph);
+                buildGraph(graph, gtuType, laneAccessLaw);
             }
+            keyGtuType = gtuType;
         }
         else if (laneAccessLaw.equals(LaneAccessLaw.PHYSICAL))
         {
-            outputLaneChangeInfo = this.physicalLaneChangeInfoCache.get(route, lane);
-            // build info if required
-            if (outputLaneChangeInfo == null)
+            if (this.physicalLaneGraph == null)
             {
-                // build the lane graph if required
-                if (this.physicalLaneGraph == null)
-                {
-                    this.physicalLaneGraph = new RouteWeightedGraph();
-                    // TODO: Is the GTU type actually relevant for physical? It is used still to find adjacent lanes.
-                    buildGraph(this.physicalLaneGraph, gtuType, laneAccessLaw);
-                }
-                List<LaneChangeInfoEdge> path = findPath(lane, this.physicalLaneGraph, gtuType, route);
-
-                if (path != null)
-                {
-                    // derive lane change info from every lane along the path and cache it
-                    boolean originalPath = true;
-                    while (!path.isEmpty())
-                    {
-                        SortedSet<LaneChangeInfo> laneChangeInfo = extractLaneChangeInfo(path);
-                        if (originalPath)
-                        {
-                            outputLaneChangeInfo = laneChangeInfo;
-                            originalPath = false;
-                        }
-                        this.physicalLaneChangeInfoCache.put(laneChangeInfo, route, path.get(0).fromLane());
-                        path.remove(0); // next lane
-                    }
-                }
+                this.physicalLaneGraph = new RouteWeightedGraph();
+                // TODO: Is the GTU type actually relevant for physical? It is used still to find adjacent lanes.
+                buildGraph(this.physicalLaneGraph, gtuType, laneAccessLaw);
             }
+            graph = this.physicalLaneGraph;
+            keyGtuType = null;
         }
         else
         {
             // in case it is inadvertently extended in the future
             throw new OtsRuntimeException(String.format("Unknown LaneChangeLaw %s", laneAccessLaw));
         }
+
+        // get the remainder of the route from the lane
+        RouteSuffix suffix = route == null ? graph.getNoRouteSuffix(lane, gtuType) : getRouteSuffix(route.getNodes(), lane);
+        if (suffix == null)
+        {
+            return null; // lane not on route
+        }
+
+        // try to get info from the cache, or derive info for all lanes along the remainder of the route
+        SortedSet<LaneChangeInfo> outputLaneChangeInfo =
+                this.laneChangeInfoCache.get(new LaneChangeInfoKey(laneAccessLaw, keyGtuType, lane, suffix));
+        if (outputLaneChangeInfo == null)
+        {
+            this.laneChangeInfoCacheMisses++;
+            outputLaneChangeInfo = deriveLaneChangeInfo(lane, graph, keyGtuType, laneAccessLaw, suffix.copy());
+        }
+        else
+        {
+            this.laneChangeInfoCacheHits++;
+        }
+        return outputLaneChangeInfo == NO_PATH ? null : outputLaneChangeInfo;
+    }
+
+    /**
+     * Returns the remainder of a route from the start node of the link of the lane, up to the destination node regarding lane
+     * change information, which is the end node of the most downstream link with lanes (i.e. no connector). The result refers
+     * to the given list of nodes and should be copied before storing it.
+     * @param nodes nodes of the route.
+     * @param lane lane.
+     * @return remainder of the route, or {@code null} if the link of the lane is not on the route before the destination.
+     */
+    private RouteSuffix getRouteSuffix(final List<Node> nodes, final Lane lane)
+    {
+        int destinationIndex = -1;
+        for (int i = nodes.size() - 1; i > 0; i--)
+        {
+            Link link = getLink(nodes.get(i - 1), nodes.get(i))
+                    .orElseThrow(() -> new OtsRuntimeException("Unable to find link for two consecutive nodes in route."));
+            if (link instanceof CrossSectionLink && !((CrossSectionLink) link).getLanes().isEmpty())
+            {
+                destinationIndex = i;
+                break; // found most downstream link with lanes, who's end node is the destination for lane changes
+            }
+        }
+        Throw.when(destinationIndex < 0, IllegalArgumentException.class,
+                "Route has no links with lanes, unable to find a suitable destination node regarding lane change information.");
+        int fromIndex = nodes.indexOf(lane.getLink().getStartNode());
+        if (fromIndex < 0 || fromIndex >= destinationIndex || !nodes.get(fromIndex + 1).equals(lane.getLink().getEndNode()))
+        {
+            return null;
+        }
+        return new RouteSuffix(nodes.subList(fromIndex, destinationIndex + 1));
+    }
+
+    /**
+     * Derives lane change info for all lanes along the remainder of a route in a single shortest path search from the
+     * destination over the reversed graph, and caches the info of each lane under the remainder of the route from that lane.
+     * @param lane lane for which info is requested, which is on the first link of the remainder of the route.
+     * @param graph graph.
+     * @param keyGtuType GTU type in the cache key, {@code null} for physical lane change info.
+     * @param laneAccessLaw lane access law.
+     * @param suffix remainder of the route, not referring to a route that may change.
+     * @return lane change info from the requested lane, {@code NO_PATH} if no path exists.
+     */
+    private SortedSet<LaneChangeInfo> deriveLaneChangeInfo(final Lane lane, final RouteWeightedGraph graph,
+            final GtuType keyGtuType, final LaneAccessLaw laneAccessLaw, final RouteSuffix suffix)
+    {
+        // only the lanes along the remainder of the route, and the destination, are of concern
+        boolean legal = laneAccessLaw.equals(LaneAccessLaw.LEGAL);
+        List<List<Lane>> lanesPerLink = new ArrayList<>(suffix.size() - 1);
+        Set<Identifiable> vertices = new LinkedHashSet<>();
+        Node destination = suffix.nodes().get(suffix.size() - 1);
+        vertices.add(destination);
+        for (int i = 0; i < suffix.size() - 1; i++)
+        {
+            Link link = getLink(suffix.nodes().get(i), suffix.nodes().get(i + 1))
+                    .orElseThrow(() -> new OtsRuntimeException("Unable to find link for two consecutive nodes in route."));
+            List<Lane> lanes = link instanceof CrossSectionLink cLink
+                    ? (legal ? cLink.getLanes() : cLink.getLanesAndShoulders()) : Collections.emptyList();
+            lanesPerLink.add(lanes);
+            vertices.addAll(lanes);
+        }
+
+        // find the shortest paths towards the destination from all lanes
+        graph.setRoute(suffix);
+        SingleSourcePaths<Identifiable, LaneChangeInfoEdge> paths =
+                new DijkstraShortestPath<>(new EdgeReversedGraph<>(new AsSubgraph<>(graph, vertices))).getPaths(destination);
+
+        // derive lane change info from every lane and cache it
+        SortedSet<LaneChangeInfo> outputLaneChangeInfo = NO_PATH;
+        for (int i = 0; i < lanesPerLink.size(); i++)
+        {
+            RouteSuffix tail = suffix.tail(i);
+            for (Lane fromLane : lanesPerLink.get(i))
+            {
+                GraphPath<Identifiable, LaneChangeInfoEdge> path = paths.getPath(fromLane);
+                SortedSet<LaneChangeInfo> laneChangeInfo;
+                if (path == null || Double.isInfinite(path.getWeight()))
+                {
+                    laneChangeInfo = NO_PATH;
+                }
+                else
+                {
+                    // the path over the reversed graph is from the destination to the lane
+                    List<LaneChangeInfoEdge> edges = new ArrayList<>(path.getEdgeList());
+                    Collections.reverse(edges);
+                    laneChangeInfo = extractLaneChangeInfo(edges);
+                }
+                this.laneChangeInfoCache.put(new LaneChangeInfoKey(laneAccessLaw, keyGtuType, fromLane, tail), laneChangeInfo);
+                if (i == 0 && fromLane.equals(lane))
+                {
+                    outputLaneChangeInfo = laneChangeInfo;
+                }
+            }
+        }
         return outputLaneChangeInfo;
     }
 
@@ -263,59 +444,6 @@ public class RoadNetwork extends Network
         }
     }
 
-    /**
-     * Returns a set of lane change info, extracted from the graph.
-     * @param lane from lane.
-     * @param graph graph.
-     * @param gtuType GTU Type.
-     * @param route route.
-     * @return path derived from the graph, or {@code null} if there is no path.
-     */
-    private List<LaneChangeInfoEdge> findPath(final Lane lane, final RouteWeightedGraph graph, final GtuType gtuType,
-            final Route route)
-    {
-        // if there is no route, find the destination node by moving down the links (no splits allowed)
-        Node destination = null;
-        Route routeForWeights = route;
-        if (route == null)
-        {
-            destination = graph.getNoRouteDestinationNode(gtuType);
-            try
-            {
-                routeForWeights = getShortestRouteBetween(gtuType, lane.getLink().getStartNode(), destination);
-            }
-            catch (NetworkException exception)
-            {
-                // this should not happen, as we obtained the destination by moving downstream towards the end of the network
-                throw new OtsRuntimeException("Could not find route to destination.", exception);
-            }
-        }
-        else
-        {
-            // otherwise, get destination node from route, which is the last node on a link with lanes (i.e. no connector)
-            List<Node> nodes = route.getNodes();
-            for (int i = nodes.size() - 1; i > 0; i--)
-            {
-                Link link = getLink(nodes.get(i - 1), nodes.get(i))
-                        .orElseThrow(() -> new OtsRuntimeException("Unable to find link for two consecutive nodes in route."));
-                if (link instanceof CrossSectionLink && !((CrossSectionLink) link).getLanes().isEmpty())
-                {
-                    destination = nodes.get(i);
-                    break; // found most downstream link with lanes, who's end node is the destination for lane changes
-                }
-            }
-            Throw.whenNull(destination, "Route has no links with lanes, "
-                    + "unable to find a suitable destination node regarding lane change information.");
-        }
-
-        // set the route on the path for route-dependent edge weights
-        graph.setRoute(routeForWeights);
-
-        // find the shortest path
-        GraphPath<Identifiable, LaneChangeInfoEdge> path = DijkstraShortestPath.findPathBetween(graph, lane, destination);
-        return path == null ? null : path.getEdgeList();
-    }
-
     /**
      * Extracts lane change info from a path.
      * @param path path.
@@ -386,8 +514,140 @@ public class RoadNetwork extends Network
     {
         this.legalLaneGraph.clear();
         this.physicalLaneGraph = null;
-        this.legalLaneChangeInfoCache = new MultiKeyMap<>(GtuType.class, Route.class, Lane.class);
-        this.physicalLaneChangeInfoCache = new MultiKeyMap<>(Route.class, Lane.class);
+        this.laneChangeInfoCache.clear();
+    }
+
+    /**
+     * Sets the maximum number of cached sets of lane change info. Each set applies to one lane, GTU type and remainder of a
+     * route. When the cache is full, the least recently used set is removed.
+     * @param capacity maximum number of cached sets of lane change info.
+     * @throws IllegalArgumentException when the capacity is not positive
+     */
+    public void setLaneChangeInfoCacheCapacity(final int capacity)
+    {
+        Throw.when(capacity <= 0, IllegalArgumentException.class, "Capacity should be positive.");
+        this.laneChangeInfoCacheCapacity = capacity;
+        Iterator<LaneChangeInfoKey> iterator = this.laneChangeInfoCache.keySet().iterator();
+        while (this.laneChangeInfoCache.size() > capacity)
+        {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Returns the maximum number of cached sets of lane change info.
+     * @return maximum number of cached sets of lane change info.
+     */
+    public int getLaneChangeInfoCacheCapacity()
+    {
+        return this.laneChangeInfoCacheCapacity;
+    }
+
+    /**
+     * Returns the number of cached sets of lane change info.
+     * @return number of cached sets of lane change info.
+     */
+    public int getLaneChangeInfoCacheSize()
+    {
+        return this.laneChangeInfoCache.size();
+    }
+
+    /**
+     * Returns the number of lane change info requests that were answered from the cache.
+     * @return number of lane change info requests that were answered from the cache.
+     */
+    public long getLaneChangeInfoCacheHits()
+    {
+        return this.laneChangeInfoCacheHits;
+    }
+
+    /**
+     * Returns the number of lane change info requests that required a search, as the info was not (or no longer) cached.
+     * @return number of lane change info requests that required a search.
+     */
+    public long getLaneChangeInfoCacheMisses()
+    {
+        return this.laneChangeInfoCacheMisses;
+    }
+
+    @Override
+    public synchronized void invalidateSpatialIndex()
+    {
+        super.invalidateSpatialIndex();
+        this.laneIndex = null;
+    }
+
+    /**
+     * Returns the spatial index of lanes, including shoulders.
+     * @return spatial index of lanes, including shoulders
+     */
+    public synchronized Ots2dRTree<Lane> getLaneIndex()
+    {
+        if (this.laneIndex == null)
+        {
+            List<Lane> lanes = new ArrayList<>();
+            for (Link link : getLinkMap().values())
+            {
+                if (link instanceof CrossSectionLink crossSectionLink)
+                {
+                    lanes.addAll(crossSectionLink.getLanesAndShoulders());
+                }
+            }
+            this.laneIndex = new Ots2dRTree<>(lanes, Lane::getAbsoluteBounds);
+        }
+        return this.laneIndex;
+    }
+
+    /**
+     * Returns the lanes, including shoulders, of which the center line is within the radius of the point.
+     * @param point point
+     * @param radius radius
+     * @return lanes of which the center line is within the radius of the point
+     */
+    public List<Lane> findLanes(final Point2d point, final Length radius)
+    {
+        double r = radius.si;
+        List<Lane> lanes = getLaneIndex().find(new Bounds2d(point.x - r, point.x + r, point.y - r, point.y + r));
+        lanes.removeIf((lane) -> centerLineDistance(lane, point) > r);
+        return lanes;
+    }
+
+    /**
+     * Returns the nearest position on the center line of any lane, including shoulders.
+     * @param point point
+     * @return nearest lane position, empty if there are no lanes
+     */
+    public Optional<LanePosition> getNearestLanePosition(final Point2d point)
+    {
+        return getNearestLanePosition(point, (lane) -> true);
+    }
+
+    /**
+     * Returns the nearest position on the center line of any lane, including shoulders, that passes the filter.
+     * @param point point
+     * @param filter filter on lanes, e.g. whether the link is on a route
+     * @return nearest lane position, empty if no lane passes the filter
+     */
+    public Optional<LanePosition> getNearestLanePosition(final Point2d point, final Predicate<? super Lane> filter)
+    {
+        return getLaneIndex().nearest(point, filter, (lane) -> centerLineDistance(lane, point)).map((lane) ->
+        {
+            double fraction = lane.getCenterLine().projectOrthogonalSnapAt(point.x, point.y);
+            return new LanePosition(lane, Length.ofSI(lane.getCenterLine().getLength() * fraction));
+        });
+    }
+
+    /**
+     * Returns the distance from the point to the nearest point on the center line of the lane.
+     * @param lane lane
+     * @param point point
+     * @return distance from the point to the nearest point on the center line of the lane
+     */
+    private static double centerLineDistance(final Lane lane, final Point2d point)
+    {
+        double fraction = lane.getCenterLine().projectOrthogonalSnapAt(point.x, point.y);
+        return lane.getCenterLine().getLocationFraction(fraction).distance(point);
     }
 
     /**
@@ -407,12 +667,18 @@ public class RoadNetwork extends Network
         /** */
         private static final long serialVersionUID = 20220923L;
 
-        /** Route. */
-        private Route route;
+        /** Remainder of the route. */
+        private RouteSuffix route;
+
+        /** Index of each node in the remainder of the route. */
+        private Map<Node, Integer> routeIndices = new LinkedHashMap<>();
 
         /** Node in the network that is the destination if no route is used. */
         private Node noRouteDestination = null;
 
+        /** Remainder of the route towards the destination if no route is used, per start node. */
+        private Map<Node, RouteSuffix> noRouteSuffixes = new LinkedHashMap<>();
+
         /**
          * Constructor.
          */
@@ -422,22 +688,28 @@ public class RoadNetwork extends Network
         }
 
         /**
-         * Set the route.
-         * @param route route.
+         * Set the remainder of the route.
+         * @param route remainder of the route.
          */
-        public void setRoute(final Route route)
+        public void setRoute(final RouteSuffix route)
         {
             Throw.whenNull(route, "Route may not be null for lane change information.");
             this.route = route;
+            this.routeIndices.clear();
+            for (int i = route.size() - 1; i >= 0; i--)
+            {
+                this.routeIndices.put(route.nodes().get(i), i); // first index in case of loops, as List.indexOf()
+            }
         }
 
         /**
          * Returns the weight of moving from one lane to the next. In order to find the latest possible location at which lane
-         * changes may still be performed, the longitudinal weights are 1.0 while the lateral weights are 1.0 + 1/X, where X is
-         * the number (index) of the link within the route. This favors later lane changes for the shortest path algorithm, as
-         * we are interested in the distances within which the lane change have to be performed. In the case an edge is towards
-         * a link that is not in a given route, a positive infinite weight is returned. Finally, when the edge is towards a
-         * node, which may be the destination in a route, 0.0 is returned.
+         * changes may still be performed, the longitudinal weights are 1.0 while the lateral weights are 2.0 - 1/(R + 1),
+         * where R is the number of links after the link in the remainder of the route. This favors later lane changes for the
+         * shortest path algorithm, as we are interested in the distances within which the lane change have to be performed. As
+         * the weights only depend on the remainder of the route, so do the paths. In the case an edge is towards a link that is
+         * not in a given route, a positive infinite weight is returned. Finally, when the edge is towards a node, which may be
+         * the destination in a route, 0.0 is returned.
          */
         @Override
         public double getEdgeWeight(final LaneChangeInfoEdge e)
@@ -445,22 +717,59 @@ public class RoadNetwork extends Network
             if (e.laneChangeInfoEdgeType().equals(LaneChangeInfoEdgeType.LEFT)
                     || e.laneChangeInfoEdgeType().equals(LaneChangeInfoEdgeType.RIGHT))
             {
-                int indexEndNode = this.route.indexOf(e.fromLane().getLink().getEndNode());
-                return 1.0 + 1.0 / indexEndNode; // lateral, reduce weight for further lane changes
+                Integer indexEndNode = this.routeIndices.get(e.fromLane().getLink().getEndNode());
+                if (indexEndNode == null)
+                {
+                    return Double.POSITIVE_INFINITY;
+                }
+                int remainingLinks = this.route.size() - 1 - indexEndNode;
+                return 2.0 - 1.0 / (remainingLinks + 1); // lateral, reduce weight for further lane changes
             }
             Link toLink = e.toLink();
             if (toLink == null)
             {
                 return 0.0; // edge towards Node, which may be the destination in a Route
             }
-            if (this.route.contains(toLink.getEndNode())
-                    && this.route.indexOf(toLink.getEndNode()) == this.route.indexOf(toLink.getStartNode()) + 1)
+            Integer indexStartNode = this.routeIndices.get(toLink.getStartNode());
+            Integer indexEndNode = this.routeIndices.get(toLink.getEndNode());
+            if (indexStartNode != null && indexEndNode != null && indexEndNode == indexStartNode + 1)
             {
                 return 1.0; // downstream, always 1.0 if the next lane is on the route
             }
             return Double.POSITIVE_INFINITY; // next lane not on the route, this is a dead-end branch for the route
         }
 
+        /**
+         * Returns the remainder of the route towards the destination node when no route is available, from the link of the
+         * given lane. This is the shortest route towards the destination node.
+         * @param lane lane.
+         * @param gtuType GTU type.
+         * @return remainder of the route towards the destination node when no route is available.
+         */
+        public RouteSuffix getNoRouteSuffix(final Lane lane, final GtuType gtuType)
+        {
+            Node startNode = lane.getLink().getStartNode();
+            RouteSuffix suffix = this.noRouteSuffixes.get(startNode);
+            if (suffix == null)
+            {
+                Node destination = getNoRouteDestinationNode(gtuType);
+                try
+                {
+                    Route route = getShortestRouteBetween(gtuType, startNode, destination);
+                    suffix = getRouteSuffix(route.getNodes(), lane);
+                    suffix = suffix == null ? null : suffix.copy();
+                }
+                catch (NetworkException exception)
+                {
+                    // this should not happen, as we obtained the destination by moving downstream towards the end of the
+                    // network
+                    throw new OtsRuntimeException("Could not find route to destination.", exception);
+                }
+                this.noRouteSuffixes.put(startNode, suffix);
+            }
+            return suffix;
+        }
+
         /**
          * Returns the destination node to use when no route is available. This will be the last node found moving downstream.
          * @param gtuType GTU type.
@@ -506,6 +815,105 @@ public class RoadNetwork extends Network
         }
     }
 
+    /**
+     * Remainder of a route, from the start node of a link up to the destination node regarding lane change information. Two
+     * remainders are equal when they contain the same nodes, regardless of the route they were derived from.
+     * <p>
+     * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved.
+     * <br>
+     * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+     * </p>
+     * @author Wouter Schakel
+     */
+    private static final class RouteSuffix
+    {
+        /** Nodes. */
+        private final List<Node> nodes;
+
+        /** Hash code, which is cached as the nodes are hashed on every lookup. */
+        private final int hashCode;
+
+        /**
+         * Constructor.
+         * @param nodes nodes, which should not change while this remainder is used as key.
+         */
+        RouteSuffix(final List<Node> nodes)
+        {
+            this.nodes = nodes;
+            this.hashCode = nodes.hashCode();
+        }
+
+        /**
+         * Returns the nodes.
+         * @return nodes.
+         */
+        public List<Node> nodes()
+        {
+            return this.nodes;
+        }
+
+        /**
+         * Returns the number of nodes.
+         * @return number of nodes.
+         */
+        public int size()
+        {
+            return this.nodes.size();
+        }
+
+        /**
+         * Returns a copy that does not refer to the nodes of a route, which may change.
+         * @return copy that does not refer to the nodes of a route.
+         */
+        public RouteSuffix copy()
+        {
+            return new RouteSuffix(List.copyOf(this.nodes));
+        }
+
+        /**
+         * Returns the remainder of this remainder, from the node at the given index.
+         * @param fromIndex index of the first node.
+         * @return remainder of this remainder, from the node at the given index.
+         */
+        public RouteSuffix tail(final int fromIndex)
+        {
+            return fromIndex == 0 ? this : new RouteSuffix(this.nodes.subList(fromIndex, this.nodes.size()));
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return this.hashCode;
+        }
+
+        @Override
+        public boolean equals(final Object obj)
+        {
+            if (this == obj)
+            {
+                return true;
+            }
+            return obj instanceof RouteSuffix other && this.hashCode == other.hashCode && this.nodes.equals(other.nodes);
+        }
+    }
+
+    /**
+     * Key of cached lane change info.
+     * <p>
+     * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved.
+     * <br>
+     * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+     * </p>
+     * @author Wouter Schakel
+     * @param laneAccessLaw lane access law.
+     * @param gtuType GTU type, {@code null} for physical lane change info.
+     * @param lane lane.
+     * @param suffix remainder of the route from the lane.
+     */
+    private record LaneChangeInfoKey(LaneAccessLaw laneAccessLaw, GtuType gtuType, Lane lane, RouteSuffix suffix)
+    {
+    }
+
     /**
      * Edge between two lanes, or between a lane and a node (to provide the shortest path algorithm with a suitable
      * destination). From a list of these from a path, the lane change information along the path (distances and number of lane
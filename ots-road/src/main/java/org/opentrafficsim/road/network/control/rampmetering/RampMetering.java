@@ -3,6 +3,8 @@ package org.opentrafficsim.road.network.control.rampmetering;
 import org.opentrafficsim.base.OtsRuntimeException;
 import org.opentrafficsim.base.logger.Logger;
 import org.opentrafficsim.core.dsol.OtsSimulatorInterface;
+import org.opentrafficsim.core.profiler.Profiler;
+import org.opentrafficsim.core.profiler.ProfilerStage;
 
 import nl.tudelft.simulation.dsol.SimRuntimeException;
 
@@ -48,6 +50,7 @@ public class RampMetering
      */
     private void control()
     {
+        long t = Profiler.start();
         if (this.rampSwitch.isEnabled())
         {
             Logger.ots().info("Ramp-metering enabled.");
@@ -58,6 +61,7 @@ public class RampMetering
             Logger.ots().info("Ramp-metering disabled.");
             this.rampLightController.disable();
         }
+        Profiler.lap(ProfilerStage.CONTROLLER_EVALUATION, null, t);
         try
         {
             this.simulator.scheduleEventRel(this.rampSwitch.getInterval(), () -> control());
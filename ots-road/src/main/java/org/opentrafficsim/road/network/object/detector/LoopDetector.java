@@ -1,5 +1,6 @@
 package org.opentrafficsim.road.network.object.detector;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -13,12 +14,11 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.RandomAccess;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 import org.djunits.unit.FrequencyUnit;
 import org.djunits.unit.SpeedUnit;
@@ -89,6 +89,26 @@ public class LoopDetector extends LaneDetector
                     return new Speed(3.6 * cumulative / gtuCount, SpeedUnit.KM_PER_HOUR);
                 }
 
+                @Override
+                public boolean isPrimitive()
+                {
+                    return true;
+                }
+
+                @Override
+                protected double toDouble(final Speed value)
+                {
+                    return value.si;
+                }
+
+                @Override
+                protected Speed fromDouble(final double value)
+                {
+                    Speed speed = Speed.ofSI(value);
+                    speed.setDisplayUnit(SpeedUnit.KM_PER_HOUR);
+                    return speed;
+                }
+
                 @Override
                 public String getUnit()
                 {
@@ -122,6 +142,26 @@ public class LoopDetector extends LaneDetector
                     return speed;
                 }
 
+                @Override
+                public boolean isPrimitive()
+                {
+                    return true;
+                }
+
+                @Override
+                protected double toDouble(final Speed value)
+                {
+                    return value.si;
+                }
+
+                @Override
+                protected Speed fromDouble(final double value)
+                {
+                    Speed speed = Speed.ofSI(value);
+                    speed.setDisplayUnit(SpeedUnit.KM_PER_HOUR);
+                    return speed;
+                }
+
                 @Override
                 public String getUnit()
                 {
@@ -164,19 +204,42 @@ public class LoopDetector extends LaneDetector
         {
             return cumulative / aggregation.si;
         }
+
+        @Override
+        public boolean isPrimitive()
+        {
+            return true;
+        }
+
+        @Override
+        protected double toDouble(final Double value)
+        {
+            return value;
+        }
+
+        @Override
+        protected Double fromDouble(final double value)
+        {
+            return value;
+        }
     };
 
-    /** Passages measurement. */
+    /**
+     * Passages measurement. When the retention of the detector is limited, passages before the oldest retained period are
+     * discarded as new passages are measured.
+     */
     public static final LoopDetectorMeasurement<List<Duration>, List<Duration>> PASSAGES =
             new LoopDetectorMeasurement<List<Duration>, List<Duration>>("passage times", "list of vehicle passage time",
-                    ArrayList::new, Duration.class, false)
+                    DurationList::new, Duration.class, false)
             {
                 @Override
                 protected List<Duration> accumulateEntry(final List<Duration> cumulative, final LaneBasedGtu gtu,
                         final LoopDetector loopDetector)
                 {
-                    cumulative.add(gtu.getSimulator().getSimulatorTime());
-                    return cumulative;
+                    DurationList passages = (DurationList) cumulative;
+                    passages.removeBefore(loopDetector.getRetainedStart());
+                    passages.add(gtu.getSimulator().getSimulatorTime());
+                    return passages;
                 }
 
                 @Override
@@ -218,8 +281,14 @@ public class LoopDetector extends LaneDetector
     /** All measurements. */
     private final LoopDetectorMeasurement<?, ?>[] measurements;
 
-    /** Measurements that are periodic. */
-    private final Set<LoopDetectorMeasurement<?, ?>> periodicMeasurements;
+    /** Measurements that are periodic, in order of the measurements. */
+    private final LoopDetectorMeasurement<?, ?>[] periodicMeasurements;
+
+    /** Maximum number of periods for which periodic data is retained. */
+    private int retention = Integer.MAX_VALUE;
+
+    /** Sink that receives periodic data as it is aggregated, may be {@code null}. */
+    private PeriodicDataSink sink;
 
     /** Data per GTU type. */
     private final Map<GtuType, GtuTypeData> data = new LinkedHashMap<>();
@@ -266,7 +335,8 @@ public class LoopDetector extends LaneDetector
         Try.execute(() -> getSimulator().scheduleEventAbs(this.currentAggregation, () -> aggregate()),
                 "Unable to schedule aggregation.");
         this.measurements = measurements;
-        this.periodicMeasurements = Arrays.stream(measurements).filter((m) -> m.isPeriodic()).collect(Collectors.toSet());
+        this.periodicMeasurements =
+                Arrays.stream(measurements).filter((m) -> m.isPeriodic()).toArray(LoopDetectorMeasurement<?, ?>[]::new);
         this.data.put(null, new GtuTypeData());
 
         // rear detector
@@ -315,6 +385,51 @@ public class LoopDetector extends LaneDetector
         }
     }
 
+    /**
+     * Sets the maximum number of aggregation periods for which periodic data is retained. When more periods are aggregated,
+     * the data of the oldest period is discarded. By default all data is retained. Combined with a {@link PeriodicDataSink},
+     * a low retention allows streaming of data with bounded memory. Passages of {@link #PASSAGES} are retained for the same
+     * periods.
+     * @param periods maximum number of aggregation periods for which periodic data is retained
+     * @throws IllegalArgumentException when the number of periods is below 1
+     */
+    public void setRetention(final int periods)
+    {
+        Throw.when(periods < 1, IllegalArgumentException.class, "Retention should be at least 1 period.");
+        this.retention = periods;
+        for (GtuTypeData dat : this.data.values())
+        {
+            dat.periodicData.setRetention(periods);
+        }
+    }
+
+    /**
+     * Returns the maximum number of aggregation periods for which periodic data is retained.
+     * @return maximum number of aggregation periods for which periodic data is retained
+     */
+    public int getRetention()
+    {
+        return this.retention;
+    }
+
+    /**
+     * Sets a sink that receives periodic data of all GTU types, and of specific GTU types, as it is aggregated.
+     * @param sink sink, may be {@code null} to remove a previously set sink
+     */
+    public void setPeriodicDataSink(final PeriodicDataSink sink)
+    {
+        this.sink = sink;
+    }
+
+    /**
+     * Returns the periodic measurements of this detector. Values supplied to a {@link PeriodicDataSink} are in this order.
+     * @return periodic measurements of this detector
+     */
+    public List<LoopDetectorMeasurement<?, ?>> getPeriodicMeasurements()
+    {
+        return List.of(this.periodicMeasurements);
+    }
+
     /**
      * Returns an iterable over valid data objects to collect the GTU. This is for all GTU types, and possibly also for the
      * specific GTU type.
@@ -380,29 +495,35 @@ public class LoopDetector extends LaneDetector
     @SuppressWarnings("unused") // called by event
     private void aggregate()
     {
-        for (GtuTypeData dat : this.data.values())
+        boolean fireEvent = !getListenerReferences(LOOP_DETECTOR_AGGREGATE).isEmpty();
+        for (Entry<GtuType, GtuTypeData> entry : this.data.entrySet())
         {
-            Frequency frequency =
-                    new Frequency(3600.0 * dat.gtuCountCurrentPeriod / this.currentAggregation.si, FrequencyUnit.PER_HOUR);
-            dat.flow.add(frequency);
-            for (LoopDetectorMeasurement<?, ?> measurement : this.periodicMeasurements)
+            GtuTypeData dat = entry.getValue();
+            double flowPerHour = 3600.0 * dat.gtuCountCurrentPeriod / this.currentAggregation.si;
+            Object[] values = new Object[this.periodicMeasurements.length];
+            for (int m = 0; m < this.periodicMeasurements.length; m++)
             {
-                aggregate(measurement, this.currentAggregation, dat);
+                LoopDetectorMeasurement<?, ?> measurement = this.periodicMeasurements[m];
+                values[m] = getAggregateValue(measurement, this.currentAggregation, dat);
                 dat.currentCumulativeDataMap.put(measurement, measurement.identity());
             }
+            dat.periodicData.add(flowPerHour, values);
             dat.gtuCountCurrentPeriod = 0;
-            if (!getListenerReferences(LOOP_DETECTOR_AGGREGATE).isEmpty())
+            if (this.sink != null || fireEvent)
             {
-                Object[] dataArray = new Object[dat.periodicDataMap.size() + 1];
-                dataArray[0] = frequency;
-                int i = 1;
-                for (LoopDetectorMeasurement<?, ?> measurement : dat.periodicDataMap.keySet())
+                Frequency frequency = new Frequency(flowPerHour, FrequencyUnit.PER_HOUR);
+                if (this.sink != null)
+                {
+                    this.sink.accept(this, entry.getKey(), getPeriodStart(dat.periodicData.firstPeriod()
+                            + dat.periodicData.size() - 1), frequency, values);
+                }
+                if (fireEvent)
                 {
-                    List<?> list = dat.periodicDataMap.get(measurement);
-                    dataArray[i] = list.get(list.size() - 1);
-                    i++;
+                    Object[] dataArray = new Object[values.length + 1];
+                    dataArray[0] = frequency;
+                    System.arraycopy(values, 0, dataArray, 1, values.length);
+                    this.fireTimedEvent(LOOP_DETECTOR_AGGREGATE, dataArray, getSimulator().getSimulatorTime());
                 }
-                this.fireTimedEvent(LOOP_DETECTOR_AGGREGATE, dataArray, getSimulator().getSimulatorTime());
             }
         }
         this.currentAggregation = this.aggregation; // after first possibly irregular period, all periods regular
@@ -416,7 +537,7 @@ public class LoopDetector extends LaneDetector
      */
     public boolean hasLastValue()
     {
-        return !this.data.get(null).flow.isEmpty();
+        return this.data.get(null).periodicData.size() > 0;
     }
 
     /**
@@ -425,8 +546,8 @@ public class LoopDetector extends LaneDetector
      */
     public Frequency getLastFlow()
     {
-        List<Frequency> flow = this.data.get(null).flow;
-        return flow.get(flow.size() - 1);
+        PeriodicDataBuffer periodicData = this.data.get(null).periodicData;
+        return new Frequency(periodicData.getFlow(periodicData.size() - 1), FrequencyUnit.PER_HOUR);
     }
 
     /**
@@ -437,23 +558,48 @@ public class LoopDetector extends LaneDetector
      */
     public <A> A getLastValue(final LoopDetectorMeasurement<?, A> detectorMeasurement)
     {
+        PeriodicDataBuffer periodicData = this.data.get(null).periodicData;
         @SuppressWarnings("unchecked")
-        List<A> list = (List<A>) this.data.get(null).periodicDataMap.get(detectorMeasurement);
-        return list.get(list.size() - 1);
+        A value = (A) periodicData.getValue(indexOf(detectorMeasurement), periodicData.size() - 1);
+        return value;
     }
 
     /**
-     * Aggregates a periodic measurement.
-     * @param measurement measurement to aggregate
-     * @param agg aggregation period
-     * @param dat GTU type data
-     * @param <C> accumulated type
-     * @param <A> aggregated type
+     * Returns the index of a periodic measurement.
+     * @param measurement measurement
+     * @return index of the periodic measurement
+     * @throws IllegalArgumentException when the measurement is not a periodic measurement of this detector
      */
-    @SuppressWarnings("unchecked")
-    private <C, A> void aggregate(final LoopDetectorMeasurement<C, A> measurement, final Duration agg, final GtuTypeData dat)
+    private int indexOf(final LoopDetectorMeasurement<?, ?> measurement)
     {
-        ((List<A>) dat.periodicDataMap.get(measurement)).add(getAggregateValue(measurement, agg, dat));
+        for (int m = 0; m < this.periodicMeasurements.length; m++)
+        {
+            if (this.periodicMeasurements[m].equals(measurement))
+            {
+                return m;
+            }
+        }
+        throw new IllegalArgumentException("Measurement " + measurement + " is not a periodic measurement of this detector.");
+    }
+
+    /**
+     * Returns the start time of a period.
+     * @param period period number, 0 being the first period
+     * @return start time of the period
+     */
+    private Duration getPeriodStart(final long period)
+    {
+        double t = period == 0 ? 0.0 : this.firstAggregation.si + (period - 1) * this.aggregation.si;
+        return Duration.ofSI(t < 0.0 ? 0.0 : t);
+    }
+
+    /**
+     * Returns the start time of the oldest period for which periodic data is retained.
+     * @return start time of the oldest period for which periodic data is retained
+     */
+    private Duration getRetainedStart()
+    {
+        return getPeriodStart(this.data.get(null).periodicData.firstPeriod());
     }
 
     /**
@@ -514,13 +660,19 @@ public class LoopDetector extends LaneDetector
     public <T> List<T> getPeriodicData(final LoopDetectorMeasurement<?, T> measurement, final GtuType gtuType)
     {
         Throw.when(!this.data.containsKey(gtuType), IllegalArgumentException.class, "No data for %s.", gtuType);
+        PeriodicDataBuffer periodicData = this.data.get(gtuType).periodicData;
         if (measurement == null)
         {
-            return new ArrayList<>((List<T>) this.data.get(gtuType).flow);
+            List<T> flow = new ArrayList<>(periodicData.size());
+            for (int i = 0; i < periodicData.size(); i++)
+            {
+                flow.add((T) new Frequency(periodicData.getFlow(i), FrequencyUnit.PER_HOUR));
+            }
+            return flow;
         }
         Throw.when(!measurement.isPeriodic(), IllegalArgumentException.class, "Measurement %s is not periodic.",
                 measurement.getName());
-        return new ArrayList<>((List<T>) this.data.get(gtuType).periodicDataMap.get(measurement));
+        return (List<T>) periodicData.getValues(indexOf(measurement));
     }
 
     /**
@@ -607,7 +759,8 @@ public class LoopDetector extends LaneDetector
     }
 
     /**
-     * Returns a Table with all periodic data, such as flow and speed per minute.
+     * Returns a Table with all periodic data, such as flow and speed per minute. Rows are read from the retained data of each
+     * detector as the table is iterated.
      * @param network network from which all detectors are found.
      * @param gtuTypes GTU types to include. When left empty, data for all is exported without GTU type column. To include data
      *            for all GTU types among data for specific GTU types, include {@code null} value.
@@ -646,8 +799,11 @@ public class LoopDetector extends LaneDetector
                     /** GTU type data iterator. */
                     private Iterator<Entry<GtuType, GtuTypeData>> dataIterator = Collections.emptyIterator();
 
-                    /** Index iterator. */
-                    private Iterator<Integer> indexIterator = Collections.emptyIterator();
+                    /** Next period index in the data buffer. */
+                    private int index = 0;
+
+                    /** Number of periods in the data buffer. */
+                    private int size = 0;
 
                     /** Current loop detector. */
                     private LoopDetector loopDetector;
@@ -655,10 +811,13 @@ public class LoopDetector extends LaneDetector
                     /** Current GTU type data. */
                     private Entry<GtuType, GtuTypeData> dat;
 
+                    /** Index of each table measurement in the current loop detector, -1 if not available. */
+                    private int[] measurementIndices;
+
                     @Override
                     public boolean hasNext()
                     {
-                        while (!this.indexIterator.hasNext())
+                        while (this.index >= this.size)
                         {
                             while (!this.dataIterator.hasNext())
                             {
@@ -669,9 +828,17 @@ public class LoopDetector extends LaneDetector
                                 this.loopDetector = iterator.next();
                                 this.dataIterator =
                                         this.loopDetector.data.entrySet().stream().filter(gtuTypeEntryFilter).iterator();
+                                this.measurementIndices = new int[measurements.size()];
+                                int m = 0;
+                                for (LoopDetectorMeasurement<?, ?> measurement : measurements)
+                                {
+                                    this.measurementIndices[m++] = Arrays.asList(this.loopDetector.periodicMeasurements)
+                                            .indexOf(measurement);
+                                }
                             }
                             this.dat = this.dataIterator.next();
-                            this.indexIterator = IntStream.range(0, this.loopDetector.data.get(null).flow.size()).iterator();
+                            this.index = 0;
+                            this.size = this.dat.getValue().periodicData.size();
                         }
                         return true;
                     }
@@ -681,29 +848,20 @@ public class LoopDetector extends LaneDetector
                     {
                         Throw.when(!hasNext(), NoSuchElementException.class, "Periodic data unavailable.");
                         Object[] data = new Object[columns.size()];
-                        int index = this.indexIterator.next();
-
-                        double t = index == 0 ? 0.0
-                                : this.loopDetector.firstAggregation.si + (index - 1) * this.loopDetector.aggregation.si;
+                        int i = this.index++;
+                        PeriodicDataBuffer periodicData = this.dat.getValue().periodicData;
                         int dataIndex = 0;
                         data[dataIndex++] = this.loopDetector.getId();
                         if (includeGtuTypeColumn)
                         {
                             data[dataIndex++] = this.dat.getKey() == null ? "" : this.dat.getKey().getId();
                         }
-                        data[dataIndex++] = Duration.ofSI(t < 0.0 ? 0.0 : t);
-                        data[dataIndex++] = this.dat.getValue().flow.get(index);
-                        for (LoopDetectorMeasurement<?, ?> measurement : measurements)
+                        data[dataIndex++] = this.loopDetector.getPeriodStart(periodicData.firstPeriod() + i);
+                        data[dataIndex++] = new Frequency(periodicData.getFlow(i), FrequencyUnit.PER_HOUR);
+                        for (int m : this.measurementIndices)
                         {
-                            if (this.dat.getValue().periodicDataMap.containsKey(measurement))
-                            {
-                                data[dataIndex++] = this.dat.getValue().periodicDataMap.get(measurement).get(index);
-                            }
-                            else
-                            {
-                                // this data is not available for this detector
-                                data[dataIndex++] = null;
-                            }
+                            // null if this data is not available for this detector
+                            data[dataIndex++] = m < 0 ? null : periodicData.getValue(m, i);
                         }
                         return new Row(table(), data);
                     }
@@ -978,6 +1136,39 @@ public class LoopDetector extends LaneDetector
          */
         protected abstract A aggregate(C cumulative, int gtuCount, Duration aggregation);
 
+        /**
+         * Returns whether aggregated values can be represented by a {@code double}. Periodic data of such measurements is stored
+         * in primitive form, using {@code toDouble()} and {@code fromDouble()}, which must then be implemented. Default is
+         * {@code false}.
+         * @return whether aggregated values can be represented by a {@code double}
+         */
+        public boolean isPrimitive()
+        {
+            return false;
+        }
+
+        /**
+         * Returns the {@code double} representation of an aggregated value, for primitive measurements.
+         * @param value aggregated value
+         * @return {@code double} representation of the aggregated value
+         * @throws UnsupportedOperationException when the measurement is not primitive
+         */
+        protected double toDouble(final A value)
+        {
+            throw new UnsupportedOperationException("Measurement " + getName() + " is not primitive.");
+        }
+
+        /**
+         * Returns the aggregated value from its {@code double} representation, for primitive measurements.
+         * @param value {@code double} representation of the aggregated value
+         * @return aggregated value
+         * @throws UnsupportedOperationException when the measurement is not primitive
+         */
+        protected A fromDouble(final double value)
+        {
+            throw new UnsupportedOperationException("Measurement " + getName() + " is not primitive.");
+        }
+
         /**
          * Returns the value name.
          * @return value name
@@ -1021,16 +1212,38 @@ public class LoopDetector extends LaneDetector
         }
     }
 
+    /**
+     * Sink that receives periodic data as it is aggregated. This can be used to stream data to file, possibly in combination
+     * with a low retention of data in the detector itself.
+     * <p>
+     * Copyright (c) 2013-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved.
+     * <br>
+     * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+     * </p>
+     * @author Wouter Schakel
+     */
+    @FunctionalInterface
+    public interface PeriodicDataSink
+    {
+        /**
+         * Accepts the aggregated data of a single period.
+         * @param detector loop detector
+         * @param gtuType GTU type, {@code null} for data of all GTU types
+         * @param periodStart start time of the period
+         * @param flow flow in the period
+         * @param values aggregated values in order of {@link LoopDetector#getPeriodicMeasurements()}, should not be modified
+         */
+        void accept(LoopDetector detector, GtuType gtuType, Duration periodStart, Frequency flow, Object[] values);
+    }
+
     /**
      * Data holder per GTU type.
      */
     private class GtuTypeData
     {
-        /** Flow per aggregation period. */
-        private final List<Frequency> flow = new ArrayList<>();
-
-        /** Measurements per aggregation period. */
-        private final Map<LoopDetectorMeasurement<?, ?>, List<?>> periodicDataMap = new LinkedHashMap<>();
+        /** Flow and measurements per aggregation period. */
+        private final PeriodicDataBuffer periodicData =
+                new PeriodicDataBuffer(LoopDetector.this.periodicMeasurements, LoopDetector.this.retention);
 
         /** Count in current period. */
         private int gtuCountCurrentPeriod = 0;
@@ -1046,14 +1259,74 @@ public class LoopDetector extends LaneDetector
             for (LoopDetectorMeasurement<?, ?> measurement : LoopDetector.this.measurements)
             {
                 this.currentCumulativeDataMap.put(measurement, measurement.identity());
-                if (measurement.isPeriodic())
-                {
-                    this.periodicDataMap.put(measurement, new ArrayList<>());
-                }
             }
         }
     }
 
+    /**
+     * List of durations that stores the SI values in a primitive array.
+     */
+    private static class DurationList extends AbstractList<Duration> implements RandomAccess
+    {
+        /** SI values. */
+        private double[] values = new double[16];
+
+        /** Size. */
+        private int size = 0;
+
+        /**
+         * Constructor.
+         */
+        DurationList()
+        {
+            //
+        }
+
+        @Override
+        public boolean add(final Duration duration)
+        {
+            if (this.size == this.values.length)
+            {
+                this.values = Arrays.copyOf(this.values, 2 * this.size);
+            }
+            this.values[this.size++] = duration.si;
+            this.modCount++;
+            return true;
+        }
+
+        /**
+         * Removes all durations before the given duration, assuming durations are added in chronological order.
+         * @param duration duration before which all durations are removed
+         */
+        void removeBefore(final Duration duration)
+        {
+            int n = 0;
+            while (n < this.size && this.values[n] < duration.si)
+            {
+                n++;
+            }
+            if (n > 0)
+            {
+                System.arraycopy(this.values, n, this.values, 0, this.size - n);
+                this.size -= n;
+                this.modCount++;
+            }
+        }
+
+        @Override
+        public Duration get(final int index)
+        {
+            Objects.checkIndex(index, this.size);
+            return Duration.ofSI(this.values[index]);
+        }
+
+        @Override
+        public int size()
+        {
+            return this.size;
+        }
+    }
+
     /**
      * Measurement of platoon sizes based on time between previous GTU exit and GTU entry.
      */
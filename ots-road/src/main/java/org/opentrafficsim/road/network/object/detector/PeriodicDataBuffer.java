@@ -0,0 +1,252 @@
+package org.opentrafficsim.road.network.object.detector;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.djutils.exceptions.Throw;
+import org.opentrafficsim.road.network.object.detector.LoopDetector.LoopDetectorMeasurement;
+
+/**
+ * Columnar ring buffer of periodic loop detector data. Flow and primitive measurements (see
+ * {@link LoopDetectorMeasurement#isPrimitive()}) are stored in {@code double[]} columns, other measurements in {@code Object[]}
+ * columns. The buffer grows as required up to the retention, after which the oldest period is overwritten by each new period.
+ * <p>
+ * Copyright (c) 2013-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+final class PeriodicDataBuffer
+{
+
+    /** Initial capacity, when allowed by the retention. */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** Measurements. */
+    private final LoopDetectorMeasurement<?, ?>[] measurements;
+
+    /** Maximum number of periods that is retained. */
+    private int retention;
+
+    /** Flow per period [/h]. */
+    private double[] flow;
+
+    /** Primitive data per measurement, {@code null} for non-primitive measurements. */
+    private final double[][] primitiveData;
+
+    /** Boxed data per measurement, {@code null} for primitive measurements. */
+    private final Object[][] boxedData;
+
+    /** Index of the oldest period in the arrays. */
+    private int head = 0;
+
+    /** Number of periods in the buffer. */
+    private int size = 0;
+
+    /** Total number of periods ever added. */
+    private long count = 0;
+
+    /**
+     * Constructor.
+     * @param measurements periodic measurements
+     * @param retention maximum number of periods that is retained
+     */
+    PeriodicDataBuffer(final LoopDetectorMeasurement<?, ?>[] measurements, final int retention)
+    {
+        Throw.when(retention < 1, IllegalArgumentException.class, "Retention should be at least 1.");
+        this.measurements = measurements;
+        this.retention = retention;
+        this.primitiveData = new double[measurements.length][];
+        this.boxedData = new Object[measurements.length][];
+        allocate(Math.min(INITIAL_CAPACITY, retention));
+    }
+
+    /**
+     * (Re)allocates all columns at the given capacity, retaining the most recent periods in order starting at index 0.
+     * @param capacity new capacity
+     */
+    private void allocate(final int capacity)
+    {
+        int keep = Math.min(this.size, capacity);
+        int skip = this.size - keep;
+        this.flow = copy(this.flow, new double[capacity], skip, keep);
+        for (int m = 0; m < this.measurements.length; m++)
+        {
+            if (this.measurements[m].isPrimitive())
+            {
+                this.primitiveData[m] = copy(this.primitiveData[m], new double[capacity], skip, keep);
+            }
+            else
+            {
+                this.boxedData[m] = copy(this.boxedData[m], new Object[capacity], skip, keep);
+            }
+        }
+        this.head = 0;
+        this.size = keep;
+    }
+
+    /**
+     * Copies the ring buffer contents in order to a new array.
+     * @param from current array, may be {@code null}
+     * @param to new array
+     * @param skip number of oldest periods to skip
+     * @param keep number of periods to copy
+     * @return new array
+     * @param <T> array type
+     */
+    private <T> T copy(final T from, final T to, final int skip, final int keep)
+    {
+        if (from != null && keep > 0)
+        {
+            int capacity = Array.getLength(from);
+            int start = (this.head + skip) % capacity;
+            int first = Math.min(keep, capacity - start);
+            System.arraycopy(from, start, to, 0, first);
+            System.arraycopy(from, 0, to, first, keep - first);
+        }
+        return to;
+    }
+
+    /**
+     * Sets the retention. If the buffer holds more periods than the new retention, the oldest periods are discarded.
+     * @param newRetention maximum number of periods that is retained
+     */
+    void setRetention(final int newRetention)
+    {
+        Throw.when(newRetention < 1, IllegalArgumentException.class, "Retention should be at least 1.");
+        this.retention = newRetention;
+        if (this.flow.length > newRetention)
+        {
+            allocate(newRetention);
+        }
+    }
+
+    /**
+     * Returns the index in the arrays where the next period is to be stored, growing or rotating the buffer as required.
+     * @return index in the arrays where the next period is to be stored
+     */
+    private int nextSlot()
+    {
+        int capacity = this.flow.length;
+        if (this.size < capacity)
+        {
+            return (this.head + this.size++) % capacity;
+        }
+        if (capacity < this.retention)
+        {
+            allocate((int) Math.min(this.retention, 2L * capacity));
+            return this.size++;
+        }
+        int slot = this.head;
+        this.head = (this.head + 1) % capacity;
+        return slot;
+    }
+
+    /**
+     * Adds data of a period.
+     * @param flowPerHour flow [/h]
+     * @param values aggregated values in order of the measurements
+     */
+    void add(final double flowPerHour, final Object[] values)
+    {
+        int slot = nextSlot();
+        this.count++;
+        this.flow[slot] = flowPerHour;
+        for (int m = 0; m < this.measurements.length; m++)
+        {
+            if (this.primitiveData[m] != null)
+            {
+                this.primitiveData[m][slot] = toDouble(this.measurements[m], values[m]);
+            }
+            else
+            {
+                this.boxedData[m][slot] = values[m];
+            }
+        }
+    }
+
+    /**
+     * Converts an aggregated value to a double.
+     * @param measurement measurement
+     * @param value value
+     * @return double value
+     * @param <A> aggregated type
+     */
+    @SuppressWarnings("unchecked")
+    private static <A> double toDouble(final LoopDetectorMeasurement<?, A> measurement, final Object value)
+    {
+        return measurement.toDouble((A) value);
+    }
+
+    /**
+     * Returns the number of periods in the buffer.
+     * @return number of periods in the buffer
+     */
+    int size()
+    {
+        return this.size;
+    }
+
+    /**
+     * Returns the period number of the oldest period in the buffer, where 0 is the first period of the simulation.
+     * @return period number of the oldest period in the buffer
+     */
+    long firstPeriod()
+    {
+        return this.count - this.size;
+    }
+
+    /**
+     * Returns the array index of the i'th period in the buffer.
+     * @param i period index in the buffer, 0 being the oldest
+     * @return array index of the i'th period in the buffer
+     */
+    private int slot(final int i)
+    {
+        if (i < 0 || i >= this.size)
+        {
+            throw new IndexOutOfBoundsException("Index " + i + " out of bounds for size " + this.size + ".");
+        }
+        return (this.head + i) % this.flow.length;
+    }
+
+    /**
+     * Returns the flow [/h] of the i'th period in the buffer.
+     * @param i period index in the buffer, 0 being the oldest
+     * @return flow [/h]
+     */
+    double getFlow(final int i)
+    {
+        return this.flow[slot(i)];
+    }
+
+    /**
+     * Returns the value of the m'th measurement in the i'th period in the buffer.
+     * @param m measurement index
+     * @param i period index in the buffer, 0 being the oldest
+     * @return value of the m'th measurement in the i'th period in the buffer
+     */
+    Object getValue(final int m, final int i)
+    {
+        int slot = slot(i);
+        return this.primitiveData[m] != null ? this.measurements[m].fromDouble(this.primitiveData[m][slot])
+                : this.boxedData[m][slot];
+    }
+
+    /**
+     * Returns all values of the m'th measurement in the buffer, from old to new.
+     * @param m measurement index
+     * @return all values of the m'th measurement in the buffer
+     */
+    List<Object> getValues(final int m)
+    {
+        List<Object> list = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++)
+        {
+            list.add(getValue(m, i));
+        }
+        return list;
+    }
+
+}
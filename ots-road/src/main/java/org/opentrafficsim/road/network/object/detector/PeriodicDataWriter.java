@@ -0,0 +1,123 @@
+package org.opentrafficsim.road.network.object.detector;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.List;
+
+import org.djunits.unit.FrequencyUnit;
+import org.djunits.value.vdouble.scalar.Duration;
+import org.djunits.value.vdouble.scalar.Frequency;
+import org.djunits.value.vdouble.scalar.base.DoubleScalar;
+import org.djutils.exceptions.Throw;
+import org.opentrafficsim.core.gtu.GtuType;
+import org.opentrafficsim.road.network.object.detector.LoopDetector.LoopDetectorMeasurement;
+import org.opentrafficsim.road.network.object.detector.LoopDetector.PeriodicDataSink;
+
+/**
+ * Periodic data sink that writes each aggregated period as a line of comma-separated values, as it is produced. The columns are
+ * detector id, GTU type id (empty for all GTU types), period start time [s], flow [/h] and the given measurements in their
+ * display unit. Measurements that a detector does not have are left empty. Non-numeric values are written with quotes.
+ * <p>
+ * Copyright (c) 2013-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public class PeriodicDataWriter implements PeriodicDataSink, AutoCloseable
+{
+
+    /** Writer. */
+    private final Writer writer;
+
+    /** Measurements to write. */
+    private final List<LoopDetectorMeasurement<?, ?>> measurements;
+
+    /** Reused string builder. */
+    private final StringBuilder line = new StringBuilder();
+
+    /**
+     * Constructor. The header line is written immediately.
+     * @param writer writer, preferably buffered
+     * @param measurements measurements to write
+     * @throws UncheckedIOException when the header cannot be written
+     */
+    public PeriodicDataWriter(final Writer writer, final LoopDetectorMeasurement<?, ?>... measurements)
+    {
+        Throw.whenNull(writer, "writer");
+        this.writer = writer;
+        this.measurements = List.of(measurements);
+        this.line.append("id,GTU type,t,q");
+        for (LoopDetectorMeasurement<?, ?> measurement : this.measurements)
+        {
+            this.line.append(',').append(measurement.getName());
+        }
+        writeLine();
+    }
+
+    @Override
+    public synchronized void accept(final LoopDetector detector, final GtuType gtuType, final Duration periodStart,
+            final Frequency flow, final Object[] values)
+    {
+        this.line.append(detector.getId()).append(',').append(gtuType == null ? "" : gtuType.getId()).append(',')
+                .append(periodStart.si).append(',').append(flow.getInUnit(FrequencyUnit.PER_HOUR));
+        List<LoopDetectorMeasurement<?, ?>> detectorMeasurements = detector.getPeriodicMeasurements();
+        for (LoopDetectorMeasurement<?, ?> measurement : this.measurements)
+        {
+            this.line.append(',');
+            int index = detectorMeasurements.indexOf(measurement);
+            if (index >= 0)
+            {
+                appendValue(values[index]);
+            }
+        }
+        writeLine();
+    }
+
+    /**
+     * Appends a value to the line.
+     * @param value value, may be {@code null}
+     */
+    private void appendValue(final Object value)
+    {
+        if (value instanceof DoubleScalar<?, ?> scalar)
+        {
+            this.line.append(scalar.getInUnit());
+        }
+        else if (value instanceof Number)
+        {
+            this.line.append(value);
+        }
+        else if (value != null)
+        {
+            this.line.append('"').append(value.toString().replace("\"", "\"\"")).append('"');
+        }
+    }
+
+    /**
+     * Writes and clears the current line.
+     * @throws UncheckedIOException when the line cannot be written
+     */
+    private void writeLine()
+    {
+        try
+        {
+            this.writer.write(this.line.append(System.lineSeparator()).toString());
+        }
+        catch (IOException ex)
+        {
+            throw new UncheckedIOException("Unable to write periodic data.", ex);
+        }
+        finally
+        {
+            this.line.setLength(0);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException
+    {
+        this.writer.close();
+    }
+
+}
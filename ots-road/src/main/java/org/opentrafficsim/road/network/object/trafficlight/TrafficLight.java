@@ -17,7 +17,6 @@ import org.opentrafficsim.core.network.NetworkException;
 import org.opentrafficsim.core.network.Node;
 import org.opentrafficsim.core.network.route.Route;
 import org.opentrafficsim.core.perception.Historical;
-import org.opentrafficsim.core.perception.HistoricalValue;
 import org.opentrafficsim.road.network.Lane;
 import org.opentrafficsim.road.network.object.AbstractLaneBasedObject;
 import org.opentrafficsim.road.network.object.LaneBasedObject;
@@ -65,8 +64,8 @@ public class TrafficLight extends AbstractLaneBasedObject
             throws NetworkException
     {
         super(id, lane, longitudinalPosition, LaneBasedObject.makeLine(lane, longitudinalPosition), height);
-        this.trafficLightColor = new HistoricalValue<>(getSimulator().getReplication().getHistoryManager(getSimulator()), this,
-                TrafficLightColor.RED);
+        this.trafficLightColor =
+                getSimulator().getReplication().getHistoryManager(getSimulator()).newHistorical(this, TrafficLightColor.RED);
         init();
     }
 
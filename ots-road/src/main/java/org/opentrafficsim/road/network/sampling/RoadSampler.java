@@ -21,11 +21,14 @@ import org.djutils.exceptions.Throw;
 import org.opentrafficsim.base.OtsRuntimeException;
 import org.opentrafficsim.core.dsol.OtsSimulatorInterface;
 import org.opentrafficsim.core.gtu.RelativePosition;
+import org.opentrafficsim.core.profiler.Profiler;
+import org.opentrafficsim.core.profiler.ProfilerStage;
 import org.opentrafficsim.kpi.sampling.Sampler;
 import org.opentrafficsim.kpi.sampling.data.ExtendedDataType;
 import org.opentrafficsim.kpi.sampling.filter.FilterDataType;
 import org.opentrafficsim.road.gtu.LaneBasedGtu;
 import org.opentrafficsim.road.network.CrossSectionLink;
+import org.opentrafficsim.road.network.GtuStateBatch;
 import org.opentrafficsim.road.network.Lane;
 import org.opentrafficsim.road.network.RoadNetwork;
 
@@ -35,6 +38,12 @@ import nl.tudelft.simulation.dsol.formalisms.eventscheduling.SimEventInterface;
 /**
  * Implementation of KPI sampler for OTS.
  * <p>
+ * By default, each GTU is sampled by its own event: a move event of the GTU, or a scheduled event per GTU per lane for each
+ * sampling interval. In a {@link BatchMode batch mode}, all GTUs are sampled in one pass instead. Without sampling interval the
+ * sampler then listens to the {@link RoadNetwork#GTU_STATE_BATCH_EVENT}, and with a sampling interval a single event per
+ * interval samples all GTUs on the recorded lanes. The resulting sampler data is the same.
+ * </p>
+ * <p>
  * Copyright (c) 2013-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
  * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
  * </p>
@@ -54,6 +63,18 @@ public class RoadSampler extends Sampler<GtuDataRoad, LaneDataRoad> implements E
     /** Sampling interval. */
     private final Duration samplingInterval;
 
+    /** Batch mode. */
+    private final BatchMode batchMode;
+
+    /** Lanes that are being recorded, if batch based. */
+    private final Set<Lane> recordedLanes = new LinkedHashSet<>();
+
+    /** Scheduled sampling event for all GTUs, if batch and interval based. */
+    private SimEventInterface<Duration> batchEvent;
+
+    /** GTUs that were added to their first lane since the last batch, if batch based and not interval based. */
+    private final Set<String> addedGtus = new LinkedHashSet<>();
+
     /** Registration of sampling events of each GTU per lane, if interval based. */
     private final Map<String, Map<Lane, SimEventInterface<Duration>>> eventsPerGtu = new LinkedHashMap<>();
 
@@ -83,11 +104,7 @@ public class RoadSampler extends Sampler<GtuDataRoad, LaneDataRoad> implements E
     public RoadSampler(final Set<ExtendedDataType<?, ?, ?, ? super GtuDataRoad>> extendedDataTypes,
             final Set<FilterDataType<?, ? super GtuDataRoad>> filterDataTypes, final RoadNetwork network)
     {
-        super(extendedDataTypes, filterDataTypes);
-        Throw.whenNull(network, "Network may not be null.");
-        this.network = network;
-        this.simulator = network.getSimulator();
-        this.samplingInterval = null;
+        this(extendedDataTypes, filterDataTypes, network, null, BatchMode.NONE);
     }
 
     /**
@@ -114,15 +131,34 @@ public class RoadSampler extends Sampler<GtuDataRoad, LaneDataRoad> implements E
     public RoadSampler(final Set<ExtendedDataType<?, ?, ?, ? super GtuDataRoad>> extendedDataTypes,
             final Set<FilterDataType<?, ? super GtuDataRoad>> filterDataTypes, final RoadNetwork network,
             final Frequency frequency)
+    {
+        this(extendedDataTypes, filterDataTypes, network, Throw.whenNull(frequency, "Frequency may not be null."),
+                BatchMode.NONE);
+    }
+
+    /**
+     * Constructor with batch mode.
+     * @param extendedDataTypes extended data types
+     * @param filterDataTypes filter data types
+     * @param network the network
+     * @param frequency sampling frequency, {@code null} to sample on the operational plan updates of GTU's
+     * @param batchMode batch mode
+     * @throws NullPointerException if the network or batch mode is {@code null}
+     * @throws IllegalArgumentException if frequency is negative or zero
+     */
+    public RoadSampler(final Set<ExtendedDataType<?, ?, ?, ? super GtuDataRoad>> extendedDataTypes,
+            final Set<FilterDataType<?, ? super GtuDataRoad>> filterDataTypes, final RoadNetwork network,
+            final Frequency frequency, final BatchMode batchMode)
     {
         super(extendedDataTypes, filterDataTypes);
         Throw.whenNull(network, "Network may not be null.");
-        Throw.whenNull(frequency, "Frequency may not be null.");
-        Throw.when(frequency.le(Frequency.ZERO), IllegalArgumentException.class,
+        Throw.whenNull(batchMode, "Batch mode may not be null.");
+        Throw.when(frequency != null && frequency.le(Frequency.ZERO), IllegalArgumentException.class,
                 "Negative or zero sampling frequency is not permitted.");
         this.network = network;
         this.simulator = network.getSimulator();
-        this.samplingInterval = new Duration(1.0 / frequency.si, DurationUnit.SI);
+        this.samplingInterval = frequency == null ? null : new Duration(1.0 / frequency.si, DurationUnit.SI);
+        this.batchMode = batchMode;
     }
 
     @Override
@@ -165,6 +201,14 @@ public class RoadSampler extends Sampler<GtuDataRoad, LaneDataRoad> implements E
         roadLane.addListener(this, Lane.GTU_ADD_EVENT, ReferenceType.WEAK);
         roadLane.addListener(this, Lane.GTU_REMOVE_EVENT, ReferenceType.WEAK);
         // @end
+        if (isBatchBased())
+        {
+            if (this.recordedLanes.isEmpty())
+            {
+                startBatchSampling();
+            }
+            this.recordedLanes.add(roadLane);
+        }
         int count = 1;
         for (LaneBasedGtu gtu : roadLane.getGtuList())
         {
@@ -189,6 +233,10 @@ public class RoadSampler extends Sampler<GtuDataRoad, LaneDataRoad> implements E
         Lane roadLane = lane.getLane();
         roadLane.removeListener(this, Lane.GTU_ADD_EVENT);
         roadLane.removeListener(this, Lane.GTU_REMOVE_EVENT);
+        if (isBatchBased() && this.recordedLanes.remove(roadLane) && this.recordedLanes.isEmpty())
+        {
+            stopBatchSampling();
+        }
     }
 
     @Override
@@ -206,8 +254,30 @@ public class RoadSampler extends Sampler<GtuDataRoad, LaneDataRoad> implements E
             Lane lane = (Lane) link.getCrossSectionElement(payload[8].toString()).orElseThrow();
             LaneBasedGtu gtu = (LaneBasedGtu) this.network.getGTU(payload[0].toString())
                     .orElseThrow(() -> new OtsRuntimeException("Sampling of GTU not in the network."));
+            long t = Profiler.start();
             LaneDataRoad laneData = new LaneDataRoad(lane);
             snapshot(laneData, (Length) payload[9], (Speed) payload[3], (Acceleration) payload[4], now(), new GtuDataRoad(gtu));
+            Profiler.lap(ProfilerStage.SAMPLER_SNAPSHOT, gtu.getType(), t);
+        }
+        else if (event.getType().equals(RoadNetwork.GTU_STATE_BATCH_EVENT))
+        {
+            // sample the same GTUs as move events would be received from
+            GtuStateBatch batch = (GtuStateBatch) event.getContent();
+            Duration now = now();
+            for (int i = 0; i < batch.size(); i++)
+            {
+                Lane lane = batch.getLane(i);
+                String gtuId = batch.getId(i);
+                if (lane != null && this.activeLanesPerGtu.containsKey(gtuId) && !this.addedGtus.contains(gtuId))
+                {
+                    LaneBasedGtu gtu = batch.getGtu(i);
+                    long t = Profiler.start();
+                    snapshot(new LaneDataRoad(lane), Length.ofSI(batch.getPosition(i)), Speed.ofSI(batch.getSpeed(i)),
+                            Acceleration.ofSI(batch.getAcceleration(i)), now, new GtuDataRoad(gtu));
+                    Profiler.lap(ProfilerStage.SAMPLER_SNAPSHOT, gtu.getType(), t);
+                }
+            }
+            this.addedGtus.clear();
         }
         else if (event.getType().equals(Lane.GTU_ADD_EVENT))
         {
@@ -230,6 +300,10 @@ public class RoadSampler extends Sampler<GtuDataRoad, LaneDataRoad> implements E
 
             if (isIntervalBased())
             {
+                if (isBatchBased())
+                {
+                    return; // sampled by the batch
+                }
                 double currentTime = now().getSI();
                 int steps = (int) Math.ceil(currentTime / this.samplingInterval.getSI());
                 // add 1 step if right now happens to be synchronous with sampling interval
@@ -240,7 +314,15 @@ public class RoadSampler extends Sampler<GtuDataRoad, LaneDataRoad> implements E
                 Set<Lane> lanes = this.activeLanesPerGtu.computeIfAbsent(gtu.getId(), (key) -> new LinkedHashSet<>());
                 if (lanes.isEmpty())
                 {
-                    gtu.addListener(this, LaneBasedGtu.LANEBASED_MOVE_EVENT, ReferenceType.WEAK);
+                    if (isBatchBased())
+                    {
+                        // the move at the current time is in the batch, but is not sampled as it preceded this event
+                        this.addedGtus.add(gtu.getId());
+                    }
+                    else
+                    {
+                        gtu.addListener(this, LaneBasedGtu.LANEBASED_MOVE_EVENT, ReferenceType.WEAK);
+                    }
                 }
                 lanes.add(lane);
             }
@@ -263,6 +345,10 @@ public class RoadSampler extends Sampler<GtuDataRoad, LaneDataRoad> implements E
 
             if (isIntervalBased())
             {
+                if (isBatchBased())
+                {
+                    return; // sampled by the batch
+                }
                 Map<Lane, SimEventInterface<Duration>> events = this.eventsPerGtu.get(gtu.getId());
                 SimEventInterface<Duration> e = events.remove(lane);
                 if (e != null)
@@ -281,7 +367,10 @@ public class RoadSampler extends Sampler<GtuDataRoad, LaneDataRoad> implements E
                 if (lanes.isEmpty())
                 {
                     this.activeLanesPerGtu.remove(gtu.getId());
-                    gtu.removeListener(this, LaneBasedGtu.LANEBASED_MOVE_EVENT);
+                    if (!isBatchBased())
+                    {
+                        gtu.removeListener(this, LaneBasedGtu.LANEBASED_MOVE_EVENT);
+                    }
                 }
             }
         }
@@ -295,6 +384,107 @@ public class RoadSampler extends Sampler<GtuDataRoad, LaneDataRoad> implements E
         return this.samplingInterval != null;
     }
 
+    /**
+     * @return whether sampling is batch based
+     */
+    private boolean isBatchBased()
+    {
+        return !BatchMode.NONE.equals(this.batchMode);
+    }
+
+    /**
+     * Starts sampling all GTUs in one pass, as the first lane starts recording.
+     */
+    private void startBatchSampling()
+    {
+        if (isIntervalBased())
+        {
+            double currentTime = now().getSI();
+            int steps = (int) Math.ceil(currentTime / this.samplingInterval.getSI());
+            // add 1 step if right now happens to be synchronous with sampling interval, GTUs on the lane are sampled now
+            scheduleBatchSamplingInterval(steps + (steps * this.samplingInterval.getSI() > currentTime ? 0 : 1));
+        }
+        else
+        {
+            this.network.addListener(this, RoadNetwork.GTU_STATE_BATCH_EVENT, ReferenceType.WEAK);
+        }
+    }
+
+    /**
+     * Stops sampling all GTUs in one pass, as the last lane stops recording.
+     */
+    private void stopBatchSampling()
+    {
+        if (isIntervalBased())
+        {
+            this.simulator.cancelEvent(this.batchEvent);
+            this.batchEvent = null;
+        }
+        else
+        {
+            this.network.removeListener(this, RoadNetwork.GTU_STATE_BATCH_EVENT);
+            this.addedGtus.clear();
+        }
+    }
+
+    /**
+     * Schedules a sampling event for all GTUs on the recorded lanes.
+     * @param steps number of steps in interval based sampling
+     */
+    private void scheduleBatchSamplingInterval(final int steps)
+    {
+        try
+        {
+            // sample before other events at the same time, as do the sampling events per GTU that were scheduled earlier
+            this.batchEvent = this.simulator.scheduleEventAbs(this.samplingInterval.times(steps),
+                    SimEventInterface.MAX_PRIORITY, () -> notifyBatchSample(steps));
+        }
+        catch (SimRuntimeException exception)
+        {
+            // should not happen with getSimulatorTime.add()
+            throw new OtsRuntimeException("Scheduling sampling in the past.", exception);
+        }
+    }
+
+    /**
+     * Samples all GTUs on the recorded lanes and schedules the next sampling event. This is used for batch and interval based
+     * sampling. In parallel batch mode the lanes are sampled in parallel, as each lane has its own trajectories.
+     * @param steps number of steps in interval based sampling
+     */
+    private void notifyBatchSample(final int steps)
+    {
+        Duration now = now();
+        if (BatchMode.PARALLEL.equals(this.batchMode))
+        {
+            this.recordedLanes.parallelStream().forEach((lane) -> sampleLane(lane, now));
+        }
+        else
+        {
+            for (Lane lane : this.recordedLanes)
+            {
+                sampleLane(lane, now);
+            }
+        }
+        scheduleBatchSamplingInterval(steps + 1);
+    }
+
+    /**
+     * Samples all GTUs on a lane.
+     * @param lane lane
+     * @param time current time
+     */
+    private void sampleLane(final Lane lane, final Duration time)
+    {
+        LaneDataRoad laneData = new LaneDataRoad(lane);
+        for (LaneBasedGtu gtu : lane.getGtuList())
+        {
+            long t = Profiler.start();
+            Length position = gtu.getPosition(lane, RelativePosition.REFERENCE_POSITION);
+            snapshot(laneData, position, gtu.getSpeed(), gtu.getAcceleration(), time, new GtuDataRoad(gtu));
+            Profiler.lap(ProfilerStage.SAMPLER_SNAPSHOT, gtu.getType(), t);
+        }
+    }
+
     /**
      * Schedules a sampling event for the given gtu on the given lane for the sampling interval from the current time.
      * @param gtu gtu to sample
@@ -325,9 +515,11 @@ public class RoadSampler extends Sampler<GtuDataRoad, LaneDataRoad> implements E
      */
     private void notifySample(final LaneBasedGtu gtu, final Lane lane, final int steps)
     {
+        long t = Profiler.start();
         LaneDataRoad laneData = new LaneDataRoad(lane);
         Length position = gtu.getPosition(lane, RelativePosition.REFERENCE_POSITION);
         snapshot(laneData, position, gtu.getSpeed(), gtu.getAcceleration(), now(), new GtuDataRoad(gtu));
+        Profiler.lap(ProfilerStage.SAMPLER_SNAPSHOT, gtu.getType(), t);
         scheduleSamplingInterval(gtu, lane, steps + 1);
     }
 
@@ -362,7 +554,28 @@ public class RoadSampler extends Sampler<GtuDataRoad, LaneDataRoad> implements E
     @Override
     public String toString()
     {
-        return "RoadSampler [samplingInterval=" + this.samplingInterval + "]";
+        return "RoadSampler [samplingInterval=" + this.samplingInterval + ", batchMode=" + this.batchMode + "]";
+    }
+
+    /**
+     * Mode in which GTUs are sampled.
+     */
+    public enum BatchMode
+    {
+        /** Each GTU is sampled by its own move event, or by its own scheduled event per lane for each sampling interval. */
+        NONE,
+
+        /**
+         * All GTUs are sampled in one pass, at the GTU state batch event of the network, or at a single scheduled event for
+         * each sampling interval.
+         */
+        SEQUENTIAL,
+
+        /**
+         * As {@code SEQUENTIAL}, but with a sampling interval the lanes are sampled in parallel. This requires that extended
+         * data types can be obtained concurrently for GTUs on different lanes.
+         */
+        PARALLEL;
     }
 
     /**
@@ -391,6 +604,9 @@ public class RoadSampler extends Sampler<GtuDataRoad, LaneDataRoad> implements E
         /** Frequency. */
         private Frequency freq;
 
+        /** Batch mode. */
+        private BatchMode batchMode = BatchMode.NONE;
+
         /**
          * Constructor.
          * @param network network
@@ -435,14 +651,25 @@ public class RoadSampler extends Sampler<GtuDataRoad, LaneDataRoad> implements E
             return this;
         }
 
+        /**
+         * Sets the batch mode. The default is {@code BatchMode.NONE}.
+         * @param mode batch mode
+         * @return this factory
+         */
+        public Factory setBatchMode(final BatchMode mode)
+        {
+            Throw.whenNull(mode, "Batch mode may not be null.");
+            this.batchMode = mode;
+            return this;
+        }
+
         /**
          * Create sampler.
          * @return sampler
          */
         public RoadSampler create()
         {
-            return this.freq == null ? new RoadSampler(this.extendedDataTypes, this.filterDataTypes, this.network)
-                    : new RoadSampler(this.extendedDataTypes, this.filterDataTypes, this.network, this.freq);
+            return new RoadSampler(this.extendedDataTypes, this.filterDataTypes, this.network, this.freq, this.batchMode);
         }
 
     }
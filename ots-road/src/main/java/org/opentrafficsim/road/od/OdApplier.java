@@ -2,7 +2,9 @@ package org.opentrafficsim.road.od;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -10,6 +12,10 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -17,6 +23,7 @@ import org.djunits.unit.FrequencyUnit;
 import org.djunits.value.vdouble.scalar.Duration;
 import org.djunits.value.vdouble.scalar.Frequency;
 import org.djunits.value.vdouble.scalar.Length;
+import org.djunits.value.vdouble.vector.DurationVector;
 import org.djutils.exceptions.Throw;
 import org.opentrafficsim.base.OtsRuntimeException;
 import org.opentrafficsim.base.logger.Logger;
@@ -124,9 +131,46 @@ public final class OdApplier
      * @throws ParameterException if a parameter is missing
      * @throws SimRuntimeException if this method is called after simulation time 0
      */
-    @SuppressWarnings("checkstyle:methodlength")
     public static Map<String, GeneratorObjects> applyOd(final RoadNetwork network, final OdMatrix od, final OdOptions odOptions,
             final DetectorType detectorType) throws ParameterException, SimRuntimeException
+    {
+        return applyOd(network, od, odOptions, detectorType, false);
+    }
+
+    /**
+     * Applies the OD to the network by creating vehicle generators, as {@link #applyOd(RoadNetwork, OdMatrix, OdOptions,
+     * DetectorType)}. The demand trees and generator positions of the origins are prepared concurrently, which may speed up
+     * scenario start for large OD matrices. This preparation does not draw random numbers. The generators are created
+     * afterwards in the order of the origins, with the same stream, such that the result is equal to that of
+     * {@code applyOd()}, and the simulation is reproducible.
+     * @param network network
+     * @param od OD matrix
+     * @param odOptions options for vehicle generation
+     * @param detectorType detector type.
+     * @return Map&lt;String, GeneratorObjects&gt; map of generator id's and created generator objects mainly for testing
+     * @throws ParameterException if a parameter is missing
+     * @throws SimRuntimeException if this method is called after simulation time 0
+     */
+    public static Map<String, GeneratorObjects> applyOdParallel(final RoadNetwork network, final OdMatrix od,
+            final OdOptions odOptions, final DetectorType detectorType) throws ParameterException, SimRuntimeException
+    {
+        return applyOd(network, od, odOptions, detectorType, true);
+    }
+
+    /**
+     * Applies the OD to the network by creating vehicle generators.
+     * @param network network
+     * @param od OD matrix
+     * @param odOptions options for vehicle generation
+     * @param detectorType detector type.
+     * @param parallel whether to prepare the demand of origins concurrently
+     * @return Map&lt;String, GeneratorObjects&gt; map of generator id's and created generator objects mainly for testing
+     * @throws ParameterException if a parameter is missing
+     * @throws SimRuntimeException if this method is called after simulation time 0
+     */
+    private static Map<String, GeneratorObjects> applyOd(final RoadNetwork network, final OdMatrix od,
+            final OdOptions odOptions, final DetectorType detectorType, final boolean parallel)
+            throws ParameterException, SimRuntimeException
     {
         Throw.whenNull(network, "Network may not be null.");
         Throw.whenNull(od, "OD matrix may not be null.");
@@ -145,35 +189,97 @@ public final class OdApplier
         StreamInterface stream = getStream(simulator);
 
         boolean laneBased = od.getCategorization().entails(Lane.class);
-        Map<String, GeneratorObjects> output = new LinkedHashMap<>();
-        for (Node origin : od.getOrigins())
-        {
-            Map<Lane, DemandNode<Node, DemandNode<Node, DemandNode<Category, ?>>>> originNodePerLane = new LinkedHashMap<>();
-            DemandNode<Node, DemandNode<Node, DemandNode<Category, ?>>> originNodeZone =
-                    buildDemandNodeTree(od, odOptions, stream, origin, originNodePerLane);
-            Map<DemandNode<Node, DemandNode<Node, DemandNode<Category, ?>>>, Set<LanePosition>> initialPositions =
-                    new LinkedHashMap<>();
-            Map<CrossSectionLink, Double> linkWeights = new LinkedHashMap<>();
-            Map<CrossSectionLink, Node> viaNodes = new LinkedHashMap<>();
-            if (laneBased)
+        Map<DurationVector, TimeTable> timeTables = Collections.synchronizedMap(new IdentityHashMap<>());
+        List<OriginDemand> originDemands = new ArrayList<>();
+        if (parallel)
+        {
+            ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+            try
+            {
+                List<Future<OriginDemand>> futures = new ArrayList<>();
+                for (Node origin : od.getOrigins())
+                {
+                    futures.add(executor.submit(() -> prepareOrigin(od, odOptions, stream, laneBased, origin, timeTables)));
+                }
+                for (Future<OriginDemand> future : futures)
+                {
+                    originDemands.add(future.get());
+                }
+            }
+            catch (InterruptedException exception)
             {
-                gatherPositionsLaneBased(originNodePerLane, initialPositions);
+                Thread.currentThread().interrupt();
+                throw new OtsRuntimeException("Interrupted while preparing OD demand.", exception);
             }
-            else
+            catch (ExecutionException exception)
+            {
+                if (exception.getCause() instanceof RuntimeException runtimeException)
+                {
+                    throw runtimeException;
+                }
+                throw new OtsRuntimeException(exception.getCause());
+            }
+            finally
             {
-                initialPositions.put(originNodeZone, gatherPositionsZone(origin, linkWeights, viaNodes));
+                executor.shutdownNow();
             }
-            if (linkWeights.isEmpty())
+        }
+        else
+        {
+            for (Node origin : od.getOrigins())
             {
-                linkWeights = null;
-                viaNodes = null;
+                originDemands.add(prepareOrigin(od, odOptions, stream, laneBased, origin, timeTables));
             }
-            initialPositions = sortByValue(initialPositions); // sorts by lateral position at link start
-            createGenerators(network, odOptions, simulator, laneBased, stream, output, initialPositions, linkWeights, viaNodes);
+        }
+
+        // generators schedule events and draw from the stream, so these are created in order of the origins
+        Map<String, GeneratorObjects> output = new LinkedHashMap<>();
+        for (OriginDemand originDemand : originDemands)
+        {
+            createGenerators(network, odOptions, simulator, laneBased, stream, output, originDemand.initialPositions(),
+                    originDemand.linkWeights(), originDemand.viaNodes());
         }
         return output;
     }
 
+    /**
+     * Prepares the demand node trees and initial positions of generators for an origin. This only reads from the OD, the
+     * options and the network, and may be invoked concurrently for different origins.
+     * @param od OD matrix
+     * @param odOptions OD options
+     * @param stream random number stream, stored in demand nodes but not used
+     * @param laneBased lane in category
+     * @param origin origin node
+     * @param timeTables time tables per time vector, shared between demand nodes, should be thread-safe
+     * @return demand node trees and initial positions of generators
+     */
+    private static OriginDemand prepareOrigin(final OdMatrix od, final OdOptions odOptions, final StreamInterface stream,
+            final boolean laneBased, final Node origin, final Map<DurationVector, TimeTable> timeTables)
+    {
+        Map<Lane, DemandNode<Node, DemandNode<Node, DemandNode<Category, ?>>>> originNodePerLane = new LinkedHashMap<>();
+        DemandNode<Node, DemandNode<Node, DemandNode<Category, ?>>> originNodeZone =
+                buildDemandNodeTree(od, odOptions, stream, origin, originNodePerLane, timeTables);
+        Map<DemandNode<Node, DemandNode<Node, DemandNode<Category, ?>>>, Set<LanePosition>> initialPositions =
+                new LinkedHashMap<>();
+        Map<CrossSectionLink, Double> linkWeights = new LinkedHashMap<>();
+        Map<CrossSectionLink, Node> viaNodes = new LinkedHashMap<>();
+        if (laneBased)
+        {
+            gatherPositionsLaneBased(originNodePerLane, initialPositions);
+        }
+        else
+        {
+            initialPositions.put(originNodeZone, gatherPositionsZone(origin, linkWeights, viaNodes));
+        }
+        if (linkWeights.isEmpty())
+        {
+            linkWeights = null;
+            viaNodes = null;
+        }
+        initialPositions = sortByValue(initialPositions); // sorts by lateral position at link start
+        return new OriginDemand(initialPositions, linkWeights, viaNodes);
+    }
+
     /**
      * Builds nested demand node structure (i.e. tree) for demand and GTU characteristics generation. If
      * {@code MarkovCorrelation} is specified, in case of zone GTU generation, a single {@code MarkovChain} is used for the
@@ -189,11 +295,13 @@ public final class OdApplier
      * @param stream random number stream.
      * @param origin origin node.
      * @param originNodePerLane map of origin demand node per lane, populated for lane-based GTU generation.
+     * @param timeTables time tables per time vector, shared between leaf nodes.
      * @return demand node structure for the entire generator in case of zone GTU generation.
      */
     private static DemandNode<Node, DemandNode<Node, DemandNode<Category, ?>>> buildDemandNodeTree(final OdMatrix od,
             final OdOptions odOptions, final StreamInterface stream, final Node origin,
-            final Map<Lane, DemandNode<Node, DemandNode<Node, DemandNode<Category, ?>>>> originNodePerLane)
+            final Map<Lane, DemandNode<Node, DemandNode<Node, DemandNode<Category, ?>>>> originNodePerLane,
+            final Map<DurationVector, TimeTable> timeTables)
     {
         boolean laneBased = od.getCategorization().entails(Lane.class);
         boolean markovian = od.getCategorization().entails(GtuType.class);
@@ -259,7 +367,7 @@ public final class OdApplier
                     Optional<DemandPattern> demandPattern = od.getDemandPattern(origin, destination, category);
                     if (demandPattern.isPresent())
                     {
-                        DemandNode<Category, ?> categoryNode = new DemandNode<>(category, demandPattern.get());
+                        DemandNode<Category, ?> categoryNode = new DemandNode<>(category, demandPattern.get(), timeTables);
                         if (markovian)
                         {
                             destinationNode.addLeaf(categoryNode, category.get(GtuType.class));
@@ -677,6 +785,9 @@ public final class OdApplier
         /** Demand data. */
         private final DemandPattern demandPattern;
 
+        /** Demand data as arrays, for fast lookup. */
+        private final DemandTable demandTable;
+
         /** Unique GTU types of leaf nodes. */
         private final List<GtuType> gtuTypes = new ArrayList<>();
 
@@ -700,6 +811,7 @@ public final class OdApplier
             this.object = object;
             this.stream = stream;
             this.demandPattern = null;
+            this.demandTable = null;
             this.markov = markov;
         }
 
@@ -707,12 +819,14 @@ public final class OdApplier
          * Constructor for leaf node, without Markov selection.
          * @param object node object
          * @param demandPattern demand data
+         * @param timeTables time tables per time vector, shared between leaf nodes
          */
-        DemandNode(final T object, final DemandPattern demandPattern)
+        DemandNode(final T object, final DemandPattern demandPattern, final Map<DurationVector, TimeTable> timeTables)
         {
             this.object = object;
             this.stream = null;
             this.demandPattern = demandPattern;
+            this.demandTable = new DemandTable(demandPattern, timeTables);
             this.markov = null;
         }
 
@@ -825,9 +939,9 @@ public final class OdApplier
         @Override
         public Frequency getFrequency(final Duration time, final boolean sliceStart)
         {
-            if (this.demandPattern != null)
+            if (this.demandTable != null)
             {
-                return this.demandPattern.getFrequency(time, sliceStart);
+                return this.demandTable.getFrequency(time, sliceStart);
             }
             Frequency f = new Frequency(0.0, FrequencyUnit.PER_HOUR);
             for (K child : this.children)
@@ -840,9 +954,9 @@ public final class OdApplier
         @Override
         public Optional<Duration> nextTimeSlice(final Duration time)
         {
-            if (this.demandPattern != null)
+            if (this.demandTable != null)
             {
-                return this.demandPattern.nextTimeSlice(time);
+                return this.demandTable.nextTimeSlice(time);
             }
             Duration out = null;
             for (K child : this.children)
@@ -863,6 +977,155 @@ public final class OdApplier
 
     }
 
+    /**
+     * Demand trees and initial generator positions of an origin, prepared before the generators are created.
+     * @param initialPositions sorted initial positions per root demand node
+     * @param linkWeights weights per link, may be {@code null}
+     * @param viaNodes nodes to select from for zone, may be {@code null}
+     */
+    private record OriginDemand(
+            Map<DemandNode<Node, DemandNode<Node, DemandNode<Category, ?>>>, Set<LanePosition>> initialPositions,
+            Map<CrossSectionLink, Double> linkWeights, Map<CrossSectionLink, Node> viaNodes)
+    {
+    }
+
+    /**
+     * Times of a time vector, as scalars and as SI values. Demand patterns typically share the global time vector of the OD
+     * matrix, and hence also share the time table.
+     * @param times times
+     * @param timesSi times [s]
+     */
+    private record TimeTable(Duration[] times, double[] timesSi)
+    {
+        /**
+         * Creates the time table of a time vector.
+         * @param timeVector time vector
+         * @return time table of the time vector
+         */
+        static TimeTable of(final DurationVector timeVector)
+        {
+            Duration[] times = new Duration[timeVector.size()];
+            double[] timesSi = new double[times.length];
+            for (int i = 0; i < times.length; i++)
+            {
+                times[i] = timeVector.get(i);
+                timesSi[i] = times[i].si;
+            }
+            return new TimeTable(times, timesSi);
+        }
+    }
+
+    /**
+     * Demand data of a leaf node as arrays, which are searched with a binary search rather than looping the vectors. The
+     * results are equal to those of {@code DemandPattern}, including edge cases at the start and end of time slices.
+     */
+    private static final class DemandTable implements Arrivals
+    {
+        /** Zero frequency, outside of the time range. */
+        private static final Frequency ZERO = new Frequency(0.0, FrequencyUnit.PER_HOUR);
+
+        /** Times. */
+        private final TimeTable timeTable;
+
+        /** Demand at the times. */
+        private final Frequency[] frequencies;
+
+        /** Interpolation. */
+        private final Interpolation interpolation;
+
+        /**
+         * Constructor.
+         * @param demandPattern demand pattern
+         * @param timeTables time tables per time vector, shared between leaf nodes
+         */
+        DemandTable(final DemandPattern demandPattern, final Map<DurationVector, TimeTable> timeTables)
+        {
+            this.timeTable = timeTables.computeIfAbsent(demandPattern.timeVector(), TimeTable::of);
+            this.frequencies = new Frequency[demandPattern.demandVector().size()];
+            for (int i = 0; i < this.frequencies.length; i++)
+            {
+                this.frequencies[i] = demandPattern.demandVector().get(i);
+            }
+            this.interpolation = demandPattern.interpolation();
+        }
+
+        @Override
+        public Frequency getFrequency(final Duration time, final boolean sliceStart)
+        {
+            double[] timesSi = this.timeTable.timesSi();
+            int n = timesSi.length;
+            double t = time.si;
+            // same cases as Interpolation.interpolateVector()
+            if (n == 0 || (sliceStart ? t < timesSi[0] : t <= timesSi[0])
+                    || (sliceStart ? t >= timesSi[n - 1] : t > timesSi[n - 1]))
+            {
+                return ZERO;
+            }
+            // first i + 1 with t(i + 1) > t (slice start) or t(i + 1) >= t (slice end)
+            int next = sliceStart ? firstAfter(timesSi, t) : firstAtOrAfter(timesSi, t);
+            Duration[] times = this.timeTable.times();
+            return this.interpolation.interpolate(this.frequencies[next - 1], times[next - 1], this.frequencies[next],
+                    times[next], time);
+        }
+
+        @Override
+        public Optional<Duration> nextTimeSlice(final Duration time)
+        {
+            int next = firstAfter(this.timeTable.timesSi(), time.si);
+            return next < this.timeTable.times().length ? Optional.of(this.timeTable.times()[next]) : Optional.empty();
+        }
+
+        /**
+         * Returns the index of the first time after the given time.
+         * @param timesSi times [s]
+         * @param t time [s]
+         * @return index of the first time after the given time, length of the array if there is none
+         */
+        private static int firstAfter(final double[] timesSi, final double t)
+        {
+            int low = 0;
+            int high = timesSi.length;
+            while (low < high)
+            {
+                int mid = (low + high) >>> 1;
+                if (timesSi[mid] > t)
+                {
+                    high = mid;
+                }
+                else
+                {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Returns the index of the first time at or after the given time.
+         * @param timesSi times [s]
+         * @param t time [s]
+         * @return index of the first time at or after the given time, length of the array if there is none
+         */
+        private static int firstAtOrAfter(final double[] timesSi, final double t)
+        {
+            int low = 0;
+            int high = timesSi.length;
+            while (low < high)
+            {
+                int mid = (low + high) >>> 1;
+                if (timesSi[mid] >= t)
+                {
+                    high = mid;
+                }
+                else
+                {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+    }
+
     /**
      * Wrapper class around a {@code MarkovCorrelation}, including the last type. One of these should be used for each vehicle
      * generator.
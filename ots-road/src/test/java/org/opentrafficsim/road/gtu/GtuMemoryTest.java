@@ -0,0 +1,175 @@
+package org.opentrafficsim.road.gtu;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.naming.NamingException;
+
+import org.djunits.value.vdouble.scalar.Acceleration;
+import org.djunits.value.vdouble.scalar.Length;
+import org.djunits.value.vdouble.scalar.Speed;
+import org.junit.jupiter.api.Test;
+import org.opentrafficsim.base.parameters.ParameterException;
+import org.opentrafficsim.base.parameters.ParameterSet;
+import org.opentrafficsim.base.parameters.ParameterTypes;
+import org.opentrafficsim.core.definitions.DefaultsNl;
+import org.opentrafficsim.core.dsol.OtsSimulatorInterface;
+import org.opentrafficsim.core.gtu.Gtu;
+import org.opentrafficsim.core.gtu.GtuException;
+import org.opentrafficsim.core.network.NetworkException;
+import org.opentrafficsim.road.car.CarTest;
+import org.opentrafficsim.road.definitions.DefaultsRoadNl;
+import org.opentrafficsim.road.gtu.strategical.LaneBasedStrategicalRoutePlannerFactory;
+import org.opentrafficsim.road.gtu.tactical.lmrs.Lmrs;
+import org.opentrafficsim.road.gtu.tactical.lmrs.LmrsFactory;
+import org.opentrafficsim.road.network.Lane;
+import org.opentrafficsim.road.network.LanePosition;
+import org.opentrafficsim.road.network.RoadNetwork;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.jstats.streams.MersenneTwister;
+
+/**
+ * Test of the compact representation of GTUs. The retained bytes per GTU with and without shared default parameters are
+ * reported, but not asserted as they depend on the JVM and garbage collector.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public final class GtuMemoryTest
+{
+
+    /** Number of GTUs. */
+    private static final int NUMBER_OF_GTUS = 1000;
+
+    /** */
+    private GtuMemoryTest()
+    {
+        // do not instantiate test class
+    }
+
+    /**
+     * Tests that GTUs share their default parameters and relative positions, and do not create tag and children collections
+     * when not used, without changing parameter values.
+     * @throws NamingException if that happens uncaught; this test has failed
+     * @throws SimRuntimeException if that happens uncaught; this test has failed
+     * @throws NetworkException if that happens uncaught; this test has failed
+     * @throws GtuException if that happens uncaught; this test has failed
+     * @throws ParameterException if that happens uncaught; this test has failed
+     * @throws ReflectiveOperationException if that happens uncaught; this test has failed
+     */
+    @Test
+    public void testCompactRepresentation() throws SimRuntimeException, NamingException, NetworkException, GtuException,
+            ParameterException, ReflectiveOperationException
+    {
+        List<LaneBasedGtu> gtus = new ArrayList<>();
+        long bytes = retainedBytesPerGtu(false, gtus);
+        List<LaneBasedGtu> compactGtus = new ArrayList<>();
+        long compactBytes = retainedBytesPerGtu(true, compactGtus);
+        System.out.println("Retained bytes per GTU: " + bytes + " default, " + compactBytes + " with shared defaults");
+
+        Object defaults = field(compactGtus.get(0).getParameters(), ParameterSet.class, "defaults");
+        assertNotNull(defaults, "GTUs with shared defaults should refer to a defaults map.");
+
+        for (int i = 0; i < NUMBER_OF_GTUS; i += 100)
+        {
+            assertEquals(gtus.get(i).getParameters().getParameter(ParameterTypes.FSPEED),
+                    compactGtus.get(i).getParameters().getParameter(ParameterTypes.FSPEED));
+            assertEquals(gtus.get(i).getParameters().getParameter(ParameterTypes.T),
+                    compactGtus.get(i).getParameters().getParameter(ParameterTypes.T));
+            assertNull(field(gtus.get(i).getParameters(), ParameterSet.class, "defaults"));
+            assertSame(defaults, field(compactGtus.get(i).getParameters(), ParameterSet.class, "defaults"),
+                    "GTUs with equal default parameters should share the defaults map.");
+            for (LaneBasedGtu gtu : List.of(gtus.get(i), compactGtus.get(i)))
+            {
+                assertNull(field(gtu, Gtu.class, "tags"), "Tags should not be created when no tag is set.");
+                assertNull(field(gtu, Gtu.class, "children"), "Children should not be created when no child is added.");
+            }
+        }
+        assertSame(gtus.get(0).getRelativePositions(), compactGtus.get(1).getRelativePositions(),
+                "GTUs of equal dimensions should share their relative positions.");
+    }
+
+    /**
+     * Simulates GTUs on a lane and returns the retained bytes per GTU.
+     * @param sharedDefaults whether GTUs share default parameters
+     * @param gtus list to add the GTUs to
+     * @return retained bytes per GTU
+     * @throws NamingException on error
+     * @throws SimRuntimeException on error
+     * @throws NetworkException on error
+     * @throws GtuException on error
+     */
+    private static long retainedBytesPerGtu(final boolean sharedDefaults, final List<LaneBasedGtu> gtus)
+            throws SimRuntimeException, NamingException, NetworkException, GtuException
+    {
+        OtsSimulatorInterface simulator = CarTest.makeSimulator();
+        RoadNetwork network = new RoadNetwork("memory test network", simulator);
+        Lane lane = CarTest.makeLane(network, DefaultsRoadNl.TWO_WAY_LANE, simulator);
+        LaneBasedStrategicalRoutePlannerFactory factory = new LaneBasedStrategicalRoutePlannerFactory(
+                new LmrsFactory<>(Lmrs::new).setStream(new MersenneTwister(1L)).setSharedDefaults(sharedDefaults));
+        long before = usedMemory();
+        for (int i = 0; i < NUMBER_OF_GTUS; i++)
+        {
+            LaneBasedGtu gtu = new LaneBasedGtu("gtu" + i, DefaultsNl.CAR, Length.ofSI(4.0), Length.ofSI(1.8),
+                    Speed.ofSI(33.0), Length.ofSI(3.0), network);
+            gtu.setMaximumAcceleration(Acceleration.ofSI(3.0));
+            gtu.setMaximumDeceleration(Acceleration.ofSI(-8.0));
+            gtu.init(factory.create(gtu, null, null, null),
+                    new LanePosition(lane, Length.ofSI(99000.0 - 45.0 * i)).getLocation(), Speed.ofSI(20.0));
+            gtus.add(gtu);
+        }
+        while (simulator.getSimulatorTime().si < 1.0)
+        {
+            simulator.step();
+        }
+        return (usedMemory() - before) / NUMBER_OF_GTUS;
+    }
+
+    /**
+     * Returns the value of a private field.
+     * @param object object
+     * @param clazz class that declares the field
+     * @param name name of the field
+     * @return value of the field
+     * @throws ReflectiveOperationException when the field cannot be accessed
+     */
+    private static Object field(final Object object, final Class<?> clazz, final String name)
+            throws ReflectiveOperationException
+    {
+        Field field = clazz.getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(object);
+    }
+
+    /**
+     * Returns the used heap memory after garbage collection.
+     * @return used heap memory after garbage collection
+     */
+    private static long usedMemory()
+    {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++)
+        {
+            System.gc();
+            try
+            {
+                Thread.sleep(50);
+            }
+            catch (InterruptedException exception)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+}
@@ -0,0 +1,171 @@
+package org.opentrafficsim.road.gtu;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.naming.NamingException;
+
+import org.djunits.value.vdouble.scalar.Acceleration;
+import org.djunits.value.vdouble.scalar.Duration;
+import org.djunits.value.vdouble.scalar.Length;
+import org.djunits.value.vdouble.scalar.Speed;
+import org.junit.jupiter.api.Test;
+import org.opentrafficsim.core.definitions.DefaultsNl;
+import org.opentrafficsim.core.dsol.OtsSimulatorInterface;
+import org.opentrafficsim.core.gtu.GtuException;
+import org.opentrafficsim.core.network.NetworkException;
+import org.opentrafficsim.road.car.CarTest;
+import org.opentrafficsim.road.definitions.DefaultsRoadNl;
+import org.opentrafficsim.road.gtu.strategical.LaneBasedStrategicalRoutePlannerFactory;
+import org.opentrafficsim.road.gtu.tactical.lmrs.Lmrs;
+import org.opentrafficsim.road.gtu.tactical.lmrs.LmrsFactory;
+import org.opentrafficsim.road.network.Lane;
+import org.opentrafficsim.road.network.LanePosition;
+import org.opentrafficsim.road.network.RoadNetwork;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.jstats.streams.MersenneTwister;
+
+/**
+ * Test of LaneBasedGtuPool.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public final class LaneBasedGtuPoolTest
+{
+
+    /** Length. */
+    private static final Length LENGTH = Length.ofSI(4.0);
+
+    /** Width. */
+    private static final Length WIDTH = Length.ofSI(1.8);
+
+    /** Maximum speed. */
+    private static final Speed MAXIMUM_SPEED = Speed.ofSI(33.0);
+
+    /** Front. */
+    private static final Length FRONT = Length.ofSI(3.0);
+
+    /** */
+    private LaneBasedGtuPoolTest()
+    {
+        // do not instantiate test class
+    }
+
+    /**
+     * Tests that destroyed GTUs are recycled with a new identity and without state of the destroyed GTU.
+     * @throws NamingException if that happens uncaught; this test has failed
+     * @throws SimRuntimeException if that happens uncaught; this test has failed
+     * @throws NetworkException if that happens uncaught; this test has failed
+     * @throws GtuException if that happens uncaught; this test has failed
+     */
+    @Test
+    public void testRecycle() throws SimRuntimeException, NamingException, NetworkException, GtuException
+    {
+        OtsSimulatorInterface simulator = CarTest.makeSimulator();
+        RoadNetwork network = new RoadNetwork("pool test network", simulator);
+        Lane lane = CarTest.makeLane(network, DefaultsRoadNl.TWO_WAY_LANE, simulator);
+        LaneBasedStrategicalRoutePlannerFactory factory = new LaneBasedStrategicalRoutePlannerFactory(
+                new LmrsFactory<>(Lmrs::new).setStream(new MersenneTwister(1L)));
+        assertThrows(IllegalArgumentException.class, () -> new LaneBasedGtuPool(network, 0));
+        assertThrows(NullPointerException.class, () -> new LaneBasedGtuPool(null, 1));
+        LaneBasedGtuPool pool = new LaneBasedGtuPool(network, 2);
+
+        // a GTU not obtained from the pool keeps the simulation running, and is not recycled
+        LaneBasedGtu other = CarTest.makeReferenceCar("other", DefaultsNl.CAR, lane, Length.ofSI(500.0), Speed.ofSI(20.0),
+                network);
+        LaneBasedGtu car1 = pool.get("car1", DefaultsNl.CAR, LENGTH, WIDTH, MAXIMUM_SPEED, FRONT);
+        init(car1, factory, lane, Length.ofSI(100.0));
+        AtomicInteger moves = new AtomicInteger();
+        car1.addListener((event) -> moves.incrementAndGet(), LaneBasedGtu.LANEBASED_MOVE_EVENT);
+        car1.setTag("tag", "value");
+        simulate(simulator, 1.0);
+        assertTrue(moves.get() > 0);
+        assertTrue(car1.getOdometer().si > 0.0);
+        int hashCode = car1.hashCode();
+        Set<LaneBasedGtu> set = new LinkedHashSet<>(Set.of(car1));
+        car1.destroy();
+        assertEquals(1, pool.size());
+
+        // destroyed GTUs are not reused at the time they were destroyed
+        LaneBasedGtu car2 = pool.get("car2", DefaultsNl.CAR, LENGTH, WIDTH, MAXIMUM_SPEED, FRONT);
+        assertNotSame(car1, car2);
+        init(car2, factory, lane, Length.ofSI(200.0));
+        simulate(simulator, 2.0);
+
+        int n = moves.get();
+        LaneBasedGtu car3 = pool.get("car3", DefaultsNl.CAR, LENGTH, WIDTH, MAXIMUM_SPEED, FRONT);
+        assertSame(car1, car3);
+        assertEquals(1, pool.getRecycled());
+        assertEquals(0, pool.size());
+        assertEquals("car3", car3.getId());
+        assertFalse(car3.isDestroyed());
+        assertTrue(car3.getTag("tag").isEmpty());
+        assertEquals(0, car3.numberOfListeners(LaneBasedGtu.LANEBASED_MOVE_EVENT));
+        assertEquals(Length.ZERO, car3.getOdometer());
+        assertTrue(network.getGTU("car1").isEmpty());
+        assertSame(car3, network.getGTU("car3").get());
+        assertEquals(hashCode, car3.hashCode(), "Hash code should be stable when a GTU is recycled.");
+        assertTrue(set.remove(car3), "Hash based collections should remain consistent when a GTU is recycled.");
+        assertThrows(GtuException.class, () -> car3.recycle("car4"), "A GTU that is not destroyed cannot be recycled.");
+
+        // the recycled GTU moves as a new GTU
+        init(car3, factory, lane, Length.ofSI(300.0));
+        simulate(simulator, 3.0);
+        assertEquals(n, moves.get(), "Listeners of the destroyed GTU should not receive events of the recycled GTU.");
+        assertTrue(car3.getOdometer().si > 0.0);
+        assertEquals(lane, car3.getPosition().lane());
+        assertEquals(300.0 + car3.getOdometer().si, car3.getPosition().position().si, 1e-3);
+
+        // GTUs of other dimensions or not obtained from the pool are not reused
+        car3.destroy();
+        simulate(simulator, 4.0);
+        assertNotSame(car3, pool.get("car5", DefaultsNl.CAR, Length.ofSI(5.0), WIDTH, MAXIMUM_SPEED, FRONT));
+        other.destroy();
+        assertEquals(1, pool.size());
+    }
+
+    /**
+     * Initializes a GTU on a lane.
+     * @param gtu GTU
+     * @param factory strategical planner factory
+     * @param lane lane
+     * @param position position on the lane
+     * @throws NetworkException on error
+     * @throws SimRuntimeException on error
+     * @throws GtuException on error
+     */
+    private static void init(final LaneBasedGtu gtu, final LaneBasedStrategicalRoutePlannerFactory factory, final Lane lane,
+            final Length position) throws NetworkException, SimRuntimeException, GtuException
+    {
+        gtu.setMaximumAcceleration(Acceleration.ofSI(3.0));
+        gtu.setMaximumDeceleration(Acceleration.ofSI(-8.0));
+        gtu.init(factory.create(gtu, null, null, null), new LanePosition(lane, position).getLocation(), Speed.ofSI(20.0));
+    }
+
+    /**
+     * Simulates until the given time.
+     * @param simulator simulator
+     * @param time time [s]
+     * @throws SimRuntimeException on error
+     */
+    private static void simulate(final OtsSimulatorInterface simulator, final double time) throws SimRuntimeException
+    {
+        while (simulator.getSimulatorTime().lt(Duration.ofSI(time)))
+        {
+            simulator.step();
+        }
+    }
+
+}
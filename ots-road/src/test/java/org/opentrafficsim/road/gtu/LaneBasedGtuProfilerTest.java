@@ -0,0 +1,85 @@
+package org.opentrafficsim.road.gtu;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.naming.NamingException;
+
+import org.djunits.value.vdouble.scalar.Length;
+import org.djunits.value.vdouble.scalar.Speed;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.opentrafficsim.core.definitions.DefaultsNl;
+import org.opentrafficsim.core.dsol.OtsSimulatorInterface;
+import org.opentrafficsim.core.gtu.Gtu;
+import org.opentrafficsim.core.gtu.GtuException;
+import org.opentrafficsim.core.network.NetworkException;
+import org.opentrafficsim.core.profiler.Profiler;
+import org.opentrafficsim.core.profiler.ProfilerStage;
+import org.opentrafficsim.road.car.CarTest;
+import org.opentrafficsim.road.definitions.DefaultsRoadNl;
+import org.opentrafficsim.road.network.Lane;
+import org.opentrafficsim.road.network.RoadNetwork;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+
+/**
+ * Test of the profiling of lane based GTUs.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public final class LaneBasedGtuProfilerTest
+{
+
+    /** */
+    private LaneBasedGtuProfilerTest()
+    {
+        // do not instantiate test class
+    }
+
+    /**
+     * Disables and resets the profiler, as it is global.
+     */
+    @AfterEach
+    public void disable()
+    {
+        Profiler.setEnabled(false);
+        Profiler.reset();
+    }
+
+    /**
+     * Tests that event firing is counted once per move, while both the move event of Gtu and of LaneBasedGtu are fired.
+     * @throws NamingException if that happens uncaught; this test has failed
+     * @throws SimRuntimeException if that happens uncaught; this test has failed
+     * @throws NetworkException if that happens uncaught; this test has failed
+     * @throws GtuException if that happens uncaught; this test has failed
+     */
+    @Test
+    public void testEventFiringCountedOnce() throws SimRuntimeException, NamingException, NetworkException, GtuException
+    {
+        OtsSimulatorInterface simulator = CarTest.makeSimulator();
+        RoadNetwork network = new RoadNetwork("profiler test network", simulator);
+        Lane lane = CarTest.makeLane(network, DefaultsRoadNl.TWO_WAY_LANE, simulator);
+        LaneBasedGtu car = CarTest.makeReferenceCar("car", DefaultsNl.CAR, lane, Length.ofSI(50.0), Speed.ofSI(20.0), network);
+        AtomicInteger moves = new AtomicInteger();
+        AtomicInteger laneBasedMoves = new AtomicInteger();
+        car.addListener((event) -> moves.incrementAndGet(), Gtu.MOVE_EVENT);
+        car.addListener((event) -> laneBasedMoves.incrementAndGet(), LaneBasedGtu.LANEBASED_MOVE_EVENT);
+
+        Profiler.setEnabled(true);
+        while (simulator.getSimulatorTime().si < 5.0)
+        {
+            simulator.step();
+        }
+        assertTrue(moves.get() > 1, "GTU should have moved multiple times.");
+        assertEquals(moves.get(), laneBasedMoves.get());
+        assertEquals(moves.get(), Profiler.getCount(ProfilerStage.EVENT_FIRING),
+                "Event firing should be counted once per move.");
+    }
+
+}
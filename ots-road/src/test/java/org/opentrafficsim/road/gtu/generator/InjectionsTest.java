@@ -3,14 +3,25 @@ package org.opentrafficsim.road.gtu.generator;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.zip.GZIPOutputStream;
 
 import javax.naming.NamingException;
 
@@ -21,12 +32,16 @@ import org.djunits.value.vdouble.scalar.Length;
 import org.djunits.value.vdouble.scalar.Speed;
 import org.djutils.data.Column;
 import org.djutils.data.ListTable;
+import org.djutils.data.Row;
 import org.djutils.data.Table;
+import org.djutils.data.csv.CsvData;
+import org.djutils.data.serialization.TextSerializationException;
 import org.djutils.draw.point.Point2d;
 import org.djutils.immutablecollections.ImmutableLinkedHashMap;
 import org.djutils.immutablecollections.ImmutableMap;
 import org.djutils.test.UnitTest;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 import org.opentrafficsim.base.geometry.OtsGeometryException;
 import org.opentrafficsim.base.geometry.OtsLine2d;
@@ -71,6 +86,10 @@ import nl.tudelft.simulation.jstats.streams.StreamInterface;
 public final class InjectionsTest
 {
 
+    /** Temporary directory for injection files. */
+    @TempDir
+    private Path testDir;
+
     /** */
     private InjectionsTest()
     {
@@ -383,4 +402,130 @@ public final class InjectionsTest
                 "Lane1 does not have GTU \"2\" after some simulation time.");
     }
 
+    /**
+     * Tests injections from a streaming table, from a plain and a compressed file, and with out of order arrival times.
+     * @throws IOException exception
+     * @throws TextSerializationException exception
+     * @throws NetworkException exception
+     * @throws GtuException exception
+     */
+    @Test
+    public void testStreaming() throws IOException, TextSerializationException, NetworkException, GtuException
+    {
+        Column<Duration> time = new Column<>(Injections.TIME_COLUMN, "", Duration.class, "s");
+        Column<String> id = new Column<>(Injections.ID_COLUMN, "", String.class);
+        Column<Speed> speed = new Column<>(Injections.SPEED_COLUMN, "", Speed.class, "m/s");
+        ListTable arrivals = new ListTable("arrivals", "", List.of(time, id, speed));
+        for (int i = 0; i < 100; i++)
+        {
+            arrivals.addRow(Map.of(time, Duration.ofSI(i * (i + 1) / 2.0), id, "\"gtu, " + i + "\"", speed, Speed.ofSI(i)));
+        }
+        String file = this.testDir.resolve("arrivals.csv").toString();
+        CsvData.writeData(file, file + ".header", arrivals);
+        try (InputStream in = new FileInputStream(file);
+                OutputStream out = new GZIPOutputStream(new FileOutputStream(file + ".gz")))
+        {
+            in.transferTo(out);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> new StreamingCsvTable(file, file + ".header", 0));
+        for (StreamingCsvTable table : List.of(new StreamingCsvTable(file, file + ".header"),
+                new StreamingCsvTable(file + ".gz", file + ".header", 1)))
+        {
+            assertEquals(arrivals.getColumns().toList(), table.getColumns().toList());
+            assertFalse(table.isEmpty());
+            Injections injections = new Injections(table, null, null, null, null, null, Duration.ONE);
+            LanePosition generationLane = Mockito.mock(LanePosition.class);
+            for (int i = 0; i < 100; i++)
+            {
+                assertEquals(i, injections.asArrivalsSupplier().get().si, 1e-9);
+                assertEquals(i, injections.asRoomChecker()
+                        .canPlace(Collections.emptySortedSet(), null, Duration.ZERO, generationLane).getSpeed().si, 1e-9);
+            }
+            assertNull(injections.asArrivalsSupplier().get());
+            for (int i = 0; i < 100; i++)
+            {
+                assertEquals("\"gtu, " + i + "\"", injections.asIdSupplier().get());
+            }
+            assertThrows(NoSuchElementException.class, () -> injections.asIdSupplier().get());
+        }
+
+        // streaming tables are not sorted, order is checked during simulation
+        ListTable unsorted = new ListTable("arrivals", "", List.of(time, id, speed));
+        unsorted.addRow(Map.of(time, Duration.ofSI(2.0), id, "1", speed, Speed.ZERO));
+        unsorted.addRow(Map.of(time, Duration.ofSI(1.0), id, "2", speed, Speed.ZERO));
+        CsvData.writeData(file, file + ".header", unsorted);
+        Injections injections =
+                new Injections(new StreamingCsvTable(file, file + ".header"), null, null, null, null, null, Duration.ONE);
+        assertEquals(2.0, injections.asArrivalsSupplier().get().si, 1e-9);
+        assertThrows(IllegalStateException.class, () -> injections.asArrivalsSupplier().get());
+    }
+
+    /**
+     * Tests that iterators of a streaming table start reading when first used, and stop reading when closed.
+     * @throws IOException exception
+     * @throws TextSerializationException exception
+     * @throws InterruptedException exception
+     */
+    @Test
+    public void testStreamingClose() throws IOException, TextSerializationException, InterruptedException
+    {
+        Column<Duration> time = new Column<>(Injections.TIME_COLUMN, "", Duration.class, "s");
+        ListTable arrivals = new ListTable("closeable", "", List.of(time));
+        for (int i = 0; i < 100; i++)
+        {
+            arrivals.addRow(Map.of(time, Duration.ofSI(i)));
+        }
+        String file = this.testDir.resolve("closeable.csv").toString();
+        CsvData.writeData(file, file + ".header", arrivals);
+
+        // the unused id and speed iterators are closed, the arrivals iterator is only started when used
+        try (StreamingCsvTable table = new StreamingCsvTable(file, file + ".header", 1))
+        {
+            Injections injections = new Injections(table, null, null, null, null, null, null);
+            assertEquals(0, readerThreads("closeable").size());
+            assertEquals(0.0, injections.asArrivalsSupplier().get().si, 1e-9);
+            assertEquals(1, readerThreads("closeable").size());
+
+            // a partly read iterator is stopped when the table is closed
+            Iterator<Row> iterator = table.iterator();
+            assertTrue(iterator.hasNext());
+            assertEquals(2, readerThreads("closeable").size());
+            table.close();
+            assertFalse(iterator.hasNext());
+            assertThrows(NoSuchElementException.class, () -> iterator.next());
+            for (Thread thread : readerThreads("closeable"))
+            {
+                thread.join(1000L);
+            }
+            assertEquals(0, readerThreads("closeable").size());
+
+            // a new iterator reads the complete table, and its thread ends at the end of the file
+            int n = 0;
+            for (Row row : table)
+            {
+                assertEquals(n++, ((Duration) row.getValue(0)).si, 1e-9);
+            }
+            assertEquals(100, n);
+        }
+    }
+
+    /**
+     * Returns the live threads that read a streaming table.
+     * @param tableId table id
+     * @return live threads that read a streaming table
+     */
+    private static Set<Thread> readerThreads(final String tableId)
+    {
+        Set<Thread> threads = new LinkedHashSet<>();
+        for (Thread thread : Thread.getAllStackTraces().keySet())
+        {
+            if (thread.isAlive() && thread.getName().equals("StreamingCsvTable " + tableId))
+            {
+                threads.add(thread);
+            }
+        }
+        return threads;
+    }
+
 }
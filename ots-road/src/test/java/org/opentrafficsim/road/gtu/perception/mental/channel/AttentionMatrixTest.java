@@ -0,0 +1,137 @@
+package org.opentrafficsim.road.gtu.perception.mental.channel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import Jama.EigenvalueDecomposition;
+import Jama.Matrix;
+
+/**
+ * Test of AttentionMatrix.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public final class AttentionMatrixTest
+{
+
+    /** */
+    private AttentionMatrixTest()
+    {
+        // do not instantiate test class
+    }
+
+    /**
+     * Tests attention when total demand is not above 1, and input checks.
+     */
+    @Test
+    public void testLowDemand()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new AttentionMatrix(new double[] {0.5, -0.1}));
+        assertThrows(IllegalArgumentException.class, () -> new AttentionMatrix(new double[] {0.5, 1.0}));
+
+        AttentionMatrix matrix = new AttentionMatrix(new double[] {0.0, 0.0});
+        for (int i = 0; i < 2; i++)
+        {
+            assertEquals(0.0, matrix.getAttention(i), 0.0);
+            assertEquals(0.0, matrix.getAnticipationReliance(i), 0.0);
+            assertEquals(1.0, matrix.getDeterioration(i), 0.0);
+        }
+
+        double[] demand = new double[] {0.3, 0.5, 0.0};
+        matrix = new AttentionMatrix(demand);
+        for (int i = 0; i < demand.length; i++)
+        {
+            assertEquals(demand[i], matrix.getAttention(i), 0.0);
+            assertEquals(0.0, matrix.getAnticipationReliance(i), 0.0);
+        }
+    }
+
+    /**
+     * Tests that the steady state equals the eigenvector of the transition matrix pertaining to the eigenvalue 1.
+     */
+    @Test
+    public void testSteadyState()
+    {
+        Random random = new Random(1L);
+        for (int k = 0; k < 1000; k++)
+        {
+            int n = 2 + random.nextInt(8);
+            double[] demand = new double[n];
+            double sum = 0.0;
+            for (int i = 0; i < n; i++)
+            {
+                demand[i] = random.nextDouble() < 0.2 ? 0.0 : 0.999 * random.nextDouble();
+                sum += demand[i];
+            }
+            if (sum <= 1.0)
+            {
+                continue;
+            }
+            AttentionMatrix matrix = new AttentionMatrix(demand);
+            double[] expected = eigenSteadyState(demand);
+            double attentionSum = 0.0;
+            for (int i = 0; i < n; i++)
+            {
+                assertEquals(expected[i], matrix.getAttention(i), 1e-9, "Attention differs from eigenvector.");
+                assertEquals(demand[i] - expected[i], matrix.getAnticipationReliance(i), 1e-9);
+                attentionSum += matrix.getAttention(i);
+            }
+            assertEquals(1.0, attentionSum, 1e-12);
+        }
+    }
+
+    /**
+     * Returns the steady state of the transition matrix as the normalized eigenvector pertaining to the eigenvalue 1.
+     * @param demand demand per channel, with sum above 1
+     * @return steady state of the transition matrix
+     */
+    private static double[] eigenSteadyState(final double[] demand)
+    {
+        int n = demand.length;
+        double demandSum = 0.0;
+        for (double d : demand)
+        {
+            demandSum += d;
+        }
+        // transposed transition matrix, such that the right-eigenvector is the steady state
+        Matrix matrix = new Matrix(n, n);
+        for (int i = 0; i < n; i++)
+        {
+            for (int j = 0; j < n; j++)
+            {
+                matrix.set(j, i, i == j ? demand[i] : (1 - demand[i]) * demand[j] / (demandSum - demand[i]));
+            }
+        }
+        EigenvalueDecomposition ed = matrix.eig();
+        double[] eigenValues = ed.getRealEigenvalues();
+        int eigenIndex = 0;
+        for (int i = 1; i < n; i++)
+        {
+            if (Math.abs(eigenValues[i] - 1.0) < Math.abs(eigenValues[eigenIndex] - 1.0))
+            {
+                eigenIndex = i;
+            }
+        }
+        double[][] v = ed.getV().getArray();
+        double[] steadyState = new double[n];
+        double sum = 0.0;
+        for (int i = 0; i < n; i++)
+        {
+            steadyState[i] = v[i][eigenIndex];
+            sum += steadyState[i];
+        }
+        for (int i = 0; i < n; i++)
+        {
+            steadyState[i] /= sum;
+        }
+        return steadyState;
+    }
+
+}
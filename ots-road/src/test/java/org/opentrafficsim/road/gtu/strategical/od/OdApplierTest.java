@@ -375,6 +375,53 @@ public class OdApplierTest
 
     }
 
+    /**
+     * Test that parallel application of an OD results in the same generators and headways as serial application.
+     * @throws NetworkException on exception
+     * @throws ValueRuntimeException on exception
+     * @throws SimRuntimeException on exception
+     * @throws ParameterException on exception
+     */
+    @Test
+    public void parallelTest() throws ValueRuntimeException, NetworkException, ParameterException, SimRuntimeException
+    {
+        OdOptions odOptions = new OdOptions().set(OdOptions.HEADWAY_DIST, HeadwayDistribution.EXPONENTIAL);
+        for (Interpolation interpolation : Interpolation.values())
+        {
+            List<Map<String, List<Duration>>> headways = new ArrayList<>();
+            for (boolean parallel : new boolean[] {false, true})
+            {
+                makeNetwork();
+                this.time = Time.ZERO;
+                Mockito.when(this.model.getStream("generation")).thenReturn(new MersenneTwister(1L));
+                OdMatrix od = getOD(new double[] {0, 600, 1200, 1800}, new double[] {1000, 2000, 0, 1500}, interpolation,
+                        this.network.getNode("A").get(), this.network.getNode("B").get(), this.lanes.get("lane1"),
+                        this.lanes.get("lane2"));
+                Map<String, GeneratorObjects> generatorObjects = parallel
+                        ? OdApplier.applyOdParallel(this.network, od, odOptions, DefaultsNl.ROAD_USERS)
+                        : OdApplier.applyOd(this.network, od, odOptions, DefaultsNl.ROAD_USERS);
+                Map<String, List<Duration>> generatorHeadways = new LinkedHashMap<>();
+                for (String id : generatorObjects.keySet())
+                {
+                    List<Duration> list = new ArrayList<>();
+                    Supplier<Duration> headwayGenerator = generatorObjects.get(id).headwayGenerator();
+                    this.time = Time.ZERO;
+                    Duration headway = headwayGenerator.get();
+                    while (headway != null)
+                    {
+                        list.add(headway);
+                        this.time = this.time.plus(headway);
+                        headway = headwayGenerator.get();
+                    }
+                    generatorHeadways.put(id, list);
+                }
+                headways.add(generatorHeadways);
+            }
+            assertEquals(List.of("A1", "A2"), new ArrayList<>(headways.get(0).keySet()), "Incorrect generators.");
+            assertEquals(headways.get(0), headways.get(1), "Parallel OD application results in different headways.");
+        }
+    }
+
     /**
      * Creates an OD from input.
      * @param timeVec time vector [s]
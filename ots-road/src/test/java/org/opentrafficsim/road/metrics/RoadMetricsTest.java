@@ -0,0 +1,173 @@
+package org.opentrafficsim.road.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.Set;
+
+import javax.naming.NamingException;
+
+import org.djunits.value.vdouble.scalar.Duration;
+import org.djunits.value.vdouble.scalar.Length;
+import org.djunits.value.vdouble.scalar.Speed;
+import org.djutils.data.Column;
+import org.djutils.data.ListTable;
+import org.djutils.draw.point.Point2d;
+import org.djutils.immutablecollections.ImmutableLinkedHashMap;
+import org.djutils.immutablecollections.ImmutableMap;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.opentrafficsim.base.geometry.OtsLine2d;
+import org.opentrafficsim.core.definitions.Defaults;
+import org.opentrafficsim.core.definitions.DefaultsNl;
+import org.opentrafficsim.core.dsol.OtsModelInterface;
+import org.opentrafficsim.core.dsol.OtsSimulator;
+import org.opentrafficsim.core.dsol.OtsSimulatorInterface;
+import org.opentrafficsim.core.gtu.GtuType;
+import org.opentrafficsim.core.metrics.MetricsRegistry;
+import org.opentrafficsim.core.network.NetworkException;
+import org.opentrafficsim.core.network.Node;
+import org.opentrafficsim.core.perception.HistoryManagerDevs;
+import org.opentrafficsim.road.definitions.DefaultsRoadNl;
+import org.opentrafficsim.road.gtu.CollisionDetector;
+import org.opentrafficsim.road.gtu.LaneBasedGtu;
+import org.opentrafficsim.road.gtu.generator.Injections;
+import org.opentrafficsim.road.gtu.generator.LaneBasedGtuGenerator;
+import org.opentrafficsim.road.gtu.strategical.LaneBasedStrategicalRoutePlannerFactory;
+import org.opentrafficsim.road.gtu.tactical.lmrs.Lmrs;
+import org.opentrafficsim.road.gtu.tactical.lmrs.LmrsFactory;
+import org.opentrafficsim.road.network.CrossSectionLink;
+import org.opentrafficsim.road.network.Lane;
+import org.opentrafficsim.road.network.LaneGeometryUtil;
+import org.opentrafficsim.road.network.LaneKeepingPolicy;
+import org.opentrafficsim.road.network.RoadNetwork;
+import org.opentrafficsim.road.network.speed.LaneSpeedLimits;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.jstats.streams.MersenneTwister;
+import nl.tudelft.simulation.jstats.streams.StreamInterface;
+
+/**
+ * Test of RoadMetrics and the queue size of LaneBasedGtuGenerator.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public final class RoadMetricsTest
+{
+
+    /** */
+    private RoadMetricsTest()
+    {
+        // do not instantiate test class
+    }
+
+    /**
+     * Tests the generator queue gauge, where the second of two GTUs at the same position is queued as it is too close.
+     * @throws NamingException if that happens uncaught; this test has failed
+     * @throws SimRuntimeException if that happens uncaught; this test has failed
+     * @throws NetworkException if that happens uncaught; this test has failed
+     */
+    @Test
+    public void testGeneratorQueues() throws SimRuntimeException, NamingException, NetworkException
+    {
+        OtsSimulatorInterface simulator = new OtsSimulator("Simulator for RoadMetrics test");
+        simulator.initialize(Duration.ZERO, Duration.ZERO, Duration.ofSI(3600.0), Mockito.mock(OtsModelInterface.class),
+                HistoryManagerDevs.noHistory(simulator));
+        RoadNetwork network = new RoadNetwork("network", simulator);
+        MetricsRegistry registry = new MetricsRegistry();
+        RoadMetrics.registerGeneratorQueues(registry, network);
+        assertThrows(IllegalArgumentException.class, () -> RoadMetrics.registerGeneratorQueues(registry, network));
+        assertTrue(registry.toPrometheus().contains("# TYPE ots_generator_queue_length gauge\n"));
+        assertTrue(registry.toPrometheus().lines().noneMatch((line) -> line.startsWith("ots_generator_queue_length{")),
+                "Without generators there should be no samples.");
+
+        Point2d pointA = new Point2d(0.0, 0.0);
+        Point2d pointB = new Point2d(0.0, 1000.0);
+        Node nodeA = new Node(network, "A", pointA);
+        Node nodeB = new Node(network, "B", pointB);
+        CrossSectionLink linkAB = new CrossSectionLink(network, "AB", nodeA, nodeB, DefaultsNl.FREEWAY,
+                new OtsLine2d(pointA, pointB), null, LaneKeepingPolicy.KEEPRIGHT);
+        LaneSpeedLimits speedLimits = new LaneSpeedLimits(Map.of(DefaultsNl.CAR, Speed.ofSI(25.0)));
+        Lane lane = LaneGeometryUtil.createStraightLane(linkAB, "lane", Length.ZERO, Length.ofSI(3.5), DefaultsRoadNl.FREEWAY,
+                speedLimits);
+
+        // 2 GTUs that are too close for direct generation
+        Column<Duration> time = new Column<>(Injections.TIME_COLUMN, "", Duration.class, "s");
+        Column<String> id = new Column<>(Injections.ID_COLUMN, "", String.class);
+        Column<String> gtu = new Column<>(Injections.GTU_TYPE_COLUMN, "", String.class);
+        Column<Length> position = new Column<>(Injections.POSITION_COLUMN, "", Length.class, "m");
+        Column<String> laneColumn = new Column<>(Injections.LANE_COLUMN, "", String.class);
+        Column<String> link = new Column<>(Injections.LINK_COLUMN, "", String.class);
+        Column<Speed> speed = new Column<>(Injections.SPEED_COLUMN, "", Speed.class, "m/s");
+        ListTable arrivals = new ListTable("id", "", Set.of(id, time, gtu, position, laneColumn, link, speed));
+        arrivals.addRow(Map.of(time, Duration.ofSI(1.0), id, "1", gtu, "NL.CAR", position, Length.ofSI(10.0), laneColumn,
+                "lane", link, "AB", speed, Speed.ofSI(5.0)));
+        arrivals.addRow(Map.of(time, Duration.ofSI(1.5), id, "2", gtu, "NL.CAR", position, Length.ofSI(10.0), laneColumn,
+                "lane", link, "AB", speed, Speed.ofSI(25.0)));
+
+        ImmutableMap<String, GtuType> gtuTypes = new ImmutableLinkedHashMap<>(Map.of("NL.CAR", DefaultsNl.CAR));
+        StreamInterface stream = new MersenneTwister();
+        LaneBasedStrategicalRoutePlannerFactory strategicalPlannerFactory =
+                new LaneBasedStrategicalRoutePlannerFactory(new LmrsFactory<>(Lmrs::new).setStream(stream));
+        Injections injections = new Injections(arrivals, network, gtuTypes, Defaults.NL, strategicalPlannerFactory, stream,
+                Duration.ofSI(60.0));
+        LaneBasedGtuGenerator generator = new LaneBasedGtuGenerator("gen", injections.asArrivalsSupplier(),
+                injections.asLaneBasedGtuCharacteristicsGenerator(), injections.asGeneratorPositions(), network, simulator,
+                injections.asRoomChecker(), injections.asIdSupplier());
+        assertEquals(0, generator.getQueueSize());
+        assertTrue(registry.toPrometheus().contains("ots_generator_queue_length{generator=\"gen\"} 0\n"));
+
+        // GTU 2 is queued behind GTU 1
+        while (simulator.getSimulatorTime().si < 1.7)
+        {
+            simulator.step();
+        }
+        assertEquals(1, lane.getGtuList().size());
+        assertEquals(1, generator.getQueueSize(), "The second GTU should be queued.");
+        String metrics = registry.toPrometheus();
+        assertTrue(metrics.contains("ots_generator_queue_length{generator=\"gen\"} 1\n"), metrics);
+
+        // GTU 2 is generated and the queue is empty
+        while (simulator.getSimulatorTime().si < 20.0)
+        {
+            simulator.step();
+        }
+        assertEquals(2, lane.getGtuList().size());
+        assertEquals(0, generator.getQueueSize(), "The queue should be empty.");
+        metrics = registry.toPrometheus();
+        assertTrue(metrics.contains("ots_generator_queue_length{generator=\"gen\"} 0\n"), metrics);
+    }
+
+    /**
+     * Tests the collision counter.
+     * @throws NamingException if that happens uncaught; this test has failed
+     * @throws SimRuntimeException if that happens uncaught; this test has failed
+     */
+    @Test
+    public void testCollisions() throws SimRuntimeException, NamingException
+    {
+        OtsSimulatorInterface simulator = new OtsSimulator("Simulator for RoadMetrics test");
+        simulator.initialize(Duration.ZERO, Duration.ZERO, Duration.ofSI(3600.0), Mockito.mock(OtsModelInterface.class),
+                HistoryManagerDevs.noHistory(simulator));
+        RoadNetwork network = new RoadNetwork("network", simulator);
+        CollisionDetector collisionDetector = new CollisionDetector(network);
+        MetricsRegistry registry = new MetricsRegistry();
+        RoadMetrics.registerCollisions(registry, collisionDetector);
+        assertThrows(IllegalArgumentException.class, () -> RoadMetrics.registerCollisions(registry, collisionDetector));
+        assertThrows(NullPointerException.class, () -> RoadMetrics.registerCollisions(registry, null));
+        assertTrue(registry.toPrometheus().contains("ots_collisions_total 0\n"));
+
+        LaneBasedGtu gtu1 = Mockito.mock(LaneBasedGtu.class);
+        LaneBasedGtu gtu2 = Mockito.mock(LaneBasedGtu.class);
+        collisionDetector.fireEvent(CollisionDetector.COLLISION, new Object[] {gtu1, gtu2});
+        collisionDetector.fireEvent(CollisionDetector.COLLISION, new Object[] {gtu2, gtu1});
+        String metrics = registry.toPrometheus();
+        assertTrue(metrics.contains("ots_collisions_total 2\n"), metrics);
+    }
+
+}
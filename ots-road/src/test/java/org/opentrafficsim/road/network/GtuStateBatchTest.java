@@ -0,0 +1,167 @@
+package org.opentrafficsim.road.network;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.naming.NamingException;
+
+import org.djunits.value.vdouble.scalar.Acceleration;
+import org.djunits.value.vdouble.scalar.Length;
+import org.djunits.value.vdouble.scalar.Speed;
+import org.djutils.event.EventListener;
+import org.junit.jupiter.api.Test;
+import org.opentrafficsim.core.definitions.DefaultsNl;
+import org.opentrafficsim.core.dsol.OtsSimulatorInterface;
+import org.opentrafficsim.core.gtu.GtuException;
+import org.opentrafficsim.core.network.NetworkException;
+import org.opentrafficsim.road.car.CarTest;
+import org.opentrafficsim.road.definitions.DefaultsRoadNl;
+import org.opentrafficsim.road.gtu.AbstractLaneBasedMoveChecker;
+import org.opentrafficsim.road.gtu.LaneBasedGtu;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+
+/**
+ * Test of the GTU state batch event of RoadNetwork.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public final class GtuStateBatchTest
+{
+
+    /** */
+    private GtuStateBatchTest()
+    {
+        // do not instantiate test class
+    }
+
+    /**
+     * Tests that the batch is fired once per time with the same states as the move events of the GTUs.
+     * @throws NamingException if that happens uncaught; this test has failed
+     * @throws SimRuntimeException if that happens uncaught; this test has failed
+     * @throws NetworkException if that happens uncaught; this test has failed
+     * @throws GtuException if that happens uncaught; this test has failed
+     */
+    @Test
+    public void testBatch() throws SimRuntimeException, NamingException, NetworkException, GtuException
+    {
+        OtsSimulatorInterface simulator = CarTest.makeSimulator();
+        RoadNetwork network = new RoadNetwork("batch test network", simulator);
+        Lane lane = CarTest.makeLane(network, DefaultsRoadNl.TWO_WAY_LANE, simulator);
+
+        List<Double> times = new ArrayList<>();
+        List<Integer> sizes = new ArrayList<>();
+        Map<String, List<double[]>> batchStates = new LinkedHashMap<>();
+        EventListener batchListener = (event) ->
+        {
+            GtuStateBatch batch = (GtuStateBatch) event.getContent();
+            assertEquals(simulator.getSimulatorTime().si, batch.getTime(), 1e-9);
+            assertThrows(IndexOutOfBoundsException.class, () -> batch.getX(batch.size()));
+            times.add(batch.getTime());
+            sizes.add(batch.size());
+            for (int i = 0; i < batch.size(); i++)
+            {
+                assertEquals(lane, batch.getLane(i));
+                batchStates.computeIfAbsent(batch.getId(i), (id) -> new ArrayList<>())
+                        .add(new double[] {batch.getX(i), batch.getY(i), batch.getSpeed(i), batch.getAcceleration(i),
+                                batch.getOdometer(i), batch.getPosition(i)});
+            }
+        };
+        network.addListener(batchListener, RoadNetwork.GTU_STATE_BATCH_EVENT);
+        CountingChecker checker = new CountingChecker(network);
+
+        LaneBasedGtu car1 = CarTest.makeReferenceCar("car1", DefaultsNl.CAR, lane, Length.ofSI(50.0), Speed.ofSI(20.0), network);
+        LaneBasedGtu car2 = CarTest.makeReferenceCar("car2", DefaultsNl.CAR, lane, Length.ofSI(10.0), Speed.ofSI(20.0), network);
+        List<double[]> moveStates = new ArrayList<>();
+        car1.addListener((event) ->
+        {
+            Object[] payload = (Object[]) event.getContent();
+            moveStates.add(new double[] {car1.getLocation().x, car1.getLocation().y, ((Speed) payload[3]).si,
+                    ((Acceleration) payload[4]).si, ((Length) payload[6]).si, ((Length) payload[9]).si});
+        }, LaneBasedGtu.LANEBASED_MOVE_EVENT);
+
+        while (simulator.getSimulatorTime().si < 5.0)
+        {
+            simulator.step();
+        }
+
+        assertTrue(times.size() > 5, "Batch should be fired at multiple times.");
+        for (int i = 0; i < times.size(); i++)
+        {
+            assertEquals(2, sizes.get(i), "Both GTUs should be in each batch.");
+            if (i > 0)
+            {
+                assertTrue(times.get(i) > times.get(i - 1), "Batch should be fired once per time.");
+            }
+        }
+        assertEquals(2 * times.size(), checker.getChecks(), "Move checker should check each move in the batches once.");
+        List<double[]> car1States = batchStates.get("car1");
+        assertEquals(times.size(), batchStates.get("car2").size());
+        // the initial move of car1 occurred before listening to its move events, and the last batch is not yet fired
+        assertEquals(moveStates.size(), car1States.size());
+        for (int i = 0; i < moveStates.size() - 1; i++)
+        {
+            double[] expected = moveStates.get(i);
+            double[] actual = car1States.get(i + 1);
+            for (int j = 0; j < expected.length; j++)
+            {
+                assertEquals(expected[j], actual[j], 1e-9, "Batch state of car1 differs from move event.");
+            }
+        }
+
+        // without listeners, no batches are fired
+        network.removeListener(batchListener, RoadNetwork.GTU_STATE_BATCH_EVENT);
+        network.removeListener(checker, RoadNetwork.GTU_STATE_BATCH_EVENT);
+        int n = times.size();
+        while (simulator.getSimulatorTime().si < 10.0)
+        {
+            simulator.step();
+        }
+        assertEquals(n, times.size());
+        assertFalse(car2.isDestroyed());
+    }
+
+    /**
+     * Move checker that counts the checks.
+     */
+    private static final class CountingChecker extends AbstractLaneBasedMoveChecker
+    {
+        /** Number of checks. */
+        private int checks;
+
+        /**
+         * Constructor.
+         * @param network network
+         */
+        CountingChecker(final RoadNetwork network)
+        {
+            super(network);
+        }
+
+        @Override
+        public void checkMove(final LaneBasedGtu gtu)
+        {
+            this.checks++;
+        }
+
+        /**
+         * Returns the number of checks.
+         * @return number of checks
+         */
+        int getChecks()
+        {
+            return this.checks;
+        }
+    }
+
+}
@@ -231,6 +231,30 @@ public final class LaneChangeInfoTest
         range = Length.ofSI(100);
         check(network.getLaneChangeInfo(lanesAB.get(0), routeAF2, car, range, law), null, new int[] {}, new double[] {});
 
+        // Cache: info is derived for all lanes along the route at once, and shared by routes with the same remainder
+        range = Length.ofSI(10000);
+        network.clearLaneChangeInfoCache();
+        long hits = network.getLaneChangeInfoCacheHits();
+        long misses = network.getLaneChangeInfoCacheMisses();
+        check(network.getLaneChangeInfo(lanesAB.get(0), routeAF2, car, range, law), right, new int[] {1, 2, 4},
+                new double[] {200, 500, 1400});
+        assertEquals(misses + 1, network.getLaneChangeInfoCacheMisses());
+        Route routeBF2 = new Route("B-F2", car, routeAF2.getNodes().subList(1, routeAF2.size()));
+        check(network.getLaneChangeInfo(lanesBC.get(0), routeBF2, car, range, law), right, new int[] {1, 3},
+                new double[] {300, 1200});
+        check(network.getLaneChangeInfo(lanesDE.get(1), routeAF2, car, range, law), right, new int[] {2}, new double[] {500});
+        assertEquals(misses + 1, network.getLaneChangeInfoCacheMisses());
+        assertEquals(hits + 2, network.getLaneChangeInfoCacheHits());
+
+        // Cache: bounded size, info remains correct when evicted
+        network.setLaneChangeInfoCacheCapacity(2);
+        assertEquals(2, network.getLaneChangeInfoCacheSize());
+        check(network.getLaneChangeInfo(lanesAB.get(1), routeAF2, car, range, law), right, new int[] {1, 3},
+                new double[] {500, 1400});
+        check(network.getLaneChangeInfo(lanesAB.get(0), routeAF2, car, range, law), right, new int[] {1, 2, 4},
+                new double[] {200, 500, 1400});
+        assertEquals(2, network.getLaneChangeInfoCacheSize());
+        assertEquals(misses + 3, network.getLaneChangeInfoCacheMisses());
     }
 
     /**
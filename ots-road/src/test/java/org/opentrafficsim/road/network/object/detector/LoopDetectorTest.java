@@ -0,0 +1,152 @@
+package org.opentrafficsim.road.network.object.detector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.naming.NamingException;
+
+import org.djunits.value.vdouble.scalar.Duration;
+import org.djunits.value.vdouble.scalar.Frequency;
+import org.djunits.value.vdouble.scalar.Length;
+import org.djunits.value.vdouble.scalar.Speed;
+import org.djutils.data.Row;
+import org.junit.jupiter.api.Test;
+import org.opentrafficsim.core.definitions.DefaultsNl;
+import org.opentrafficsim.core.dsol.OtsSimulatorInterface;
+import org.opentrafficsim.core.gtu.GtuException;
+import org.opentrafficsim.core.network.NetworkException;
+import org.opentrafficsim.road.car.CarTest;
+import org.opentrafficsim.road.definitions.DefaultsRoadNl;
+import org.opentrafficsim.road.network.Lane;
+import org.opentrafficsim.road.network.LanePosition;
+import org.opentrafficsim.road.network.RoadNetwork;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+
+/**
+ * Test of LoopDetector with limited retention of periodic data, streaming all periods to a sink.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public final class LoopDetectorTest
+{
+
+    /** Aggregation period [s]. */
+    private static final double AGGREGATION = 10.0;
+
+    /** Number of periods. */
+    private static final int PERIODS = 10;
+
+    /** Number of retained periods. */
+    private static final int RETENTION = 3;
+
+    /** */
+    private LoopDetectorTest()
+    {
+        // do not instantiate test class
+    }
+
+    /**
+     * Tests that all periods are written to the sink, while only the last periods are retained. One GTU passes the detector in
+     * each period, where every other GTU is a truck.
+     * @throws NamingException if that happens uncaught; this test has failed
+     * @throws SimRuntimeException if that happens uncaught; this test has failed
+     * @throws NetworkException if that happens uncaught; this test has failed
+     * @throws GtuException if that happens uncaught; this test has failed
+     */
+    @Test
+    public void testRetentionAndSink() throws SimRuntimeException, NamingException, NetworkException, GtuException
+    {
+        OtsSimulatorInterface simulator = CarTest.makeSimulator();
+        RoadNetwork network = new RoadNetwork("detector test network", simulator);
+        Lane lane = CarTest.makeLane(network, DefaultsRoadNl.TWO_WAY_LANE, simulator);
+        LoopDetector detector = new LoopDetector("D1", new LanePosition(lane, Length.ofSI(2000.0)), Length.ZERO,
+                DefaultsNl.LOOP_DETECTOR, Duration.ofSI(AGGREGATION), Duration.ofSI(AGGREGATION), LoopDetector.MEAN_SPEED,
+                LoopDetector.PASSAGES);
+        detector.specificDataFor(DefaultsNl.TRUCK);
+        assertThrows(IllegalArgumentException.class, () -> detector.setRetention(0));
+        detector.setRetention(RETENTION);
+        assertEquals(RETENTION, detector.getRetention());
+        StringWriter writer = new StringWriter();
+        detector.setPeriodicDataSink(new PeriodicDataWriter(writer, LoopDetector.MEAN_SPEED, LoopDetector.OCCUPANCY));
+
+        // GTU n passes the detector at about 1s + n * 10s at a constant speed of 20m/s
+        for (int n = 0; n < PERIODS; n++)
+        {
+            CarTest.makeReferenceCar("car" + n, n % 2 == 0 ? DefaultsNl.CAR : DefaultsNl.TRUCK, lane,
+                    Length.ofSI(2000.0 - 20.0 - 200.0 * n), Speed.ofSI(20.0), network);
+        }
+        while (simulator.getSimulatorTime().si < PERIODS * AGGREGATION + 0.5)
+        {
+            simulator.step();
+        }
+
+        // all periods are written, for all GTU types and for trucks
+        String[] lines = writer.toString().split(System.lineSeparator());
+        assertEquals(1 + 2 * PERIODS, lines.length);
+        assertEquals("id,GTU type,t,q,v,occupancy", lines[0]);
+        List<Double> writtenSpeeds = new ArrayList<>();
+        for (int period = 0; period < PERIODS; period++)
+        {
+            String[] all = lines[1 + 2 * period].split(",", -1);
+            assertEquals(6, all.length);
+            assertEquals("D1", all[0]);
+            assertEquals("", all[1]);
+            assertEquals(period * AGGREGATION, Double.parseDouble(all[2]), 1e-9);
+            assertEquals(3600.0 / AGGREGATION, Double.parseDouble(all[3]), 1e-9);
+            assertEquals(72.0, Double.parseDouble(all[4]), 1e-6);
+            assertEquals("", all[5], "Occupancy is not measured by the detector.");
+            writtenSpeeds.add(Double.parseDouble(all[4]));
+
+            String[] trucks = lines[2 + 2 * period].split(",", -1);
+            assertEquals(DefaultsNl.TRUCK.getId(), trucks[1]);
+            assertEquals(period * AGGREGATION, Double.parseDouble(trucks[2]), 1e-9);
+            assertEquals(period % 2 == 0 ? 0.0 : 3600.0 / AGGREGATION, Double.parseDouble(trucks[3]), 1e-9);
+        }
+
+        // only the last periods are retained
+        List<Frequency> flow = detector.getPeriodicData(null);
+        List<Speed> speed = detector.getPeriodicData(LoopDetector.MEAN_SPEED);
+        List<Frequency> truckFlow = detector.getPeriodicData(null, DefaultsNl.TRUCK);
+        assertEquals(RETENTION, flow.size());
+        assertEquals(RETENTION, speed.size());
+        assertEquals(RETENTION, truckFlow.size());
+        for (int i = 0; i < RETENTION; i++)
+        {
+            int period = PERIODS - RETENTION + i;
+            assertEquals(3600.0 / AGGREGATION, flow.get(i).getInUnit(), 1e-9);
+            assertEquals(writtenSpeeds.get(period), speed.get(i).getInUnit(), 1e-9);
+            assertEquals(period % 2 == 0 ? 0.0 : 3600.0 / AGGREGATION, truckFlow.get(i).getInUnit(), 1e-9);
+        }
+        assertEquals(3600.0 / AGGREGATION, detector.getLastFlow().getInUnit(), 1e-9);
+
+        // passages are retained from the oldest retained period at the time of the last passage, i.e. from 60s at about 91s
+        List<Duration> passages = detector.getNonPeriodicData(LoopDetector.PASSAGES);
+        assertEquals(RETENTION + 1, passages.size());
+        assertTrue(passages.get(0).si >= (PERIODS - RETENTION - 1) * AGGREGATION);
+        for (int i = 1; i < passages.size(); i++)
+        {
+            assertEquals(AGGREGATION, passages.get(i).si - passages.get(i - 1).si, 1e-6);
+        }
+
+        // the table view contains the retained periods
+        int period = PERIODS - RETENTION;
+        for (Row row : LoopDetector.asTablePeriodicData(network))
+        {
+            assertEquals("D1", row.getValue(0));
+            assertEquals(period * AGGREGATION, ((Duration) row.getValue(1)).si, 1e-9);
+            assertEquals(writtenSpeeds.get(period), ((Speed) row.getValue(3)).getInUnit(), 1e-9);
+            period++;
+        }
+        assertEquals(PERIODS, period);
+    }
+
+}
@@ -0,0 +1,67 @@
+package org.opentrafficsim.road.network.object.detector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.djunits.value.vdouble.scalar.Speed;
+import org.junit.jupiter.api.Test;
+import org.opentrafficsim.road.network.object.detector.LoopDetector.LoopDetectorMeasurement;
+import org.opentrafficsim.road.network.object.detector.LoopDetector.PlatoonSizes;
+
+/**
+ * Tests the ring buffer of periodic loop detector data.
+ * <p>
+ * Copyright (c) 2013-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public final class PeriodicDataBufferTest
+{
+
+    /** */
+    private PeriodicDataBufferTest()
+    {
+        // do not instantiate test class
+    }
+
+    /**
+     * Tests growing, rotating and trimming of the buffer, for primitive and boxed measurements.
+     */
+    @Test
+    public void testBuffer()
+    {
+        LoopDetectorMeasurement<?, ?> boxed = new PlatoonSizes(null);
+        PeriodicDataBuffer buffer =
+                new PeriodicDataBuffer(new LoopDetectorMeasurement<?, ?>[] {LoopDetector.MEAN_SPEED, boxed}, 100);
+        assertEquals(0, buffer.size());
+        for (int i = 0; i < 250; i++)
+        {
+            buffer.add(i, new Object[] {Speed.ofSI(i), List.of(i)});
+        }
+        assertEquals(100, buffer.size());
+        assertEquals(150L, buffer.firstPeriod());
+        for (int i = 0; i < 100; i++)
+        {
+            assertEquals(150.0 + i, buffer.getFlow(i), 0.0);
+            assertEquals(150.0 + i, ((Speed) buffer.getValue(0, i)).si, 1e-9);
+            assertEquals(List.of(150 + i), buffer.getValue(1, i));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.getFlow(100));
+
+        buffer.setRetention(10);
+        assertEquals(10, buffer.size());
+        assertEquals(240L, buffer.firstPeriod());
+        assertEquals(240.0, buffer.getFlow(0), 0.0);
+        buffer.add(250.0, new Object[] {Speed.ofSI(250.0), List.of(250)});
+        assertEquals(10, buffer.size());
+        assertEquals(241.0, buffer.getFlow(0), 0.0);
+        assertEquals(250.0, buffer.getFlow(9), 0.0);
+        assertEquals(10, buffer.getValues(1).size());
+
+        assertThrows(IllegalArgumentException.class, () -> buffer.setRetention(0));
+    }
+
+}
@@ -0,0 +1,163 @@
+package org.opentrafficsim.road.network.sampling;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.naming.NamingException;
+
+import org.djunits.value.vdouble.scalar.Direction;
+import org.djunits.value.vdouble.scalar.Frequency;
+import org.djunits.value.vdouble.scalar.Length;
+import org.djunits.value.vdouble.scalar.Speed;
+import org.djutils.draw.point.Point2d;
+import org.junit.jupiter.api.Test;
+import org.opentrafficsim.core.definitions.DefaultsNl;
+import org.opentrafficsim.core.dsol.OtsSimulatorInterface;
+import org.opentrafficsim.core.gtu.GtuException;
+import org.opentrafficsim.core.network.NetworkException;
+import org.opentrafficsim.core.network.Node;
+import org.opentrafficsim.kpi.sampling.Trajectory;
+import org.opentrafficsim.road.car.CarTest;
+import org.opentrafficsim.road.definitions.DefaultsRoadNl;
+import org.opentrafficsim.road.network.Lane;
+import org.opentrafficsim.road.network.LaneType;
+import org.opentrafficsim.road.network.RoadNetwork;
+import org.opentrafficsim.road.network.factory.LaneFactory;
+import org.opentrafficsim.road.network.sampling.RoadSampler.BatchMode;
+import org.opentrafficsim.road.network.speed.LaneSpeedLimits;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+
+/**
+ * Test of RoadSampler.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public final class RoadSamplerTest
+{
+
+    /** */
+    private RoadSamplerTest()
+    {
+        // do not instantiate test class
+    }
+
+    /**
+     * Tests that the batch modes result in the same trajectories as sampling each GTU by its own events.
+     * @throws NamingException if that happens uncaught; this test has failed
+     * @throws SimRuntimeException if that happens uncaught; this test has failed
+     * @throws NetworkException if that happens uncaught; this test has failed
+     * @throws GtuException if that happens uncaught; this test has failed
+     */
+    @Test
+    public void testBatchModes() throws SimRuntimeException, NamingException, NetworkException, GtuException
+    {
+        Frequency frequency = Frequency.ofSI(3.0);
+        Map<String, float[][]> expected = sample(frequency, BatchMode.NONE);
+        assertFalse(expected.isEmpty());
+        assertTrajectoriesEqual(expected, sample(frequency, BatchMode.SEQUENTIAL));
+        assertTrajectoriesEqual(expected, sample(frequency, BatchMode.PARALLEL));
+
+        expected = sample(null, BatchMode.NONE);
+        assertFalse(expected.isEmpty());
+        assertTrajectoriesEqual(expected, sample(null, BatchMode.SEQUENTIAL));
+    }
+
+    /**
+     * Tests input checks.
+     * @throws NamingException if that happens uncaught; this test has failed
+     * @throws SimRuntimeException if that happens uncaught; this test has failed
+     */
+    @Test
+    public void testInput() throws SimRuntimeException, NamingException
+    {
+        RoadNetwork network = new RoadNetwork("sampler test network", CarTest.makeSimulator());
+        assertThrows(NullPointerException.class, () -> RoadSampler.build(network).setBatchMode(null));
+        assertThrows(NullPointerException.class, () -> new RoadSampler(network, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> RoadSampler.build(network).setFrequency(Frequency.ZERO).setBatchMode(BatchMode.SEQUENTIAL).create());
+        assertEquals("RoadSampler [samplingInterval=null, batchMode=PARALLEL]",
+                RoadSampler.build(network).setBatchMode(BatchMode.PARALLEL).create().toString());
+    }
+
+    /**
+     * Simulates GTUs on three consecutive lanes and returns the sampled trajectories.
+     * @param frequency sampling frequency, may be {@code null}
+     * @param batchMode batch mode
+     * @return trajectories as arrays of x, v, a and t, per lane and GTU id
+     * @throws NamingException on error
+     * @throws SimRuntimeException on error
+     * @throws NetworkException on error
+     * @throws GtuException on error
+     */
+    private static Map<String, float[][]> sample(final Frequency frequency, final BatchMode batchMode)
+            throws SimRuntimeException, NamingException, NetworkException, GtuException
+    {
+        OtsSimulatorInterface simulator = CarTest.makeSimulator();
+        RoadNetwork network = new RoadNetwork("sampler test network", simulator);
+        LaneSpeedLimits speedLimits = new LaneSpeedLimits(Speed.ofSI(25.0));
+        Node a = new Node(network, "A", new Point2d(0.0, 0.0), Direction.ZERO);
+        Node b = new Node(network, "B", new Point2d(100.0, 0.0), Direction.ZERO);
+        Node c = new Node(network, "C", new Point2d(200.0, 0.0), Direction.ZERO);
+        Node d = new Node(network, "D", new Point2d(300.0, 0.0), Direction.ZERO);
+        LaneType laneType = DefaultsRoadNl.TWO_WAY_LANE;
+        List<Lane> lanes = List.of(LaneFactory.makeMultiLane(network, "AB", a, b, null, 1, laneType, speedLimits, simulator)[0],
+                LaneFactory.makeMultiLane(network, "BC", b, c, null, 1, laneType, speedLimits, simulator)[0],
+                LaneFactory.makeMultiLane(network, "CD", c, d, null, 1, laneType, speedLimits, simulator)[0]);
+
+        RoadSampler sampler = RoadSampler.build(network).setFrequency(frequency).setBatchMode(batchMode).create();
+        for (Lane lane : lanes)
+        {
+            sampler.startRecording(new LaneDataRoad(lane));
+        }
+        CarTest.makeReferenceCar("car1", DefaultsNl.CAR, lanes.get(0), Length.ofSI(60.0), Speed.ofSI(20.0), network);
+        CarTest.makeReferenceCar("car2", DefaultsNl.CAR, lanes.get(0), Length.ofSI(20.0), Speed.ofSI(20.0), network);
+        CarTest.makeReferenceCar("car3", DefaultsNl.CAR, lanes.get(2), Length.ofSI(10.0), Speed.ofSI(15.0), network);
+
+        // execute all events before a time without events, car3 reaches the end of the network after 6s
+        while (simulator.getEventList().first().getAbsoluteExecutionTime().si < 5.4)
+        {
+            simulator.step();
+        }
+
+        Map<String, float[][]> trajectories = new LinkedHashMap<>();
+        for (Lane lane : lanes)
+        {
+            for (Trajectory<GtuDataRoad> trajectory : sampler.getSamplerData().getTrajectoryGroup(new LaneDataRoad(lane))
+                    .orElseThrow().getTrajectories())
+            {
+                trajectories.put(lane.getFullId() + "/" + trajectory.getGtuId(), new float[][] {trajectory.getX(),
+                        trajectory.getV(), trajectory.getA(), trajectory.getT()});
+            }
+        }
+        return trajectories;
+    }
+
+    /**
+     * Asserts that trajectories are equal.
+     * @param expected expected trajectories
+     * @param actual actual trajectories
+     */
+    private static void assertTrajectoriesEqual(final Map<String, float[][]> expected, final Map<String, float[][]> actual)
+    {
+        assertEquals(expected.keySet(), actual.keySet());
+        for (Entry<String, float[][]> entry : expected.entrySet())
+        {
+            for (int i = 0; i < entry.getValue().length; i++)
+            {
+                assertArrayEquals(entry.getValue()[i], actual.get(entry.getKey())[i], 1e-6f, entry.getKey());
+            }
+        }
+    }
+
+}
@@ -18,6 +18,8 @@ import org.djutils.event.LocalEventProducer;
 import org.djutils.exceptions.Try;
 import org.opentrafficsim.base.logger.Logger;
 import org.opentrafficsim.core.dsol.OtsSimulator;
+import org.opentrafficsim.core.profiler.Profiler;
+import org.opentrafficsim.core.profiler.ProfilerStage;
 import org.opentrafficsim.road.network.object.detector.TrafficLightDetector;
 import org.opentrafficsim.road.network.object.trafficlight.TrafficLight;
 import org.opentrafficsim.trafficcontrol.ActuatedTrafficController;
@@ -164,6 +166,7 @@ public class Ccol extends LocalEventProducer implements ActuatedTrafficControlle
     @SuppressWarnings("unused")
     private void step() throws TrafficControlException, SimRuntimeException
     {
+        long t = Profiler.start();
         // TODO time should be formatted as date, hour, etc.
         String message = String.format("STEP %s", this.simulator.getSimulatorTime());
         this.ccolWriter.print(message);
@@ -177,6 +180,7 @@ public class Ccol extends LocalEventProducer implements ActuatedTrafficControlle
         {
             exception.printStackTrace();
         }
+        Profiler.lap(ProfilerStage.CONTROLLER_EVALUATION, null, t);
         // Schedule the next step.
         this.simulator.scheduleEventRel(EVALUATION_INTERVAL, () -> Try.execute(() -> step(), "Exception during Ccol step."));
     }
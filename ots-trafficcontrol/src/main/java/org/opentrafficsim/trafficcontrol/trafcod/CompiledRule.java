@@ -0,0 +1,537 @@
+package org.opentrafficsim.trafficcontrol.trafcod;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.opentrafficsim.trafficcontrol.TrafficControlException;
+import org.opentrafficsim.trafficcontrol.trafcod.TrafCod.Token;
+
+/**
+ * Compiled form of the right-hand side of a tokenised TrafCOD rule. The expression is translated to int-coded postfix code that
+ * is evaluated on an {@code int[]} stack. Compilation follows the exact same recursive descent as the interpreter in
+ * {@code TrafCod.evalExpr} and {@code TrafCod.evalRHS}, such that operator precedence and the (integer) arithmetic of both are
+ * identical.
+ * <p>
+ * The compiled rule also keeps track of the variables that are input to the rule. A rule needs not be evaluated when none of
+ * its inputs, nor its destination, changed since the last time the rule was evaluated, and when its destination has no pending
+ * START, END or TIMEREXPIRED flag. Under these conditions evaluation of the rule is guaranteed to have no effect.
+ * </p>
+ * <p>
+ * Copyright (c) 2013-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+final class CompiledRule
+{
+    /** Push constant; operand is the constant. */
+    private static final int PUSH_CONSTANT = 0;
+
+    /** Push value of variable; operand is the variable index. */
+    private static final int PUSH_VALUE = 1;
+
+    /** Push 1 if variable is not 0, else 0; operand is the variable index. */
+    private static final int PUSH_NONZERO = 2;
+
+    /** Push 1 if variable is 0, else 0; operand is the variable index. */
+    private static final int PUSH_ZERO = 3;
+
+    /** Push 1 if variable has the START flag, else 0; operand is the variable index. */
+    private static final int PUSH_START = 4;
+
+    /** Push 1 if variable has the END flag, else 0; operand is the variable index. */
+    private static final int PUSH_END = 5;
+
+    /** Negate top of stack. */
+    private static final int NEGATE = 6;
+
+    /** Logical and (multiplication in TrafCOD). */
+    private static final int AND = 7;
+
+    /** Logical or (addition in TrafCOD). */
+    private static final int OR = 8;
+
+    /** Subtraction. */
+    private static final int SUBTRACT = 9;
+
+    /** Equal to. */
+    private static final int EQ = 10;
+
+    /** Not equal to. */
+    private static final int NOTEQ = 11;
+
+    /** Greater than. */
+    private static final int GT = 12;
+
+    /** Greater than or equal to. */
+    private static final int GTEQ = 13;
+
+    /** Less than. */
+    private static final int LE = 14;
+
+    /** Less than or equal to. */
+    private static final int LEEQ = 15;
+
+    /** Binding strength of relational operators. */
+    private static final int BIND_RELATIONAL_OPERATOR = 1;
+
+    /** Binding strength of addition and subtraction. */
+    private static final int BIND_ADDITION = 2;
+
+    /** Binding strength of multiplication and division. */
+    private static final int BIND_MULTIPLY = 3;
+
+    /** Binding strength of unary minus. */
+    private static final int BIND_UNARY_MINUS = 4;
+
+    /** The tokenised rule. */
+    private final Object[] rule;
+
+    /** Rule type. */
+    private final Token ruleType;
+
+    /** Destination variable. */
+    private final Variable destination;
+
+    /** Code; op codes with operands where applicable. */
+    private final int[] code;
+
+    /** Variables referred to by the code. */
+    private final Variable[] operands;
+
+    /** Maximum stack depth. */
+    private final int maxStackDepth;
+
+    /** Change stamp of the TrafCOD engine directly after the last evaluation, -1 if never evaluated. */
+    private long evaluationStamp = -1;
+
+    /**
+     * Constructor.
+     * @param rule the tokenised rule
+     * @param code code
+     * @param operands variables referred to by the code
+     * @param maxStackDepth maximum stack depth
+     */
+    private CompiledRule(final Object[] rule, final int[] code, final Variable[] operands, final int maxStackDepth)
+    {
+        this.rule = rule;
+        this.ruleType = (Token) rule[0];
+        this.destination = (Variable) rule[1];
+        this.code = code;
+        this.operands = operands;
+        this.maxStackDepth = maxStackDepth;
+    }
+
+    /**
+     * Compiles a tokenised rule.
+     * @param rule the tokenised rule
+     * @return compiled rule
+     * @throws TrafficControlException when the expression of the rule is not valid
+     */
+    static CompiledRule compile(final Object[] rule) throws TrafficControlException
+    {
+        Compiler compiler = new Compiler(rule);
+        compiler.compileExpr(0);
+        if (compiler.currentToken < rule.length && Token.CLOSE_PAREN == rule[compiler.currentToken])
+        {
+            throw new TrafficControlException("Too many closing parentheses");
+        }
+        return new CompiledRule(rule, compiler.code.stream().mapToInt(Integer::intValue).toArray(),
+                compiler.operands.toArray(new Variable[compiler.operands.size()]), compiler.maxDepth);
+    }
+
+    /**
+     * Returns the tokenised rule.
+     * @return tokenised rule
+     */
+    Object[] getRule()
+    {
+        return this.rule;
+    }
+
+    /**
+     * Returns the rule type.
+     * @return rule type
+     */
+    Token getRuleType()
+    {
+        return this.ruleType;
+    }
+
+    /**
+     * Returns the destination variable.
+     * @return destination variable
+     */
+    Variable getDestination()
+    {
+        return this.destination;
+    }
+
+    /**
+     * Returns the maximum stack depth.
+     * @return maximum stack depth
+     */
+    int getMaxStackDepth()
+    {
+        return this.maxStackDepth;
+    }
+
+    /**
+     * Returns whether evaluation of this rule is guaranteed to have no effect, as no input changed since the last evaluation.
+     * @return whether evaluation of this rule is guaranteed to have no effect
+     */
+    boolean isUnaffected()
+    {
+        if (this.evaluationStamp < 0 || this.destination.getChangeStamp() > this.evaluationStamp
+                || this.destination.hasPendingFlags())
+        {
+            return false;
+        }
+        for (Variable operand : this.operands)
+        {
+            if (operand.getObservableChangeStamp() > this.evaluationStamp)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Registers that this rule was evaluated, at the current change stamp.
+     * @param stamp current change stamp of the TrafCOD engine
+     */
+    void evaluated(final long stamp)
+    {
+        this.evaluationStamp = stamp;
+    }
+
+    /**
+     * Forgets any previous evaluation, such that the rule will be evaluated in the next pass.
+     */
+    void invalidate()
+    {
+        this.evaluationStamp = -1;
+    }
+
+    /**
+     * Evaluates the expression.
+     * @param stack stack, of at least the maximum stack depth
+     * @return result of the expression
+     */
+    int evaluate(final int[] stack)
+    {
+        int sp = 0;
+        int pc = 0;
+        while (pc < this.code.length)
+        {
+            switch (this.code[pc++])
+            {
+                case PUSH_CONSTANT:
+                    stack[sp++] = this.code[pc++];
+                    break;
+                case PUSH_VALUE:
+                    stack[sp++] = this.operands[this.code[pc++]].getValue();
+                    break;
+                case PUSH_NONZERO:
+                    stack[sp++] = this.operands[this.code[pc++]].getValue() == 0 ? 0 : 1;
+                    break;
+                case PUSH_ZERO:
+                    stack[sp++] = this.operands[this.code[pc++]].getValue() == 0 ? 1 : 0;
+                    break;
+                case PUSH_START:
+                    stack[sp++] = this.operands[this.code[pc++]].hasFlag(Flags.START) ? 1 : 0;
+                    break;
+                case PUSH_END:
+                    stack[sp++] = this.operands[this.code[pc++]].hasFlag(Flags.END) ? 1 : 0;
+                    break;
+                case NEGATE:
+                    stack[sp - 1] = -stack[sp - 1];
+                    break;
+                default:
+                {
+                    // binary operator; b is the top of the stack, i.e. the first value popped in the interpreter
+                    int b = stack[--sp];
+                    int a = stack[sp - 1];
+                    stack[sp - 1] = binary(this.code[pc - 1], a, b);
+                }
+            }
+        }
+        return stack[sp - 1];
+    }
+
+    /**
+     * Applies a binary operator.
+     * @param op op code
+     * @param a left operand
+     * @param b right operand
+     * @return result
+     */
+    private static int binary(final int op, final int a, final int b)
+    {
+        switch (op)
+        {
+            case AND:
+                return b * a == 0 ? 0 : 1;
+            case OR:
+                return b + a == 0 ? 0 : 1;
+            case SUBTRACT:
+                return -b + a;
+            case EQ:
+                return b == a ? 1 : 0;
+            case NOTEQ:
+                return b != a ? 1 : 0;
+            case GT:
+                return b < a ? 1 : 0;
+            case GTEQ:
+                return b <= a ? 1 : 0;
+            case LE:
+                return b > a ? 1 : 0;
+            case LEEQ:
+                return b >= a ? 1 : 0;
+            default:
+                throw new IllegalStateException("Unknown op code " + op);
+        }
+    }
+
+    /**
+     * Compiler of a single rule; mirrors the recursive descent of the interpreter.
+     */
+    private static final class Compiler
+    {
+        /** The tokenised rule. */
+        private final Object[] rule;
+
+        /** Position in the rule. */
+        private int currentToken = 2; // first token of the RHS
+
+        /** Code. */
+        private final List<Integer> code = new ArrayList<>();
+
+        /** Operand variables. */
+        private final List<Variable> operands = new ArrayList<>();
+
+        /** Current stack depth. */
+        private int depth = 0;
+
+        /** Maximum stack depth. */
+        private int maxDepth = 0;
+
+        /**
+         * Constructor.
+         * @param rule the tokenised rule
+         */
+        Compiler(final Object[] rule)
+        {
+            this.rule = rule;
+        }
+
+        /**
+         * Emits a push of a constant.
+         * @param value constant
+         */
+        private void emitConstant(final int value)
+        {
+            this.code.add(PUSH_CONSTANT);
+            this.code.add(value);
+            push();
+        }
+
+        /**
+         * Emits a push of a variable property.
+         * @param op op code
+         * @param variable variable
+         */
+        private void emitVariable(final int op, final Variable variable)
+        {
+            int index = this.operands.indexOf(variable);
+            if (index < 0)
+            {
+                index = this.operands.size();
+                this.operands.add(variable);
+            }
+            this.code.add(op);
+            this.code.add(index);
+            push();
+        }
+
+        /**
+         * Emits a binary operator.
+         * @param op op code
+         * @throws TrafficControlException when the stack is empty
+         */
+        private void emitBinary(final int op) throws TrafficControlException
+        {
+            if (this.depth < 2)
+            {
+                throw new TrafficControlException("Stack empty");
+            }
+            this.code.add(op);
+            this.depth--;
+        }
+
+        /**
+         * Registers a push on the stack.
+         */
+        private void push()
+        {
+            this.depth++;
+            this.maxDepth = Math.max(this.maxDepth, this.depth);
+        }
+
+        /**
+         * Compiles an expression, see {@code TrafCod.evalExpr}.
+         * @param bindingStrength the binding strength of a not yet applied binary operator
+         * @throws TrafficControlException when the expression is not valid
+         */
+        void compileExpr(final int bindingStrength) throws TrafficControlException
+        {
+            if (this.currentToken >= this.rule.length)
+            {
+                throw new TrafficControlException("Missing operand at end of expression " + TrafCod.printRule(this.rule, false));
+            }
+            Token token = (Token) this.rule[this.currentToken++];
+            Object nextToken = null;
+            if (this.currentToken < this.rule.length)
+            {
+                nextToken = this.rule[this.currentToken];
+            }
+            switch (token)
+            {
+                case UNARY_MINUS:
+                    if (Token.OPEN_PAREN != nextToken && Token.VARIABLE != nextToken && Token.NEG_VARIABLE != nextToken
+                            && Token.CONSTANT != nextToken && Token.START != nextToken && Token.END != nextToken)
+                    {
+                        throw new TrafficControlException("Operand expected after unary minus");
+                    }
+                    compileExpr(BIND_UNARY_MINUS);
+                    this.code.add(NEGATE);
+                    break;
+
+                case OPEN_PAREN:
+                    compileExpr(0);
+                    if (Token.CLOSE_PAREN != this.rule[this.currentToken])
+                    {
+                        throw new TrafficControlException("Missing closing parenthesis");
+                    }
+                    this.currentToken++;
+                    break;
+
+                case START:
+                case END:
+                    String flag = token == Token.START ? "S" : "E";
+                    if (Token.VARIABLE != nextToken || this.currentToken >= this.rule.length - 1)
+                    {
+                        throw new TrafficControlException("Missing variable after " + flag);
+                    }
+                    nextToken = this.rule[++this.currentToken];
+                    if (!(nextToken instanceof Variable))
+                    {
+                        throw new TrafficControlException("Missing variable after " + flag);
+                    }
+                    emitVariable(token == Token.START ? PUSH_START : PUSH_END, (Variable) nextToken);
+                    this.currentToken++;
+                    break;
+
+                case VARIABLE:
+                {
+                    Variable operand = (Variable) nextToken;
+                    emitVariable(operand.isTimer() ? PUSH_NONZERO : PUSH_VALUE, operand);
+                    this.currentToken++;
+                    break;
+                }
+
+                case CONSTANT:
+                    emitConstant((Integer) nextToken);
+                    this.currentToken++;
+                    break;
+
+                case NEG_VARIABLE:
+                    emitVariable(PUSH_ZERO, (Variable) nextToken);
+                    this.currentToken++;
+                    break;
+
+                default:
+                    throw new TrafficControlException("Operand missing");
+            }
+            compileRHS(bindingStrength);
+        }
+
+        /**
+         * Compiles the right-hand-side of an expression, see {@code TrafCod.evalRHS}.
+         * @param bindingStrength the binding strength of the most recent, not yet applied, binary operator
+         * @throws TrafficControlException when the RHS of an expression is invalid
+         */
+        private void compileRHS(final int bindingStrength) throws TrafficControlException
+        {
+            while (true)
+            {
+                if (this.currentToken >= this.rule.length)
+                {
+                    return;
+                }
+                Token token = (Token) this.rule[this.currentToken];
+                int strength;
+                int op;
+                switch (token)
+                {
+                    case CLOSE_PAREN:
+                        return;
+                    case TIMES:
+                        strength = BIND_MULTIPLY;
+                        op = AND;
+                        break;
+                    case EQ:
+                        strength = BIND_RELATIONAL_OPERATOR;
+                        op = EQ;
+                        break;
+                    case NOTEQ:
+                        strength = BIND_RELATIONAL_OPERATOR;
+                        op = NOTEQ;
+                        break;
+                    case LE:
+                        strength = BIND_RELATIONAL_OPERATOR;
+                        op = LE;
+                        break;
+                    case LEEQ:
+                        strength = BIND_RELATIONAL_OPERATOR;
+                        op = LEEQ;
+                        break;
+                    case GT:
+                        strength = BIND_RELATIONAL_OPERATOR;
+                        op = GT;
+                        break;
+                    case GTEQ:
+                        strength = BIND_RELATIONAL_OPERATOR;
+                        op = GTEQ;
+                        break;
+                    case PLUS:
+                        strength = BIND_ADDITION;
+                        op = OR;
+                        break;
+                    case MINUS:
+                        strength = BIND_ADDITION;
+                        op = SUBTRACT;
+                        break;
+                    default:
+                        throw new TrafficControlException("Missing binary operator");
+                }
+                if (strength <= bindingStrength)
+                {
+                    return; // apply pending operator now
+                }
+                this.currentToken++;
+                compileExpr(strength);
+                emitBinary(op);
+            }
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return "CompiledRule [rule=" + Arrays.toString(this.rule) + ", code=" + Arrays.toString(this.code) + "]";
+    }
+
+}
@@ -34,6 +34,8 @@ import org.opentrafficsim.core.dsol.OtsSimulatorInterface;
 import org.opentrafficsim.core.network.Network;
 import org.opentrafficsim.core.network.NetworkException;
 import org.opentrafficsim.core.object.LocatedObject;
+import org.opentrafficsim.core.profiler.Profiler;
+import org.opentrafficsim.core.profiler.ProfilerStage;
 import org.opentrafficsim.road.network.object.detector.TrafficLightDetector;
 import org.opentrafficsim.road.network.object.detector.TrafficLightDetector.StartEndDetector;
 import org.opentrafficsim.road.network.object.trafficlight.TrafficLight;
@@ -74,6 +76,24 @@ public class TrafCod extends AbstractTrafficController implements ActuatedTraffi
     /** The tokenized rules. */
     private final List<Object[]> tokenisedRules = new ArrayList<>();
 
+    /** The compiled rules, in the same order as the tokenised rules; {@code null} for rules that failed to compile. */
+    private final List<CompiledRule> compiledRules = new ArrayList<>();
+
+    /** Whether to evaluate the compiled rules, and skip those that are unaffected by changes since their last evaluation. */
+    private boolean compiledEvaluation = true;
+
+    /** Stack for evaluation of compiled rules. */
+    private int[] evaluationStack = new int[0];
+
+    /** Counter that is incremented on every change of a variable that is relevant for rule evaluation. */
+    private long changeStamp = 0;
+
+    /** Whether to suspend evaluation while no rule can have an effect, until a detector changes. */
+    private boolean skipIdle = false;
+
+    /** Whether evaluation is suspended, i.e. no evaluation is scheduled. */
+    private boolean idle = false;
+
     /** The TrafCOD variables. */
     private final Map<String, Variable> variables = new LinkedHashMap<>();
 
@@ -393,10 +413,106 @@ public class TrafCod extends AbstractTrafficController implements ActuatedTraffi
             if (null != tokenisedRule && tokenisedRule.length > 0)
             {
                 this.tokenisedRules.add(tokenisedRule);
+                this.compiledRules.add(compile(tokenisedRule, locationDescription));
+            }
+        }
+    }
+
+    /**
+     * Compiles a tokenised rule.
+     * @param tokenisedRule the tokenised rule
+     * @param locationDescription description of the location (file, line) where the rule was found
+     * @return compiled rule, {@code null} if the rule could not be compiled and should be interpreted
+     */
+    private CompiledRule compile(final Object[] tokenisedRule, final String locationDescription)
+    {
+        try
+        {
+            CompiledRule compiledRule = CompiledRule.compile(tokenisedRule);
+            if (compiledRule.getMaxStackDepth() > this.evaluationStack.length)
+            {
+                this.evaluationStack = new int[compiledRule.getMaxStackDepth()];
+            }
+            return compiledRule;
+        }
+        catch (TrafficControlException exception)
+        {
+            // the interpreter will report the error if and when the rule is evaluated
+            Logger.ots().warn("Unable to compile TrafCOD rule at {}: {}", locationDescription, exception.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Sets whether rules are evaluated in compiled form, skipping rules that are unaffected by changes since their last
+     * evaluation (default), or by interpretation of the tokenised rules. Both yield the same results.
+     * @param compiledEvaluation whether rules are evaluated in compiled form
+     */
+    public void setCompiledEvaluation(final boolean compiledEvaluation)
+    {
+        this.compiledEvaluation = compiledEvaluation;
+        for (CompiledRule compiledRule : this.compiledRules)
+        {
+            if (compiledRule != null)
+            {
+                compiledRule.invalidate();
             }
         }
     }
 
+    /**
+     * Returns whether rules are evaluated in compiled form.
+     * @return whether rules are evaluated in compiled form
+     */
+    public boolean isCompiledEvaluation()
+    {
+        return this.compiledEvaluation;
+    }
+
+    /**
+     * Sets whether evaluation is suspended while the controller is idle. The controller is idle when no timer is running and
+     * no rule can have an effect in the next evaluation. Evaluation then resumes at the next evaluation interval after a
+     * detector changes. This requires compiled evaluation, and yields the same results as evaluating every interval, except
+     * that no {@code TRAFFICCONTROL_CONTROLLER_EVALUATING} events are fired while idle.
+     * @param skipIdle whether evaluation is suspended while the controller is idle
+     */
+    public void setSkipIdle(final boolean skipIdle)
+    {
+        this.skipIdle = skipIdle;
+        if (!skipIdle && this.idle)
+        {
+            wakeUp();
+        }
+    }
+
+    /**
+     * Returns whether evaluation is suspended while the controller is idle.
+     * @return whether evaluation is suspended while the controller is idle
+     */
+    public boolean isSkipIdle()
+    {
+        return this.skipIdle;
+    }
+
+    /**
+     * Returns whether evaluation is currently suspended.
+     * @return whether evaluation is currently suspended
+     */
+    public boolean isIdle()
+    {
+        return this.idle;
+    }
+
+    /**
+     * Increments and returns the change stamp. Variables call this when they change in a way that is relevant for rule
+     * evaluation.
+     * @return incremented change stamp
+     */
+    long nextChangeStamp()
+    {
+        return ++this.changeStamp;
+    }
+
     /**
      * Check the consistency of the traffic control program and perform initializations that require a completely built network.
      * @throws SimRuntimeException when the simulation model is not an OtsModelInterface
@@ -702,6 +818,7 @@ public class TrafCod extends AbstractTrafficController implements ActuatedTraffi
     @SuppressWarnings("unused")
     private void evalExprs() throws TrafficControlException, SimRuntimeException
     {
+        long t = Profiler.start();
         fireTimedEvent(TrafficController.TRAFFICCONTROL_CONTROLLER_EVALUATING, new Object[] {getId()},
                 this.simulator.getSimulatorTime());
         Logger.ots().trace("evalExprs: time is {}", EngineeringFormatter.format(this.simulator.getSimulatorTime().si));
@@ -730,6 +847,7 @@ public class TrafCod extends AbstractTrafficController implements ActuatedTraffi
             }
         }
         Logger.ots().trace("Executed {} iteration(s)", (loop + 1));
+        Profiler.lap(ProfilerStage.CONTROLLER_EVALUATION, null, t);
         if (loop >= this.maxLoopCount)
         {
             StringBuffer warningMessage = new StringBuffer();
@@ -737,7 +855,7 @@ public class TrafCod extends AbstractTrafficController implements ActuatedTraffi
                     .format("Control program did not settle to a final state in %d iterations; oscillating variables:", loop));
             for (Variable v : this.variablesInDefinitionOrder)
             {
-                if (v.getFlags().contains(Flags.CHANGED))
+                if (v.hasFlag(Flags.CHANGED))
                 {
                     warningMessage.append(String.format(" %s%02d", v.getName(), v.getStream()));
                 }
@@ -745,10 +863,74 @@ public class TrafCod extends AbstractTrafficController implements ActuatedTraffi
             fireTimedEvent(TrafficController.TRAFFICCONTROL_CONTROLLER_WARNING,
                     new Object[] {getId(), warningMessage.toString()}, this.simulator.getSimulatorTime());
         }
+        if (this.skipIdle && canIdle())
+        {
+            Logger.ots().trace("TrafCod {} is idle", getId());
+            this.idle = true;
+            return;
+        }
         this.simulator.scheduleEventRel(EVALUATION_INTERVAL,
                 () -> Try.execute(() -> evalExprs(), "Exception evaluating expressions in TrafCod."));
     }
 
+    /**
+     * Returns whether the next evaluation is guaranteed to have no effect, provided that no detector changes. This is the case
+     * when no timer is running and all rules are compiled and unaffected by changes since their last evaluation.
+     * @return whether the next evaluation is guaranteed to have no effect
+     */
+    private boolean canIdle()
+    {
+        if (!this.compiledEvaluation)
+        {
+            return false;
+        }
+        for (CompiledRule compiledRule : this.compiledRules)
+        {
+            if (compiledRule == null || !compiledRule.isUnaffected())
+            {
+                return false;
+            }
+        }
+        for (Variable variable : this.variablesInDefinitionOrder)
+        {
+            if (variable.isTimer() && variable.getValue() > 0)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Resumes evaluation at the first evaluation interval that is not in the past, as if evaluation had never been suspended.
+     */
+    private void wakeUp()
+    {
+        this.idle = false;
+        double now = this.simulator.getSimulatorTime().si;
+        int nextTime10 = Math.max(this.currentTime10 + 1, (int) Math.ceil(now * 10.0 - 1e-6));
+        // value of currentTime10 had the skipped evaluations taken place
+        this.currentTime10 = nextTime10 - 1;
+        Try.execute(
+                () -> this.simulator.scheduleEventRel(Duration.ofSI(Math.max(0.0, nextTime10 / 10.0 - now)),
+                        () -> Try.execute(() -> evalExprs(), "Exception evaluating expressions in TrafCod.")),
+                "Unable to schedule TrafCod evaluation.");
+    }
+
+    /**
+     * Resumes evaluation when the controller is idle, as a detector changed. This is invoked for detector changes from
+     * {@code updateDetector} and from {@code TrafficLightDetector} events.
+     * @return time stamp for the detector change [0.1s]
+     */
+    int detectorChanged()
+    {
+        if (this.idle)
+        {
+            wakeUp();
+        }
+        return this.currentTime10;
+    }
+
     /**
      * Evaluate all expressions and return the number of changed variables.
      * @return the number of changed variables
@@ -761,12 +943,21 @@ public class TrafCod extends AbstractTrafficController implements ActuatedTraffi
             variable.clearChangedFlag();
         }
         int changeCount = 0;
-        for (Object[] rule : this.tokenisedRules)
+        for (int i = 0; i < this.tokenisedRules.size(); i++)
         {
-            if (evalRule(rule))
+            CompiledRule compiledRule = this.compiledEvaluation ? this.compiledRules.get(i) : null;
+            if (compiledRule != null && compiledRule.isUnaffected())
+            {
+                continue;
+            }
+            if (evalRule(this.tokenisedRules.get(i), compiledRule))
             {
                 changeCount++;
             }
+            if (compiledRule != null)
+            {
+                compiledRule.evaluated(this.changeStamp);
+            }
         }
         return changeCount;
     }
@@ -774,22 +965,23 @@ public class TrafCod extends AbstractTrafficController implements ActuatedTraffi
     /**
      * Evaluate a rule.
      * @param rule the tokenised rule
+     * @param compiledRule compiled form of the rule, {@code null} to interpret the tokenised rule
      * @return true if the variable that is affected by the rule has changed; false if no variable was changed
      * @throws TrafficControlException when evaluation of the rule fails
      */
-    private boolean evalRule(final Object[] rule) throws TrafficControlException
+    private boolean evalRule(final Object[] rule, final CompiledRule compiledRule) throws TrafficControlException
     {
         boolean result = false;
         Token ruleType = (Token) rule[0];
         Variable destination = (Variable) rule[1];
         if (destination.isTimer())
         {
-            if (destination.getFlags().contains(Flags.TIMEREXPIRED))
+            if (destination.hasFlag(Flags.TIMEREXPIRED))
             {
                 destination.clearFlag(Flags.TIMEREXPIRED);
                 destination.setFlag(Flags.END);
             }
-            else if (destination.getFlags().contains(Flags.START) || destination.getFlags().contains(Flags.END))
+            else if (destination.hasFlag(Flags.START) || destination.hasFlag(Flags.END))
             {
                 destination.clearFlag(Flags.START);
                 destination.clearFlag(Flags.END);
@@ -820,15 +1012,23 @@ public class TrafCod extends AbstractTrafficController implements ActuatedTraffi
         {
             return false; // Value cannot change from zero to nonzero or vice versa due to evaluating the expression
         }
-        this.currentRule = rule;
-        this.currentToken = 2; // Point to first token of the RHS
-        this.stack.clear();
-        evalExpr(0);
-        if (this.currentToken < this.currentRule.length && Token.CLOSE_PAREN == this.currentRule[this.currentToken])
+        int resultValue;
+        if (compiledRule != null)
         {
-            throw new TrafficControlException("Too many closing parentheses");
+            resultValue = compiledRule.evaluate(this.evaluationStack);
+        }
+        else
+        {
+            this.currentRule = rule;
+            this.currentToken = 2; // Point to first token of the RHS
+            this.stack.clear();
+            evalExpr(0);
+            if (this.currentToken < this.currentRule.length && Token.CLOSE_PAREN == this.currentRule[this.currentToken])
+            {
+                throw new TrafficControlException("Too many closing parentheses");
+            }
+            resultValue = pop();
         }
-        int resultValue = pop();
         if (Token.END_RULE == ruleType)
         {
             // Invert the result
@@ -967,7 +1167,7 @@ public class TrafCod extends AbstractTrafficController implements ActuatedTraffi
                 {
                     throw new TrafficControlException("Missing variable after S");
                 }
-                push(((Variable) nextToken).getFlags().contains(Flags.START) ? 1 : 0);
+                push(((Variable) nextToken).hasFlag(Flags.START) ? 1 : 0);
                 this.currentToken++;
                 break;
 
@@ -981,7 +1181,7 @@ public class TrafCod extends AbstractTrafficController implements ActuatedTraffi
                 {
                     throw new TrafficControlException("Missing variable after E");
                 }
-                push(((Variable) nextToken).getFlags().contains(Flags.END) ? 1 : 0);
+                push(((Variable) nextToken).hasFlag(Flags.END) ? 1 : 0);
                 this.currentToken++;
                 break;
 
@@ -1740,7 +1940,7 @@ public class TrafCod extends AbstractTrafficController implements ActuatedTraffi
     public void updateDetector(final String detectorId, final boolean detectingGTU)
     {
         Variable detector = this.detectors.get(detectorId);
-        detector.setValue(detectingGTU ? 1 : 0, this.currentTime10,
+        detector.setValue(detectingGTU ? 1 : 0, detectorChanged(),
                 new CausePrinter(
                         String.format("Detector %s becoming %s", detectorId, (detectingGTU ? "occupied" : "unoccupied"))),
                 this);
@@ -2073,6 +2273,12 @@ class Variable implements EventListener
     /** Letters that are used to distinguish conflict groups in the MRx variables. */
     private static String rowLetters = "ABCDXYZUVW";
 
+    /** Change stamp of the last change of the value, or of the START, END or TIMEREXPIRED flag. */
+    private long changeStamp = 0;
+
+    /** Change stamp of the last change that is observable in an expression (for timers only whether the value is 0). */
+    private long observableChangeStamp = 0;
+
     /**
      * Retrieve the number of rules that refer to this variable.
      * @return the number of rules that refer to this variable
@@ -2181,12 +2387,14 @@ class Variable implements EventListener
             this.flags.add(Flags.END);
             this.value = 0;
             this.updateTime10 = timeStamp10;
+            changed(true);
             if (this.flags.contains(Flags.TRACED))
             {
                 Logger.ots().info("Timer {} expired", toString());
             }
             return true;
         }
+        changed(false);
         return false;
     }
 
@@ -2287,10 +2495,56 @@ class Variable implements EventListener
                     new Object[] {trafCODController.getId(), toString(EnumSet.of(PrintFlags.ID)), this.stream, this.value,
                             newValue, cause.toString()});
         }
-        this.value = newValue;
+        if (this.value != newValue)
+        {
+            boolean observable = !isTimer() || (0 == this.value) != (0 == newValue);
+            this.value = newValue;
+            changed(observable);
+        }
         return result;
     }
 
+    /**
+     * Registers a change relevant for rule evaluation.
+     * @param observable whether the change is observable in an expression that refers to this variable
+     */
+    private void changed(final boolean observable)
+    {
+        this.changeStamp = this.trafCOD.nextChangeStamp();
+        if (observable)
+        {
+            this.observableChangeStamp = this.changeStamp;
+        }
+    }
+
+    /**
+     * Returns the change stamp of the last change of the value, or of the START, END or TIMEREXPIRED flag.
+     * @return change stamp of the last change of the value, or of the START, END or TIMEREXPIRED flag
+     */
+    long getChangeStamp()
+    {
+        return this.changeStamp;
+    }
+
+    /**
+     * Returns the change stamp of the last change that is observable in an expression that refers to this variable.
+     * @return change stamp of the last change that is observable in an expression that refers to this variable
+     */
+    long getObservableChangeStamp()
+    {
+        return this.observableChangeStamp;
+    }
+
+    /**
+     * Returns whether this variable has a flag that a rule with this variable as destination acts upon, or is traced.
+     * @return whether this variable has a START, END, TIMEREXPIRED or TRACED flag
+     */
+    boolean hasPendingFlags()
+    {
+        return this.flags.contains(Flags.START) || this.flags.contains(Flags.END) || this.flags.contains(Flags.TIMEREXPIRED)
+                || this.flags.contains(Flags.TRACED);
+    }
+
     /**
      * Copy the state of this variable from another variable. Only used when cloning the TrafCOD engine.
      * @param fromVariable the variable whose state is copied
@@ -2302,6 +2556,7 @@ class Variable implements EventListener
         this.value = fromVariable.value;
         this.flags = EnumSet.copyOf(fromVariable.flags);
         this.updateTime10 = fromVariable.updateTime10;
+        changed(true);
         if (fromVariable.isOutput())
         {
             for (TrafficLight tl : fromVariable.trafficLights)
@@ -2357,7 +2612,10 @@ class Variable implements EventListener
      */
     public void setFlag(final Flags flag)
     {
-        this.flags.add(flag);
+        if (this.flags.add(flag))
+        {
+            flagChanged(flag);
+        }
     }
 
     /**
@@ -2366,7 +2624,36 @@ class Variable implements EventListener
      */
     public void clearFlag(final Flags flag)
     {
-        this.flags.remove(flag);
+        if (this.flags.remove(flag))
+        {
+            flagChanged(flag);
+        }
+    }
+
+    /**
+     * Registers a change of a flag, if relevant for rule evaluation.
+     * @param flag the flag that changed
+     */
+    private void flagChanged(final Flags flag)
+    {
+        if (Flags.START == flag || Flags.END == flag)
+        {
+            changed(true);
+        }
+        else if (Flags.TIMEREXPIRED == flag)
+        {
+            changed(false);
+        }
+    }
+
+    /**
+     * Report whether this Variable has a flag.
+     * @param flag the flag
+     * @return whether this Variable has the flag
+     */
+    public boolean hasFlag(final Flags flag)
+    {
+        return this.flags.contains(flag);
     }
 
     /**
@@ -2648,11 +2935,11 @@ class Variable implements EventListener
     {
         if (event.getType().equals(TrafficLightDetector.TRAFFIC_LIGHT_DETECTOR_TRIGGER_ENTRY_EVENT))
         {
-            setValue(1, this.updateTime10, new CausePrinter("Detector became occupied"), this.trafCOD);
+            setValue(1, this.trafCOD.detectorChanged(), new CausePrinter("Detector became occupied"), this.trafCOD);
         }
         else if (event.getType().equals(TrafficLightDetector.TRAFFIC_LIGHT_DETECTOR_TRIGGER_EXIT_EVENT))
         {
-            setValue(0, this.updateTime10, new CausePrinter("Detector became unoccupied"), this.trafCOD);
+            setValue(0, this.trafCOD.detectorChanged(), new CausePrinter("Detector became unoccupied"), this.trafCOD);
         }
     }
 
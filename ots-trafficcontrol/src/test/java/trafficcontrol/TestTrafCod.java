@@ -0,0 +1,257 @@
+package trafficcontrol;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Random;
+
+import org.djunits.value.vdouble.scalar.Duration;
+import org.djutils.event.Event;
+import org.djutils.event.EventListenerMap;
+import org.djutils.event.TimedEvent;
+import org.djutils.immutablecollections.ImmutableLinkedHashMap;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.opentrafficsim.core.dsol.OtsModelInterface;
+import org.opentrafficsim.core.dsol.OtsSimulatorInterface;
+import org.opentrafficsim.core.network.Network;
+import org.opentrafficsim.road.network.object.detector.TrafficLightDetector;
+import org.opentrafficsim.road.network.object.detector.TrafficLightDetector.StartEndDetector;
+import org.opentrafficsim.road.network.object.trafficlight.TrafficLight;
+import org.opentrafficsim.trafficcontrol.TrafficControlException;
+import org.opentrafficsim.trafficcontrol.TrafficController;
+import org.opentrafficsim.trafficcontrol.trafcod.TrafCod;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.formalisms.eventscheduling.Executable;
+
+/**
+ * Test that compiled evaluation of TrafCOD rules yields the same results as interpretation of the rules.
+ * <p>
+ * Copyright (c) 2013-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public class TestTrafCod
+{
+
+    /** Detector ids in the two stream test program. */
+    private static final String[] DETECTORS = {"D011", "D012", "D021", "D022"};
+
+    /**
+     * Runs the same TrafCOD program with the same detector input twice, once interpreted and once compiled, and compares all
+     * traffic light changes and conflict group changes.
+     * @throws IOException when the TrafCOD program cannot be read
+     * @throws TrafficControlException when the TrafCOD program is invalid
+     * @throws SimRuntimeException on simulator exception
+     */
+    @Test
+    public void testCompiledEqualsInterpreted() throws IOException, TrafficControlException, SimRuntimeException
+    {
+        List<String> rules = TrafCod.loadTextFromURL(TestTrafCod.class.getResource("/resources/TwoStreams.tfc"));
+        List<String> interpreted = run(rules, DETECTORS, false, false, false, new int[1]);
+        List<String> compiled = run(rules, DETECTORS, true, false, false, new int[1]);
+        assertFalse(interpreted.isEmpty(), "the controller should produce events");
+        for (String stream : new String[] {"1", "2"})
+        {
+            assertTrue(interpreted.stream().anyMatch((s) -> s.startsWith(TrafficController.TRAFFIC_LIGHT_CHANGED.getName())
+                    && s.endsWith("[TC, " + stream + ", GREEN]")), "stream " + stream + " should get green");
+        }
+        assertTrue(interpreted.stream().filter((s) -> s.startsWith(TrafficController.TRAFFICCONTROL_CONFLICT_GROUP_CHANGED
+                .getName())).count() > 2, "conflict groups should alternate");
+        assertEqualEvents(interpreted, compiled);
+    }
+
+    /**
+     * Runs the same TrafCOD program with the same detector input three times, once evaluating every interval and twice skipping
+     * evaluations while idle, and compares all traffic light changes and conflict group changes. When skipping, detector input
+     * is given once through {@code updateDetector} and once through events of {@code TrafficLightDetector}s, both of which
+     * should wake up the idle controller.
+     * @throws IOException when the TrafCOD program cannot be read
+     * @throws TrafficControlException when the TrafCOD program is invalid
+     * @throws SimRuntimeException on simulator exception
+     */
+    @Test
+    public void testSkipIdle() throws IOException, TrafficControlException, SimRuntimeException
+    {
+        List<String> rules = TrafCod.loadTextFromURL(TestTrafCod.class.getResource("/resources/SingleStream.tfc"));
+        String[] detectors = {"D011"};
+        int[] evaluations = new int[1];
+        int[] idleEvaluations = new int[1];
+        int[] idleEventEvaluations = new int[1];
+        List<String> every = run(rules, detectors, true, false, false, evaluations);
+        List<String> skipIdle = run(rules, detectors, true, true, false, idleEvaluations);
+        List<String> skipIdleEvents = run(rules, detectors, true, true, true, idleEventEvaluations);
+        assertTrue(every.stream().anyMatch((s) -> s.startsWith(TrafficController.TRAFFIC_LIGHT_CHANGED.getName())),
+                "the controller should change traffic lights");
+        assertEqualEvents(every, skipIdle);
+        assertEqualEvents(every, skipIdleEvents);
+        assertEquals(STEPS, evaluations[0], "without skipping, every interval should be evaluated");
+        assertTrue(idleEvaluations[0] < evaluations[0] / 2, "idle intervals should be skipped");
+        assertEquals(idleEvaluations[0], idleEventEvaluations[0], "detector events should wake up as updateDetector does");
+    }
+
+    /**
+     * Asserts that two lists of events are equal.
+     * @param expected expected events
+     * @param actual actual events
+     */
+    private static void assertEqualEvents(final List<String> expected, final List<String> actual)
+    {
+        assertEquals(expected.size(), actual.size(), "number of events");
+        for (int i = 0; i < expected.size(); i++)
+        {
+            assertEquals(expected.get(i), actual.get(i), "event " + i);
+        }
+    }
+
+    /** Number of simulated evaluation intervals. */
+    private static final int STEPS = 6000;
+
+    /** Number of evaluation intervals with detector activity, after which all detectors are released. */
+    private static final int ACTIVE_STEPS = 2000;
+
+    /**
+     * Runs a TrafCOD program with random detector input and returns a textual representation of all relevant events. After
+     * some time all detectors are released and the controller is left idle.
+     * @param rules TrafCOD rules
+     * @param detectors ids of detectors in the TrafCOD program
+     * @param compiledEvaluation whether to evaluate rules in compiled form
+     * @param skipIdle whether to skip evaluation while idle
+     * @param detectorEvents whether detector input is given through events of {@code TrafficLightDetector}s, rather than
+     *            through {@code updateDetector}
+     * @param evaluations array to store the number of evaluations in
+     * @return textual representation of all relevant events
+     * @throws TrafficControlException when the TrafCOD program is invalid
+     * @throws SimRuntimeException on simulator exception
+     */
+    private List<String> run(final List<String> rules, final String[] detectors, final boolean compiledEvaluation,
+            final boolean skipIdle, final boolean detectorEvents, final int[] evaluations) throws TrafficControlException, SimRuntimeException
+    {
+        double[] time = new double[] {0.0};
+        Queue<ScheduledEvent> scheduled = new PriorityQueue<>();
+        OtsSimulatorInterface simulator = Mockito.mock(OtsSimulatorInterface.class);
+        Mockito.when(simulator.getSimulatorTime()).thenAnswer((invocation) -> Duration.ofSI(time[0]));
+        Mockito.when(simulator.scheduleEventRel(ArgumentMatchers.any(Duration.class), ArgumentMatchers.any(Executable.class)))
+                .thenAnswer((invocation) ->
+                {
+                    scheduled.add(new ScheduledEvent(time[0] + ((Duration) invocation.getArgument(0)).si, scheduled.size(),
+                            invocation.getArgument(1)));
+                    return null;
+                });
+
+        TrafCod trafCod = new TrafCod("TC", rules, simulator, null, null);
+        trafCod.setCompiledEvaluation(compiledEvaluation);
+        trafCod.setSkipIdle(skipIdle);
+        trafCod.addListener((final Event event) -> evaluations[0]++, TrafficController.TRAFFICCONTROL_CONTROLLER_EVALUATING);
+        List<String> events = new ArrayList<>();
+        trafCod.addListener((final Event event) -> events.add(event.getType().getName() + "@"
+                + ((TimedEvent<?>) event).getTimeStamp() + Arrays.deepToString((Object[]) event.getContent())),
+                TrafficController.TRAFFIC_LIGHT_CHANGED);
+        trafCod.addListener((final Event event) -> events.add(event.getType().getName() + "@"
+                + ((TimedEvent<?>) event).getTimeStamp() + Arrays.deepToString((Object[]) event.getContent())),
+                TrafficController.TRAFFICCONTROL_CONFLICT_GROUP_CHANGED);
+
+        Map<String, TrafficLightDetector> trafficLightDetectors = new LinkedHashMap<>();
+        if (detectorEvents)
+        {
+            mockNetwork(simulator, detectors, trafficLightDetectors);
+            scheduled.poll().executable().execute(); // consistency check, which subscribes to the detectors
+        }
+        else
+        {
+            scheduled.poll(); // skip consistency check, which requires a network
+        }
+        Random random = new Random(42L);
+        boolean[] occupied = new boolean[detectors.length];
+        for (int step = 1; step <= STEPS; step++)
+        {
+            time[0] = step * 0.1;
+            for (int d = 0; d < detectors.length; d++)
+            {
+                if (step <= ACTIVE_STEPS ? random.nextDouble() < (occupied[d] ? 0.3 : 0.02) : occupied[d])
+                {
+                    occupied[d] = !occupied[d];
+                    if (detectorEvents)
+                    {
+                        trafficLightDetectors.get(detectors[d]).fireTimedEvent(
+                                occupied[d] ? TrafficLightDetector.TRAFFIC_LIGHT_DETECTOR_TRIGGER_ENTRY_EVENT
+                                        : TrafficLightDetector.TRAFFIC_LIGHT_DETECTOR_TRIGGER_EXIT_EVENT,
+                                new Object[] {detectors[d]}, Duration.ofSI(time[0]));
+                    }
+                    else
+                    {
+                        trafCod.updateDetector(detectors[d], occupied[d]);
+                    }
+                }
+            }
+            while (!scheduled.isEmpty() && scheduled.peek().time() < time[0] + 1e-6)
+            {
+                scheduled.poll().executable().execute();
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Mocks a network for the consistency check, with a traffic light for each stream and a traffic light detector for each
+     * detector. The traffic light detectors are able to fire events.
+     * @param simulator mocked simulator
+     * @param detectors ids of detectors in the TrafCOD program
+     * @param trafficLightDetectors map to store the traffic light detectors in
+     */
+    private static void mockNetwork(final OtsSimulatorInterface simulator, final String[] detectors,
+            final Map<String, TrafficLightDetector> trafficLightDetectors)
+    {
+        Map<String, TrafficLight> trafficLights = new LinkedHashMap<>();
+        Map<String, StartEndDetector> startEndDetectors = new LinkedHashMap<>();
+        for (String id : detectors)
+        {
+            String trafficLightId = "TC." + id.substring(1, 3);
+            TrafficLight trafficLight = Mockito.mock(TrafficLight.class);
+            Mockito.when(trafficLight.getId()).thenReturn(trafficLightId);
+            trafficLights.put(trafficLightId, trafficLight);
+            TrafficLightDetector trafficLightDetector = Mockito.mock(TrafficLightDetector.class, Mockito.CALLS_REAL_METHODS);
+            Mockito.doReturn(id).when(trafficLightDetector).getId();
+            Mockito.doReturn(new EventListenerMap()).when(trafficLightDetector).getEventListenerMap();
+            trafficLightDetectors.put(id, trafficLightDetector);
+            StartEndDetector startEndDetector = Mockito.mock(StartEndDetector.class);
+            Mockito.when(startEndDetector.getParent()).thenReturn(trafficLightDetector);
+            startEndDetectors.put(id + ".S", startEndDetector);
+        }
+        Network network = Mockito.mock(Network.class);
+        Mockito.when(network.getObjectMap(TrafficLight.class)).thenReturn(new ImmutableLinkedHashMap<>(trafficLights));
+        Mockito.when(network.getObjectMap(StartEndDetector.class)).thenReturn(new ImmutableLinkedHashMap<>(startEndDetectors));
+        OtsModelInterface model = Mockito.mock(OtsModelInterface.class);
+        Mockito.when(model.getNetwork()).thenReturn(network);
+        Mockito.doReturn(model).when(simulator).getModel();
+    }
+
+    /**
+     * Scheduled event in the mocked simulator.
+     * @param time time [s]
+     * @param order order of scheduling, for events at the same time
+     * @param executable executable
+     */
+    private record ScheduledEvent(double time, int order, Executable executable) implements Comparable<ScheduledEvent>
+    {
+        @Override
+        public int compareTo(final ScheduledEvent o)
+        {
+            int result = Double.compare(this.time, o.time);
+            return result != 0 ? result : Integer.compare(this.order, o.order);
+        }
+    }
+
+}
@@ -0,0 +1,130 @@
+package org.opentrafficsim.web;
+
+import java.io.IOException;
+
+import org.djutils.exceptions.Throw;
+import org.eclipse.jetty.http.HttpHeader;
+import org.eclipse.jetty.http.HttpMethod;
+import org.eclipse.jetty.io.Content;
+import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Response;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.util.Callback;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.opentrafficsim.core.metrics.MetricsRegistry;
+
+/**
+ * Lightweight HTTP server that exposes a metrics registry at path {@code /metrics} in the Prometheus text format, e.g. to
+ * observe long-running headless simulations. The server only listens on the local host, and uses a few daemon threads.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public class MetricsServer implements AutoCloseable
+{
+
+    /** Path of the metrics. */
+    public static final String PATH = "/metrics";
+
+    /** Server. */
+    private final Server server;
+
+    /** Connector. */
+    private final ServerConnector connector;
+
+    /**
+     * Constructor, which starts the server.
+     * @param registry metrics registry
+     * @param port port, 0 for any free port
+     * @throws IOException when the server cannot be started, e.g. because the port is in use
+     */
+    public MetricsServer(final MetricsRegistry registry, final int port) throws IOException
+    {
+        Throw.whenNull(registry, "Registry may not be null.");
+        Throw.when(port < 0 || port > 65535, IllegalArgumentException.class, "Port %d is not valid.", port);
+        QueuedThreadPool threadPool = new QueuedThreadPool(4, 2);
+        threadPool.setName("MetricsServer");
+        threadPool.setDaemon(true);
+        this.server = new Server(threadPool);
+        this.connector = new ServerConnector(this.server, 1, 1);
+        this.connector.setHost("localhost");
+        this.connector.setPort(port);
+        this.server.addConnector(this.connector);
+        this.server.setHandler(new MetricsHandler(registry));
+        try
+        {
+            this.server.start();
+        }
+        catch (Exception exception)
+        {
+            throw new IOException("Unable to start metrics server on port " + port + ".", exception);
+        }
+    }
+
+    /**
+     * Returns the port the server listens on.
+     * @return port the server listens on
+     */
+    public int getPort()
+    {
+        return this.connector.getLocalPort();
+    }
+
+    /**
+     * Stops the server.
+     * @throws IOException when the server cannot be stopped
+     */
+    @Override
+    public void close() throws IOException
+    {
+        try
+        {
+            this.server.stop();
+        }
+        catch (Exception exception)
+        {
+            throw new IOException("Unable to stop metrics server.", exception);
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return "MetricsServer [port=" + getPort() + "]";
+    }
+
+    /**
+     * Handler that writes the metrics.
+     */
+    private static final class MetricsHandler extends Handler.Abstract
+    {
+        /** Metrics registry. */
+        private final MetricsRegistry registry;
+
+        /**
+         * Constructor.
+         * @param registry metrics registry
+         */
+        MetricsHandler(final MetricsRegistry registry)
+        {
+            this.registry = registry;
+        }
+
+        @Override
+        public boolean handle(final Request request, final Response response, final Callback callback) throws Exception
+        {
+            if (!PATH.equals(Request.getPathInContext(request)) || !HttpMethod.GET.is(request.getMethod()))
+            {
+                return false;
+            }
+            response.getHeaders().put(HttpHeader.CONTENT_TYPE, MetricsRegistry.CONTENT_TYPE);
+            Content.Sink.write(response, true, this.registry.toPrometheus(), callback);
+            return true;
+        }
+    }
+
+}
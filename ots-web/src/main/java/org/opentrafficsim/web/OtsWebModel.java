@@ -21,6 +21,7 @@ import org.eclipse.jetty.util.Fields;
 import org.opentrafficsim.base.logger.Logger;
 import org.opentrafficsim.core.dsol.OtsSimulatorInterface;
 import org.opentrafficsim.core.gtu.Gtu;
+import org.opentrafficsim.web.animation.AnimationStream;
 import org.opentrafficsim.web.animation.WebAnimationToggles;
 import org.opentrafficsim.web.animation.d2.HtmlAnimationPanel;
 import org.opentrafficsim.web.animation.d2.HtmlGridPanel;
@@ -37,7 +38,8 @@ import nl.tudelft.simulation.introspection.Property;
 import nl.tudelft.simulation.introspection.beans.BeanIntrospector;
 
 /**
- * OtsWebModel.java.
+ * OtsWebModel.java. Next to the XHR requests of one viewer, any number of viewers can watch the model through its
+ * {@link AnimationStream}, each with an independent viewport.
  * <p>
  * Copyright (c) 2003-2024 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved.
  * BSD-style license. See <a href="https://opentrafficsim.org/docs/v2/license.html">OpenTrafficSim License</a>.
@@ -58,6 +60,9 @@ public class OtsWebModel implements EventListener
     /** the animation panel. */
     private HtmlAnimationPanel animationPanel;
 
+    /** the animation stream for web sockets. */
+    private AnimationStream animationStream;
+
     /** Timer update interval in msec. */
     private long lastWallTIme = -1;
 
@@ -88,6 +93,8 @@ public class OtsWebModel implements EventListener
             // get the already created elements in context(/animation/D2)
             this.animationPanel
                     .notify(new TimedEvent<>(Replication.START_REPLICATION_EVENT, null, this.simulator.getSimulatorTime()));
+            this.animationStream =
+                    new AnimationStream(this.animationPanel, this.simulator, AnimationStream.DEFAULT_TICK_MILLIS);
         }
     }
 
@@ -118,6 +125,15 @@ public class OtsWebModel implements EventListener
         return this.animationPanel;
     }
 
+    /**
+     * Return animation stream.
+     * @return animation stream, {@code null} if the simulator is not an animator
+     */
+    public final AnimationStream getAnimationStream()
+    {
+        return this.animationStream;
+    }
+
     /**
      * Return killed.
      * @return killed
@@ -134,6 +150,10 @@ public class OtsWebModel implements EventListener
     public final void setKilled(final boolean killed)
     {
         this.killed = killed;
+        if (killed && this.animationStream != null)
+        {
+            this.animationStream.stop();
+        }
     }
 
     /**
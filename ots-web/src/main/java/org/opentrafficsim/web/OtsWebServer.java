@@ -24,9 +24,11 @@ import org.eclipse.jetty.server.handler.ContextHandlerCollection;
 import org.eclipse.jetty.server.handler.ResourceHandler;
 import org.eclipse.jetty.util.Callback;
 import org.eclipse.jetty.util.Fields;
+import org.eclipse.jetty.websocket.server.WebSocketUpgradeHandler;
 import org.opentrafficsim.base.logger.Logger;
 import org.opentrafficsim.core.dsol.OtsSimulatorInterface;
 import org.opentrafficsim.core.gtu.Gtu;
+import org.opentrafficsim.web.animation.AnimationStream;
 import org.opentrafficsim.web.animation.WebAnimationToggles;
 import org.opentrafficsim.web.animation.d2.HtmlAnimationPanel;
 import org.opentrafficsim.web.animation.d2.HtmlGridPanel;
@@ -43,7 +45,8 @@ import nl.tudelft.simulation.introspection.Property;
 import nl.tudelft.simulation.introspection.beans.BeanIntrospector;
 
 /**
- * DSOLWebServer.java.
+ * DSOLWebServer.java. Next to XHR requests, the animation is streamed to web sockets at path {@code /stream}, see
+ * {@link AnimationStream}.
  * <p>
  * Copyright (c) 2003-2024 Delft University of Technology, Jaffalaan 5, 2628 BX Delft, the Netherlands. All rights reserved.
  * BSD-style license. See <a href="https://opentrafficsim.org/docs/v2/license.html">OpenTrafficSim License</a>.
@@ -64,6 +67,9 @@ public abstract class OtsWebServer implements EventListener
     /** the animation panel. */
     private HtmlAnimationPanel animationPanel;
 
+    /** the animation stream for web sockets. */
+    private AnimationStream animationStream;
+
     /**
      * Constructor.
      * @param title the title for the model window
@@ -86,6 +92,8 @@ public abstract class OtsWebServer implements EventListener
             // get the already created elements in context(/animation/D2)
             this.animationPanel
                     .notify(new TimedEvent(Replication.START_REPLICATION_EVENT, null, this.simulator.getSimulatorTime()));
+            this.animationStream =
+                    new AnimationStream(this.animationPanel, this.simulator, AnimationStream.DEFAULT_TICK_MILLIS);
         }
 
         new ServerThread().start();
@@ -119,7 +127,18 @@ public abstract class OtsWebServer implements EventListener
 
             ContextHandlerCollection handlers = new ContextHandlerCollection();
             handlers.setHandlers(new Handler[] {resourceHandler, new XHRHandler(OtsWebServer.this)});
-            server.setHandler(handlers);
+            if (OtsWebServer.this.animationStream != null)
+            {
+                AnimationStream stream = OtsWebServer.this.animationStream;
+                WebSocketUpgradeHandler webSocketHandler = WebSocketUpgradeHandler.from(server,
+                        (container) -> container.addMapping("/stream", (request, response, callback) -> stream.createSession()));
+                webSocketHandler.setHandler(handlers);
+                server.setHandler(webSocketHandler);
+            }
+            else
+            {
+                server.setHandler(handlers);
+            }
 
             try
             {
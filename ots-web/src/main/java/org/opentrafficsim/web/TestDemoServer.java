@@ -6,6 +6,7 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.djunits.unit.Unit;
 import org.djunits.value.vdouble.scalar.Duration;
@@ -28,6 +29,7 @@ import org.eclipse.jetty.session.SessionCache;
 import org.eclipse.jetty.session.SessionDataStore;
 import org.eclipse.jetty.util.Callback;
 import org.eclipse.jetty.util.Fields;
+import org.eclipse.jetty.websocket.server.WebSocketUpgradeHandler;
 import org.opentrafficsim.animation.data.util.DefaultAnimationFactory;
 import org.opentrafficsim.base.logger.Logger;
 import org.opentrafficsim.core.dsol.OtsAnimator;
@@ -53,7 +55,8 @@ import nl.tudelft.simulation.dsol.model.inputparameters.InputParameterSelectionM
 import nl.tudelft.simulation.dsol.model.inputparameters.InputParameterString;
 
 /**
- * DSOLWebServer.java.
+ * DSOLWebServer.java. Each session runs its own model. Any number of viewers can watch the model of a session at
+ * {@code stream.html?sessionId=...}, which streams the animation from web socket path {@code /stream?sessionId=...}.
  * <p>
  * Copyright (c) 2013-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
  * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
@@ -63,10 +66,10 @@ import nl.tudelft.simulation.dsol.model.inputparameters.InputParameterString;
 public class TestDemoServer
 {
     /** the map of sessionIds to OtsModelInterface that handles the animation and updates for the started model. */
-    final Map<String, OtsModelInterface> sessionModelMap = new LinkedHashMap<>();
+    final Map<String, OtsModelInterface> sessionModelMap = new ConcurrentHashMap<>();
 
     /** the map of sessionIds to OTSWebModel that handles the animation and updates for the started model. */
-    final Map<String, OtsWebModel> sessionWebModelMap = new LinkedHashMap<>();
+    final Map<String, OtsWebModel> sessionWebModelMap = new ConcurrentHashMap<>();
 
     /**
      * Run a SuperDemo OTS Web server.
@@ -129,7 +132,22 @@ public class TestDemoServer
             ContextHandlerCollection handlers = new ContextHandlerCollection();
             handlers.setHandlers(new Handler[] {handler1, handler2, handler3});
             handlers.mapContexts();
-            server.setHandler(handlers);
+
+            // viewers of a model stream its animation with /stream?sessionId=...
+            WebSocketUpgradeHandler webSocketHandler = WebSocketUpgradeHandler.from(server,
+                    (container) -> container.addMapping("/stream", (request, response, callback) ->
+                    {
+                        String sessionId = Request.extractQueryParameters(request).getValue("sessionId");
+                        OtsWebModel webModel = sessionId == null ? null : TestDemoServer.this.sessionWebModelMap.get(sessionId);
+                        if (webModel == null || webModel.getAnimationStream() == null)
+                        {
+                            Logger.ots().warn("No animation stream for session {}", sessionId);
+                            return null;
+                        }
+                        return webModel.getAnimationStream().createSession();
+                    }));
+            webSocketHandler.setHandler(handlers);
+            server.setHandler(webSocketHandler);
 
             try
             {
@@ -0,0 +1,136 @@
+package org.opentrafficsim.web.animation;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.djutils.exceptions.Throw;
+
+/**
+ * Threads on which animation streams are rendered, shared by all streams, and thus by all simulations and viewers, on a web
+ * server. One thread ticks the streams. Frames for individual viewers are encoded on a bounded pool of threads with a bounded
+ * queue. When the queue is full, a viewer skips the frame. As a viewer also skips frames while its previous frame is still
+ * being encoded or sent, each viewer gets at most one frame at a time of rendering capacity, and slow viewers do not delay
+ * other viewers or the simulation.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public final class AnimationRenderService
+{
+
+    /** Default number of render threads. */
+    public static final int DEFAULT_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+
+    /** Default number of queued frames. */
+    public static final int DEFAULT_QUEUE_CAPACITY = 256;
+
+    /** Shared default service, created when first needed. */
+    private static AnimationRenderService defaultService;
+
+    /** Executor of the ticks. */
+    private final ScheduledExecutorService ticker;
+
+    /** Bounded pool of render threads. */
+    private final ThreadPoolExecutor pool;
+
+    /**
+     * Constructor.
+     * @param threads number of render threads
+     * @param queueCapacity number of frames that can be queued
+     * @throws IllegalArgumentException when the number of threads or the queue capacity is not positive
+     */
+    public AnimationRenderService(final int threads, final int queueCapacity)
+    {
+        Throw.when(threads <= 0, IllegalArgumentException.class, "Number of threads should be positive.");
+        Throw.when(queueCapacity <= 0, IllegalArgumentException.class, "Queue capacity should be positive.");
+        this.ticker = Executors.newSingleThreadScheduledExecutor(daemonThreads("AnimationTick"));
+        this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), daemonThreads("AnimationRender"));
+    }
+
+    /**
+     * Returns the shared default service with {@link #DEFAULT_THREADS} render threads.
+     * @return shared default service
+     */
+    public static synchronized AnimationRenderService getDefault()
+    {
+        if (defaultService == null || defaultService.pool.isShutdown())
+        {
+            defaultService = new AnimationRenderService(DEFAULT_THREADS, DEFAULT_QUEUE_CAPACITY);
+        }
+        return defaultService;
+    }
+
+    /**
+     * Returns a factory of named daemon threads.
+     * @param name base name of the threads
+     * @return factory of named daemon threads
+     */
+    private static ThreadFactory daemonThreads(final String name)
+    {
+        AtomicInteger counter = new AtomicInteger();
+        return (runnable) ->
+        {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Schedules a tick at a fixed rate on the tick thread.
+     * @param tick tick
+     * @param tickMillis tick interval [ms]
+     * @return future to cancel the ticks
+     */
+    ScheduledFuture<?> scheduleTicks(final Runnable tick, final long tickMillis)
+    {
+        return this.ticker.scheduleAtFixedRate(tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Submits the rendering of a frame to the pool.
+     * @param task task that renders a frame
+     * @return whether the task was accepted, {@code false} if the queue is full or the service is shut down
+     */
+    boolean render(final Runnable task)
+    {
+        try
+        {
+            this.pool.execute(task);
+            return true;
+        }
+        catch (RejectedExecutionException exception)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the number of render threads.
+     * @return number of render threads
+     */
+    public int getThreads()
+    {
+        return this.pool.getCorePoolSize();
+    }
+
+    /**
+     * Stops the tick thread and the render threads.
+     */
+    public void shutdown()
+    {
+        this.ticker.shutdownNow();
+        this.pool.shutdownNow();
+    }
+
+}
@@ -0,0 +1,497 @@
+package org.opentrafficsim.web.animation;
+
+import java.awt.Color;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.djunits.value.vdouble.scalar.Length;
+import org.djutils.draw.line.PolyLine2d;
+import org.djutils.draw.point.DirectedPoint2d;
+import org.djutils.event.Event;
+import org.djutils.event.EventListener;
+import org.djutils.exceptions.Throw;
+import org.opentrafficsim.animation.Colors;
+import org.opentrafficsim.animation.gtu.DefaultCarAnimation.GtuData;
+import org.opentrafficsim.animation.network.LinkAnimation.LinkData;
+import org.opentrafficsim.animation.road.CrossSectionElementAnimation.CrossSectionElementData;
+import org.opentrafficsim.animation.road.LaneAnimation.LaneData;
+import org.opentrafficsim.animation.road.StripeAnimation.StripeData;
+import org.opentrafficsim.base.StripeElement;
+import org.opentrafficsim.base.logger.Logger;
+import org.opentrafficsim.core.dsol.OtsSimulatorInterface;
+import org.opentrafficsim.web.animation.d2.HtmlAnimationPanel;
+
+import nl.tudelft.simulation.dsol.animation.Locatable;
+import nl.tudelft.simulation.dsol.animation.d2.Renderable2dInterface;
+import nl.tudelft.simulation.dsol.simulators.SimulatorInterface;
+
+/**
+ * Streams the animation of an {@link HtmlAnimationPanel} to web socket sessions in a compact binary format. The static layers
+ * (links, lanes, shoulders and stripes) are sent once when a session opens. After that, every tick a delta frame is sent with
+ * only the GTUs that were added, moved, changed color or were removed relative to the previous frame of the session, and only
+ * for GTUs within the viewport of the session.
+ * <p>
+ * The state of all GTUs is gathered once per tick in a read-only snapshot that is shared by all sessions. While the simulation
+ * runs, the snapshot is taken on the simulator thread when simulation time changes, such that it is consistent with a single
+ * time, i.e. all events at the previous time were executed and none at the new time. This never blocks the simulator: if the
+ * snapshot cannot be taken immediately, it is taken at the next time change. While the simulation is not running, the snapshot
+ * is taken on the tick thread. Delta frames are encoded for each session on the bounded pool of an
+ * {@link AnimationRenderService}, which may be shared by many streams. A session that is still encoding or sending its previous
+ * frame skips the tick.
+ * </p>
+ * <p>
+ * All values are big-endian. Coordinates are in cm and written as zig-zag encoded variable length integers (varint), keys are
+ * unsigned varints. The static frame is: type (byte 0), number of shapes (int), and per shape: kind (byte, 0 = polygon, 1 =
+ * line), color (int, RGB), line width (float, m, 0 for polygons), number of points (int), and x and y for each point, relative
+ * to the previous point. The delta frame is: type (byte 1), simulation time (double, s), number of removed GTUs (int), their
+ * keys, number of updated GTUs (int), and for each updated GTU: key, flags (byte, 1 = new, 2 = position, 4 = color), if new:
+ * length and width (short, cm), if position: x and y relative to the previous position of the GTU (absolute if new) and
+ * direction (short, 10<sup>-4</sup> rad), if color: color (int, RGB). Keys of removed GTUs may be reused for new GTUs.
+ * </p>
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public class AnimationStream implements EventListener
+{
+
+    /** Default tick interval [ms]. */
+    public static final long DEFAULT_TICK_MILLIS = 50;
+
+    /** Frame type of the static layers. */
+    public static final byte STATIC_FRAME = 0;
+
+    /** Frame type of GTU changes. */
+    public static final byte DELTA_FRAME = 1;
+
+    /** Flag for a GTU that is new to the session. */
+    static final int NEW = 1;
+
+    /** Flag for a GTU of which the position or direction changed. */
+    static final int POSITION = 2;
+
+    /** Flag for a GTU of which the color changed. */
+    static final int COLOR = 4;
+
+    /** Shape kind of a filled polygon. */
+    private static final byte POLYGON = 0;
+
+    /** Shape kind of a line. */
+    private static final byte LINE = 1;
+
+    /** Color of lanes, as in the default animation. */
+    private static final Color LANE_COLOR = Color.GRAY.brighter();
+
+    /** Color of shoulders and other cross-section elements, as in the default animation. */
+    private static final Color ELEMENT_COLOR = Color.DARK_GRAY;
+
+    /** Animation panel. */
+    private final HtmlAnimationPanel animationPanel;
+
+    /** Simulator. */
+    private final OtsSimulatorInterface simulator;
+
+    /** Open sessions. */
+    private final Set<AnimationStreamSession> sessions = new CopyOnWriteArraySet<>();
+
+    /** Keys of GTU ids. */
+    private final Map<String, Integer> keys = new LinkedHashMap<>();
+
+    /** Keys that are free for reuse. */
+    private final Deque<Integer> freeKeys = new ArrayDeque<>();
+
+    /** Next key if no key is free for reuse. */
+    private int nextKey = 0;
+
+    /** Render service. */
+    private final AnimationRenderService renderService;
+
+    /** Future of the ticks. */
+    private final ScheduledFuture<?> ticks;
+
+    /** Lock for taking a snapshot, which changes the key registry. */
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+
+    /** Whether a snapshot should be taken on the simulator thread. */
+    private volatile boolean snapshotRequested = false;
+
+    /** Latest snapshot, never changed once published. */
+    private volatile GtuFrame snapshot;
+
+    /**
+     * Constructor using the shared default render service.
+     * @param animationPanel animation panel
+     * @param simulator simulator
+     * @param tickMillis tick interval [ms]
+     * @throws IllegalArgumentException when the tick interval is not positive
+     */
+    public AnimationStream(final HtmlAnimationPanel animationPanel, final OtsSimulatorInterface simulator,
+            final long tickMillis)
+    {
+        this(animationPanel, simulator, tickMillis, AnimationRenderService.getDefault());
+    }
+
+    /**
+     * Constructor.
+     * @param animationPanel animation panel
+     * @param simulator simulator
+     * @param tickMillis tick interval [ms]
+     * @param renderService render service
+     * @throws IllegalArgumentException when the tick interval is not positive
+     */
+    public AnimationStream(final HtmlAnimationPanel animationPanel, final OtsSimulatorInterface simulator,
+            final long tickMillis, final AnimationRenderService renderService)
+    {
+        Throw.whenNull(animationPanel, "animationPanel");
+        Throw.whenNull(simulator, "simulator");
+        Throw.when(tickMillis <= 0, IllegalArgumentException.class, "Tick interval should be positive.");
+        Throw.whenNull(renderService, "renderService");
+        this.animationPanel = animationPanel;
+        this.simulator = simulator;
+        this.renderService = renderService;
+        simulator.addListener(this, SimulatorInterface.TIME_CHANGED_EVENT);
+        this.ticks = renderService.scheduleTicks(this::tick, tickMillis);
+    }
+
+    /**
+     * Creates a new session, which is added to the stream once the web socket is opened.
+     * @return new session
+     */
+    public AnimationStreamSession createSession()
+    {
+        return new AnimationStreamSession(this);
+    }
+
+    /**
+     * Adds an open session.
+     * @param session session
+     */
+    void addSession(final AnimationStreamSession session)
+    {
+        this.sessions.add(session);
+    }
+
+    /**
+     * Removes a closed session.
+     * @param session session
+     */
+    void removeSession(final AnimationStreamSession session)
+    {
+        this.sessions.remove(session);
+    }
+
+    /**
+     * Returns the number of open sessions.
+     * @return number of open sessions
+     */
+    public int getSessionCount()
+    {
+        return this.sessions.size();
+    }
+
+    /**
+     * Stops the ticks. Open sessions are not closed. The render service is not shut down, as it may be shared.
+     */
+    public void stop()
+    {
+        this.ticks.cancel(false);
+        this.simulator.removeListener(this, SimulatorInterface.TIME_CHANGED_EVENT);
+    }
+
+    /**
+     * Returns the render service.
+     * @return render service
+     */
+    AnimationRenderService getRenderService()
+    {
+        return this.renderService;
+    }
+
+    /**
+     * Requests a new snapshot and sends the latest snapshot to all sessions.
+     */
+    private void tick()
+    {
+        if (this.sessions.isEmpty())
+        {
+            return;
+        }
+        try
+        {
+            if (this.simulator.isStartingOrRunning())
+            {
+                this.snapshotRequested = true;
+            }
+            else
+            {
+                // state does not change, except for e.g. colors, so take the snapshot on this thread
+                this.snapshotLock.lock();
+                try
+                {
+                    this.snapshot = createFrame();
+                }
+                finally
+                {
+                    this.snapshotLock.unlock();
+                }
+            }
+            GtuFrame frame = this.snapshot;
+            if (frame != null)
+            {
+                for (AnimationStreamSession session : this.sessions)
+                {
+                    session.sendDelta(frame);
+                }
+            }
+        }
+        catch (RuntimeException exception)
+        {
+            // an exception would cancel all future ticks
+            Logger.ots().warn(exception, "AnimationStream tick");
+        }
+    }
+
+    /**
+     * Takes a requested snapshot when simulation time changes. This is invoked on the simulator thread.
+     */
+    @Override
+    public void notify(final Event event)
+    {
+        if (this.snapshotRequested && this.snapshotLock.tryLock())
+        {
+            try
+            {
+                this.snapshotRequested = false;
+                this.snapshot = createFrame();
+            }
+            catch (RuntimeException exception)
+            {
+                // an exception would disrupt the simulation
+                Logger.ots().warn(exception, "AnimationStream snapshot");
+            }
+            finally
+            {
+                this.snapshotLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Gathers the state of all visible GTUs. The snapshot lock should be held.
+     * @return frame with the state of all visible GTUs
+     */
+    private GtuFrame createFrame()
+    {
+        List<Renderable2dInterface<? extends Locatable>> elements = this.animationPanel.getElementList();
+        int n = 0;
+        int[] frameKeys = new int[elements.size()];
+        String[] ids = new String[elements.size()];
+        int[] x = new int[elements.size()];
+        int[] y = new int[elements.size()];
+        short[] direction = new short[elements.size()];
+        short[] length = new short[elements.size()];
+        short[] width = new short[elements.size()];
+        int[] color = new int[elements.size()];
+        Set<String> present = new LinkedHashSet<>();
+        for (Renderable2dInterface<? extends Locatable> element : elements)
+        {
+            if (element.getSource() instanceof GtuData gtu && this.animationPanel.isShowElement(element))
+            {
+                DirectedPoint2d location = gtu.getLocation();
+                if (location == null)
+                {
+                    continue;
+                }
+                String id = gtu.getId();
+                present.add(id);
+                frameKeys[n] =
+                        this.keys.computeIfAbsent(id, (i) -> this.freeKeys.isEmpty() ? this.nextKey++ : this.freeKeys.pop());
+                ids[n] = id;
+                x[n] = toCentimeters(location.x);
+                y[n] = toCentimeters(location.y);
+                direction[n] = toDirection(location.dirZ);
+                length[n] = (short) toCentimeters(gtu.getLength().si);
+                width[n] = (short) toCentimeters(gtu.getWidth().si);
+                color[n] = gtu.getColor().getRGB() & 0xFFFFFF;
+                n++;
+            }
+        }
+        Iterator<Entry<String, Integer>> iterator = this.keys.entrySet().iterator();
+        while (iterator.hasNext())
+        {
+            Entry<String, Integer> entry = iterator.next();
+            if (!present.contains(entry.getKey()))
+            {
+                this.freeKeys.push(entry.getValue());
+                iterator.remove();
+            }
+        }
+        return new GtuFrame(this.simulator.getSimulatorTime().si, n, this.nextKey, frameKeys, ids, x, y, direction, length,
+                width, color);
+    }
+
+    /**
+     * Encodes the static layers, in so far as they are visible in the animation panel.
+     * @return static frame
+     */
+    ByteBuffer encodeStatic()
+    {
+        List<Shape> shapes = new ArrayList<>();
+        for (Renderable2dInterface<? extends Locatable> element : this.animationPanel.getElementList())
+        {
+            if (!this.animationPanel.isShowElement(element))
+            {
+                continue;
+            }
+            Locatable source = element.getSource();
+            if (source instanceof LaneData lane)
+            {
+                shapes.add(new Shape(POLYGON, LANE_COLOR, 0.0f, lane.getAbsoluteContour()));
+            }
+            else if (source instanceof CrossSectionElementData crossSectionElement)
+            {
+                shapes.add(new Shape(POLYGON, ELEMENT_COLOR, 0.0f, crossSectionElement.getAbsoluteContour()));
+            }
+            else if (source instanceof StripeData stripe)
+            {
+                // dashes are drawn as a continuous line in the color of the first element
+                Color color = Color.WHITE;
+                for (StripeElement stripeElement : stripe.getElements())
+                {
+                    if (stripeElement.color() != null)
+                    {
+                        color = stripeElement.color();
+                        break;
+                    }
+                }
+                shapes.add(new Shape(LINE, color, (float) stripe.getWidth(Length.ZERO).si, stripe.getCenterLine()));
+            }
+            else if (source instanceof LinkData link)
+            {
+                shapes.add(new Shape(LINE, link.isConnector() ? Color.PINK.darker() : Colors.OTS_BLUE, 0.0f,
+                        link.getCenterLine()));
+            }
+        }
+        int size = 1 + Integer.BYTES;
+        for (Shape shape : shapes)
+        {
+            size += 1 + Integer.BYTES + Float.BYTES + Integer.BYTES + 10 * shape.line().size();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(STATIC_FRAME);
+        buffer.putInt(shapes.size());
+        for (Shape shape : shapes)
+        {
+            buffer.put(shape.kind());
+            buffer.putInt(shape.color().getRGB() & 0xFFFFFF);
+            buffer.putFloat(shape.width());
+            PolyLine2d line = shape.line();
+            buffer.putInt(line.size());
+            int prevX = 0;
+            int prevY = 0;
+            for (int i = 0; i < line.size(); i++)
+            {
+                int pointX = toCentimeters(line.getX(i));
+                int pointY = toCentimeters(line.getY(i));
+                writeSignedVarint(buffer, pointX - prevX);
+                writeSignedVarint(buffer, pointY - prevY);
+                prevX = pointX;
+                prevY = pointY;
+            }
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Converts a value in m to cm.
+     * @param value value [m]
+     * @return value [cm]
+     */
+    static int toCentimeters(final double value)
+    {
+        return (int) Math.round(value * 100.0);
+    }
+
+    /**
+     * Converts a direction to 10<sup>-4</sup> rad in the range [-&pi;, &pi;].
+     * @param dirZ direction [rad]
+     * @return direction [10<sup>-4</sup> rad]
+     */
+    static short toDirection(final double dirZ)
+    {
+        double normalized = Math.IEEEremainder(dirZ, 2.0 * Math.PI);
+        return (short) Math.round(normalized * 10000.0);
+    }
+
+    /**
+     * Writes an unsigned variable length integer, using 7 bits per byte.
+     * @param buffer buffer
+     * @param value value, interpreted as unsigned
+     */
+    static void writeVarint(final ByteBuffer buffer, final int value)
+    {
+        int remainder = value;
+        while ((remainder & ~0x7F) != 0)
+        {
+            buffer.put((byte) ((remainder & 0x7F) | 0x80));
+            remainder >>>= 7;
+        }
+        buffer.put((byte) remainder);
+    }
+
+    /**
+     * Writes a zig-zag encoded variable length integer, such that small negative values take few bytes.
+     * @param buffer buffer
+     * @param value value
+     */
+    static void writeSignedVarint(final ByteBuffer buffer, final int value)
+    {
+        writeVarint(buffer, (value << 1) ^ (value >> 31));
+    }
+
+    /**
+     * Shape of a static layer.
+     * @param kind shape kind
+     * @param color color
+     * @param width line width [m]
+     * @param line line, or polygon
+     */
+    private record Shape(byte kind, Color color, float width, PolyLine2d line)
+    {
+    }
+
+    /**
+     * State of all visible GTUs in one tick. The arrays are filled up to the number of GTUs and are not changed once the frame
+     * is published.
+     * @param time simulation time [s]
+     * @param size number of GTUs
+     * @param keyCount number of keys in use or free, i.e. one more than the highest key
+     * @param keys keys
+     * @param ids GTU ids
+     * @param x x-coordinates [cm]
+     * @param y y-coordinates [cm]
+     * @param direction directions [10<sup>-4</sup> rad]
+     * @param length lengths [cm]
+     * @param width widths [cm]
+     * @param color colors (RGB)
+     */
+    record GtuFrame(double time, int size, int keyCount, int[] keys, String[] ids, int[] x, int[] y, short[] direction,
+            short[] length, short[] width, int[] color)
+    {
+    }
+
+}
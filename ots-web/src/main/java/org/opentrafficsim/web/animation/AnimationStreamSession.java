@@ -0,0 +1,304 @@
+package org.opentrafficsim.web.animation;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.djutils.draw.bounds.Bounds2d;
+import org.eclipse.jetty.websocket.api.Callback;
+import org.eclipse.jetty.websocket.api.Session;
+import org.opentrafficsim.base.logger.Logger;
+import org.opentrafficsim.web.animation.AnimationStream.GtuFrame;
+
+/**
+ * Web socket session of an {@link AnimationStream}. The session remembers which GTUs were sent, and in what state, such that
+ * only changes are sent. The browser can set the viewport with a text message {@code viewport|minX|minY|maxX|maxY} in world
+ * coordinates. Only GTUs within the viewport are sent. Without viewport, all GTUs are sent. Frames are encoded on a render
+ * thread, at most one at a time per session, and the state of the session is only accessed by that thread.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public final class AnimationStreamSession implements Session.Listener.AutoDemanding
+{
+
+    /** Margin around the viewport within which GTUs are sent, such that GTUs entering the viewport are already known [m]. */
+    private static final double VIEWPORT_MARGIN = 20.0;
+
+    /** Worst-case number of bytes per updated GTU. */
+    private static final int BYTES_PER_GTU = 5 + 1 + 2 * Short.BYTES + 2 * 5 + Short.BYTES + Integer.BYTES;
+
+    /** Stream. */
+    private final AnimationStream stream;
+
+    /** Web socket session. */
+    private volatile Session session;
+
+    /** Viewport including margin, {@code null} for all GTUs. */
+    private volatile Bounds2d viewport;
+
+    /** Whether a frame is being sent. */
+    private final AtomicBoolean sending = new AtomicBoolean();
+
+    /** Ids of GTUs as sent, per key, {@code null} if no GTU with the key was sent or if it was removed. */
+    private String[] sentIds = new String[0];
+
+    /** Sent x-coordinates per key [cm]. */
+    private int[] sentX = new int[0];
+
+    /** Sent y-coordinates per key [cm]. */
+    private int[] sentY = new int[0];
+
+    /** Sent directions per key [10<sup>-4</sup> rad]. */
+    private short[] sentDirection = new short[0];
+
+    /** Sent colors per key. */
+    private int[] sentColor = new int[0];
+
+    /** Tick number when the key was last within the viewport. */
+    private int[] seen = new int[0];
+
+    /** Tick number. */
+    private int tick = 0;
+
+    /** Buffer for delta frames, reused as only one frame is sent at a time. */
+    private ByteBuffer buffer = ByteBuffer.allocate(1024);
+
+    /**
+     * Constructor.
+     * @param stream stream
+     */
+    AnimationStreamSession(final AnimationStream stream)
+    {
+        this.stream = stream;
+    }
+
+    @Override
+    public void onWebSocketOpen(final Session openedSession)
+    {
+        this.session = openedSession;
+        this.sending.set(true);
+        this.stream.addSession(this);
+        openedSession.sendBinary(this.stream.encodeStatic(), sentCallback());
+    }
+
+    @Override
+    public void onWebSocketText(final String message)
+    {
+        String[] parts = message.split("\\|");
+        if (parts.length != 5 || !parts[0].equals("viewport"))
+        {
+            Logger.ots().error("Got unknown message from client: {}", message);
+            return;
+        }
+        try
+        {
+            double minX = Double.parseDouble(parts[1]) - VIEWPORT_MARGIN;
+            double minY = Double.parseDouble(parts[2]) - VIEWPORT_MARGIN;
+            double maxX = Double.parseDouble(parts[3]) + VIEWPORT_MARGIN;
+            double maxY = Double.parseDouble(parts[4]) + VIEWPORT_MARGIN;
+            this.viewport = new Bounds2d(minX, maxX, minY, maxY);
+        }
+        catch (IllegalArgumentException exception)
+        {
+            Logger.ots().error("wrong viewport message: {}", message);
+        }
+    }
+
+    @Override
+    public void onWebSocketClose(final int statusCode, final String reason, final Callback callback)
+    {
+        this.stream.removeSession(this);
+        callback.succeed();
+    }
+
+    @Override
+    public void onWebSocketError(final Throwable cause)
+    {
+        Logger.ots().warn(cause, "AnimationStreamSession");
+        this.stream.removeSession(this);
+    }
+
+    /**
+     * Returns a callback that allows the next frame to be sent.
+     * @return callback that allows the next frame to be sent
+     */
+    private Callback sentCallback()
+    {
+        return Callback.from(() -> this.sending.set(false), (throwable) ->
+        {
+            this.sending.set(false);
+            Logger.ots().debug("Unable to send animation frame: {}", throwable.getMessage());
+        });
+    }
+
+    /**
+     * Sends the changes of GTUs within the viewport relative to the previous frame on a render thread, unless the previous
+     * frame is still being encoded or sent, or the render queue is full.
+     * @param frame state of all visible GTUs
+     */
+    void sendDelta(final GtuFrame frame)
+    {
+        Session openSession = this.session;
+        if (openSession == null || !openSession.isOpen() || !this.sending.compareAndSet(false, true))
+        {
+            return;
+        }
+        if (!this.stream.getRenderService().render(() -> encodeAndSend(openSession, frame)))
+        {
+            this.sending.set(false);
+        }
+    }
+
+    /**
+     * Encodes and sends the changes of GTUs within the viewport relative to the previous frame, if there are any changes.
+     * @param openSession web socket session
+     * @param frame state of all visible GTUs
+     */
+    private void encodeAndSend(final Session openSession, final GtuFrame frame)
+    {
+        try
+        {
+            if (encodeDelta(frame))
+            {
+                openSession.sendBinary(this.buffer, sentCallback());
+                return;
+            }
+        }
+        catch (RuntimeException exception)
+        {
+            Logger.ots().warn(exception, "AnimationStreamSession");
+        }
+        this.sending.set(false);
+    }
+
+    /**
+     * Encodes the changes of GTUs within the viewport relative to the previous frame in the buffer, and updates the sent state.
+     * @param frame state of all visible GTUs
+     * @return whether there are any changes
+     */
+    private boolean encodeDelta(final GtuFrame frame)
+    {
+        ensureKeyCapacity(frame.keyCount());
+        ensureBufferCapacity(1 + Double.BYTES + 2 * Integer.BYTES + 5 * this.sentIds.length + BYTES_PER_GTU * frame.size());
+        this.tick++;
+        Bounds2d bounds = this.viewport;
+
+        // mark GTUs within the viewport
+        for (int i = 0; i < frame.size(); i++)
+        {
+            if (bounds == null || bounds.contains(frame.x()[i] / 100.0, frame.y()[i] / 100.0))
+            {
+                this.seen[frame.keys()[i]] = this.tick;
+            }
+        }
+
+        ByteBuffer data = this.buffer.clear();
+        data.put(AnimationStream.DELTA_FRAME);
+        data.putDouble(frame.time());
+
+        // removed GTUs
+        int countPosition = data.position();
+        data.putInt(0);
+        int removed = 0;
+        for (int key = 0; key < this.sentIds.length; key++)
+        {
+            if (this.sentIds[key] != null && this.seen[key] != this.tick)
+            {
+                AnimationStream.writeVarint(data, key);
+                this.sentIds[key] = null;
+                removed++;
+            }
+        }
+        data.putInt(countPosition, removed);
+
+        // updated GTUs
+        countPosition = data.position();
+        data.putInt(0);
+        int updated = 0;
+        for (int i = 0; i < frame.size(); i++)
+        {
+            int key = frame.keys()[i];
+            if (this.seen[key] != this.tick)
+            {
+                continue;
+            }
+            boolean isNew = !frame.ids()[i].equals(this.sentIds[key]);
+            int flags = isNew ? AnimationStream.NEW | AnimationStream.POSITION | AnimationStream.COLOR : 0;
+            if (!isNew && (frame.x()[i] != this.sentX[key] || frame.y()[i] != this.sentY[key]
+                    || frame.direction()[i] != this.sentDirection[key]))
+            {
+                flags |= AnimationStream.POSITION;
+            }
+            if (!isNew && frame.color()[i] != this.sentColor[key])
+            {
+                flags |= AnimationStream.COLOR;
+            }
+            if (flags == 0)
+            {
+                continue;
+            }
+            AnimationStream.writeVarint(data, key);
+            data.put((byte) flags);
+            if (isNew)
+            {
+                data.putShort(frame.length()[i]);
+                data.putShort(frame.width()[i]);
+                this.sentIds[key] = frame.ids()[i];
+                this.sentX[key] = 0;
+                this.sentY[key] = 0;
+            }
+            if ((flags & AnimationStream.POSITION) != 0)
+            {
+                AnimationStream.writeSignedVarint(data, frame.x()[i] - this.sentX[key]);
+                AnimationStream.writeSignedVarint(data, frame.y()[i] - this.sentY[key]);
+                data.putShort(frame.direction()[i]);
+                this.sentX[key] = frame.x()[i];
+                this.sentY[key] = frame.y()[i];
+                this.sentDirection[key] = frame.direction()[i];
+            }
+            if ((flags & AnimationStream.COLOR) != 0)
+            {
+                data.putInt(frame.color()[i]);
+                this.sentColor[key] = frame.color()[i];
+            }
+            updated++;
+        }
+        data.putInt(countPosition, updated);
+        data.flip();
+        return removed > 0 || updated > 0;
+    }
+
+    /**
+     * Grows the arrays of sent state to contain all keys.
+     * @param keyCount number of keys
+     */
+    private void ensureKeyCapacity(final int keyCount)
+    {
+        if (keyCount > this.sentIds.length)
+        {
+            int capacity = Math.max(keyCount, 2 * this.sentIds.length);
+            this.sentIds = Arrays.copyOf(this.sentIds, capacity);
+            this.sentX = Arrays.copyOf(this.sentX, capacity);
+            this.sentY = Arrays.copyOf(this.sentY, capacity);
+            this.sentDirection = Arrays.copyOf(this.sentDirection, capacity);
+            this.sentColor = Arrays.copyOf(this.sentColor, capacity);
+            this.seen = Arrays.copyOf(this.seen, capacity);
+        }
+    }
+
+    /**
+     * Grows the buffer to at least the given capacity.
+     * @param capacity capacity
+     */
+    private void ensureBufferCapacity(final int capacity)
+    {
+        if (capacity > this.buffer.capacity())
+        {
+            this.buffer = ByteBuffer.allocate(Math.max(capacity, 2 * this.buffer.capacity()));
+        }
+    }
+
+}
@@ -67,11 +67,14 @@ public class HtmlAnimationPanel extends HtmlGridPanel implements EventListener
     /** enable drag line. */
     private boolean dragLineEnabled = false;
 
-    /** List of drawable objects. */
-    private List<Renderable2dInterface<? extends Locatable>> elementList = new ArrayList<>();
+    /** Read-only list of drawable objects, replaced (copy-on-write) when elements were added or removed. */
+    private volatile List<Renderable2dInterface<? extends Locatable>> elementList = List.of();
+
+    /** Lock for the elements, only held to add, remove or copy elements. */
+    private final Object elementLock = new Object();
 
     /** dirty flag for the list. */
-    private boolean dirtyElements = false;
+    private volatile boolean dirtyElements = false;
 
     /** Map of toggle names to toggle animation classes. */
     private Map<String, Class<? extends Locatable>> toggleLocatableMap = new LinkedHashMap<>();
@@ -123,19 +126,8 @@ public class HtmlAnimationPanel extends HtmlGridPanel implements EventListener
         // draw the grid.
         super.paintComponent(g2);
 
-        // update drawable elements when necessary
-        if (this.dirtyElements)
-        {
-            synchronized (this.elementList)
-            {
-                this.elementList.clear();
-                this.elementList.addAll(this.elements);
-                this.dirtyElements = false;
-            }
-        }
-
         // draw the animation elements.
-        for (Renderable2dInterface<? extends Locatable> element : this.elementList)
+        for (Renderable2dInterface<? extends Locatable> element : getElementList())
         {
             // destroy has been called?
             if (element.getSource() == null)
@@ -227,7 +219,7 @@ public class HtmlAnimationPanel extends HtmlGridPanel implements EventListener
         else if // (this.simulator.getSourceId().equals(event.getSourceId()) &&
         (event.getType().equals(Replication.START_REPLICATION_EVENT))
         {
-            synchronized (this.elementList)
+            synchronized (this.elementLock)
             {
                 this.elements.clear();
                 try
@@ -262,7 +254,7 @@ public class HtmlAnimationPanel extends HtmlGridPanel implements EventListener
      */
     public void objectAdded(final Renderable2dInterface<? extends Locatable> element)
     {
-        synchronized (this.elementList)
+        synchronized (this.elementLock)
         {
             this.elements.add(element);
             this.dirtyElements = true;
@@ -275,7 +267,7 @@ public class HtmlAnimationPanel extends HtmlGridPanel implements EventListener
      */
     public void objectRemoved(final Renderable2dInterface<? extends Locatable> element)
     {
-        synchronized (this.elementList)
+        synchronized (this.elementLock)
         {
             this.elements.remove(element);
             this.dirtyElements = true;
@@ -294,7 +286,7 @@ public class HtmlAnimationPanel extends HtmlGridPanel implements EventListener
         double maxY = -Double.MAX_VALUE;
         try
         {
-            for (Renderable2dInterface<? extends Locatable> renderable : this.elementList)
+            for (Renderable2dInterface<? extends Locatable> renderable : getElementList())
             {
                 if (renderable.getSource() == null)
                 {
@@ -382,6 +374,27 @@ public class HtmlAnimationPanel extends HtmlGridPanel implements EventListener
         return this.elements;
     }
 
+    /**
+     * Returns a read-only list of the animation elements, which can be used while elements are added or removed. The list is
+     * only copied when elements were added or removed since the previous call, such that many viewers can share it.
+     * @return read-only list of the animation elements
+     */
+    public final List<Renderable2dInterface<? extends Locatable>> getElementList()
+    {
+        if (this.dirtyElements)
+        {
+            synchronized (this.elementLock)
+            {
+                if (this.dirtyElements)
+                {
+                    this.dirtyElements = false;
+                    this.elementList = List.copyOf(this.elements);
+                }
+            }
+        }
+        return this.elementList;
+    }
+
     /**
      * Returns drag line.
      * @return returns the dragLine.
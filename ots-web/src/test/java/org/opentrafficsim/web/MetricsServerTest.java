@@ -0,0 +1,109 @@
+package org.opentrafficsim.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import javax.naming.NamingException;
+
+import org.djunits.value.vdouble.scalar.Duration;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.opentrafficsim.core.dsol.OtsModelInterface;
+import org.opentrafficsim.core.dsol.OtsSimulator;
+import org.opentrafficsim.core.metrics.Counter;
+import org.opentrafficsim.core.metrics.MetricsRegistry;
+import org.opentrafficsim.core.perception.HistoryManagerDevs;
+import org.opentrafficsim.road.gtu.CollisionDetector;
+import org.opentrafficsim.road.gtu.LaneBasedGtu;
+import org.opentrafficsim.road.metrics.RoadMetrics;
+import org.opentrafficsim.road.network.RoadNetwork;
+
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+
+/**
+ * Test of MetricsServer, which serves the metrics of a registry in the Prometheus text format.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public final class MetricsServerTest
+{
+
+    /** */
+    private MetricsServerTest()
+    {
+        // do not instantiate test class
+    }
+
+    /**
+     * Tests that the metrics, including the road metrics, are served on an ephemeral port.
+     * @throws IOException if that happens uncaught; this test has failed
+     * @throws InterruptedException if that happens uncaught; this test has failed
+     * @throws NamingException if that happens uncaught; this test has failed
+     * @throws SimRuntimeException if that happens uncaught; this test has failed
+     */
+    @Test
+    public void testServer() throws IOException, InterruptedException, SimRuntimeException, NamingException
+    {
+        OtsSimulator simulator = new OtsSimulator("Simulator for MetricsServer test");
+        simulator.initialize(Duration.ZERO, Duration.ZERO, Duration.ofSI(3600.0), Mockito.mock(OtsModelInterface.class),
+                HistoryManagerDevs.noHistory(simulator));
+        RoadNetwork network = new RoadNetwork("network", simulator);
+        CollisionDetector collisionDetector = new CollisionDetector(network);
+        MetricsRegistry registry = new MetricsRegistry();
+        Counter counter = registry.counter("test_total", "Test counter.");
+        registry.gauge("test_gauge", "Test gauge.", () -> 0.5);
+        RoadMetrics.registerGeneratorQueues(registry, network);
+        RoadMetrics.registerCollisions(registry, collisionDetector);
+
+        assertThrows(IllegalArgumentException.class, () -> new MetricsServer(registry, -1));
+        assertThrows(IllegalArgumentException.class, () -> new MetricsServer(registry, 65536));
+        assertThrows(NullPointerException.class, () -> new MetricsServer(null, 0));
+
+        HttpClient client = HttpClient.newHttpClient();
+        try (MetricsServer server = new MetricsServer(registry, 0))
+        {
+            assertTrue(server.getPort() > 0, "An ephemeral port should be assigned.");
+            URI uri = URI.create("http://localhost:" + server.getPort() + MetricsServer.PATH);
+
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode());
+            assertEquals(MetricsRegistry.CONTENT_TYPE, response.headers().firstValue("Content-Type").orElseThrow());
+            assertEquals(registry.toPrometheus(), response.body());
+            assertTrue(response.body().contains("test_total 0\n"), response.body());
+            assertTrue(response.body().contains("test_gauge 0.5\n"), response.body());
+            assertTrue(response.body().contains("# TYPE ots_generator_queue_length gauge\n"), response.body());
+            assertTrue(response.body().contains("ots_collisions_total 0\n"), response.body());
+
+            // every request reflects the current state
+            counter.add(3L);
+            collisionDetector.fireEvent(CollisionDetector.COLLISION,
+                    new Object[] {Mockito.mock(LaneBasedGtu.class), Mockito.mock(LaneBasedGtu.class)});
+            response = client.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.ofString());
+            assertTrue(response.body().contains("test_total 3\n"), response.body());
+            assertTrue(response.body().contains("ots_collisions_total 1\n"), response.body());
+
+            // other paths and methods are not served
+            URI other = URI.create("http://localhost:" + server.getPort() + "/other");
+            assertEquals(404, client.send(HttpRequest.newBuilder(other).GET().build(), HttpResponse.BodyHandlers.discarding())
+                    .statusCode());
+            assertEquals(404, client.send(HttpRequest.newBuilder(uri).POST(HttpRequest.BodyPublishers.noBody()).build(),
+                    HttpResponse.BodyHandlers.discarding()).statusCode());
+
+            // the port is in use
+            int port = server.getPort();
+            assertThrows(IOException.class, () -> new MetricsServer(registry, port));
+        }
+    }
+
+}
@@ -0,0 +1,125 @@
+package org.opentrafficsim.web.animation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.awt.Color;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.djunits.value.vdouble.scalar.Duration;
+import org.djunits.value.vdouble.scalar.Length;
+import org.djutils.draw.point.DirectedPoint2d;
+import org.eclipse.jetty.websocket.api.Callback;
+import org.eclipse.jetty.websocket.api.Session;
+import org.junit.jupiter.api.Test;
+import org.opentrafficsim.animation.gtu.DefaultCarAnimation.GtuData;
+import org.opentrafficsim.core.dsol.OtsSimulatorInterface;
+import org.opentrafficsim.web.animation.d2.HtmlAnimationPanel;
+
+import nl.tudelft.simulation.dsol.animation.Locatable;
+import nl.tudelft.simulation.dsol.animation.d2.Renderable2dInterface;
+
+/**
+ * Test of AnimationStreamSession, which streams the frames of an AnimationStream over a web socket session.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public final class AnimationStreamSessionTest
+{
+
+    /** */
+    private AnimationStreamSessionTest()
+    {
+        // do not instantiate test class
+    }
+
+    /**
+     * Tests that an opened session receives the static frame and a delta frame with a GTU, and is removed when closed.
+     * @throws InterruptedException if that happens uncaught; this test has failed
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSession() throws InterruptedException
+    {
+        GtuData gtu = mock(GtuData.class);
+        when(gtu.getId()).thenReturn("gtu1");
+        when(gtu.getLocation()).thenReturn(new DirectedPoint2d(12.34, -5.6, 0.5));
+        when(gtu.getLength()).thenReturn(Length.ofSI(4.0));
+        when(gtu.getWidth()).thenReturn(Length.ofSI(1.8));
+        when(gtu.getColor()).thenReturn(Color.RED);
+        Renderable2dInterface<GtuData> element = mock(Renderable2dInterface.class);
+        when(element.getSource()).thenReturn(gtu);
+        HtmlAnimationPanel animationPanel = mock(HtmlAnimationPanel.class);
+        when(animationPanel.getElementList()).thenReturn(List.<Renderable2dInterface<? extends Locatable>> of(element));
+        when(animationPanel.isShowElement(any())).thenReturn(true);
+        OtsSimulatorInterface simulator = mock(OtsSimulatorInterface.class);
+        when(simulator.getSimulatorTime()).thenReturn(Duration.ofSI(1.5));
+
+        // a web socket session that stores the sent frames
+        BlockingQueue<ByteBuffer> frames = new LinkedBlockingQueue<>();
+        Session webSocketSession = mock(Session.class);
+        when(webSocketSession.isOpen()).thenReturn(true);
+        doAnswer((invocation) ->
+        {
+            ByteBuffer sent = invocation.getArgument(0);
+            ByteBuffer copy = ByteBuffer.allocate(sent.remaining());
+            copy.put(sent.duplicate()).flip();
+            frames.add(copy);
+            ((Callback) invocation.getArgument(1)).succeed();
+            return null;
+        }).when(webSocketSession).sendBinary(any(), any());
+
+        AnimationRenderService renderService = new AnimationRenderService(1, 4);
+        AnimationStream stream = new AnimationStream(animationPanel, simulator, 10L, renderService);
+        try
+        {
+            AnimationStreamSession session = stream.createSession();
+            assertEquals(0, stream.getSessionCount());
+            session.onWebSocketOpen(webSocketSession);
+            assertEquals(1, stream.getSessionCount());
+
+            ByteBuffer staticFrame = frames.poll(5L, TimeUnit.SECONDS);
+            assertNotNull(staticFrame);
+            assertEquals(AnimationStream.STATIC_FRAME, staticFrame.get());
+            assertEquals(0, staticFrame.getInt(), "No static layers are visible.");
+
+            ByteBuffer deltaFrame = frames.poll(5L, TimeUnit.SECONDS);
+            assertNotNull(deltaFrame, "A delta frame should be sent on a tick.");
+            assertEquals(AnimationStream.DELTA_FRAME, deltaFrame.get());
+            assertEquals(1.5, deltaFrame.getDouble(), 0.0);
+            assertEquals(0, deltaFrame.getInt(), "No GTU should be removed.");
+            assertEquals(1, deltaFrame.getInt(), "One GTU should be updated.");
+            assertEquals(0, deltaFrame.get(), "Key of the first GTU.");
+            assertEquals(AnimationStream.NEW | AnimationStream.POSITION | AnimationStream.COLOR, deltaFrame.get());
+            assertEquals(400, deltaFrame.getShort());
+            assertEquals(180, deltaFrame.getShort());
+
+            // an unchanged GTU is not sent again
+            assertNull(frames.poll(200L, TimeUnit.MILLISECONDS));
+
+            Callback callback = mock(Callback.class);
+            session.onWebSocketClose(1000, "closed", callback);
+            verify(callback).succeed();
+            assertEquals(0, stream.getSessionCount());
+        }
+        finally
+        {
+            stream.stop();
+            renderService.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,636 @@
+package org.opentrafficsim.road.network.factory.xml;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.djunits.value.vdouble.scalar.Duration;
+import org.djutils.event.Event;
+import org.djutils.event.EventListener;
+import org.djutils.exceptions.Throw;
+import org.djutils.io.ResourceResolver;
+import org.opentrafficsim.base.logger.Logger;
+import org.opentrafficsim.core.dsol.AbstractOtsModel;
+import org.opentrafficsim.core.dsol.OtsSimulator;
+import org.opentrafficsim.core.dsol.OtsSimulatorInterface;
+import org.opentrafficsim.core.network.Network;
+import org.opentrafficsim.core.perception.HistoryManagerDevs;
+import org.opentrafficsim.road.network.RoadNetwork;
+import org.opentrafficsim.road.network.factory.xml.parser.ScenarioParser;
+import org.opentrafficsim.road.network.factory.xml.parser.XmlParser;
+import org.opentrafficsim.xml.generated.Ots;
+import org.xml.sax.SAXException;
+
+import jakarta.xml.bind.JAXBException;
+import nl.tudelft.simulation.dsol.SimRuntimeException;
+import nl.tudelft.simulation.dsol.experiment.StreamInformation;
+import nl.tudelft.simulation.dsol.simulators.ErrorStrategy;
+import nl.tudelft.simulation.jstats.streams.MersenneTwister;
+
+/**
+ * Runs an XML scenario for all combinations of scenarios, input parameter values and seeds. The XML is parsed once and the
+ * resulting tags are shared by all runs. Each run is an independent headless simulation on a bounded pool of worker threads.
+ * Results are appended to a single CSV file as soon as a run completes, so the rows are in order of completion. Each row
+ * contains the run number, the scenario, the input parameter values, the seed, the default KPIs and the KPIs that are added
+ * with {@link #addKpi(String, Function)}. The default KPIs, in SI units, are determined from the end of the warm-up period:
+ * <ul>
+ * <li>{@code generated}: number of GTUs that entered the network</li>
+ * <li>{@code arrived}: number of GTUs that left the network</li>
+ * <li>{@code totalDistance}: total distance traveled by all GTUs [m]</li>
+ * <li>{@code totalTravelTime}: total time spent in the network by all GTUs [s]</li>
+ * <li>{@code meanSpeed}: total distance divided by total travel time [m/s]</li>
+ * </ul>
+ * A run that fails results in a row without KPIs, and with the exception message in the last column {@code error}. Other runs
+ * continue.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public class ScenarioSweep
+{
+
+    /** Names of the default KPIs. */
+    private static final List<String> DEFAULT_KPIS =
+            List.of("generated", "arrived", "totalDistance", "totalTravelTime", "meanSpeed");
+
+    /** Main OTS tag, shared by all runs. */
+    private final Ots ots;
+
+    /** Names of the input parameters defined in the XML. */
+    private final Set<String> inputParameterNames;
+
+    /** Scenarios, empty for default values. */
+    private final List<String> scenarios = new ArrayList<>();
+
+    /** Values per input parameter. */
+    private final Map<String, List<Object>> inputParameters = new LinkedHashMap<>();
+
+    /** Seeds, empty for the seeds in the XML. */
+    private final List<Long> seeds = new ArrayList<>();
+
+    /** Additional KPIs. */
+    private final Map<String, Function<RoadNetwork, Supplier<?>>> kpis = new LinkedHashMap<>();
+
+    /** Number of worker threads. */
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /** Whether to parse conflicts. */
+    private boolean parseConflicts = true;
+
+    /**
+     * Constructor which parses the XML resource.
+     * @param resource XML resource
+     * @throws IOException when the resource cannot be opened
+     * @throws JAXBException when the parsing fails
+     * @throws SAXException on error creating SAX parser
+     * @throws ParserConfigurationException on error with parser configuration
+     */
+    public ScenarioSweep(final String resource)
+            throws IOException, JAXBException, SAXException, ParserConfigurationException
+    {
+        Throw.whenNull(resource, "resource");
+        try (InputStream stream = ResourceResolver.resolve(resource).openStream())
+        {
+            this.ots = XmlParser.parseXml(stream);
+        }
+        this.inputParameterNames = ScenarioParser.getInputParameterNames(this.ots.getScenarios());
+    }
+
+    /**
+     * Constructor with already parsed XML.
+     * @param ots main OTS tag, which is not altered by the runs
+     */
+    public ScenarioSweep(final Ots ots)
+    {
+        this.ots = Throw.whenNull(ots, "ots");
+        this.inputParameterNames = ScenarioParser.getInputParameterNames(ots.getScenarios());
+    }
+
+    /**
+     * Set the scenarios to run. By default the default input parameter values are run.
+     * @param scenarios scenario names, {@code null} elements result in the default input parameter values
+     * @return this sweep for method chaining
+     */
+    @SuppressWarnings("hiddenfield")
+    public ScenarioSweep setScenarios(final String... scenarios)
+    {
+        Throw.whenNull(scenarios, "scenarios");
+        this.scenarios.clear();
+        this.scenarios.addAll(Arrays.asList(scenarios));
+        return this;
+    }
+
+    /**
+     * Adds an input parameter to the grid. All combinations of the values of all input parameters are run. Values are for
+     * example {@code Speed}, {@code Length}, {@code Double} or {@code String}, as would result from the value in XML.
+     * @param name name of the input parameter, without { }
+     * @param values values of the input parameter
+     * @return this sweep for method chaining
+     * @throws IllegalArgumentException when no values are given, the input parameter is not defined in the XML, or the input
+     *             parameter was already added
+     */
+    public ScenarioSweep addInputParameter(final String name, final Object... values)
+    {
+        Throw.whenNull(name, "name");
+        Throw.whenNull(values, "values");
+        Throw.when(values.length == 0, IllegalArgumentException.class, "No values given for input parameter %s.", name);
+        Throw.when(!this.inputParameterNames.contains(name), IllegalArgumentException.class,
+                "Input parameter %s is not defined in the XML.", name);
+        Throw.when(this.inputParameters.containsKey(name), IllegalArgumentException.class,
+                "Input parameter %s was already added.", name);
+        for (Object value : values)
+        {
+            Throw.whenNull(value, "Value of input parameter %s may not be null.", name);
+        }
+        this.inputParameters.put(name, List.of(values));
+        return this;
+    }
+
+    /**
+     * Set the seeds, each combination of scenario and input parameter values is run for each seed. All random streams of a
+     * run are reseeded based on the seed. By default the seeds in the XML are used.
+     * @param seeds seeds
+     * @return this sweep for method chaining
+     */
+    @SuppressWarnings("hiddenfield")
+    public ScenarioSweep setSeeds(final long... seeds)
+    {
+        Throw.whenNull(seeds, "seeds");
+        this.seeds.clear();
+        Arrays.stream(seeds).forEach(this.seeds::add);
+        return this;
+    }
+
+    /**
+     * Set the number of worker threads. By default this is the number of available processors.
+     * @param threads number of worker threads
+     * @return this sweep for method chaining
+     * @throws IllegalArgumentException when the number of threads is not positive
+     */
+    @SuppressWarnings("hiddenfield")
+    public ScenarioSweep setThreads(final int threads)
+    {
+        Throw.when(threads < 1, IllegalArgumentException.class, "Number of threads should be positive.");
+        this.threads = threads;
+        return this;
+    }
+
+    /**
+     * Set whether to parse conflicts. By default conflicts are parsed.
+     * @param parseConflicts whether to parse conflicts
+     * @return this sweep for method chaining
+     */
+    @SuppressWarnings("hiddenfield")
+    public ScenarioSweep setParseConflicts(final boolean parseConflicts)
+    {
+        this.parseConflicts = parseConflicts;
+        return this;
+    }
+
+    /**
+     * Adds a KPI. The function is invoked for each run when the network is built, before the simulation starts, and may for
+     * example add listeners or a sampler to the network. The supplier it returns is invoked at the end of the run for the
+     * value of the KPI. Runs are concurrent, so the function should not share mutable state between runs.
+     * @param name name of the KPI, used as column header
+     * @param kpi function that prepares the KPI for a network, and returns the supplier of its value
+     * @return this sweep for method chaining
+     * @throws IllegalArgumentException when the name is already used
+     */
+    public ScenarioSweep addKpi(final String name, final Function<RoadNetwork, Supplier<?>> kpi)
+    {
+        Throw.whenNull(name, "name");
+        Throw.whenNull(kpi, "kpi");
+        Throw.when(this.kpis.containsKey(name) || DEFAULT_KPIS.contains(name), IllegalArgumentException.class,
+                "KPI %s is already defined.", name);
+        this.kpis.put(name, kpi);
+        return this;
+    }
+
+    /**
+     * Returns the number of runs, being the number of combinations of scenarios, input parameter values and seeds.
+     * @return number of runs
+     */
+    public int getNumberOfRuns()
+    {
+        int n = Math.max(1, this.scenarios.size()) * Math.max(1, this.seeds.size());
+        for (List<Object> values : this.inputParameters.values())
+        {
+            n *= values.size();
+        }
+        return n;
+    }
+
+    /**
+     * Performs all runs and writes the results to a CSV file. This method blocks until all runs are completed.
+     * @param csvFile CSV file, which is overwritten if it exists
+     * @return number of failed runs
+     * @throws IOException when the CSV file cannot be written
+     * @throws InterruptedException when interrupted while waiting for the runs, in which case running runs are interrupted and
+     *             awaited
+     */
+    public int run(final Path csvFile) throws IOException, InterruptedException
+    {
+        Throw.whenNull(csvFile, "csvFile");
+        List<RunSpecification> runs = getRuns();
+        AtomicInteger failures = new AtomicInteger();
+        try (BufferedWriter writer = Files.newBufferedWriter(csvFile, StandardCharsets.UTF_8))
+        {
+            List<Object> header = new ArrayList<>();
+            header.add("run");
+            header.add("scenario");
+            header.addAll(this.inputParameters.keySet());
+            header.add("seed");
+            header.addAll(DEFAULT_KPIS);
+            header.addAll(this.kpis.keySet());
+            header.add("error");
+            writeRow(writer, header);
+
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (RunSpecification run : runs)
+            {
+                tasks.add(() ->
+                {
+                    List<Object> row = new ArrayList<>();
+                    row.add(run.number());
+                    row.add(run.scenario());
+                    row.addAll(run.inputParameters().values());
+                    row.add(run.seed());
+                    try
+                    {
+                        row.addAll(simulate(run));
+                        row.add(null);
+                    }
+                    catch (Exception exception)
+                    {
+                        Logger.ots().error(exception, "Run {} failed.", run.number());
+                        failures.incrementAndGet();
+                        row.addAll(Collections.nCopies(DEFAULT_KPIS.size() + this.kpis.size(), null));
+                        row.add(exception.getMessage() == null ? exception.getClass().getSimpleName() : exception.getMessage());
+                    }
+                    writeRow(writer, row);
+                    return null;
+                });
+            }
+            AtomicInteger threadNumber = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(Math.min(this.threads, runs.size()), (runnable) ->
+            {
+                Thread thread = new Thread(runnable, "ScenarioSweep-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            try
+            {
+                executor.invokeAll(tasks);
+            }
+            finally
+            {
+                executor.shutdownNow();
+                // interrupted runs still write their row, so the writer can only be closed when all runs have stopped
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            }
+        }
+        return failures.get();
+    }
+
+    /**
+     * Returns all combinations of scenarios, input parameter values and seeds.
+     * @return all combinations of scenarios, input parameter values and seeds
+     */
+    private List<RunSpecification> getRuns()
+    {
+        List<Map<String, Object>> combinations = new ArrayList<>();
+        combinations.add(new LinkedHashMap<>());
+        for (Entry<String, List<Object>> entry : this.inputParameters.entrySet())
+        {
+            List<Map<String, Object>> next = new ArrayList<>();
+            for (Map<String, Object> combination : combinations)
+            {
+                for (Object value : entry.getValue())
+                {
+                    Map<String, Object> extended = new LinkedHashMap<>(combination);
+                    extended.put(entry.getKey(), value);
+                    next.add(extended);
+                }
+            }
+            combinations = next;
+        }
+        List<String> runScenarios = this.scenarios.isEmpty() ? Collections.singletonList(null) : this.scenarios;
+        List<Long> runSeeds = this.seeds.isEmpty() ? Collections.singletonList(null) : this.seeds;
+        List<RunSpecification> runs = new ArrayList<>();
+        for (String scenario : runScenarios)
+        {
+            for (Map<String, Object> combination : combinations)
+            {
+                for (Long seed : runSeeds)
+                {
+                    runs.add(new RunSpecification(runs.size() + 1, scenario, combination, seed));
+                }
+            }
+        }
+        return runs;
+    }
+
+    /**
+     * Simulates a single run.
+     * @param run run specification
+     * @return values of the default and additional KPIs
+     * @throws Exception on any exception during building or simulation
+     */
+    private List<Object> simulate(final RunSpecification run) throws Exception
+    {
+        OtsSimulator simulator = new OtsSimulator("ScenarioSweep run " + run.number());
+        simulator.setErrorStrategy(ErrorStrategy.WARN_AND_THROW);
+        try
+        {
+            SweepModel model = new SweepModel(simulator, run);
+            XmlParser parser = model.getParser();
+            Duration runLength = parser.getRunLength();
+            simulator.initialize(Duration.ZERO, parser.getWarmupPeriod(), runLength, model,
+                    new HistoryManagerDevs(simulator, parser.getHistory(), Duration.ofSI(10.0)));
+            while (simulator.getSimulatorTime().si < runLength.si)
+            {
+                Throw.when(Thread.currentThread().isInterrupted(), InterruptedException.class, "Run %d was interrupted.",
+                        run.number());
+                simulator.step();
+            }
+            return model.getKpis();
+        }
+        finally
+        {
+            simulator.cleanUp();
+        }
+    }
+
+    /**
+     * Returns the model streams, seeded as the streams in the XML are reseeded by {@link XmlParser#setSeed(long)}.
+     * @param seed seed, may be {@code null} for default streams
+     * @return model streams
+     */
+    private static StreamInformation streams(final Long seed)
+    {
+        if (seed == null)
+        {
+            return AbstractOtsModel.defaultInitialStreams();
+        }
+        StreamInformation streamInformation = new StreamInformation();
+        streamInformation.addStream("default", new MersenneTwister(seed + "default".hashCode()));
+        streamInformation.addStream("generation", new MersenneTwister(seed + "generation".hashCode()));
+        return streamInformation;
+    }
+
+    /**
+     * Writes a row to the CSV file, and flushes so the results of completed runs are available during the sweep.
+     * @param writer writer
+     * @param values values, {@code null} values result in empty fields
+     * @throws IOException when the row cannot be written
+     */
+    private static void writeRow(final Writer writer, final List<Object> values) throws IOException
+    {
+        StringBuilder row = new StringBuilder();
+        for (int i = 0; i < values.size(); i++)
+        {
+            if (i > 0)
+            {
+                row.append(',');
+            }
+            if (values.get(i) != null)
+            {
+                String value = values.get(i).toString();
+                if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r"))
+                {
+                    value = "\"" + value.replace("\"", "\"\"") + "\"";
+                }
+                row.append(value);
+            }
+        }
+        row.append(System.lineSeparator());
+        synchronized (writer)
+        {
+            writer.write(row.toString());
+            writer.flush();
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ScenarioSweep [runs=" + getNumberOfRuns() + ", threads=" + this.threads + "]";
+    }
+
+    /**
+     * Specification of a single run.
+     * @param number run number, starting at 1
+     * @param scenario scenario, may be {@code null} for default values
+     * @param inputParameters input parameter values
+     * @param seed seed, may be {@code null} for the seeds in the XML
+     */
+    private record RunSpecification(int number, String scenario, Map<String, Object> inputParameters, Long seed)
+    {
+    }
+
+    /**
+     * Model of a single run.
+     */
+    private final class SweepModel extends AbstractOtsModel
+    {
+        /** Network. */
+        private final RoadNetwork network;
+
+        /** Parser. */
+        private final XmlParser parser;
+
+        /** Default KPIs. */
+        private TravelStatistics statistics;
+
+        /** Suppliers of additional KPIs. */
+        private final List<Supplier<?>> kpiSuppliers = new ArrayList<>();
+
+        /**
+         * Constructor.
+         * @param simulator simulator
+         * @param run run specification
+         */
+        SweepModel(final OtsSimulatorInterface simulator, final RunSpecification run)
+        {
+            super(simulator, "Run " + run.number(), "ScenarioSweep run " + run.number(), streams(run.seed()));
+            this.network = new RoadNetwork(getShortName(), simulator);
+            this.parser = new XmlParser(this.network).setOts(ScenarioSweep.this.ots).setScenario(run.scenario())
+                    .setInputParameters(run.inputParameters()).setParseConflict(ScenarioSweep.this.parseConflicts);
+            if (run.seed() != null)
+            {
+                this.parser.setSeed(run.seed());
+            }
+        }
+
+        @Override
+        public void constructModel() throws SimRuntimeException
+        {
+            try
+            {
+                this.parser.build();
+                this.statistics = new TravelStatistics(this.network, this.parser.getWarmupPeriod());
+                for (Function<RoadNetwork, Supplier<?>> kpi : ScenarioSweep.this.kpis.values())
+                {
+                    this.kpiSuppliers.add(kpi.apply(this.network));
+                }
+            }
+            catch (Exception exception)
+            {
+                throw new SimRuntimeException(exception);
+            }
+        }
+
+        /**
+         * Returns the parser.
+         * @return parser
+         */
+        XmlParser getParser()
+        {
+            return this.parser;
+        }
+
+        /**
+         * Returns the values of the default and additional KPIs.
+         * @return values of the default and additional KPIs
+         */
+        List<Object> getKpis()
+        {
+            List<Object> values = new ArrayList<>(this.statistics.getKpis());
+            for (Supplier<?> kpi : this.kpiSuppliers)
+            {
+                values.add(kpi.get());
+            }
+            return values;
+        }
+
+        @Override
+        public RoadNetwork getNetwork()
+        {
+            return this.network;
+        }
+    }
+
+    /**
+     * Gathers the default KPIs by listening to GTUs entering and leaving the network.
+     */
+    private static final class TravelStatistics implements EventListener
+    {
+        /** Network. */
+        private final RoadNetwork network;
+
+        /** Warm-up period [s]. */
+        private final double warmup;
+
+        /** Time [s] and odometer [m] from which each GTU in the network is counted. */
+        private final Map<String, double[]> starts = new LinkedHashMap<>();
+
+        /** Number of GTUs that entered the network. */
+        private int generated;
+
+        /** Number of GTUs that left the network. */
+        private int arrived;
+
+        /** Total distance [m] of GTUs that left the network. */
+        private double totalDistance;
+
+        /** Total travel time [s] of GTUs that left the network. */
+        private double totalTravelTime;
+
+        /**
+         * Constructor.
+         * @param network network
+         * @param warmup warm-up period
+         * @throws SimRuntimeException when the end of the warm-up period cannot be scheduled
+         */
+        TravelStatistics(final RoadNetwork network, final Duration warmup) throws SimRuntimeException
+        {
+            this.network = network;
+            this.warmup = warmup.si;
+            network.addListener(this, Network.GTU_ADD_EVENT);
+            network.addListener(this, Network.GTU_REMOVE_EVENT);
+            if (warmup.si > 0.0)
+            {
+                network.getSimulator().scheduleEventAbs(warmup, this::endWarmup);
+            }
+        }
+
+        /**
+         * Resets the start of all GTUs in the network to the end of the warm-up period.
+         */
+        private void endWarmup()
+        {
+            for (Entry<String, double[]> entry : this.starts.entrySet())
+            {
+                entry.setValue(new double[] {this.warmup, this.network.getGTU(entry.getKey()).get().getOdometer().si});
+            }
+        }
+
+        @Override
+        public void notify(final Event event)
+        {
+            String id = (String) event.getContent();
+            double time = this.network.getSimulator().getSimulatorTime().si;
+            if (event.getType().equals(Network.GTU_ADD_EVENT))
+            {
+                // the GTU is not yet initialized, its odometer starts at 0
+                this.starts.put(id, new double[] {time, 0.0});
+                if (time >= this.warmup)
+                {
+                    this.generated++;
+                }
+            }
+            else
+            {
+                double[] start = this.starts.remove(id);
+                if (time >= this.warmup)
+                {
+                    this.arrived++;
+                    this.totalDistance += this.network.getGTU(id).get().getOdometer().si - start[1];
+                    this.totalTravelTime += time - start[0];
+                }
+            }
+        }
+
+        /**
+         * Returns the default KPIs, including the GTUs that are still in the network.
+         * @return default KPIs
+         */
+        List<Object> getKpis()
+        {
+            double time = this.network.getSimulator().getSimulatorTime().si;
+            double distance = this.totalDistance;
+            double travelTime = this.totalTravelTime;
+            for (Entry<String, double[]> entry : this.starts.entrySet())
+            {
+                distance += this.network.getGTU(entry.getKey()).get().getOdometer().si - entry.getValue()[1];
+                travelTime += time - entry.getValue()[0];
+            }
+            return List.of(this.generated, this.arrived, distance, travelTime,
+                    travelTime > 0.0 ? distance / travelTime : Double.NaN);
+        }
+    }
+
+}
@@ -447,11 +447,12 @@ public final class NetworkParser
             }
             else
             {
-                roadLayoutTag = xmlLink.getRoadLayout();
-                if (roadLayoutTag == null)
+                if (xmlLink.getRoadLayout() == null)
                 {
                     throw new XmlParserException("Link " + xmlLink.getId() + " No RoadLayout defined");
                 }
+                // clone as the XML tags should not be altered, they may be shared by parsers
+                roadLayoutTag = Cloner.clone(xmlLink.getRoadLayout());
                 setAllStripesCustom(roadLayoutTag, stripes, eval);
             }
 
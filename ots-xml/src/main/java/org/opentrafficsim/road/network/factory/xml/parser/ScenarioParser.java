@@ -6,6 +6,7 @@ import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import java.util.function.Supplier;
 
@@ -13,6 +14,7 @@ import org.djunits.value.vdouble.scalar.Dimensionless;
 import org.djutils.base.Identifiable;
 import org.djutils.eval.Eval;
 import org.djutils.eval.RetrieveValue;
+import org.djutils.exceptions.Throw;
 import org.opentrafficsim.base.OtsRuntimeException;
 import org.opentrafficsim.base.logger.Logger;
 import org.opentrafficsim.road.network.factory.xml.CircularDependencyException;
@@ -49,9 +51,25 @@ public final class ScenarioParser
      * @return expression evaluator for all expression in XML.
      */
     public static Eval parseInputParameters(final Scenarios scenarios, final String scenario)
+    {
+        return parseInputParameters(scenarios, scenario, Map.of());
+    }
+
+    /**
+     * Parse input parameters for scenario, where some input parameters are overridden by given values.
+     * @param scenarios scenarios tag.
+     * @param scenario name of scenario tp parse.
+     * @param inputParameters values of input parameters that override the scenario and default values, by name without { }.
+     * @return expression evaluator for all expression in XML.
+     * @throws IllegalArgumentException when an overridden input parameter is not defined
+     */
+    public static Eval parseInputParameters(final Scenarios scenarios, final String scenario,
+            final Map<String, ?> inputParameters)
     {
         if (scenarios == null)
         {
+            Throw.when(!inputParameters.isEmpty(), IllegalArgumentException.class, "Input parameters %s are not defined.",
+                    inputParameters.keySet());
             return new Eval();
         }
         ScenariosWrapper scenariosWrapper = new ScenariosWrapper()
@@ -75,7 +93,7 @@ public final class ScenarioParser
                 return null;
             }
         };
-        return parseInputParameters(scenariosWrapper);
+        return parseInputParameters(scenariosWrapper, inputParameters);
     }
 
     /**
@@ -85,17 +103,38 @@ public final class ScenarioParser
      */
     public static Eval parseInputParameters(final ScenariosWrapper scenariosWrapper)
     {
+        return parseInputParameters(scenariosWrapper, Map.of());
+    }
+
+    /**
+     * Parse input parameters for scenario, where some input parameters are overridden by given values.
+     * @param scenariosWrapper scenarios wrapper, from XML or Xsd Tree nodes in editor.
+     * @param inputParameters values of input parameters that override the scenario and default values, by name without { }.
+     * @return expression evaluator for all expression in XML.
+     * @throws IllegalArgumentException when an overridden input parameter is not defined
+     */
+    public static Eval parseInputParameters(final ScenariosWrapper scenariosWrapper, final Map<String, ?> inputParameters)
+    {
+        Throw.whenNull(inputParameters, "inputParameters");
         Map<String, Supplier<?>> defaultsMap = new LinkedHashMap<>();
         ParameterMap defaults = new ParameterMap(defaultsMap);
         Eval eval = new Eval().setRetrieveValue(defaults);
         parseInputParameters(scenariosWrapper.getDefaultInputParameters(), defaultsMap, defaults);
+        Map<String, Supplier<?>> inputParametersMap = new LinkedHashMap<>();
         if (scenariosWrapper.getScenarioInputParameters() != null)
         {
-            Map<String, Supplier<?>> inputParametersMap = new LinkedHashMap<>();
-            ParameterMap inputParameters = new ParameterMap(inputParametersMap);
-            defaults.setScenarioMap(inputParameters);
+            ParameterMap scenarioParameters = new ParameterMap(inputParametersMap);
+            defaults.setScenarioMap(scenarioParameters);
             parseInputParameters(scenariosWrapper.getScenarioInputParameters(), inputParametersMap, defaults);
         }
+        for (Entry<String, ?> entry : inputParameters.entrySet())
+        {
+            Object value = Throw.whenNull(entry.getValue(), "Value of input parameter %s may not be null.", entry.getKey());
+            Map<String, Supplier<?>> map = inputParametersMap.containsKey(entry.getKey()) ? inputParametersMap : defaultsMap;
+            Throw.when(!map.containsKey(entry.getKey()), IllegalArgumentException.class,
+                    "Input parameter %s is not defined.", entry.getKey());
+            map.put(entry.getKey(), () -> value);
+        }
         // test whether values can be obtained successfully (might throw CircularDependencyException)
         Map<String, String> result = new LinkedHashMap<>();
         for (ParameterWrapper parameter : scenariosWrapper.getDefaultInputParameters())
@@ -116,6 +155,35 @@ public final class ScenarioParser
         return eval;
     }
 
+    /**
+     * Returns the names of all input parameters that are defined as default input parameter or in any scenario.
+     * @param scenarios scenarios tag, may be {@code null}
+     * @return names of all input parameters, without { }
+     */
+    public static Set<String> getInputParameterNames(final Scenarios scenarios)
+    {
+        Set<String> names = new LinkedHashSet<>();
+        if (scenarios == null)
+        {
+            return names;
+        }
+        List<Iterable<ParameterWrapper>> parameterLists = new ArrayList<>();
+        parameterLists.add(getInputParameterIterator(scenarios.getDefaultInputParameters()));
+        for (ScenarioType scenarioTag : scenarios.getScenario())
+        {
+            parameterLists.add(getInputParameterIterator(scenarioTag.getInputParameters()));
+        }
+        for (Iterable<ParameterWrapper> parameters : parameterLists)
+        {
+            for (ParameterWrapper parameter : parameters)
+            {
+                String id = parameter.getId();
+                names.add(id.substring(1, id.length() - 1));
+            }
+        }
+        return names;
+    }
+
     /**
      * Creates parsable parameters from an InputParameters XML tag (default or of a scenario).
      * @param inputParameters parameters XML tag.
@@ -93,6 +93,12 @@ public final class XmlParser
     /** Eval for scenario. */
     private Eval eval;
 
+    /** Values of input parameters that override the values in the XML. */
+    private Map<String, ?> inputParameters = Map.of();
+
+    /** Seed to reseed all random streams with, may be {@code null}. */
+    private Long seed;
+
     /**
      * Constructor.
      * @param network network.
@@ -111,7 +117,8 @@ public final class XmlParser
      */
     public XmlParser setResource(final String resource) throws IOException
     {
-        Throw.when(this.stream != null, IllegalStateException.class, "Invoke only one of setResource() or setStream().");
+        Throw.when(this.stream != null || this.ots != null, IllegalStateException.class,
+                "Invoke only one of setResource(), setStream() or setOts().");
         this.stream = ResourceResolver.resolve(resource).openStream();
         return this;
     }
@@ -125,11 +132,28 @@ public final class XmlParser
     @SuppressWarnings("hiddenfield")
     public XmlParser setStream(final InputStream stream)
     {
-        Throw.when(this.stream != null, IllegalStateException.class, "Invoke only one of setResource() or setStream().");
+        Throw.when(this.stream != null || this.ots != null, IllegalStateException.class,
+                "Invoke only one of setResource(), setStream() or setOts().");
         this.stream = stream;
         return this;
     }
 
+    /**
+     * Set the OTS tag of XML that was already parsed with {@link #parseXml(InputStream)}. The parser only reads the OTS tag, so
+     * it may be shared between parsers, also concurrently. This prevents parsing the same XML file for each simulation run.
+     * @param ots OTS tag.
+     * @return this parser for method chaining.
+     * @throws IllegalStateException file, URL or stream has already been set.
+     */
+    @SuppressWarnings("hiddenfield")
+    public XmlParser setOts(final Ots ots)
+    {
+        Throw.when(this.stream != null || this.ots != null, IllegalStateException.class,
+                "Invoke only one of setResource(), setStream() or setOts().");
+        this.ots = Throw.whenNull(ots, "ots");
+        return this;
+    }
+
     /**
      * Set scenario to parse.
      * @param scenario name of scenario to parse.
@@ -155,6 +179,34 @@ public final class XmlParser
         return this;
     }
 
+    /**
+     * Set values of input parameters that override the values of the selected scenario or the default values. The names are
+     * the ids of the input parameters without { }. Values are for example {@code Speed}, {@code Length}, {@code Double} or
+     * {@code String}, as would result from the value in XML.
+     * @param inputParameters values of input parameters, by name.
+     * @return this parser for method chaining.
+     */
+    @SuppressWarnings("hiddenfield")
+    public XmlParser setInputParameters(final Map<String, ?> inputParameters)
+    {
+        this.inputParameters = Map.copyOf(Throw.whenNull(inputParameters, "inputParameters"));
+        this.eval = null; // depends on input parameters
+        return this;
+    }
+
+    /**
+     * Set seed to reseed all random streams with, replacing the seeds in the XML. Each stream is reseeded with the seed plus
+     * the hash code of its id, so streams remain independent.
+     * @param seed seed.
+     * @return this parser for method chaining.
+     */
+    @SuppressWarnings("hiddenfield")
+    public XmlParser setSeed(final long seed)
+    {
+        this.seed = seed;
+        return this;
+    }
+
     /**
      * Build the simulation.
      * @return the experiment based on the information in the Run tag
@@ -175,9 +227,9 @@ public final class XmlParser
             throws SimRuntimeException, MalformedURLException, JAXBException, URISyntaxException, NetworkException,
             XmlParserException, SAXException, ParserConfigurationException, GtuException, IOException, TrafficControlException
     {
-        Throw.when(this.stream == null, IllegalStateException.class,
-                "Invoke one of setResource() or setStream() before parsing.");
-        return build(getOts(), this.network, this.scenario, this.parseConflicts);
+        Throw.when(this.stream == null && this.ots == null, IllegalStateException.class,
+                "Invoke one of setResource(), setStream() or setOts() before parsing.");
+        return build(getOts(), this.network, this.scenario, this.inputParameters, this.seed, this.parseConflicts);
     }
 
     /**
@@ -207,7 +259,7 @@ public final class XmlParser
     {
         if (this.eval == null)
         {
-            this.eval = ScenarioParser.parseInputParameters(getOts().getScenarios(), this.scenario);
+            this.eval = ScenarioParser.parseInputParameters(getOts().getScenarios(), this.scenario, this.inputParameters);
         }
         return this.eval;
     }
@@ -222,8 +274,8 @@ public final class XmlParser
      */
     public Duration getWarmupPeriod() throws JAXBException, SAXException, ParserConfigurationException
     {
-        Throw.when(this.stream == null, IllegalStateException.class,
-                "Invoke one of setResource() or setStream() before parsing.");
+        Throw.when(this.stream == null && this.ots == null, IllegalStateException.class,
+                "Invoke one of setResource(), setStream() or setOts() before parsing.");
         return getOts().getRun().getWarmupPeriod() == null ? Duration.ZERO : getOts().getRun().getWarmupPeriod().get(getEval());
     }
 
@@ -237,8 +289,8 @@ public final class XmlParser
      */
     public Duration getRunLength() throws JAXBException, SAXException, ParserConfigurationException
     {
-        Throw.when(this.stream == null, IllegalStateException.class,
-                "Invoke one of setResource() or setStream() before parsing.");
+        Throw.when(this.stream == null && this.ots == null, IllegalStateException.class,
+                "Invoke one of setResource(), setStream() or setOts() before parsing.");
         return getOts().getRun().getRunLength().get(getEval());
     }
 
@@ -252,8 +304,8 @@ public final class XmlParser
      */
     public Duration getHistory() throws JAXBException, SAXException, ParserConfigurationException
     {
-        Throw.when(this.stream == null, IllegalStateException.class,
-                "Invoke one of setResource() or setStream() before parsing.");
+        Throw.when(this.stream == null && this.ots == null, IllegalStateException.class,
+                "Invoke one of setResource(), setStream() or setOts() before parsing.");
         return getOts().getRun().getHistory() == null ? Duration.ZERO : getOts().getRun().getHistory().get(getEval());
     }
 
@@ -267,20 +319,21 @@ public final class XmlParser
      */
     public List<String> getScenarios() throws JAXBException, SAXException, ParserConfigurationException
     {
-        Throw.when(this.stream == null, IllegalStateException.class,
-                "Invoke one of setResource() or setStream() before parsing.");
+        Throw.when(this.stream == null && this.ots == null, IllegalStateException.class,
+                "Invoke one of setResource(), setStream() or setOts() before parsing.");
         return getOts().getScenarios().getScenario().stream().map((s) -> s.getId()).collect(Collectors.toList());
     }
 
     /**
-     * Parse an OTS XML input stream and build an OTS object.
+     * Parse an OTS XML input stream and build an OTS object. The result can be given to multiple parsers using
+     * {@link #setOts(Ots)}.
      * @param xmlStream the xml stream
      * @return the constructed OTS object
      * @throws JAXBException when the parsing fails
      * @throws ParserConfigurationException on error with parser configuration
      * @throws SAXException on error creating SAX parser
      */
-    private static Ots parseXml(final InputStream xmlStream) throws JAXBException, SAXException, ParserConfigurationException
+    public static Ots parseXml(final InputStream xmlStream) throws JAXBException, SAXException, ParserConfigurationException
     {
         Locale locale = Locale.getDefault();
         Locale.setDefault(Locale.US);
@@ -303,6 +356,8 @@ public final class XmlParser
      * @param ots the OTS object
      * @param otsNetwork the network to insert the parsed objects in
      * @param scenario scenario name, may bee {@code null} to use default values.
+     * @param inputParameters values of input parameters that override the values in the XML
+     * @param seed seed to reseed all random streams with, may be {@code null} to use the seeds in the XML
      * @param buildConflicts whether to build conflicts or not
      * @return the experiment based on the information in the RUN tag
      * @throws JAXBException when the parsing fails
@@ -318,15 +373,20 @@ public final class XmlParser
      * @throws MalformedURLException when construction of a traffic controller fails
      */
     private static ExperimentRunControl<Duration> build(final Ots ots, final RoadNetwork otsNetwork, final String scenario,
-            final boolean buildConflicts) throws JAXBException, URISyntaxException, NetworkException, XmlParserException,
-            SAXException, ParserConfigurationException, SimRuntimeException, GtuException, MalformedURLException, IOException,
+            final Map<String, ?> inputParameters, final Long seed, final boolean buildConflicts)
+            throws JAXBException, URISyntaxException, NetworkException, XmlParserException, SAXException,
+            ParserConfigurationException, SimRuntimeException, GtuException, MalformedURLException, IOException,
             TrafficControlException
     {
         // input parameters
-        Eval eval = ScenarioParser.parseInputParameters(ots.getScenarios(), scenario);
+        Eval eval = ScenarioParser.parseInputParameters(ots.getScenarios(), scenario, inputParameters);
 
         // run
         StreamSeedInformation streamInformation = RunParser.parseStreams(ots.getRun(), eval);
+        if (seed != null)
+        {
+            streamInformation.getStreams().forEach((streamId, stream) -> stream.setSeed(seed + streamId.hashCode()));
+        }
         ExperimentRunControl<Duration> runControl =
                 RunParser.parseRun(otsNetwork.getId(), ots.getRun(), streamInformation, otsNetwork.getSimulator(), eval);
 
@@ -0,0 +1,165 @@
+package org.opentrafficsim.road.network.factory.xml;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.djunits.unit.FrequencyUnit;
+import org.djunits.value.vdouble.scalar.Frequency;
+import org.djutils.io.ResourceResolver;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.opentrafficsim.road.network.factory.xml.parser.XmlParser;
+import org.opentrafficsim.xml.generated.CseStripe;
+import org.opentrafficsim.xml.generated.Ots;
+import org.xml.sax.SAXException;
+
+import jakarta.xml.bind.JAXBException;
+
+/**
+ * Test of ScenarioSweep.
+ * <p>
+ * Copyright (c) 2026-2026 Delft University of Technology, PO Box 5, 2600 AA, Delft, the Netherlands. All rights reserved. <br>
+ * BSD-style license. See <a href="https://opentrafficsim.org/docs/license.html">OpenTrafficSim License</a>.
+ * </p>
+ * @author Wouter Schakel
+ */
+public final class ScenarioSweepTest
+{
+
+    /** XML resource. */
+    private static final String RESOURCE = "/resources/sweep-network.xml";
+
+    /** Temporary directory for the CSV files. */
+    @TempDir
+    private Path directory;
+
+    /** */
+    private ScenarioSweepTest()
+    {
+        // do not instantiate test class
+    }
+
+    /**
+     * Tests that scenarios and overridden input parameters give the same results, for different seeds on multiple threads.
+     * @throws IOException if that happens uncaught; this test has failed
+     * @throws InterruptedException if that happens uncaught; this test has failed
+     * @throws JAXBException if that happens uncaught; this test has failed
+     * @throws SAXException if that happens uncaught; this test has failed
+     * @throws ParserConfigurationException if that happens uncaught; this test has failed
+     */
+    @Test
+    public void testSweep() throws IOException, InterruptedException, JAXBException, SAXException, ParserConfigurationException
+    {
+        Ots ots;
+        try (InputStream stream = ResourceResolver.resolve(RESOURCE).openStream())
+        {
+            ots = XmlParser.parseXml(stream);
+        }
+
+        Path scenarioFile = this.directory.resolve("scenarios.csv");
+        ScenarioSweep scenarioSweep = new ScenarioSweep(ots).setScenarios(null, "High").setSeeds(1L, 2L).setThreads(3)
+                .addKpi("gtus", (network) -> () -> network.getGTUs().size());
+        assertEquals(4, scenarioSweep.getNumberOfRuns());
+        assertEquals(0, scenarioSweep.run(scenarioFile));
+        Map<Integer, String[]> scenarios = read(scenarioFile, "run,scenario,seed,generated,arrived,totalDistance,"
+                + "totalTravelTime,meanSpeed,gtus,error");
+
+        Path parameterFile = this.directory.resolve("parameters.csv");
+        ScenarioSweep parameterSweep = new ScenarioSweep(ots).setSeeds(1L, 2L).setThreads(2).addInputParameter("demand",
+                new Frequency(600.0, FrequencyUnit.PER_HOUR), new Frequency(1200.0, FrequencyUnit.PER_HOUR));
+        assertEquals(0, parameterSweep.run(parameterFile));
+        Map<Integer, String[]> parameters = read(parameterFile,
+                "run,scenario,demand,seed,generated,arrived,totalDistance,totalTravelTime,meanSpeed,error");
+
+        for (int run = 1; run <= 4; run++)
+        {
+            // scenario default/High matches demand 600/h/1200/h, seeds are the inner loop in both
+            String[] scenario = scenarios.get(run);
+            String[] parameter = parameters.get(run);
+            assertEquals(scenario[2], parameter[3], "Seed of run " + run);
+            assertEquals(Arrays.asList(scenario).subList(3, 8), Arrays.asList(parameter).subList(4, 9),
+                    "Overridden input parameter should give the same results as the scenario for run " + run);
+            assertTrue(Integer.parseInt(scenario[3]) > 0, "GTUs should be generated in run " + run);
+            assertTrue(Integer.parseInt(scenario[8]) >= 0);
+            assertEquals("", scenario[9]);
+        }
+        assertEquals("High", scenarios.get(3)[1]);
+        assertEquals("", scenarios.get(1)[1]);
+        assertNotEquals(scenarios.get(1)[5], scenarios.get(2)[5], "Different seeds should give different results.");
+        assertTrue(Integer.parseInt(scenarios.get(3)[3]) > Integer.parseInt(scenarios.get(1)[3]),
+                "Higher demand should generate more GTUs.");
+
+        // the shared XML tags are not altered by the runs
+        assertTrue(ots.getNetwork().getLink().get(0).getRoadLayout().getStripeOrLaneOrShoulder().stream()
+                .filter((element) -> element instanceof CseStripe).allMatch((s) -> ((CseStripe) s).getDefinedStripe() != null));
+    }
+
+    /**
+     * Tests input checks and failing runs.
+     * @throws IOException if that happens uncaught; this test has failed
+     * @throws InterruptedException if that happens uncaught; this test has failed
+     * @throws JAXBException if that happens uncaught; this test has failed
+     * @throws SAXException if that happens uncaught; this test has failed
+     * @throws ParserConfigurationException if that happens uncaught; this test has failed
+     */
+    @Test
+    public void testInput() throws IOException, InterruptedException, JAXBException, SAXException, ParserConfigurationException
+    {
+        ScenarioSweep sweep = new ScenarioSweep(RESOURCE);
+        assertThrows(IllegalArgumentException.class, () -> sweep.addInputParameter("demand"));
+        assertThrows(IllegalArgumentException.class, () -> sweep.addInputParameter("unknown", 1.0, 2.0));
+        assertThrows(NullPointerException.class, () -> sweep.addInputParameter("demand", (Object) null));
+        assertThrows(IllegalArgumentException.class, () -> sweep.setThreads(0));
+        assertThrows(IllegalArgumentException.class, () -> sweep.addKpi("generated", (network) -> () -> 0));
+        assertThrows(NullPointerException.class, () -> new ScenarioSweep((Ots) null));
+
+        // a failing KPI fails the run, but not the sweep
+        Path file = this.directory.resolve("failed.csv");
+        sweep.setSeeds(1L, 2L).setThreads(1).addKpi("failing", (network) ->
+        {
+            throw new IllegalStateException("KPI unavailable");
+        });
+        assertEquals(2, sweep.run(file));
+        Map<Integer, String[]> rows = read(file,
+                "run,scenario,seed,generated,arrived,totalDistance,totalTravelTime,meanSpeed,failing,error");
+        assertEquals(2, rows.size());
+        assertEquals("", rows.get(1)[3]);
+        assertTrue(rows.get(1)[9].contains("KPI unavailable"), rows.get(1)[9]);
+    }
+
+    /**
+     * Reads a CSV file with fields without commas, checks the header and returns the rows by run number.
+     * @param file CSV file
+     * @param header expected header
+     * @return rows by run number
+     * @throws IOException on read error
+     */
+    private static Map<Integer, String[]> read(final Path file, final String header) throws IOException
+    {
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(header, lines.get(0));
+        int columns = header.split(",").length;
+        Map<Integer, String[]> rows = new LinkedHashMap<>();
+        for (String line : lines.subList(1, lines.size()))
+        {
+            String[] row = line.split(",", -1);
+            assertEquals(columns, row.length, line);
+            rows.put(Integer.parseInt(row[0]), row);
+        }
+        return rows;
+    }
+
+}